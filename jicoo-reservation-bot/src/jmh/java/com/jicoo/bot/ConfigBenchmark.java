@@ -0,0 +1,45 @@
+package com.jicoo.bot;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configの監視時間判定のベンチマーク
+ * 監視ループの毎周期で呼ばれる isWithinMonitoringHours を計測する。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConfigBenchmark {
+    
+    // 監視時間制限の有効/無効
+    @Param({"true", "false"})
+    public boolean restrictionEnabled;
+    
+    private Config config;
+    
+    @Setup
+    public void setup() {
+        config = Config.getInstance();
+        config.setMonitoringTimeRestrictionEnabled(restrictionEnabled);
+    }
+    
+    @Benchmark
+    public boolean isWithinMonitoringHours() {
+        return config.isWithinMonitoringHours();
+    }
+}
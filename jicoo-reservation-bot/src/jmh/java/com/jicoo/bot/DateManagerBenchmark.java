@@ -0,0 +1,72 @@
+package com.jicoo.bot;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DateManagerの検索のベンチマーク
+ * 監視対象の日付数を変えて、日付情報の検索と有効日付の一覧取得を計測する。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DateManagerBenchmark {
+    
+    // 登録する日付数
+    @Param({"7", "60"})
+    public int dateCount;
+    
+    private DateManager dateManager;
+    private LocalDate lastDate;
+    
+    @Setup
+    public void setup() {
+        dateManager = new DateManager();
+        LocalDate start = LocalDate.now().plusDays(2);
+        for (int i = 0; i < dateCount; i++) {
+            LocalDate date = start.plusDays(i);
+            dateManager.addDate(date);
+            DateManager.DateInfo info = dateManager.getDateInfo(date);
+            info.addTimeSlot("19:00");
+            info.addTimeSlot("19:45");
+            // 半分の日付を無効にする
+            if (i % 2 == 1) {
+                info.setEnabled(false);
+            }
+            lastDate = date;
+        }
+    }
+    
+    @Benchmark
+    public DateManager.DateInfo getDateInfo() {
+        // 最後に登録した日付（線形探索の最悪ケース）
+        return dateManager.getDateInfo(lastDate);
+    }
+    
+    @Benchmark
+    public List<LocalDate> getEnabledDates() {
+        return dateManager.getEnabledDates();
+    }
+    
+    @Benchmark
+    public Map<LocalDate, List<String>> getEnabledDatesWithTimeSlots() {
+        return dateManager.getEnabledDatesWithTimeSlots();
+    }
+}
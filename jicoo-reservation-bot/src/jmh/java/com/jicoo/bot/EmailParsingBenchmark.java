@@ -0,0 +1,73 @@
+package com.jicoo.bot;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EmailMonitoringServiceの本文解析のベンチマーク
+ * 予約メール本文からの日付・時間・講師名の正規表現抽出を計測する。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmailParsingBenchmark {
+    
+    // 本文の形式（年月日形式 / スラッシュ形式）
+    @Param({"kanji", "slash"})
+    public String format;
+    
+    private EmailMonitoringService emailMonitoringService;
+    private String text;
+    
+    @Setup
+    public void setup() {
+        emailMonitoringService = new EmailMonitoringService(Config.getInstance(), null, null);
+        String date;
+        switch (format) {
+            case "slash":
+                date = "2025/11/22";
+                break;
+            default:
+                date = "2025年11月22日";
+                break;
+        }
+        text = "Jicooをご利用いただきありがとうございます。\n"
+            + "以下の内容で予約が確定しました。\n\n"
+            + "日時: " + date + " 19:45 - 20:10\n"
+            + "講師: Vanessa\n"
+            + "場所: オンライン\n\n"
+            + "予約の変更・キャンセルは以下のリンクから行ってください。\n"
+            + "https://www.jicoo.com/t/_XDgWVCOgMPP/e/Teacher_Vanessa\n";
+    }
+    
+    @Benchmark
+    public LocalDate extractDate() {
+        return emailMonitoringService.extractDate(text);
+    }
+    
+    @Benchmark
+    public LocalTime extractTime() {
+        return emailMonitoringService.extractTime(text);
+    }
+    
+    @Benchmark
+    public String extractTeacher() {
+        return emailMonitoringService.extractTeacher(text);
+    }
+}
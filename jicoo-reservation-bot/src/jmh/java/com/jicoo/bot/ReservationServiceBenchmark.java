@@ -0,0 +1,62 @@
+package com.jicoo.bot;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ReservationServiceの文字列処理のベンチマーク
+ * 監視ループの毎周期で呼ばれるURL組み立て・時間帯正規化・先生名抽出を計測する。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReservationServiceBenchmark {
+    
+    @Param({
+        "https://www.jicoo.com/t/_XDgWVCOgMPP/e/Teacher_Vanessa",
+        "https://www.jicoo.com/t/_XDgWVCOgMPP/e/Teacher_Vanessa?date=2025-11-22&tz=Asia%2FTokyo"
+    })
+    public String url;
+    
+    @Param({"19:0", "19:45"})
+    public String timeSlot;
+    
+    private ReservationService reservationService;
+    private LocalDate targetDate;
+    
+    @Setup
+    public void setup() {
+        reservationService = new ReservationService(Config.getInstance());
+        targetDate = LocalDate.of(2025, 11, 29);
+    }
+    
+    @Benchmark
+    public String addDateParameterToUrl() {
+        return reservationService.addDateParameterToUrl(url, targetDate);
+    }
+    
+    @Benchmark
+    public String normalizeTimeSlot() {
+        return reservationService.normalizeTimeSlot(timeSlot);
+    }
+    
+    @Benchmark
+    public String extractTeacherNameFromUrl() {
+        return reservationService.extractTeacherNameFromUrl(url);
+    }
+}
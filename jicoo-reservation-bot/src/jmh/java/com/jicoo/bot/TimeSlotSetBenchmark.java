@@ -0,0 +1,73 @@
+package com.jicoo.bot;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 時間帯の照合のベンチマーク
+ * 監視ループで毎周期行う「選択した時間帯のいずれかが空いているか」の判定を、
+ * 文字列のリストを解析して比較する方法と TimeSlotSet の共通部分で判定する方法で計測する。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TimeSlotSetBenchmark {
+    
+    // 選択した時間帯（最後の時間帯だけが空いている）
+    private final List<String> wanted = List.of("9:45", "13:00", "16:00", "19:45");
+    private final List<String> available = List.of("10:30", "11:15", "14:30", "17:30", "19:45");
+    private TimeSlotSet wantedSet;
+    private TimeSlotSet availableSet;
+    private TimeSlotSet previousSet;
+    
+    @Setup
+    public void setup() {
+        wantedSet = TimeSlotSet.of(wanted);
+        availableSet = TimeSlotSet.of(available);
+        previousSet = TimeSlotSet.of(List.of("10:30", "11:15", "14:30"));
+    }
+    
+    @Benchmark
+    public boolean matchStrings() {
+        for (String timeSlot : wanted) {
+            LocalTime time = AvailabilityPayloadParser.parseTimeSlot(timeSlot);
+            for (String slot : available) {
+                if (time != null && time.equals(AvailabilityPayloadParser.parseTimeSlot(slot))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+    
+    @Benchmark
+    public boolean intersects() {
+        return availableSet.intersects(wantedSet);
+    }
+    
+    @Benchmark
+    public TimeSlotSet diff() {
+        // 前回のスキャンから新しく空いた時間帯
+        return availableSet.andNot(previousSet);
+    }
+    
+    @Benchmark
+    public TimeSlotSet parse() {
+        return TimeSlotSet.of(available);
+    }
+}
@@ -0,0 +1,108 @@
+package com.jicoo.bot.api;
+
+import com.google.gson.Gson;
+import com.jicoo.bot.DateManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSONシリアライズのベンチマーク
+ * ApiServletのレスポンス（整形出力あり）とWebSocketHandlerの配信メッセージ（整形出力なし）を計測する。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+    
+    // 日付一覧の件数・ログバッチの行数
+    @Param({"10", "100"})
+    public int size;
+    
+    // ApiServletと同じ設定のGson
+    private Gson apiGson;
+    // WebSocketHandlerと同じ設定のGson
+    private Gson webSocketGson;
+    private List<Map<String, Object>> dates;
+    private Map<String, Object> status;
+    private Map<String, Object> logBatch;
+    private Map<String, Object> reservationResult;
+    
+    @Setup
+    public void setup() {
+        apiGson = RestApiServer.createGson();
+        webSocketGson = new Gson();
+        
+        dates = new ArrayList<>(size);
+        LocalDate start = LocalDate.of(2025, 11, 22);
+        for (int i = 0; i < size; i++) {
+            DateManager.DateInfo info = new DateManager.DateInfo(start.plusDays(i), i % 2 == 0);
+            info.addTimeSlot("19:00");
+            info.addTimeSlot("19:45");
+            dates.add(info.toMap());
+        }
+        
+        status = new HashMap<>();
+        status.put("revision", 1234L);
+        status.put("running", true);
+        status.put("isMonitoring", true);
+        status.put("monitoringTimeRestriction", true);
+        status.put("monitoringStartHour", 0);
+        status.put("monitoringEndHour", 2);
+        status.put("withinMonitoringHours", true);
+        
+        List<String> messages = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            messages.add("2025-11-22 00:00:00 [INFO] [Teacher_Vanessa@2025-11-29] タイムスロットを監視中です (" + i + ")");
+        }
+        logBatch = new HashMap<>(4);
+        logBatch.put("type", "logBatch");
+        logBatch.put("messages", messages);
+        logBatch.put("dropped", 0L);
+        
+        reservationResult = new HashMap<>(6);
+        reservationResult.put("type", "reservationResult");
+        reservationResult.put("date", "2025-11-29");
+        reservationResult.put("success", true);
+        reservationResult.put("timeSlots", List.of("19:00"));
+        reservationResult.put("teacherUrl", "https://www.jicoo.com/t/_XDgWVCOgMPP/e/Teacher_Vanessa");
+    }
+    
+    @Benchmark
+    public String apiDates() {
+        return apiGson.toJson(dates);
+    }
+    
+    @Benchmark
+    public String apiStatus() {
+        return apiGson.toJson(status);
+    }
+    
+    @Benchmark
+    public String webSocketLogBatch() {
+        return webSocketGson.toJson(logBatch);
+    }
+    
+    @Benchmark
+    public String webSocketReservationResult() {
+        return webSocketGson.toJson(reservationResult);
+    }
+}
@@ -0,0 +1,413 @@
+package com.jicoo.bot.bench;
+
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.servlet.ServletContextHandler;
+import org.eclipse.jetty.servlet.ServletHolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ベンチマーク用のJicoo代替サーバー
+ * MUI風のタイムスロットページ（?date=）、任意のログインポップアップ、予約フォームと確定画面を提供する。
+ * タイムスロットは指定した時刻（またはページ初回表示からの経過時間）に無効→有効へ切り替わり、
+ * 解放・クリック・確定の各時刻を記録する。
+ * タイムスロットページは表示時に空き状況のJSON（/api/availability）を取得する（通信内容の監視の計測用）。
+ */
+public class MockJicooServer {
+    private static final Logger logger = LoggerFactory.getLogger(MockJicooServer.class);
+    
+    private static final String CONTENT_TYPE_HTML = "text/html; charset=UTF-8";
+    private static final String CONTENT_TYPE_JSON = "application/json; charset=UTF-8";
+    private static final String SESSION_COOKIE = "mock_session";
+    private static final String TEACHER_PATH_MARKER = "/e/";
+    private static final String FORM_PATH = "/form";
+    private static final String CONFIRM_PATH = "/confirm";
+    private static final String SUCCESS_PATH = "/success";
+    private static final String LOGIN_PATH = "/login";
+    private static final String ORGANIZATION_PATH = "/t/mock";
+    private static final String AVAILABILITY_PATH = "/api/availability";
+    
+    private final int requestedPort;
+    private final Map<String, SlotTiming> slots = new ConcurrentHashMap<>();
+    private volatile boolean loginRequired = false;
+    private Server server;
+    private int port;
+    
+    /**
+     * タイムスロットの状態と計測時刻（System.nanoTime基準、未発生は-1）
+     */
+    public static final class SlotTiming {
+        private final String teacher;
+        private final LocalDate date;
+        private final String time;
+        private volatile long releaseAtNanos = Long.MAX_VALUE;
+        private volatile long releaseDelayNanos = -1;
+        private volatile long firstViewNanos = -1;
+        private volatile long firstEnabledViewNanos = -1;
+        private volatile long clickNanos = -1;
+        private volatile long submitNanos = -1;
+        
+        private SlotTiming(String teacher, LocalDate date, String time) {
+            this.teacher = teacher;
+            this.date = date;
+            this.time = time;
+        }
+        
+        private boolean isEnabled(long now) {
+            return now >= releaseAtNanos;
+        }
+        
+        public String getTeacher() {
+            return teacher;
+        }
+        
+        public LocalDate getDate() {
+            return date;
+        }
+        
+        public String getTime() {
+            return time;
+        }
+        
+        /**
+         * 解放時刻（未解放の場合は-1）
+         */
+        public long getReleaseNanos() {
+            long releaseAt = releaseAtNanos;
+            return releaseAt == Long.MAX_VALUE ? -1 : releaseAt;
+        }
+        
+        public long getFirstEnabledViewNanos() {
+            return firstEnabledViewNanos;
+        }
+        
+        public long getClickNanos() {
+            return clickNanos;
+        }
+        
+        public long getSubmitNanos() {
+            return submitNanos;
+        }
+    }
+    
+    /**
+     * @param port 待ち受けポート（0の場合は空きポートを自動選択）
+     */
+    public MockJicooServer(int port) {
+        this.requestedPort = port;
+    }
+    
+    /**
+     * サーバーを起動
+     */
+    public void start() throws Exception {
+        server = new Server(requestedPort);
+        ServletContextHandler context = new ServletContextHandler(ServletContextHandler.SESSIONS);
+        context.setContextPath("/");
+        context.addServlet(new ServletHolder(new MockServlet()), "/*");
+        server.setHandler(context);
+        server.start();
+        port = ((ServerConnector) server.getConnectors()[0]).getLocalPort();
+        logger.info("Jicoo代替サーバーを起動しました: {}", getBaseUrl());
+    }
+    
+    /**
+     * サーバーを停止
+     */
+    public void stop() throws Exception {
+        if (server != null) {
+            server.stop();
+            server = null;
+        }
+    }
+    
+    public String getBaseUrl() {
+        return "http://localhost:" + port;
+    }
+    
+    /**
+     * 先生の予約ページURL（実サイトと同じ /t/{組織}/e/{先生} 形式）
+     */
+    public String getTeacherUrl(String teacher) {
+        return getBaseUrl() + ORGANIZATION_PATH + TEACHER_PATH_MARKER + teacher;
+    }
+    
+    /**
+     * タイムスロットの予約フォームURL
+     */
+    public String getFormUrl(String teacher, LocalDate date, String time) {
+        return getBaseUrl() + FORM_PATH + "?teacher=" + encode(teacher) + "&date=" + date + "&time=" + encode(time);
+    }
+    
+    /**
+     * ログインポップアップを表示するかどうかを設定
+     */
+    public void setLoginRequired(boolean loginRequired) {
+        this.loginRequired = loginRequired;
+    }
+    
+    /**
+     * タイムスロットを追加
+     * @param enabled 最初から予約可能にする場合true
+     */
+    public SlotTiming addSlot(String teacher, LocalDate date, String time, boolean enabled) {
+        SlotTiming slot = new SlotTiming(teacher, date, time);
+        if (enabled) {
+            slot.releaseAtNanos = System.nanoTime();
+        }
+        slots.put(key(teacher, date, time), slot);
+        return slot;
+    }
+    
+    /**
+     * ページが初めて表示されてから指定時間後にタイムスロットを解放する
+     */
+    public void releaseAfterFirstView(String teacher, LocalDate date, String time, Duration delay) {
+        SlotTiming slot = requireSlot(teacher, date, time);
+        slot.releaseDelayNanos = delay.toNanos();
+        long firstView = slot.firstViewNanos;
+        if (firstView >= 0) {
+            slot.releaseAtNanos = firstView + slot.releaseDelayNanos;
+        }
+    }
+    
+    /**
+     * 指定したSystem.nanoTime時刻にタイムスロットを解放する
+     */
+    public void releaseAt(String teacher, LocalDate date, String time, long nanoTime) {
+        requireSlot(teacher, date, time).releaseAtNanos = nanoTime;
+    }
+    
+    /**
+     * タイムスロットの計測結果を取得
+     */
+    public SlotTiming getSlot(String teacher, LocalDate date, String time) {
+        return slots.get(key(teacher, date, time));
+    }
+    
+    private SlotTiming requireSlot(String teacher, LocalDate date, String time) {
+        SlotTiming slot = getSlot(teacher, date, time);
+        if (slot == null) {
+            throw new IllegalArgumentException("タイムスロットが登録されていません: " + key(teacher, date, time));
+        }
+        return slot;
+    }
+    
+    private static String key(String teacher, LocalDate date, String time) {
+        return teacher + "|" + date + "|" + time;
+    }
+    
+    /**
+     * 代替サイトのページを返すサーブレット
+     */
+    private class MockServlet extends HttpServlet {
+        @Override
+        protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            String path = req.getRequestURI();
+            resp.setContentType(CONTENT_TYPE_HTML);
+            resp.setHeader("Cache-Control", "no-store");
+            
+            if (path.startsWith(ORGANIZATION_PATH + TEACHER_PATH_MARKER)) {
+                String teacher = path.substring(path.lastIndexOf('/') + 1);
+                renderSlotPage(req, resp, teacher);
+            } else if (path.equals(FORM_PATH)) {
+                SlotTiming slot = findSlot(req);
+                if (slot == null) {
+                    resp.sendError(HttpServletResponse.SC_NOT_FOUND);
+                    return;
+                }
+                if (slot.clickNanos < 0) {
+                    slot.clickNanos = System.nanoTime();
+                }
+                renderFormPage(resp, slot);
+            } else if (path.equals(AVAILABILITY_PATH)) {
+                renderAvailability(req, resp);
+            } else if (path.equals(SUCCESS_PATH)) {
+                resp.getWriter().write(page("予約完了", "<h1>予約が完了しました</h1>"));
+            } else {
+                resp.sendError(HttpServletResponse.SC_NOT_FOUND);
+            }
+        }
+        
+        @Override
+        protected void doPost(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            String path = req.getRequestURI();
+            if (path.equals(LOGIN_PATH)) {
+                Cookie cookie = new Cookie(SESSION_COOKIE, "1");
+                cookie.setPath("/");
+                resp.addCookie(cookie);
+                String returnTo = req.getParameter("returnTo");
+                resp.sendRedirect(returnTo != null && returnTo.startsWith("/") ? returnTo : "/");
+            } else if (path.equals(CONFIRM_PATH)) {
+                SlotTiming slot = findSlot(req);
+                if (slot == null) {
+                    resp.sendError(HttpServletResponse.SC_NOT_FOUND);
+                    return;
+                }
+                if (slot.submitNanos < 0) {
+                    slot.submitNanos = System.nanoTime();
+                }
+                resp.sendRedirect(SUCCESS_PATH);
+            } else {
+                resp.sendError(HttpServletResponse.SC_NOT_FOUND);
+            }
+        }
+        
+        private SlotTiming findSlot(HttpServletRequest req) {
+            try {
+                return getSlot(req.getParameter("teacher"), LocalDate.parse(req.getParameter("date")), req.getParameter("time"));
+            } catch (Exception e) {
+                return null;
+            }
+        }
+        
+        private void renderSlotPage(HttpServletRequest req, HttpServletResponse resp, String teacher) throws IOException {
+            if (loginRequired && !hasSession(req)) {
+                String returnTo = req.getRequestURI() + (req.getQueryString() != null ? "?" + req.getQueryString() : "");
+                resp.getWriter().write(page("ログイン",
+                    "<div class=\"login-popup\"><form method=\"post\" action=\"" + LOGIN_PATH + "\">"
+                    + "<input type=\"hidden\" name=\"returnTo\" value=\"" + escape(returnTo) + "\">"
+                    + "<input type=\"text\" name=\"username\" placeholder=\"username\">"
+                    + "<input type=\"password\" name=\"password\" placeholder=\"password\">"
+                    + "<button type=\"submit\">ログイン</button></form></div>"));
+                return;
+            }
+            
+            LocalDate date;
+            try {
+                date = LocalDate.parse(req.getParameter("date"));
+            } catch (Exception e) {
+                resp.getWriter().write(page(teacher, "<p>日付を選択してください</p>"));
+                return;
+            }
+            
+            long now = System.nanoTime();
+            List<SlotTiming> daySlots = new ArrayList<>();
+            for (SlotTiming slot : slots.values()) {
+                if (slot.teacher.equals(teacher) && slot.date.equals(date)) {
+                    daySlots.add(slot);
+                }
+            }
+            daySlots.sort((a, b) -> a.time.compareTo(b.time));
+            
+            StringBuilder body = new StringBuilder(256 + daySlots.size() * 256);
+            body.append("<div class=\"MuiStack-root\">");
+            for (SlotTiming slot : daySlots) {
+                synchronized (slot) {
+                    if (slot.firstViewNanos < 0) {
+                        slot.firstViewNanos = now;
+                        if (slot.releaseDelayNanos >= 0) {
+                            slot.releaseAtNanos = now + slot.releaseDelayNanos;
+                        }
+                    }
+                }
+                boolean enabled = slot.isEnabled(now);
+                if (enabled && slot.firstEnabledViewNanos < 0) {
+                    slot.firstEnabledViewNanos = now;
+                }
+                String formUrl = FORM_PATH + "?teacher=" + encode(teacher) + "&date=" + date + "&time=" + encode(slot.time);
+                body.append("<button type=\"button\" class=\"MuiButtonBase-root MuiButton-root MuiButton-outlined")
+                    .append(enabled ? "" : " Mui-disabled").append('"')
+                    .append(enabled ? "" : " disabled aria-disabled=\"true\"")
+                    .append(" onclick=\"location.href='").append(escape(formUrl)).append("'\">")
+                    .append("<div>").append(escape(slot.time)).append("</div></button>");
+            }
+            body.append("</div>");
+            String availabilityUrl = AVAILABILITY_PATH + "?teacher=" + encode(teacher) + "&date=" + date;
+            body.append("<script>fetch('").append(escape(availabilityUrl)).append("', {credentials: 'include'});</script>");
+            resp.getWriter().write(page(teacher, body.toString()));
+        }
+        
+        /**
+         * 空き状況のJSONを返す（{"date": "...", "slots": [{"startAt": "...", "available": true}]}）
+         */
+        private void renderAvailability(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            String teacher = req.getParameter("teacher");
+            LocalDate date;
+            try {
+                date = LocalDate.parse(req.getParameter("date"));
+            } catch (Exception e) {
+                resp.sendError(HttpServletResponse.SC_BAD_REQUEST);
+                return;
+            }
+            long now = System.nanoTime();
+            List<SlotTiming> daySlots = new ArrayList<>();
+            for (SlotTiming slot : slots.values()) {
+                if (slot.teacher.equals(teacher) && slot.date.equals(date)) {
+                    daySlots.add(slot);
+                }
+            }
+            daySlots.sort((a, b) -> a.time.compareTo(b.time));
+            
+            StringBuilder json = new StringBuilder(64 + daySlots.size() * 64);
+            json.append("{\"date\":\"").append(date).append("\",\"slots\":[");
+            for (int i = 0; i < daySlots.size(); i++) {
+                SlotTiming slot = daySlots.get(i);
+                boolean enabled = slot.isEnabled(now);
+                if (enabled && slot.firstEnabledViewNanos < 0) {
+                    slot.firstEnabledViewNanos = now;
+                }
+                if (i > 0) {
+                    json.append(',');
+                }
+                json.append("{\"startAt\":\"").append(date).append('T').append(slot.time).append(":00+09:00\",")
+                    .append("\"available\":").append(enabled).append('}');
+            }
+            json.append("]}");
+            resp.setContentType(CONTENT_TYPE_JSON);
+            resp.getWriter().write(json.toString());
+        }
+        
+        private void renderFormPage(HttpServletResponse resp, SlotTiming slot) throws IOException {
+            String body = "<form method=\"post\" action=\"" + CONFIRM_PATH + "\">"
+                + "<input type=\"hidden\" name=\"teacher\" value=\"" + escape(slot.teacher) + "\">"
+                + "<input type=\"hidden\" name=\"date\" value=\"" + slot.date + "\">"
+                + "<input type=\"hidden\" name=\"time\" value=\"" + escape(slot.time) + "\">"
+                + "<input type=\"text\" name=\"name\" placeholder=\"Name\">"
+                + "<input type=\"email\" name=\"email\" placeholder=\"Email\">"
+                + "<button type=\"submit\">予約を確定する</button></form>";
+            resp.getWriter().write(page("予約フォーム", body));
+        }
+        
+        private boolean hasSession(HttpServletRequest req) {
+            Cookie[] cookies = req.getCookies();
+            if (cookies == null) {
+                return false;
+            }
+            for (Cookie cookie : cookies) {
+                if (SESSION_COOKIE.equals(cookie.getName())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+    
+    private static String page(String title, String body) {
+        return "<!DOCTYPE html><html><head><meta charset=\"UTF-8\"><title>" + escape(title)
+            + "</title></head><body>" + body + "</body></html>";
+    }
+    
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+    
+    private static String escape(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}
@@ -0,0 +1,261 @@
+package com.jicoo.bot.bench;
+
+import com.jicoo.bot.Config;
+import com.jicoo.bot.DriverManager;
+import com.jicoo.bot.FormStager;
+import com.jicoo.bot.ReservationService;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 予約反応時間のベンチマーク
+ * ローカルのJicoo代替サーバーに対して ReservationService.processUrl を実行し、
+ * タイムスロット解放からクリック・確定までのレイテンシをパーセンタイルで報告する。
+ *
+ * --stage-form=true を指定すると、計測前に代替サーバーの予約フォームで項目の場所を学習し、
+ * 事前準備したフォームへの一括入力で確定までの時間を計測する。
+ * --monitoring-mode=network を指定すると、通信内容から空き状況を検知する監視方法で計測する。
+ *
+ * 実行例: mvn -P benchmarks test-compile exec:java@benchmark -Dexec.args="--trials=5 --headless=true"
+ */
+public class ReservationLatencyBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(ReservationLatencyBenchmark.class);
+    
+    private static final String SEPARATOR = "========================================";
+    private static final String TEACHER = "Teacher_Bench";
+    private static final String TARGET_TIME = "19:00";
+    // ページに並べるダミーの時間帯（常に無効）
+    private static final List<String> DECOY_TIMES = List.of("17:00", "18:00", "20:00");
+    private static final double[] PERCENTILES = {50, 90, 99, 100};
+    
+    private final int trials;
+    private final long releaseDelayMs;
+    private final long releaseJitterMs;
+    private final boolean headless;
+    private final boolean loginRequired;
+    private final boolean stageForm;
+    private final DriverManager.BrowserProfile profile;
+    private final ReservationService.MonitoringMode monitoringMode;
+    private final int port;
+    
+    public ReservationLatencyBenchmark(int trials, long releaseDelayMs, long releaseJitterMs,
+                                       boolean headless, boolean loginRequired, boolean stageForm,
+                                       DriverManager.BrowserProfile profile, ReservationService.MonitoringMode monitoringMode, int port) {
+        this.trials = trials;
+        this.releaseDelayMs = releaseDelayMs;
+        this.releaseJitterMs = releaseJitterMs;
+        this.headless = headless;
+        this.loginRequired = loginRequired;
+        this.stageForm = stageForm;
+        this.profile = profile;
+        this.monitoringMode = monitoringMode;
+        this.port = port;
+    }
+    
+    /**
+     * 1回分の計測結果（ミリ秒、未計測は-1）
+     */
+    public static final class TrialResult {
+        private final boolean success;
+        private final double releaseToClickMs;
+        private final double releaseToSubmitMs;
+        
+        private TrialResult(boolean success, double releaseToClickMs, double releaseToSubmitMs) {
+            this.success = success;
+            this.releaseToClickMs = releaseToClickMs;
+            this.releaseToSubmitMs = releaseToSubmitMs;
+        }
+        
+        public boolean isSuccess() {
+            return success;
+        }
+        
+        public double getReleaseToClickMs() {
+            return releaseToClickMs;
+        }
+        
+        public double getReleaseToSubmitMs() {
+            return releaseToSubmitMs;
+        }
+    }
+    
+    /**
+     * ベンチマークを実行
+     * @return 各試行の計測結果
+     */
+    public List<TrialResult> run() throws Exception {
+        Config config = Config.getInstance();
+        // 代替サーバーは常に応答するため、監視時間制限は無効にする
+        config.setMonitoringTimeRestrictionEnabled(false);
+        ReservationService reservationService = new ReservationService(config);
+        reservationService.setMonitoringMode(monitoringMode);
+        
+        MockJicooServer mockServer = new MockJicooServer(port);
+        mockServer.setLoginRequired(loginRequired);
+        mockServer.start();
+        
+        List<TrialResult> results = new ArrayList<>(trials);
+        WebDriver driver = null;
+        try {
+            driver = DriverManager.createWebDriver(profile, headless, config.getTimeoutSeconds(), config.getImplicitWaitSeconds());
+            String teacherUrl = mockServer.getTeacherUrl(TEACHER);
+            LocalDate baseDate = LocalDate.now().plusDays(7);
+            
+            if (stageForm) {
+                // 計測に使わない日付のフォームを開き、項目の場所を事前に学習する
+                LocalDate stagingDate = baseDate.minusDays(1);
+                mockServer.addSlot(TEACHER, stagingDate, TARGET_TIME, true);
+                driver.get(mockServer.getFormUrl(TEACHER, stagingDate, TARGET_TIME));
+                if (!FormStager.getInstance().learn(driver, TEACHER)) {
+                    logger.warn("予約フォームの学習に失敗しました。通常の入力で計測します");
+                }
+            }
+            
+            for (int i = 0; i < trials; i++) {
+                // 試行ごとに別の日付を使い、前回の状態を持ち越さない
+                LocalDate date = baseDate.plusDays(i);
+                for (String decoy : DECOY_TIMES) {
+                    mockServer.addSlot(TEACHER, date, decoy, false);
+                }
+                mockServer.addSlot(TEACHER, date, TARGET_TIME, false);
+                // 監視間隔内のどの位相で解放されても計測できるよう、解放時刻をずらす
+                long jitter = releaseJitterMs > 0 ? ThreadLocalRandom.current().nextLong(releaseJitterMs + 1) : 0;
+                mockServer.releaseAfterFirstView(TEACHER, date, TARGET_TIME, Duration.ofMillis(releaseDelayMs + jitter));
+                
+                boolean success = reservationService.processUrl(driver, teacherUrl, date, List.of(TARGET_TIME));
+                MockJicooServer.SlotTiming timing = mockServer.getSlot(TEACHER, date, TARGET_TIME);
+                TrialResult result = new TrialResult(success,
+                    elapsedMs(timing.getReleaseNanos(), timing.getClickNanos()),
+                    elapsedMs(timing.getReleaseNanos(), timing.getSubmitNanos()));
+                results.add(result);
+                logger.info("試行 {}/{}: 成功={}, 解放→クリック={}ms, 解放→確定={}ms",
+                    i + 1, trials, success, format(result.releaseToClickMs), format(result.releaseToSubmitMs));
+            }
+        } finally {
+            DriverManager.closeWebDriver(driver, true);
+            mockServer.stop();
+        }
+        return results;
+    }
+    
+    /**
+     * 計測結果のパーセンタイルを出力
+     */
+    public void report(List<TrialResult> results) {
+        long successCount = results.stream().filter(TrialResult::isSuccess).count();
+        logger.info(SEPARATOR);
+        logger.info("予約反応時間ベンチマーク結果（試行数: {}, 成功: {}, 監視間隔: {}秒, フォーム事前準備: {}, ブラウザ: {}, 監視方法: {}）",
+            results.size(), successCount, Config.getInstance().getMonitoringIntervalSeconds(), stageForm,
+            profile.name().toLowerCase(), monitoringMode.name().toLowerCase());
+        logPercentiles("解放→クリック", results.stream().mapToDouble(TrialResult::getReleaseToClickMs).toArray());
+        logPercentiles("解放→確定", results.stream().mapToDouble(TrialResult::getReleaseToSubmitMs).toArray());
+        logger.info(SEPARATOR);
+    }
+    
+    private void logPercentiles(String label, double[] samples) {
+        double[] measured = Arrays.stream(samples).filter(v -> v >= 0).sorted().toArray();
+        if (measured.length == 0) {
+            logger.info("{}: 計測値なし", label);
+            return;
+        }
+        StringBuilder sb = new StringBuilder();
+        for (double p : PERCENTILES) {
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            sb.append(p == 100 ? "max" : "p" + (int) p).append('=').append(format(percentile(measured, p))).append("ms");
+        }
+        logger.info("{}（n={}）: {}", label, measured.length, sb);
+    }
+    
+    /**
+     * パーセンタイルを取得（最近順位法、sortedは昇順）
+     */
+    static double percentile(double[] sorted, double percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+    
+    private static double elapsedMs(long fromNanos, long toNanos) {
+        if (fromNanos < 0 || toNanos < 0) {
+            return -1;
+        }
+        return (toNanos - fromNanos) / 1_000_000.0;
+    }
+    
+    private static String format(double ms) {
+        return ms < 0 ? "-" : String.format("%.1f", ms);
+    }
+    
+    /**
+     * メインメソッド
+     * 引数: --trials=N --release-delay-ms=M --release-jitter-ms=J --headless=true|false --login=true|false
+     *       --stage-form=true|false --profile=full|lean --monitoring-mode=dom|network --port=P
+     */
+    public static void main(String[] args) {
+        int trials = 5;
+        long releaseDelayMs = 3000;
+        long releaseJitterMs = Math.max(0, Config.getInstance().getMonitoringIntervalSeconds() * 1000L);
+        boolean headless = true;
+        boolean loginRequired = false;
+        boolean stageForm = false;
+        DriverManager.BrowserProfile profile = Config.getInstance().getBrowserProfile();
+        ReservationService.MonitoringMode monitoringMode = Config.getInstance().getMonitoringMode();
+        int port = 0;
+        
+        for (String arg : args) {
+            String[] kv = arg.replaceFirst("^--", "").split("=", 2);
+            String value = kv.length > 1 ? kv[1] : "true";
+            switch (kv[0]) {
+                case "trials":
+                    trials = Integer.parseInt(value);
+                    break;
+                case "release-delay-ms":
+                    releaseDelayMs = Long.parseLong(value);
+                    break;
+                case "release-jitter-ms":
+                    releaseJitterMs = Long.parseLong(value);
+                    break;
+                case "headless":
+                    headless = Boolean.parseBoolean(value);
+                    break;
+                case "login":
+                    loginRequired = Boolean.parseBoolean(value);
+                    break;
+                case "stage-form":
+                    stageForm = Boolean.parseBoolean(value);
+                    break;
+                case "profile":
+                    profile = DriverManager.BrowserProfile.fromName(value);
+                    break;
+                case "monitoring-mode":
+                    monitoringMode = ReservationService.MonitoringMode.fromName(value);
+                    break;
+                case "port":
+                    port = Integer.parseInt(value);
+                    break;
+                default:
+                    logger.warn("不明な引数を無視します: {}", arg);
+                    break;
+            }
+        }
+        
+        ReservationLatencyBenchmark benchmark = new ReservationLatencyBenchmark(
+            trials, releaseDelayMs, releaseJitterMs, headless, loginRequired, stageForm, profile, monitoringMode, port);
+        try {
+            benchmark.report(benchmark.run());
+        } catch (Exception e) {
+            logger.error("ベンチマーク実行中にエラーが発生しました", e);
+            System.exit(1);
+        }
+        System.exit(0);
+    }
+}
@@ -0,0 +1,195 @@
+package com.jicoo.bot;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * 空き状況の共有ボード
+ * 先生ごとのカレンダー一括スキャンの結果（日付→空いているタイムスロット）を保持し、
+ * 同じ先生×日付を監視しているタスクやリスナーに共有する。
+ * 公開された結果は ScanDiffEngine で前回と比較し、得られた状態遷移を空き状況の履歴・メトリクス・
+ * 状態変更フィード・遷移のリスナーに同じものとして配る（利用側で差分を計算し直さない）。
+ */
+public class AvailabilityBoard {
+    private static final Logger logger = LoggerFactory.getLogger(AvailabilityBoard.class);
+    private static final AvailabilityBoard instance = new AvailabilityBoard();
+    
+    /**
+     * 1つの先生×日付のスキャン結果
+     */
+    private static final class ScanEntry {
+        private final TimeSlotSet availableSlots;
+        private final long scannedAt;
+        
+        private ScanEntry(TimeSlotSet availableSlots, long scannedAt) {
+            this.availableSlots = availableSlots;
+            this.scannedAt = scannedAt;
+        }
+    }
+    
+    private final Map<String, ScanEntry> entries = new ConcurrentHashMap<>();
+    private final List<BiConsumer<String, Map<LocalDate, List<String>>>> listeners = new CopyOnWriteArrayList<>();
+    private final List<Consumer<List<SlotTransition>>> transitionListeners = new CopyOnWriteArrayList<>();
+    private final AvailabilityHistory history = AvailabilityHistory.getInstance();
+    private final ScanDiffEngine diffEngine = new ScanDiffEngine(history);
+    private final ReservationMetrics metrics = ReservationMetrics.getInstance();
+    
+    private AvailabilityBoard() {
+    }
+    
+    /**
+     * シングルトンインスタンスを取得
+     */
+    public static AvailabilityBoard getInstance() {
+        return instance;
+    }
+    
+    /**
+     * 以前のスキャン結果をすべて消去（新しい監視の開始時に呼ぶ）
+     */
+    public void clear() {
+        entries.clear();
+    }
+    
+    /**
+     * 先生1人分のスキャン結果を公開
+     * @param url 先生のURL
+     * @param slotsByDate 日付ごとの空いているタイムスロット
+     * @return 前回のスキャン結果からの状態遷移
+     */
+    public List<SlotTransition> publish(String url, Map<LocalDate, List<String>> slotsByDate) {
+        if (url == null || slotsByDate == null || slotsByDate.isEmpty()) {
+            return List.of();
+        }
+        long now = System.currentTimeMillis();
+        for (Map.Entry<LocalDate, List<String>> entry : slotsByDate.entrySet()) {
+            entries.put(key(url, entry.getKey()), new ScanEntry(TimeSlotSet.of(entry.getValue()), now));
+        }
+        for (BiConsumer<String, Map<LocalDate, List<String>>> listener : listeners) {
+            try {
+                listener.accept(url, slotsByDate);
+            } catch (Exception e) {
+                logger.debug("空き状況のリスナーでエラーが発生しました: {}", e.getMessage());
+            }
+        }
+        List<SlotTransition> transitions = diffEngine.diff(url, slotsByDate);
+        if (!transitions.isEmpty()) {
+            dispatch(url, transitions);
+        }
+        return transitions;
+    }
+    
+    /**
+     * 状態遷移を各利用側に配る
+     */
+    private void dispatch(String url, List<SlotTransition> transitions) {
+        if (Config.getInstance().isAvailabilityHistoryEnabled()) {
+            history.record(transitions);
+        }
+        metrics.recordSlotTransitions(transitions);
+        
+        List<Map<String, Object>> items = new ArrayList<>(transitions.size());
+        for (SlotTransition transition : transitions) {
+            items.add(transition.toMap());
+        }
+        Map<String, Object> data = new HashMap<>();
+        data.put("teacherUrl", url);
+        data.put("transitions", items);
+        StateChangeFeed.getInstance().publish(StateChangeFeed.SLOT_TRANSITIONS, data);
+        
+        for (Consumer<List<SlotTransition>> listener : transitionListeners) {
+            try {
+                listener.accept(transitions);
+            } catch (Exception e) {
+                logger.debug("状態遷移のリスナーでエラーが発生しました: {}", e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * 対象の時間帯に空きがあるかをスキャン結果から判定
+     * @param url 先生のURL
+     * @param date 対象日付
+     * @param timeSlots 対象のタイムスロット
+     * @param maxAgeMs この時間より古いスキャン結果は使わない（ミリ秒）
+     * @return 空きがあればtrue、なければfalse、新しいスキャン結果がない場合はnull
+     */
+    public Boolean hasOpening(String url, LocalDate date, List<String> timeSlots, long maxAgeMs) {
+        return hasOpening(url, date, TimeSlotSet.of(timeSlots), maxAgeMs);
+    }
+    
+    /**
+     * 対象の時間帯に空きがあるかをスキャン結果から判定（監視ループ用、割り当てを行わない）
+     * @param url 先生のURL
+     * @param date 対象日付
+     * @param wanted 対象の時間帯の集合
+     * @param maxAgeMs この時間より古いスキャン結果は使わない（ミリ秒）
+     * @return 空きがあればtrue、なければfalse、新しいスキャン結果がない場合はnull
+     */
+    public Boolean hasOpening(String url, LocalDate date, TimeSlotSet wanted, long maxAgeMs) {
+        return hasOpening(url, date, wanted, maxAgeMs, 0L);
+    }
+    
+    /**
+     * 対象の時間帯に空きがあるかをスキャン結果から判定（指定時刻より後に公開された結果だけを使う）
+     * @param url 先生のURL
+     * @param date 対象日付
+     * @param wanted 対象の時間帯の集合
+     * @param maxAgeMs この時間より古いスキャン結果は使わない（ミリ秒）
+     * @param publishedAfter この時刻以前に公開されたスキャン結果は使わない（監視自身が公開した結果を除く場合に指定）
+     * @return 空きがあればtrue、なければfalse、新しいスキャン結果がない場合はnull
+     */
+    public Boolean hasOpening(String url, LocalDate date, TimeSlotSet wanted, long maxAgeMs, long publishedAfter) {
+        if (url == null || date == null) {
+            return null;
+        }
+        ScanEntry entry = entries.get(key(url, date));
+        if (entry == null || entry.scannedAt <= publishedAfter
+            || System.currentTimeMillis() - entry.scannedAt > maxAgeMs) {
+            return null;
+        }
+        return entry.availableSlots.intersects(wanted);
+    }
+    
+    /**
+     * スキャン結果を公開するたびに、先生のURLと日付ごとの空いているタイムスロットを受け取るリスナーを追加
+     */
+    public void addListener(BiConsumer<String, Map<LocalDate, List<String>>> listener) {
+        listeners.add(listener);
+    }
+    
+    /**
+     * リスナーを削除
+     */
+    public void removeListener(BiConsumer<String, Map<LocalDate, List<String>>> listener) {
+        listeners.remove(listener);
+    }
+    
+    /**
+     * スキャン結果の状態遷移（空いた・埋まった時間帯）を受け取るリスナーを追加
+     */
+    public void addTransitionListener(Consumer<List<SlotTransition>> listener) {
+        transitionListeners.add(listener);
+    }
+    
+    /**
+     * 状態遷移のリスナーを削除
+     */
+    public void removeTransitionListener(Consumer<List<SlotTransition>> listener) {
+        transitionListeners.remove(listener);
+    }
+    
+    private static String key(String url, LocalDate date) {
+        return url + "@" + date;
+    }
+}
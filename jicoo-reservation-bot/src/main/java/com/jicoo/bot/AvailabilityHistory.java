@@ -0,0 +1,348 @@
+package com.jicoo.bot;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 空き状況の履歴
+ * スキャン結果の差分（ScanDiffEngine が発行した先生×日付×時間帯ごとの状態遷移）を受け取り、
+ * 時間帯ごとの「空いた」「埋まった」の変化だけを data/availability-history.bin に追記する。
+ * 変化のない周期は何も書かないため、数か月監視し続けてもファイルは小さいままになる。
+ *
+ * レコードは10バイト固定長（時刻順に追記）:
+ *   エポック秒（4バイト、符号なし）/ 先生ID（2バイト）/ エポック日（2バイト、符号なし）/
+ *   0時からの分（下位11ビット）と空きフラグ（最上位ビット）（2バイト）
+ * 先生IDは data/availability-history-teachers.txt の行番号（先生のURLを1行ずつ追記）。
+ * 期間の検索はファイルをメモリマップし、開始時刻を二分探索してから読み進める。
+ */
+public class AvailabilityHistory {
+    private static final Logger logger = LoggerFactory.getLogger(AvailabilityHistory.class);
+    private static final AvailabilityHistory instance = new AvailabilityHistory();
+    
+    private static final String DATA_DIR = "data";
+    private static final String HISTORY_FILE = "availability-history.bin";
+    private static final String TEACHERS_FILE = "availability-history-teachers.txt";
+    private static final ZoneId JAPAN_ZONE = ZoneId.of("Asia/Tokyo");
+    private static final int RECORD_SIZE = 10;
+    private static final int OPEN_FLAG = 0x8000;
+    private static final int MINUTE_MASK = 0x07FF;
+    private static final long UNSIGNED_INT_MASK = 0xFFFFFFFFL;
+    private static final int UNSIGNED_SHORT_MASK = 0xFFFF;
+    
+    /**
+     * 1件の状態変化
+     */
+    public static final class Change {
+        private final String teacherUrl;
+        private final LocalDate date;
+        private final LocalTime time;
+        private final boolean open;
+        private final LocalDateTime observedAt;
+        
+        private Change(String teacherUrl, LocalDate date, LocalTime time, boolean open, LocalDateTime observedAt) {
+            this.teacherUrl = teacherUrl;
+            this.date = date;
+            this.time = time;
+            this.open = open;
+            this.observedAt = observedAt;
+        }
+        
+        public String getTeacherUrl() {
+            return teacherUrl;
+        }
+        
+        public LocalDate getDate() {
+            return date;
+        }
+        
+        public LocalTime getTime() {
+            return time;
+        }
+        
+        /**
+         * 空いた変化ならtrue、埋まった変化ならfalse
+         */
+        public boolean isOpen() {
+            return open;
+        }
+        
+        /**
+         * 変化を観測した日時（日本時間）
+         */
+        public LocalDateTime getObservedAt() {
+            return observedAt;
+        }
+        
+        /**
+         * API用のマップに変換
+         */
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("teacherUrl", teacherUrl);
+            map.put("date", date.toString());
+            map.put("time", time.toString());
+            map.put("state", open ? "open" : "closed");
+            map.put("observedAt", observedAt.toString());
+            return map;
+        }
+    }
+    
+    private final Path historyPath = Paths.get(DATA_DIR).resolve(HISTORY_FILE);
+    private final Path teachersPath = Paths.get(DATA_DIR).resolve(TEACHERS_FILE);
+    private final List<String> teachers = new ArrayList<>();
+    private final Map<String, Integer> teacherIds = new HashMap<>();
+    // 先生×日付ごとの最後に記録した空き時刻（0時からの分）
+    private final Map<String, TimeSlotSet> lastOpen = new HashMap<>();
+    private long lastEpochSecond;
+    private boolean loaded;
+    // 検索用のメモリマップ（ファイルが伸びたときだけ作り直す）
+    private MappedByteBuffer mapped;
+    private long mappedSize = -1;
+    
+    private AvailabilityHistory() {
+    }
+    
+    /**
+     * シングルトンインスタンスを取得
+     */
+    public static AvailabilityHistory getInstance() {
+        return instance;
+    }
+    
+    /**
+     * 状態遷移を記録（記録済みの状態と同じ遷移は書かない）
+     * @param transitions ScanDiffEngine が発行した状態遷移
+     */
+    public synchronized void record(List<SlotTransition> transitions) {
+        if (transitions == null || transitions.isEmpty()) {
+            return;
+        }
+        load();
+        long now = Math.max(lastEpochSecond, Instant.now().getEpochSecond());
+        ByteBuffer buffer = null;
+        try {
+            for (SlotTransition transition : transitions) {
+                int teacherId = teacherId(transition.getTeacherUrl());
+                String key = key(teacherId, transition.getDate());
+                TimeSlotSet open = lastOpen.getOrDefault(key, TimeSlotSet.EMPTY);
+                // 再起動直後など、同じ状態を二重に記録しない
+                if (open.contains(transition.getMinute()) == transition.isOpen()) {
+                    continue;
+                }
+                if (buffer == null) {
+                    buffer = ByteBuffer.allocate(RECORD_SIZE * 64);
+                }
+                buffer = put(buffer, now, teacherId, transition.getDate(), transition.getMinute(), transition.isOpen());
+                lastOpen.put(key, transition.isOpen() ? open.with(transition.getMinute()) : open.without(transition.getMinute()));
+            }
+            if (buffer == null) {
+                return;
+            }
+            buffer.flip();
+            try (FileChannel channel = FileChannel.open(historyPath, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            lastEpochSecond = now;
+        } catch (IOException e) {
+            logger.warn("空き状況の履歴の保存に失敗しました: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * 先生×日付の最後に記録した空いている時間帯（ScanDiffEngine の比較の初期状態）
+     * @return 空いている時間帯（記録がない場合は空）
+     */
+    public synchronized TimeSlotSet getOpenSlots(String url, LocalDate date) {
+        load();
+        Integer teacherId = teacherIds.get(url);
+        return teacherId != null ? lastOpen.getOrDefault(key(teacherId, date), TimeSlotSet.EMPTY) : TimeSlotSet.EMPTY;
+    }
+    
+    /**
+     * 期間内の状態変化を検索
+     * @param teacher 先生のURLまたは名前（URLの最後のパス）。nullの場合はすべての先生
+     * @param date 対象日付（nullの場合はすべての日付）
+     * @param from 検索開始日時（日本時間、nullの場合は最初から）
+     * @param to 検索終了日時（日本時間、この日時を含まない。nullの場合は最後まで）
+     * @param limit 返す最大件数
+     * @return 時刻順の状態変化
+     */
+    public synchronized List<Change> query(String teacher, LocalDate date, LocalDateTime from, LocalDateTime to, int limit) {
+        List<Change> result = new ArrayList<>();
+        load();
+        try {
+            MappedByteBuffer buffer = map();
+            if (buffer == null) {
+                return result;
+            }
+            int count = (int) (mappedSize / RECORD_SIZE);
+            long fromSecond = from != null ? from.atZone(JAPAN_ZONE).toEpochSecond() : 0L;
+            long toSecond = to != null ? to.atZone(JAPAN_ZONE).toEpochSecond() : Long.MAX_VALUE;
+            for (int i = lowerBound(buffer, count, fromSecond); i < count && result.size() < limit; i++) {
+                int offset = i * RECORD_SIZE;
+                long epochSecond = buffer.getInt(offset) & UNSIGNED_INT_MASK;
+                if (epochSecond >= toSecond) {
+                    break;
+                }
+                int teacherId = buffer.getShort(offset + 4) & UNSIGNED_SHORT_MASK;
+                LocalDate recordDate = LocalDate.ofEpochDay(buffer.getShort(offset + 6) & UNSIGNED_SHORT_MASK);
+                int slot = buffer.getShort(offset + 8) & UNSIGNED_SHORT_MASK;
+                String teacherUrl = teacherId < teachers.size() ? teachers.get(teacherId) : String.valueOf(teacherId);
+                if ((date != null && !date.equals(recordDate)) || (teacher != null && !matchesTeacher(teacherUrl, teacher))) {
+                    continue;
+                }
+                int minute = slot & MINUTE_MASK;
+                result.add(new Change(teacherUrl, recordDate, LocalTime.of(minute / 60, minute % 60),
+                    (slot & OPEN_FLAG) != 0, LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), JAPAN_ZONE)));
+            }
+        } catch (IOException e) {
+            logger.warn("空き状況の履歴の読み込みに失敗しました: {}", e.getMessage());
+        }
+        return result;
+    }
+    
+    /**
+     * 記録済みの状態変化の件数
+     */
+    public synchronized long size() {
+        try {
+            return Files.exists(historyPath) ? Files.size(historyPath) / RECORD_SIZE : 0L;
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+    
+    private static ByteBuffer put(ByteBuffer buffer, long epochSecond, int teacherId, LocalDate date, int minute, boolean open) {
+        if (buffer.remaining() < RECORD_SIZE) {
+            ByteBuffer grown = ByteBuffer.allocate(buffer.capacity() * 2);
+            buffer.flip();
+            grown.put(buffer);
+            buffer = grown;
+        }
+        buffer.putInt((int) epochSecond);
+        buffer.putShort((short) teacherId);
+        buffer.putShort((short) date.toEpochDay());
+        buffer.putShort((short) (minute | (open ? OPEN_FLAG : 0)));
+        return buffer;
+    }
+    
+    /**
+     * 開始時刻以降の最初のレコードの位置を二分探索（レコードは時刻順に並んでいる）
+     */
+    private static int lowerBound(MappedByteBuffer buffer, int count, long fromSecond) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if ((buffer.getInt(mid * RECORD_SIZE) & UNSIGNED_INT_MASK) < fromSecond) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+    
+    private MappedByteBuffer map() throws IOException {
+        if (!Files.exists(historyPath)) {
+            return null;
+        }
+        long size = Files.size(historyPath) / RECORD_SIZE * RECORD_SIZE;
+        if (size == 0) {
+            return null;
+        }
+        if (mapped == null || size != mappedSize) {
+            try (FileChannel channel = FileChannel.open(historyPath, StandardOpenOption.READ)) {
+                mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                mappedSize = size;
+            }
+        }
+        return mapped;
+    }
+    
+    private int teacherId(String url) throws IOException {
+        Integer id = teacherIds.get(url);
+        if (id != null) {
+            return id;
+        }
+        Files.writeString(teachersPath, url + System.lineSeparator(), StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        teachers.add(url);
+        teacherIds.put(url, teachers.size() - 1);
+        return teachers.size() - 1;
+    }
+    
+    /**
+     * 先生の一覧を読み込み、履歴を再生して先生×日付ごとの最後の空き状況を復元（初回のみ）
+     */
+    private void load() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        try {
+            Files.createDirectories(historyPath.getParent());
+            if (Files.exists(teachersPath)) {
+                for (String line : Files.readAllLines(teachersPath, StandardCharsets.UTF_8)) {
+                    if (!line.isBlank()) {
+                        teachers.add(line.trim());
+                        teacherIds.put(line.trim(), teachers.size() - 1);
+                    }
+                }
+            }
+            MappedByteBuffer buffer = map();
+            if (buffer == null) {
+                return;
+            }
+            long today = LocalDate.now(JAPAN_ZONE).toEpochDay();
+            int count = (int) (mappedSize / RECORD_SIZE);
+            for (int i = 0; i < count; i++) {
+                int offset = i * RECORD_SIZE;
+                int epochDay = buffer.getShort(offset + 6) & UNSIGNED_SHORT_MASK;
+                if (epochDay < today) {
+                    continue;
+                }
+                int teacherId = buffer.getShort(offset + 4) & UNSIGNED_SHORT_MASK;
+                int slot = buffer.getShort(offset + 8) & UNSIGNED_SHORT_MASK;
+                String key = key(teacherId, LocalDate.ofEpochDay(epochDay));
+                TimeSlotSet open = lastOpen.getOrDefault(key, TimeSlotSet.EMPTY);
+                lastOpen.put(key, (slot & OPEN_FLAG) != 0 ? open.with(slot & MINUTE_MASK) : open.without(slot & MINUTE_MASK));
+            }
+            lastEpochSecond = buffer.getInt((count - 1) * RECORD_SIZE) & UNSIGNED_INT_MASK;
+            logger.info("空き状況の履歴を読み込みました: {}件（先生数: {}）", count, teachers.size());
+        } catch (IOException e) {
+            logger.warn("空き状況の履歴の読み込みに失敗しました: {}", e.getMessage());
+        }
+    }
+    
+    private static boolean matchesTeacher(String teacherUrl, String teacher) {
+        return teacherUrl.equals(teacher) || teacherUrl.endsWith("/" + teacher);
+    }
+    
+    private static String key(int teacherId, LocalDate date) {
+        return teacherId + "@" + date;
+    }
+}
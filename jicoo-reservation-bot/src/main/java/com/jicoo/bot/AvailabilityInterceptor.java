@@ -0,0 +1,289 @@
+package com.jicoo.bot;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * 通信内容からの空き状況検知
+ * DevTools（CDP）の Network.requestWillBeSent / responseReceived / loadingFinished を購読し、
+ * 予約ページが取得する空き状況のJSONを Network.getResponseBody で取り出して解析する。
+ * 空きがない間はページを再読み込みせず、最後に取得した空き状況のリクエストをページ内の fetch で再送して更新を待つ。
+ *
+ * Chromeのバージョンに依存しないよう、バージョン別のCDPクラスではなくメソッド名を直接指定して送受信する。
+ */
+public class AvailabilityInterceptor implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(AvailabilityInterceptor.class);
+    
+    private static final String METHOD_GET = "GET";
+    private static final Set<String> CAPTURED_RESOURCE_TYPES = Set.of("XHR", "Fetch");
+    private static final String MIME_JSON = "json";
+    private static final int HTTP_OK = 200;
+    // 再送しないヘッダー（ブラウザが付与するもの）
+    private static final Set<String> SKIPPED_HEADERS = Set.of(
+        "cookie", "host", "referer", "user-agent", "origin", "content-length", "connection", "accept-encoding");
+    private static final String REFETCH_SCRIPT =
+        "fetch(arguments[0], {credentials: 'include', cache: 'no-store', headers: arguments[1]}).catch(function() {});";
+    
+    /**
+     * 空き状況の判定結果
+     */
+    public enum Availability {
+        // 対象の時間帯のいずれかに空きがある
+        AVAILABLE,
+        // 対象の日付の空き状況を取得したが、どの時間帯にも空きがない
+        UNAVAILABLE,
+        // 対象の日付の空き状況をまだ取得していない
+        UNKNOWN
+    }
+    
+    /**
+     * 空き状況のリクエスト
+     */
+    private static final class CapturedRequest {
+        private final String url;
+        private final Map<String, Object> headers;
+        
+        private CapturedRequest(String url, Map<String, Object> headers) {
+            this.url = url;
+            this.headers = headers;
+        }
+    }
+    
+    private final DevTools devTools;
+    private final Pattern urlPattern;
+    private final String teacherName;
+    private final ReservationMetrics metrics = ReservationMetrics.getInstance();
+    // 応答待ちのリクエスト（requestId→リクエスト）
+    private final Map<String, CapturedRequest> pendingRequests = new ConcurrentHashMap<>();
+    // 本文の取得待ちのリクエスト
+    private final Queue<Map.Entry<String, CapturedRequest>> finishedRequests = new ConcurrentLinkedQueue<>();
+    // 以下は監視スレッドからのみ参照する
+    private final Map<LocalDate, TimeSlotSet> latest = new HashMap<>();
+    private CapturedRequest lastPayloadRequest;
+    
+    private AvailabilityInterceptor(DevTools devTools, Pattern urlPattern, String teacherName) {
+        this.devTools = devTools;
+        this.urlPattern = urlPattern;
+        this.teacherName = teacherName;
+    }
+    
+    /**
+     * WebDriverの通信の監視を開始
+     * @param driver WebDriver（DevTools対応のChromeのみ）
+     * @param urlPattern 空き状況のリクエストとみなすURLの正規表現
+     * @param teacherName 先生名（メトリクス用）
+     * @return 監視できない場合はnull（呼び出し元はDOMの監視を続ける）
+     */
+    public static AvailabilityInterceptor attach(WebDriver driver, String urlPattern, String teacherName) {
+        if (!(driver instanceof HasDevTools)) {
+            logger.warn("【WARN】AvailabilityInterceptor - DevToolsに対応していないWebDriverのため、通信の監視を使用しません");
+            return null;
+        }
+        Pattern pattern;
+        try {
+            pattern = Pattern.compile(urlPattern);
+        } catch (PatternSyntaxException e) {
+            logger.warn("【WARN】AvailabilityInterceptor - 空き状況のURLパターンが不正です: {}", urlPattern);
+            return null;
+        }
+        try {
+            DevTools devTools = ((HasDevTools) driver).getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            AvailabilityInterceptor interceptor = new AvailabilityInterceptor(devTools, pattern, teacherName);
+            interceptor.start();
+            logger.info("【STEP】{} - 通信内容から空き状況を監視します（URLパターン: {}）", teacherName, urlPattern);
+            return interceptor;
+        } catch (Exception e) {
+            logger.warn("【WARN】AvailabilityInterceptor - DevToolsに接続できないため、通信の監視を使用しません: {}", e.getMessage());
+            return null;
+        }
+    }
+    
+    private void start() {
+        devTools.addListener(new Event<Map<String, Object>>("Network.requestWillBeSent", input -> input.read(Json.MAP_TYPE)),
+            this::onRequestWillBeSent);
+        devTools.addListener(new Event<Map<String, Object>>("Network.responseReceived", input -> input.read(Json.MAP_TYPE)),
+            this::onResponseReceived);
+        devTools.addListener(new Event<Map<String, Object>>("Network.loadingFinished", input -> input.read(Json.MAP_TYPE)),
+            this::onLoadingFinished);
+        devTools.addListener(new Event<Map<String, Object>>("Network.loadingFailed", input -> input.read(Json.MAP_TYPE)),
+            params -> pendingRequests.remove(String.valueOf(params.get("requestId"))));
+        devTools.send(new Command<Void>("Network.enable", Map.of()));
+    }
+    
+    @SuppressWarnings("unchecked")
+    private void onRequestWillBeSent(Map<String, Object> params) {
+        Object type = params.get("type");
+        Object request = params.get("request");
+        if (!(request instanceof Map) || type == null || !CAPTURED_RESOURCE_TYPES.contains(type.toString())) {
+            return;
+        }
+        Map<String, Object> requestMap = (Map<String, Object>) request;
+        String url = String.valueOf(requestMap.get("url"));
+        if (!METHOD_GET.equals(requestMap.get("method")) || !urlPattern.matcher(url).find()) {
+            return;
+        }
+        Map<String, Object> headers = new HashMap<>();
+        if (requestMap.get("headers") instanceof Map) {
+            for (Map.Entry<String, Object> header : ((Map<String, Object>) requestMap.get("headers")).entrySet()) {
+                if (!SKIPPED_HEADERS.contains(header.getKey().toLowerCase())) {
+                    headers.put(header.getKey(), header.getValue());
+                }
+            }
+        }
+        pendingRequests.put(String.valueOf(params.get("requestId")), new CapturedRequest(url, headers));
+    }
+    
+    @SuppressWarnings("unchecked")
+    private void onResponseReceived(Map<String, Object> params) {
+        String requestId = String.valueOf(params.get("requestId"));
+        if (!pendingRequests.containsKey(requestId)) {
+            return;
+        }
+        Object response = params.get("response");
+        if (!(response instanceof Map)) {
+            pendingRequests.remove(requestId);
+            return;
+        }
+        Map<String, Object> responseMap = (Map<String, Object>) response;
+        Object status = responseMap.get("status");
+        Object mimeType = responseMap.get("mimeType");
+        if (!(status instanceof Number) || ((Number) status).intValue() != HTTP_OK
+            || mimeType == null || !mimeType.toString().contains(MIME_JSON)) {
+            pendingRequests.remove(requestId);
+        }
+    }
+    
+    private void onLoadingFinished(Map<String, Object> params) {
+        String requestId = String.valueOf(params.get("requestId"));
+        CapturedRequest request = pendingRequests.remove(requestId);
+        if (request != null) {
+            finishedRequests.add(new AbstractMap.SimpleEntry<>(requestId, request));
+        }
+    }
+    
+    /**
+     * 前回の確認以降に取得した空き状況から、対象の時間帯の空きを判定（監視スレッドから呼ぶ）
+     * @param targetDate 対象日付
+     * @param timeSlots 対象のタイムスロット（例: ["19:00", "20:25"]）
+     * @return 判定結果（この周期に対象の日付の空き状況を取得していない場合はUNKNOWN）
+     */
+    public Availability check(LocalDate targetDate, List<String> timeSlots) {
+        for (String timeSlot : timeSlots) {
+            if (TimeSlotSet.minuteOf(timeSlot) < 0) {
+                // 解釈できない時間帯はDOMで確認する
+                return Availability.UNKNOWN;
+            }
+        }
+        return check(targetDate, TimeSlotSet.of(timeSlots));
+    }
+    
+    /**
+     * 前回の確認以降に取得した空き状況から、対象の時間帯の空きを判定（監視スレッドから呼ぶ）
+     * @param targetDate 対象日付
+     * @param wanted 対象の時間帯の集合
+     * @return 判定結果（この周期に対象の日付の空き状況を取得していない場合や、対象の時間帯が空の場合はUNKNOWN）
+     */
+    public Availability check(LocalDate targetDate, TimeSlotSet wanted) {
+        Set<LocalDate> refreshedDates = new HashSet<>();
+        Map.Entry<String, CapturedRequest> finished;
+        while ((finished = finishedRequests.poll()) != null) {
+            Map<LocalDate, Map<LocalTime, Boolean>> parsed = AvailabilityPayloadParser.parse(readBody(finished.getKey()));
+            if (parsed.isEmpty()) {
+                continue;
+            }
+            for (Map.Entry<LocalDate, Map<LocalTime, Boolean>> entry : parsed.entrySet()) {
+                List<LocalTime> open = new ArrayList<>();
+                entry.getValue().forEach((time, available) -> {
+                    if (Boolean.TRUE.equals(available)) {
+                        open.add(time);
+                    }
+                });
+                latest.put(entry.getKey(), TimeSlotSet.ofTimes(open));
+            }
+            refreshedDates.addAll(parsed.keySet());
+            lastPayloadRequest = finished.getValue();
+            logger.debug("空き状況を取得しました: {} (日付: {})", finished.getValue().url, parsed.keySet());
+        }
+        
+        if (targetDate == null || !refreshedDates.contains(targetDate)) {
+            return Availability.UNKNOWN;
+        }
+        metrics.recordNetworkPayload(teacherName);
+        if (wanted.isEmpty()) {
+            // 解釈できる時間帯がない場合はDOMで確認する
+            return Availability.UNKNOWN;
+        }
+        return latest.get(targetDate).intersects(wanted) ? Availability.AVAILABLE : Availability.UNAVAILABLE;
+    }
+    
+    /**
+     * 最後に取得した空き状況のリクエストをページ内で再送（ページの再読み込みの代わり）
+     * @return 再送した場合true（まだ空き状況を取得していない場合はfalse）
+     */
+    public boolean refetch(WebDriver driver) {
+        CapturedRequest request = lastPayloadRequest;
+        if (request == null || !(driver instanceof JavascriptExecutor)) {
+            return false;
+        }
+        ((JavascriptExecutor) driver).executeScript(REFETCH_SCRIPT, request.url, request.headers);
+        return true;
+    }
+    
+    private String readBody(String requestId) {
+        try {
+            Map<String, Object> result = devTools.send(new Command<Map<String, Object>>(
+                "Network.getResponseBody", Map.of("requestId", requestId), Json.MAP_TYPE));
+            Object body = result.get("body");
+            if (body == null) {
+                return null;
+            }
+            if (Boolean.TRUE.equals(result.get("base64Encoded"))) {
+                return new String(Base64.getDecoder().decode(body.toString()), StandardCharsets.UTF_8);
+            }
+            return body.toString();
+        } catch (Exception e) {
+            // ページ遷移などで本文が破棄された場合
+            logger.debug("レスポンス本文を取得できませんでした: {}", e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * 通信の監視を終了
+     */
+    @Override
+    public void close() {
+        try {
+            devTools.clearListeners();
+            devTools.send(new Command<Void>("Network.disable", Map.of()));
+            devTools.disconnectSession();
+        } catch (Exception e) {
+            logger.debug("通信の監視の終了処理に失敗しました: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.jicoo.bot;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * 空き状況レスポンス（JSON）の解析
+ * Jicooの予約ページが取得する空き状況のJSONから、日付ごと・時刻ごとの空きの有無を取り出す。
+ * レスポンスの形式は公開されていないため、特定のスキーマには依存せず、
+ * 開始時刻らしい項目を持つオブジェクトや時刻文字列の配列を探して解釈する。
+ */
+public final class AvailabilityPayloadParser {
+    private static final ZoneId JAPAN_ZONE = ZoneId.of("Asia/Tokyo");
+    
+    // 時間帯の開始時刻を表すキー
+    private static final List<String> TIME_KEYS = List.of(
+        "startAt", "startsAt", "startedAt", "start", "startTime", "startDateTime", "time", "dateTime", "datetime");
+    // 日付を表すキー（時刻だけの項目の日付を補う）
+    private static final List<String> DATE_KEYS = List.of("date", "day");
+    // trueなら空きありを表すキー
+    private static final List<String> AVAILABLE_FLAG_KEYS = List.of(
+        "available", "isAvailable", "bookable", "isBookable", "selectable", "isSelectable", "enabled");
+    // trueなら空きなしを表すキー
+    private static final List<String> UNAVAILABLE_FLAG_KEYS = List.of(
+        "disabled", "isDisabled", "full", "isFull", "booked", "isBooked", "unavailable");
+    // 残り枠数を表すキー（1以上なら空きあり）
+    private static final List<String> REMAINING_KEYS = List.of(
+        "remaining", "remainingCount", "availableCount", "capacity", "vacancy", "seats");
+    // 状態を表すキー
+    private static final List<String> STATUS_KEYS = List.of("status", "state");
+    private static final Pattern AVAILABLE_STATUS = Pattern.compile("(?i)^(available|open|bookable|free|vacant)$");
+    // 時刻文字列だけの配列で、空きなしの一覧とみなすキー
+    private static final Pattern UNAVAILABLE_LIST_KEY = Pattern.compile("(?i).*(unavailab|booked|busy|full|disabled|closed).*");
+    private static final Pattern TIME_ONLY = Pattern.compile("^\\d{1,2}:\\d{2}(:\\d{2})?$");
+    private static final Pattern DATE_ONLY = Pattern.compile("^\\d{4}-\\d{2}-\\d{2}$");
+    // エポック秒とエポックミリ秒の境界
+    private static final long EPOCH_MILLIS_THRESHOLD = 100_000_000_000L;
+    
+    // インスタンス化を防ぐためのprivateコンストラクタ
+    private AvailabilityPayloadParser() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+    
+    /**
+     * JSON文字列を解析
+     * @param json 空き状況のレスポンス本文
+     * @return 日付ごとの時刻→空きの有無（解析できない場合は空のマップ）
+     */
+    public static Map<LocalDate, Map<LocalTime, Boolean>> parse(String json) {
+        Map<LocalDate, Map<LocalTime, Boolean>> result = new TreeMap<>();
+        if (json == null || json.isEmpty()) {
+            return result;
+        }
+        try {
+            walk(JsonParser.parseString(json), null, null, result);
+        } catch (RuntimeException e) {
+            // JSONでないレスポンスは空き状況ではないとみなす
+            result.clear();
+        }
+        return result;
+    }
+    
+    /**
+     * 時間帯の文字列（例: "19:00"、"9:05"、全角コロン）を時刻に変換
+     * @return 時刻（解釈できない場合はnull）
+     */
+    public static LocalTime parseTimeSlot(String timeSlot) {
+        if (timeSlot == null) {
+            return null;
+        }
+        String[] parts = timeSlot.trim().replace("：", ":").split(":");
+        if (parts.length < 2) {
+            return null;
+        }
+        try {
+            return LocalTime.of(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+    
+    private static void walk(JsonElement element, String key, LocalDate contextDate,
+                             Map<LocalDate, Map<LocalTime, Boolean>> result) {
+        if (element == null || element.isJsonNull()) {
+            return;
+        }
+        if (element.isJsonObject()) {
+            JsonObject object = element.getAsJsonObject();
+            LocalDate date = contextDate;
+            for (String dateKey : DATE_KEYS) {
+                LocalDate parsed = parseDate(object.get(dateKey));
+                if (parsed != null) {
+                    date = parsed;
+                    break;
+                }
+            }
+            if (readSlot(object, date, result)) {
+                return;
+            }
+            for (Map.Entry<String, JsonElement> entry : object.entrySet()) {
+                // {"2026-01-01": [...]} のように日付がキーになっている場合
+                LocalDate keyDate = DATE_ONLY.matcher(entry.getKey()).matches() ? parseDate(new JsonPrimitive(entry.getKey())) : null;
+                walk(entry.getValue(), entry.getKey(), keyDate != null ? keyDate : date, result);
+            }
+        } else if (element.isJsonArray()) {
+            JsonArray array = element.getAsJsonArray();
+            if (readTimeList(array, key, contextDate, result)) {
+                return;
+            }
+            for (JsonElement child : array) {
+                walk(child, key, contextDate, result);
+            }
+        }
+    }
+    
+    /**
+     * 開始時刻を持つオブジェクトを時間帯として読み取る
+     * @return 時間帯として読み取った場合true
+     */
+    private static boolean readSlot(JsonObject object, LocalDate contextDate,
+                                    Map<LocalDate, Map<LocalTime, Boolean>> result) {
+        LocalDateTime start = null;
+        for (String timeKey : TIME_KEYS) {
+            start = parseDateTime(object.get(timeKey), contextDate);
+            if (start != null) {
+                break;
+            }
+        }
+        if (start == null) {
+            return false;
+        }
+        put(result, start, isAvailable(object));
+        return true;
+    }
+    
+    /**
+     * 時間帯オブジェクトの空きの有無を判定（判定できる項目がない場合は、一覧にあること自体を空きとみなす）
+     */
+    private static boolean isAvailable(JsonObject object) {
+        for (String flagKey : AVAILABLE_FLAG_KEYS) {
+            Boolean flag = readBoolean(object.get(flagKey));
+            if (flag != null) {
+                return flag;
+            }
+        }
+        for (String flagKey : UNAVAILABLE_FLAG_KEYS) {
+            Boolean flag = readBoolean(object.get(flagKey));
+            if (flag != null) {
+                return !flag;
+            }
+        }
+        for (String remainingKey : REMAINING_KEYS) {
+            JsonElement value = object.get(remainingKey);
+            if (value != null && value.isJsonPrimitive() && value.getAsJsonPrimitive().isNumber()) {
+                return value.getAsInt() > 0;
+            }
+        }
+        for (String statusKey : STATUS_KEYS) {
+            JsonElement value = object.get(statusKey);
+            if (value != null && value.isJsonPrimitive() && value.getAsJsonPrimitive().isString()) {
+                return AVAILABLE_STATUS.matcher(value.getAsString().trim()).matches();
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * 時刻文字列だけの配列を時間帯の一覧として読み取る
+     * @return 一覧として読み取った場合true
+     */
+    private static boolean readTimeList(JsonArray array, String key, LocalDate contextDate,
+                                        Map<LocalDate, Map<LocalTime, Boolean>> result) {
+        if (array.size() == 0) {
+            return false;
+        }
+        LocalDateTime[] starts = new LocalDateTime[array.size()];
+        for (int i = 0; i < starts.length; i++) {
+            JsonElement child = array.get(i);
+            if (!child.isJsonPrimitive() || !child.getAsJsonPrimitive().isString()) {
+                return false;
+            }
+            starts[i] = parseDateTime(child, contextDate);
+            if (starts[i] == null) {
+                return false;
+            }
+        }
+        boolean available = key == null || !UNAVAILABLE_LIST_KEY.matcher(key).matches();
+        for (LocalDateTime start : starts) {
+            put(result, start, available);
+        }
+        return true;
+    }
+    
+    private static void put(Map<LocalDate, Map<LocalTime, Boolean>> result, LocalDateTime start, boolean available) {
+        // 同じ時刻が複数回現れた場合は、1つでも空きがあれば空きありとする
+        result.computeIfAbsent(start.toLocalDate(), d -> new TreeMap<>())
+            .merge(start.toLocalTime().withSecond(0).withNano(0), available, Boolean::logicalOr);
+    }
+    
+    private static Boolean readBoolean(JsonElement value) {
+        if (value != null && value.isJsonPrimitive() && value.getAsJsonPrimitive().isBoolean()) {
+            return value.getAsBoolean();
+        }
+        return null;
+    }
+    
+    private static LocalDate parseDate(JsonElement value) {
+        if (value == null || !value.isJsonPrimitive() || !value.getAsJsonPrimitive().isString()) {
+            return null;
+        }
+        String text = value.getAsString().trim();
+        if (text.length() < 10) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(text.substring(0, 10));
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * 開始時刻を日本時間の日時として解釈
+     * ISO形式（オフセット付き・なし）、エポック秒/ミリ秒、日付が補える場合の "HH:mm" に対応する。
+     */
+    private static LocalDateTime parseDateTime(JsonElement value, LocalDate contextDate) {
+        if (value == null || !value.isJsonPrimitive()) {
+            return null;
+        }
+        JsonPrimitive primitive = value.getAsJsonPrimitive();
+        if (primitive.isNumber()) {
+            long epoch = primitive.getAsLong();
+            if (epoch <= 0) {
+                return null;
+            }
+            Instant instant = epoch >= EPOCH_MILLIS_THRESHOLD ? Instant.ofEpochMilli(epoch) : Instant.ofEpochSecond(epoch);
+            return LocalDateTime.ofInstant(instant, JAPAN_ZONE);
+        }
+        if (!primitive.isString()) {
+            return null;
+        }
+        String text = primitive.getAsString().trim();
+        if (TIME_ONLY.matcher(text).matches()) {
+            if (contextDate == null) {
+                return null;
+            }
+            String[] parts = text.split(":");
+            return contextDate.atTime(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+        }
+        if (text.length() < 16 || text.charAt(4) != '-') {
+            return null;
+        }
+        try {
+            return OffsetDateTime.parse(text).atZoneSameInstant(JAPAN_ZONE).toLocalDateTime();
+        } catch (DateTimeParseException e) {
+            // オフセットなしの形式を試す
+        }
+        try {
+            return LocalDateTime.parse(text.replace(' ', 'T'));
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.jicoo.bot;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 空き状況の軽量な取得手段（ホライズンスキャンの下位層）
+ * 予約はせず、先生ごとに複数の日付の空いているタイムスロットだけを取得する。
+ * 設定（jicoo.horizon.probe.url.template）の有無で実装を切り替えられる。
+ */
+public interface AvailabilityProbe extends AutoCloseable {
+    
+    /**
+     * 先生1人分の空き状況を取得
+     * @param url 先生のURL
+     * @param dates 対象日付
+     * @return 日付ごとの空いているタイムスロット（空き状況を取得できなかった日付は含まない）
+     * @throws Exception 取得に失敗した場合
+     */
+    Map<LocalDate, List<String>> probe(String url, List<LocalDate> dates) throws Exception;
+    
+    /**
+     * 取得手段の名前（ログ用）
+     */
+    String getName();
+    
+    /**
+     * 取得手段が保持している資源を解放
+     */
+    @Override
+    default void close() {
+    }
+    
+    /**
+     * 設定に応じた取得手段を作成
+     * @param config 設定
+     * @param reservationService 共有タブでスキャンする場合に使う予約サービス
+     * @return URLテンプレートが設定されている場合はHTTP、それ以外は共有タブの取得手段
+     */
+    static AvailabilityProbe create(Config config, ReservationService reservationService) {
+        String template = config.getHorizonProbeUrlTemplate();
+        if (template != null && !template.isBlank()) {
+            return new HttpAvailabilityProbe(template.trim(), config.getTimeoutSeconds());
+        }
+        return new SharedTabAvailabilityProbe(reservationService);
+    }
+}
@@ -0,0 +1,80 @@
+package com.jicoo.bot;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 分類別の指数バックオフ（ジッター付き）による再試行方針
+ * 1回目の失敗は分類に応じて即座に再試行し、以降は待機時間を倍にしていく。
+ * 待機時間の半分をランダムにして、複数タスクの再試行が同時に集中しないようにする。
+ */
+public class BackoffRetryPolicy implements RetryPolicy {
+    public static final String NAME = "backoff";
+    
+    // 監視時間外の場合の最小・最大待機時間（ミリ秒）
+    // 最大値で区切るのは、待機中に監視時間制限が無効にされた場合に追従するため
+    private static final long MIN_OUTSIDE_HOURS_WAIT_MS = 1_000L;
+    private static final long MAX_OUTSIDE_HOURS_WAIT_MS = 60_000L;
+    
+    /**
+     * 分類ごとのバックオフ設定
+     */
+    private static final class Backoff {
+        private final boolean immediateFirstRetry;
+        private final long baseMs;
+        private final long maxMs;
+        private final boolean freshDriver;
+        
+        private Backoff(boolean immediateFirstRetry, long baseMs, long maxMs, boolean freshDriver) {
+            this.immediateFirstRetry = immediateFirstRetry;
+            this.baseMs = baseMs;
+            this.maxMs = maxMs;
+            this.freshDriver = freshDriver;
+        }
+    }
+    
+    private final Map<FailureType, Backoff> backoffs = new EnumMap<>(FailureType.class);
+    
+    public BackoffRetryPolicy() {
+        backoffs.put(FailureType.TRANSIENT_DOM, new Backoff(true, 250L, 5_000L, false));
+        backoffs.put(FailureType.NAVIGATION_TIMEOUT, new Backoff(true, 1_000L, 15_000L, false));
+        backoffs.put(FailureType.BROWSER_CRASH, new Backoff(true, 2_000L, 30_000L, true));
+        backoffs.put(FailureType.LOGGED_OUT, new Backoff(false, 1_000L, 10_000L, false));
+        backoffs.put(FailureType.DRIVER_UNAVAILABLE, new Backoff(false, 5_000L, 60_000L, true));
+        backoffs.put(FailureType.UNKNOWN, new Backoff(false, 2_000L, 60_000L, false));
+    }
+    
+    @Override
+    public Decision decide(FailureType type, int consecutiveFailures) {
+        switch (type) {
+            case NO_SLOT:
+                // 空きがなかっただけだが、次の確認はページの再読み込みとログインからやり直すため、
+                // 監視間隔をあけてサイトへの連続アクセスを避ける
+            case DRY_RUN:
+                // 予約確定はしていないので、監視間隔をあけて繰り返す
+                long intervalMs = Config.getInstance().getMonitoringIntervalSeconds() * 1000L;
+                return new Decision(Math.max(MIN_OUTSIDE_HOURS_WAIT_MS, intervalMs), false);
+            case OUTSIDE_HOURS:
+                // 監視開始時刻ちょうどに再開する
+                long untilStartMs = Config.getInstance().getSecondsUntilMonitoringStart() * 1000L;
+                long wait = Math.min(MAX_OUTSIDE_HOURS_WAIT_MS, Math.max(MIN_OUTSIDE_HOURS_WAIT_MS, untilStartMs));
+                return new Decision(wait, false);
+            default:
+                break;
+        }
+        
+        Backoff backoff = backoffs.getOrDefault(type, backoffs.get(FailureType.UNKNOWN));
+        int attempt = Math.max(1, consecutiveFailures);
+        if (attempt == 1 && backoff.immediateFirstRetry) {
+            return new Decision(0, backoff.freshDriver);
+        }
+        // 即時再試行した分を除いて指数を数える
+        int exponent = backoff.immediateFirstRetry ? attempt - 2 : attempt - 1;
+        long ceiling = backoff.baseMs << Math.min(exponent, 20);
+        long delay = Math.min(backoff.maxMs, ceiling);
+        // 半分を固定、半分をランダムにする
+        long jittered = delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+        return new Decision(jittered, backoff.freshDriver);
+    }
+}
@@ -0,0 +1,130 @@
+package com.jicoo.bot;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 日付ごとの投機的予約の調整役
+ * 同じ日付でタイムスロットをクリックできた先生のうち、最大K件まで同時にフォーム入力を進める。
+ * 予約確定は1件ずつ行い、最初に確定できた予約を採用して日付の成功フラグを立てる。
+ * 他の予約処理は予約確定の直前で中止されるため、同じ日付で二重に予約されることはない。
+ */
+public class BookingCoordinator {
+    private static final Logger logger = LoggerFactory.getLogger(BookingCoordinator.class);
+    
+    // 予約処理の枠・予約確定の順番が空くのを確認する間隔（ミリ秒）
+    private static final long POLL_INTERVAL_MS = 100L;
+    
+    private final LocalDate date;
+    private final AtomicBoolean dateSuccessFlag;
+    private final Semaphore attempts;
+    private final ReentrantLock submitLock = new ReentrantLock(true);
+    private final long waitTimeoutMs;
+    
+    /**
+     * @param date 予約対象日付
+     * @param dateSuccessFlag 日付の成功フラグ（予約確定に成功したらtrueにする）
+     * @param maxConcurrentAttempts 同時に進める予約処理の最大数（K）
+     * @param waitTimeoutMs 予約処理の枠・予約確定の順番を待つ最大時間（ミリ秒）
+     */
+    public BookingCoordinator(LocalDate date, AtomicBoolean dateSuccessFlag, int maxConcurrentAttempts, long waitTimeoutMs) {
+        this.date = date;
+        this.dateSuccessFlag = dateSuccessFlag;
+        this.attempts = new Semaphore(Math.max(1, maxConcurrentAttempts), true);
+        this.waitTimeoutMs = Math.max(0, waitTimeoutMs);
+    }
+    
+    /**
+     * 日付の成功フラグを取得
+     */
+    public AtomicBoolean getDateSuccessFlag() {
+        return dateSuccessFlag;
+    }
+    
+    /**
+     * この日付の予約が確定済みか
+     */
+    public boolean isCommitted() {
+        return dateSuccessFlag.get();
+    }
+    
+    /**
+     * 予約処理の枠を確保（上限に達している場合は空くまで待つ）
+     * 確保できた場合は必ず {@link #endAttempt()} を呼ぶこと。
+     * @param teacher 先生名（ログ用）
+     * @return 確保できた場合true（予約が確定済み・待機タイムアウト・中断の場合false）
+     */
+    public boolean beginAttempt(String teacher) {
+        long deadline = System.currentTimeMillis() + waitTimeoutMs;
+        try {
+            while (!isCommitted()) {
+                if (attempts.tryAcquire(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS)) {
+                    if (isCommitted()) {
+                        attempts.release();
+                        break;
+                    }
+                    logger.debug("【予約調整】{} - 日付 {} の予約処理を開始します（残り枠: {}）", teacher, date, attempts.availablePermits());
+                    return true;
+                }
+                if (System.currentTimeMillis() >= deadline) {
+                    logger.info("【予約調整】{} - 日付 {} の予約処理の枠が空かないため、中止します", teacher, date);
+                    return false;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        logger.info("【予約調整】{} - 日付 {} の予約は既に確定しているため、中止します", teacher, date);
+        return false;
+    }
+    
+    /**
+     * 予約処理の枠を解放
+     */
+    public void endAttempt() {
+        attempts.release();
+    }
+    
+    /**
+     * 予約確定を実行（他の予約処理の確定中は終わるまで待ち、確定済みになっていれば実行しない）
+     * @param teacher 先生名（ログ用）
+     * @param submit 予約確定の処理
+     * @return 予約確定に成功した場合true
+     */
+    public boolean submit(String teacher, BooleanSupplier submit) {
+        long deadline = System.currentTimeMillis() + waitTimeoutMs;
+        try {
+            while (!submitLock.tryLock(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS)) {
+                if (isCommitted() || System.currentTimeMillis() >= deadline) {
+                    logger.info("【予約調整】{} - 日付 {} の予約確定を中止します（確定済み: {}）", teacher, date, isCommitted());
+                    return false;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        try {
+            if (isCommitted()) {
+                logger.info("【予約調整】{} - 日付 {} は他の先生で予約が確定したため、予約確定を中止します", teacher, date);
+                return false;
+            }
+            boolean submitted = submit.getAsBoolean();
+            if (submitted) {
+                dateSuccessFlag.set(true);
+                logger.info("【予約調整】{} - 日付 {} の予約を確定しました。他の予約処理を中止します", teacher, date);
+            }
+            return submitted;
+        } finally {
+            submitLock.unlock();
+        }
+    }
+}
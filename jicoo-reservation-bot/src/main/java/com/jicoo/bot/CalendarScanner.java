@@ -0,0 +1,107 @@
+package com.jicoo.bot;
+
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 先生ごとのカレンダー一括スキャン
+ * 先生のページを1回だけ読み込み、カレンダーの日付をページ内で切り替えながら
+ * 監視対象のすべての日付の空いているタイムスロットを取得して AvailabilityBoard に公開する。
+ * 1周期のページ読み込みが「先生数×日付数」から「先生数」に減る。
+ * スキャンに失敗した周期は公開しない（読めなかった日付を「すべて埋まっている」として公開すると、
+ * 次に読めた周期で偽の空きの遷移が出るため）。WebDriverは予備のプールから取得し、終了時にプールに戻す。
+ */
+public class CalendarScanner implements Runnable {
+    private static final Logger logger = LoggerFactory.getLogger(CalendarScanner.class);
+    
+    // この周期ごとにページを読み込み直す（ページ内の古い空き状況を見続けないため）
+    private static final int RELOAD_EVERY_CYCLES = 10;
+    private static final String MDC_MONITOR_KEY = "monitor";
+    
+    private final ReservationService reservationService;
+    private final DateManager dateManager;
+    private final String url;
+    private final Supplier<List<LocalDate>> dates;
+    private final BooleanSupplier running;
+    private final Config config = Config.getInstance();
+    private final AvailabilityBoard availabilityBoard = AvailabilityBoard.getInstance();
+    
+    /**
+     * @param url 先生のURL
+     * @param dates スキャンする日付（監視中に日付が追加・削除されるため周期ごとに取得する）
+     * @param running 監視を続ける間trueを返す
+     */
+    public CalendarScanner(ReservationService reservationService, DateManager dateManager, String url,
+                           Supplier<List<LocalDate>> dates, BooleanSupplier running) {
+        this.reservationService = reservationService;
+        this.dateManager = dateManager;
+        this.url = url;
+        this.dates = dates;
+        this.running = running;
+    }
+    
+    @Override
+    public void run() {
+        String teacherName = reservationService.extractTeacherNameFromUrl(url);
+        MDC.put(MDC_MONITOR_KEY, teacherName + "@calendar");
+        logger.info("【STEP】{} - カレンダーの一括スキャンを開始します: 日付={}", teacherName, dates.get());
+        WebDriver driver = null;
+        int cycle = 0;
+        try {
+            while (running.getAsBoolean() && !Thread.currentThread().isInterrupted()) {
+                long startedAt = System.currentTimeMillis();
+                List<LocalDate> pendingDates = new ArrayList<>(dates.get());
+                pendingDates.sort(null);
+                if (dateManager != null) {
+                    pendingDates.removeAll(dateManager.getCompletedReservations());
+                }
+                if (pendingDates.isEmpty()) {
+                    logger.info("{} - すべての日付の予約が完了したため、カレンダーのスキャンを終了します", teacherName);
+                    break;
+                }
+                
+                if (config.isWithinMonitoringHours()) {
+                    try {
+                        if (driver == null) {
+                            driver = DriverPool.getInstance().acquire();
+                            cycle = 0;
+                        }
+                        Map<LocalDate, List<String>> slotsByDate = reservationService.scanCalendar(
+                            driver, url, pendingDates, cycle % RELOAD_EVERY_CYCLES == 0);
+                        cycle++;
+                        availabilityBoard.publish(url, slotsByDate);
+                        logger.debug("{} - カレンダーのスキャン結果: {}", teacherName, slotsByDate);
+                    } catch (Exception e) {
+                        logger.warn("【WARN】{} - カレンダーのスキャンに失敗しました。WebDriverを作り直します: {}", teacherName, e.getMessage());
+                        // 異常のあったWebDriverはプールに戻さず終了する
+                        DriverManager.closeWebDriver(driver, true);
+                        driver = null;
+                    }
+                }
+                
+                long elapsedMs = System.currentTimeMillis() - startedAt;
+                long intervalMs = Math.max(1, config.getMonitoringIntervalSeconds()) * 1000L;
+                if (elapsedMs < intervalMs) {
+                    Thread.sleep(intervalMs - elapsedMs);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (driver != null) {
+                DriverPool.getInstance().release(driver);
+            }
+            logger.info("{} - カレンダーの一括スキャンを終了しました", teacherName);
+            MDC.remove(MDC_MONITOR_KEY);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.jicoo.bot;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * キャンセル（空き）の出やすさの予測
+ * 空き状況の履歴のうち「空いた」変化を、先生×曜日×時（観測した日本時間）ごとに数え、
+ * 1時間あたりに空きが出る回数の期待値を求める。
+ * 記録の少ない先生は、全先生の同じ曜日×時の平均に寄せて推定する（ラプラス平滑化）。
+ */
+public class CancellationPredictor {
+    private static final Logger logger = LoggerFactory.getLogger(CancellationPredictor.class);
+    private static final CancellationPredictor instance = new CancellationPredictor();
+    
+    private static final ZoneId JAPAN_ZONE = ZoneId.of("Asia/Tokyo");
+    private static final int HOURS_PER_WEEK = 7 * 24;
+    // 履歴を集計し直す間隔
+    private static final long REFRESH_INTERVAL_MS = Duration.ofHours(1).toMillis();
+    // 先生ごとの記録に対する全体平均の重み（週数換算）
+    private static final double PRIOR_WEIGHT_WEEKS = 1.0;
+    // 一度も空きが記録されていない時間帯の最小の期待値（0にすると背景の確認しか行われなくなるため）
+    private static final double MIN_RATE = 1e-3;
+    
+    private final AvailabilityHistory history = AvailabilityHistory.getInstance();
+    // 以下は集計時に差し替える（読み取りは同期しない）
+    private volatile Map<String, double[]> teacherCounts = Map.of();
+    private volatile double[] globalCounts = new double[HOURS_PER_WEEK];
+    private volatile double observedWeeks = 1.0;
+    private volatile long refreshedAt;
+    
+    private CancellationPredictor() {
+    }
+    
+    /**
+     * シングルトンインスタンスを取得
+     */
+    public static CancellationPredictor getInstance() {
+        return instance;
+    }
+    
+    /**
+     * 指定した日時の1時間に、先生の空きが出る回数の期待値
+     * @param url 先生のURL
+     * @param at 日時（日本時間）
+     * @return 1時間あたりの期待値（記録がない場合も0より大きい値）
+     */
+    public double expectedOpenings(String url, LocalDateTime at) {
+        refreshIfStale();
+        int bucket = bucket(at.getDayOfWeek(), at.getHour());
+        double weeks = observedWeeks;
+        double teacherCount = 0.0;
+        double[] counts = teacherCounts.get(url);
+        if (counts != null) {
+            teacherCount = counts[bucket];
+        }
+        int teachers = Math.max(1, teacherCounts.size());
+        double prior = globalCounts[bucket] / teachers / weeks;
+        double rate = (teacherCount + PRIOR_WEIGHT_WEEKS * prior) / (weeks + PRIOR_WEIGHT_WEEKS);
+        return Math.max(MIN_RATE, rate);
+    }
+    
+    /**
+     * 履歴を今すぐ集計し直す
+     */
+    public synchronized void refresh() {
+        int lookbackDays = Math.max(1, Config.getInstance().getPollHistoryDays());
+        LocalDateTime now = LocalDateTime.now(JAPAN_ZONE);
+        LocalDateTime from = now.minusDays(lookbackDays);
+        List<AvailabilityHistory.Change> changes = history.query(null, null, from, null, Integer.MAX_VALUE);
+        
+        Map<String, double[]> counts = new HashMap<>();
+        double[] global = new double[HOURS_PER_WEEK];
+        LocalDateTime firstObservedAt = null;
+        for (AvailabilityHistory.Change change : changes) {
+            if (firstObservedAt == null) {
+                firstObservedAt = change.getObservedAt();
+            }
+            if (!change.isOpen()) {
+                continue;
+            }
+            int bucket = bucket(change.getObservedAt().getDayOfWeek(), change.getObservedAt().getHour());
+            counts.computeIfAbsent(change.getTeacherUrl(), key -> new double[HOURS_PER_WEEK])[bucket]++;
+            global[bucket]++;
+        }
+        // 同じ曜日×時を観測した週数（1週未満の記録でも1週として扱う）
+        double weeks = firstObservedAt == null ? 1.0
+            : Math.max(1.0, Duration.between(firstObservedAt, now).toHours() / (double) HOURS_PER_WEEK);
+        
+        teacherCounts = counts;
+        globalCounts = global;
+        observedWeeks = weeks;
+        refreshedAt = System.currentTimeMillis();
+        logger.debug("キャンセルの予測を更新しました: 変化={}件, 先生数={}, 観測週数={}", changes.size(), counts.size(),
+            String.format("%.1f", weeks));
+    }
+    
+    private void refreshIfStale() {
+        if (System.currentTimeMillis() - refreshedAt >= REFRESH_INTERVAL_MS) {
+            refresh();
+        }
+    }
+    
+    private static int bucket(DayOfWeek dayOfWeek, int hour) {
+        return (dayOfWeek.getValue() - 1) * 24 + hour;
+    }
+}
@@ -0,0 +1,121 @@
+package com.jicoo.bot;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 取り消し可能な処理の範囲（監視全体 → 日付 → 先生×日付のタスク の入れ子）
+ * 範囲を取り消すと、子の範囲もすべて取り消され、範囲内で実行中のスレッドに割り込み、
+ * {@link #sleep} で待機中の処理はすぐに戻る。監視の停止や対象の変更を、
+ * 待機時間（再試行の待機やタイムスロットの監視）の終了を待たずに反映するために使う。
+ */
+public class CancellationScope {
+    private final CancellationScope parent;
+    private final Set<CancellationScope> children = ConcurrentHashMap.newKeySet();
+    private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    private volatile boolean cancelled;
+    
+    /**
+     * 最上位の範囲を作成
+     */
+    public CancellationScope() {
+        this(null);
+    }
+    
+    private CancellationScope(CancellationScope parent) {
+        this.parent = parent;
+    }
+    
+    /**
+     * 子の範囲を作成（この範囲が取り消し済みの場合は、取り消された状態で作成する）
+     */
+    public CancellationScope newChild() {
+        CancellationScope child = new CancellationScope(this);
+        children.add(child);
+        if (cancelled) {
+            child.cancel();
+        }
+        return child;
+    }
+    
+    /**
+     * この範囲と子の範囲を取り消す（実行中のスレッドに割り込む。何度呼んでもよい）
+     */
+    public void cancel() {
+        cancelled = true;
+        for (CancellationScope child : children) {
+            child.cancel();
+        }
+        for (Thread thread : threads) {
+            thread.interrupt();
+        }
+        synchronized (this) {
+            notifyAll();
+        }
+    }
+    
+    /**
+     * 取り消されたかどうか（親の範囲が取り消された場合も含む）
+     */
+    public boolean isCancelled() {
+        return cancelled || (parent != null && parent.isCancelled());
+    }
+    
+    /**
+     * 処理をこの範囲で実行する（取り消されたときに、実行中のスレッドに割り込む）
+     * 終了後は親の範囲から外す。
+     */
+    public void run(Runnable task) {
+        Thread current = Thread.currentThread();
+        threads.add(current);
+        try {
+            if (!isCancelled()) {
+                task.run();
+            }
+        } finally {
+            threads.remove(current);
+            // 取り消しによる割り込みを、スレッドプールの次のタスクに残さない
+            if (isCancelled()) {
+                Thread.interrupted();
+            }
+            if (parent != null) {
+                parent.children.remove(this);
+            }
+        }
+    }
+    
+    /**
+     * 指定時間待機する（取り消されたらすぐに戻る）
+     * @param waitMs 待機時間（ミリ秒）
+     * @return 最後まで待機した場合true、取り消された場合や割り込まれた場合false
+     */
+    public boolean sleep(long waitMs) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitMs);
+        synchronized (this) {
+            try {
+                while (!isCancelled()) {
+                    long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                    if (remainingMs <= 0) {
+                        return true;
+                    }
+                    wait(remainingMs);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * 取り消されるまで待機する
+     */
+    public void awaitCancelled() throws InterruptedException {
+        synchronized (this) {
+            while (!isCancelled()) {
+                wait();
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.jicoo.bot;
+
+/**
+ * 先生ごとのサーキットブレーカー
+ * 連続失敗が閾値に達したら一定時間その先生への再試行を止め（OPEN）、
+ * 時間経過後は1回だけ試行を許可する（HALF_OPEN）。試行が成功すれば元に戻り、失敗すれば再びOPENにする。
+ * 空きなし・監視時間外はエラーではないため失敗に数えない。
+ */
+public class CircuitBreaker {
+    
+    /**
+     * ブレーカーの状態
+     */
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+    
+    private final int failureThreshold;
+    private final long openMs;
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    
+    /**
+     * @param failureThreshold OPENにする連続失敗回数
+     * @param openMs OPENにしておく時間（ミリ秒）
+     */
+    public CircuitBreaker(int failureThreshold, long openMs) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openMs = Math.max(0, openMs);
+    }
+    
+    /**
+     * 試行してよいか（OPENの時間が経過していればHALF_OPENに移行して許可する）
+     */
+    public synchronized boolean allowRequest() {
+        if (state == State.OPEN && System.currentTimeMillis() - openedAt >= openMs) {
+            state = State.HALF_OPEN;
+        }
+        return state != State.OPEN;
+    }
+    
+    /**
+     * 試行の結果を記録
+     * @param type 失敗の分類（成功した場合はnull）
+     */
+    public synchronized void record(FailureType type) {
+        if (type == null || !type.isError()) {
+            state = State.CLOSED;
+            consecutiveFailures = 0;
+            return;
+        }
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis();
+        }
+    }
+    
+    /**
+     * OPENが解除されるまでの残り時間（ミリ秒、OPENでない場合は0）
+     */
+    public synchronized long getRemainingOpenMs() {
+        if (state != State.OPEN) {
+            return 0;
+        }
+        return Math.max(0, openMs - (System.currentTimeMillis() - openedAt));
+    }
+    
+    public synchronized State getState() {
+        return state;
+    }
+    
+    public synchronized int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+}
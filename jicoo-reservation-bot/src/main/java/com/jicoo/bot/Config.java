@@ -30,6 +30,26 @@ public class Config {
     private final boolean headless;
     private final int timeoutSeconds;
     private final int implicitWaitSeconds;
+    private final DriverManager.BrowserProfile browserProfile;
+    private final List<String> leanBlockedUrls;
+    private final ReservationService.MonitoringMode monitoringMode;
+    private final String networkAvailabilityUrlPattern;
+    private final boolean calendarScanEnabled;
+    
+    // ホライズンスキャン設定
+    private final int horizonDays;
+    private final int horizonScanIntervalSeconds;
+    private final List<String> horizonTimeSlots;
+    private final String horizonProbeUrlTemplate;
+    private final int horizonEscalationMaxBrowsers;
+    private final int horizonEscalationWatchSeconds;
+    private final boolean availabilityHistoryEnabled;
+    
+    // 予測に基づく監視計画の設定
+    private final int pollBudgetPerHour;
+    private final double pollBackgroundRatio;
+    private final int pollMaxIntervalSeconds;
+    private final int pollHistoryDays;
     private final int monitoringStartHour;
     private final int monitoringEndHour;
     private static volatile boolean monitoringTimeRestrictionEnabled = true; // 監視時間制限のON/OFF
@@ -44,6 +64,18 @@ public class Config {
     private final String emailSenderFilter;
     private final String emailSubjectFilter;
     private final boolean sleepPreventEnabled;
+    private final String logProfile;
+    
+    // 再試行設定
+    private final String retryPolicyName;
+    private final int circuitFailureThreshold;
+    private final int circuitOpenSeconds;
+    private final int spareDrivers;
+    
+    // 予約設定
+    private final int speculativeBookingMaxAttempts;
+    private final boolean formStagingEnabled;
+    private volatile boolean dryRun;
     private static final ZoneId JAPAN_ZONE = ZoneId.of("Asia/Tokyo");
     
     private Config() {
@@ -89,6 +121,36 @@ public class Config {
             props.getProperty("jicoo.monitoring.interval.seconds", "5"));
         this.maxRetries = Integer.parseInt(
             props.getProperty("jicoo.max.retries", "3"));
+        this.monitoringMode = ReservationService.MonitoringMode.fromName(
+            props.getProperty("jicoo.monitoring.mode", "dom"));
+        this.networkAvailabilityUrlPattern = props.getProperty(
+            "jicoo.monitoring.network.url.pattern", "(?i)(availab|slot|schedule|calendar)");
+        this.calendarScanEnabled = Boolean.parseBoolean(
+            props.getProperty("jicoo.monitoring.calendar.scan", "false"));
+        
+        // ホライズンスキャン設定
+        this.horizonDays = Integer.parseInt(
+            props.getProperty("jicoo.horizon.days", "14"));
+        this.horizonScanIntervalSeconds = Integer.parseInt(
+            props.getProperty("jicoo.horizon.scan.interval.seconds", "60"));
+        this.horizonTimeSlots = parseUrls(props.getProperty("jicoo.horizon.time.slots", ""));
+        this.horizonProbeUrlTemplate = props.getProperty("jicoo.horizon.probe.url.template", "");
+        this.horizonEscalationMaxBrowsers = Integer.parseInt(
+            props.getProperty("jicoo.horizon.escalation.max.browsers", "2"));
+        this.horizonEscalationWatchSeconds = Integer.parseInt(
+            props.getProperty("jicoo.horizon.escalation.watch.seconds", "120"));
+        this.availabilityHistoryEnabled = Boolean.parseBoolean(
+            props.getProperty("jicoo.availability.history.enabled", "true"));
+        
+        // 予測に基づく監視計画の設定
+        this.pollBudgetPerHour = Integer.parseInt(
+            props.getProperty("jicoo.poll.budget.per.hour", "0"));
+        this.pollBackgroundRatio = Double.parseDouble(
+            props.getProperty("jicoo.poll.background.ratio", "0.2"));
+        this.pollMaxIntervalSeconds = Integer.parseInt(
+            props.getProperty("jicoo.poll.max.interval.seconds", "600"));
+        this.pollHistoryDays = Integer.parseInt(
+            props.getProperty("jicoo.poll.history.days", "28"));
         
         // WebDriver設定
         this.headless = Boolean.parseBoolean(
@@ -97,6 +159,9 @@ public class Config {
             props.getProperty("webdriver.timeout.seconds", "30"));
         this.implicitWaitSeconds = Integer.parseInt(
             props.getProperty("webdriver.implicit.wait.seconds", "10"));
+        this.browserProfile = DriverManager.BrowserProfile.fromName(
+            props.getProperty("webdriver.profile", "full"));
+        this.leanBlockedUrls = parseUrls(props.getProperty("webdriver.lean.blocked.urls", ""));
         
         // 監視時間設定（日本時間）
         this.monitoringStartHour = Integer.parseInt(
@@ -121,6 +186,26 @@ public class Config {
         this.sleepPreventEnabled = Boolean.parseBoolean(
             props.getProperty("sleep.prevent.enabled", "true"));
         
+        // ログ設定
+        this.logProfile = props.getProperty("log.profile", "quiet");
+        
+        // 再試行設定
+        this.retryPolicyName = props.getProperty("retry.policy", BackoffRetryPolicy.NAME);
+        this.circuitFailureThreshold = Integer.parseInt(
+            props.getProperty("retry.circuit.failure.threshold", "5"));
+        this.circuitOpenSeconds = Integer.parseInt(
+            props.getProperty("retry.circuit.open.seconds", "60"));
+        this.spareDrivers = Integer.parseInt(
+            props.getProperty("retry.spare.drivers", "1"));
+        
+        // 予約設定
+        this.speculativeBookingMaxAttempts = Integer.parseInt(
+            props.getProperty("booking.speculative.max.attempts", "2"));
+        this.formStagingEnabled = Boolean.parseBoolean(
+            props.getProperty("booking.form.staging.enabled", "true"));
+        this.dryRun = Boolean.parseBoolean(
+            props.getProperty("booking.dry.run", "false"));
+        
         logger.info("設定を読み込みました: URL数={}, 対象時間={}, 監視間隔={}秒, 監視時間={}時〜{}時（日本時間）, スリープ防止={}", 
             urls.size(), targetTime, monitoringIntervalSeconds, monitoringStartHour, monitoringEndHour, sleepPreventEnabled);
         if (emailMonitoringEnabled) {
@@ -277,6 +362,118 @@ public class Config {
         return implicitWaitSeconds;
     }
     
+    /**
+     * 監視用ブラウザのプロファイルを取得（full / lean）
+     */
+    public DriverManager.BrowserProfile getBrowserProfile() {
+        return browserProfile;
+    }
+    
+    /**
+     * 軽量プロファイルで追加でブロックするURLパターンを取得
+     */
+    public List<String> getLeanBlockedUrls() {
+        return new ArrayList<>(leanBlockedUrls);
+    }
+    
+    /**
+     * タイムスロットの監視方法を取得（dom / network）
+     */
+    public ReservationService.MonitoringMode getMonitoringMode() {
+        return monitoringMode;
+    }
+    
+    /**
+     * 通信内容の監視で空き状況のリクエストとみなすURLの正規表現を取得
+     */
+    public String getNetworkAvailabilityUrlPattern() {
+        return networkAvailabilityUrlPattern;
+    }
+    
+    /**
+     * 先生ごとにカレンダーの日付をページ内で切り替えて一括スキャンするかどうか
+     */
+    public boolean isCalendarScanEnabled() {
+        return calendarScanEnabled;
+    }
+    
+    /**
+     * ホライズンスキャンの対象期間（明日から何日先まで）を取得
+     */
+    public int getHorizonDays() {
+        return horizonDays;
+    }
+    
+    /**
+     * ホライズンスキャンで全先生を1巡する間隔（秒）を取得
+     */
+    public int getHorizonScanIntervalSeconds() {
+        return horizonScanIntervalSeconds;
+    }
+    
+    /**
+     * ホライズンスキャンで予約を試みる時間帯を取得（空の場合は対象時間、それも空なら空いたすべての時間帯）
+     */
+    public List<String> getHorizonTimeSlots() {
+        return horizonTimeSlots;
+    }
+    
+    /**
+     * ホライズンスキャンでHTTPで空き状況を取得するURLテンプレートを取得（空の場合は共有タブで取得）
+     */
+    public String getHorizonProbeUrlTemplate() {
+        return horizonProbeUrlTemplate;
+    }
+    
+    /**
+     * ホライズンスキャンで空きを検知したときに同時に予約処理を行うブラウザの最大数を取得
+     */
+    public int getHorizonEscalationMaxBrowsers() {
+        return horizonEscalationMaxBrowsers;
+    }
+    
+    /**
+     * ホライズンスキャンから引き継いだ予約処理で、タイムスロットを監視し続ける時間（秒）を取得
+     */
+    public int getHorizonEscalationWatchSeconds() {
+        return horizonEscalationWatchSeconds;
+    }
+    
+    /**
+     * スキャン結果の空き状況の変化を data/availability-history.bin に記録するかどうか
+     */
+    public boolean isAvailabilityHistoryEnabled() {
+        return availabilityHistoryEnabled;
+    }
+    
+    /**
+     * 監視タスク全体の1時間あたりのページ読み込みの予算を取得（0で予測による配分を無効にする）
+     */
+    public int getPollBudgetPerHour() {
+        return pollBudgetPerHour;
+    }
+    
+    /**
+     * 予算のうち全タスクに均等に配る割合を取得（残りは空きの出やすさに比例して配る）
+     */
+    public double getPollBackgroundRatio() {
+        return pollBackgroundRatio;
+    }
+    
+    /**
+     * 予測による配分での最長の確認間隔（秒）を取得
+     */
+    public int getPollMaxIntervalSeconds() {
+        return pollMaxIntervalSeconds;
+    }
+    
+    /**
+     * 空きの出やすさの予測に使う履歴の日数を取得
+     */
+    public int getPollHistoryDays() {
+        return pollHistoryDays;
+    }
+    
     /**
      * 監視開始時刻（時）を取得
      */
@@ -306,6 +503,11 @@ public class Config {
     public void setMonitoringTimeRestrictionEnabled(boolean enabled) {
         Config.monitoringTimeRestrictionEnabled = enabled;
         logger.info("監視時間制限を{}に設定しました", enabled ? "有効" : "無効");
+        
+        java.util.Map<String, Object> data = new java.util.HashMap<>();
+        data.put("monitoringTimeRestriction", enabled);
+        data.put("withinMonitoringHours", isWithinMonitoringHours());
+        StateChangeFeed.getInstance().publish(StateChangeFeed.MONITORING_TIME_RESTRICTION_CHANGED, data);
     }
     
     /**
@@ -409,5 +611,75 @@ public class Config {
     public boolean isSleepPreventEnabled() {
         return sleepPreventEnabled;
     }
+    
+    /**
+     * 起動時のログプロファイルを取得
+     * @return プロファイル名（quiet / verbose）
+     */
+    public String getLogProfile() {
+        return logProfile;
+    }
+    
+    /**
+     * 再試行方針名を取得（backoff / fixed）
+     */
+    public String getRetryPolicyName() {
+        return retryPolicyName;
+    }
+    
+    /**
+     * サーキットブレーカーを開く連続失敗回数を取得
+     */
+    public int getCircuitFailureThreshold() {
+        return circuitFailureThreshold;
+    }
+    
+    /**
+     * サーキットブレーカーを開いておく時間（秒）を取得
+     */
+    public int getCircuitOpenSeconds() {
+        return circuitOpenSeconds;
+    }
+    
+    /**
+     * 事前に起動しておく予備WebDriverの数を取得
+     */
+    public int getSpareDrivers() {
+        return spareDrivers;
+    }
+    
+    /**
+     * 同じ日付で同時に進める予約処理（フォーム入力）の最大数を取得
+     */
+    public int getSpeculativeBookingMaxAttempts() {
+        return speculativeBookingMaxAttempts;
+    }
+    
+    /**
+     * 予約フォームの事前準備（学習したフォームへの一括入力）が有効かどうかを取得
+     */
+    public boolean isFormStagingEnabled() {
+        return formStagingEnabled;
+    }
+    
+    /**
+     * ドライラン（予約確定の直前で止める）かどうかを取得
+     * @return ドライランの場合true
+     */
+    public boolean isDryRun() {
+        return dryRun;
+    }
+    
+    /**
+     * ドライランのON/OFFを設定
+     * @param enabled ドライランにする場合true
+     */
+    public void setDryRun(boolean enabled) {
+        this.dryRun = enabled;
+        logger.info("ドライランを{}に設定しました", enabled ? "有効" : "無効");
+        
+        java.util.Map<String, Object> data = new java.util.HashMap<>();
+        data.put("dryRun", enabled);
+        StateChangeFeed.getInstance().publish(StateChangeFeed.DRY_RUN_CHANGED, data);
+    }
 }
-
@@ -51,7 +51,8 @@ public class DateManager {
         private final LocalDate date;
         private boolean enabled;
         private ReservationStatus status;
-        private List<String> selectedTimeSlots; // 選択された時間帯のリスト
+        private List<String> selectedTimeSlots; // 選択された時間帯のリスト（優先順）
+        private volatile TimeSlotSet selectedSlotSet = TimeSlotSet.EMPTY; // 選択された時間帯の集合（hasTimeSlotの照合用）
         
         public DateInfo(LocalDate date, boolean enabled) {
             this.date = date;
@@ -86,25 +87,60 @@ public class DateManager {
         
         public void setSelectedTimeSlots(List<String> timeSlots) {
             this.selectedTimeSlots = new ArrayList<>(timeSlots);
+            this.selectedSlotSet = TimeSlotSet.of(timeSlots);
+            publishChange(StateChangeFeed.TIME_SLOTS_CHANGED);
         }
         
         public void addTimeSlot(String timeSlot) {
-            if (!selectedTimeSlots.contains(timeSlot)) {
+            if (!hasTimeSlot(timeSlot)) {
                 selectedTimeSlots.add(timeSlot);
+                selectedSlotSet = TimeSlotSet.of(selectedTimeSlots);
+                publishChange(StateChangeFeed.TIME_SLOTS_CHANGED);
             }
         }
         
         public void removeTimeSlot(String timeSlot) {
-            selectedTimeSlots.remove(timeSlot);
+            int minute = TimeSlotSet.minuteOf(timeSlot);
+            // "9:45" と "09:45" のように表記が異なっても同じ時間帯として削除する
+            boolean removed = minute >= 0
+                ? selectedTimeSlots.removeIf(slot -> TimeSlotSet.minuteOf(slot) == minute)
+                : selectedTimeSlots.remove(timeSlot);
+            if (removed) {
+                selectedSlotSet = TimeSlotSet.of(selectedTimeSlots);
+                publishChange(StateChangeFeed.TIME_SLOTS_CHANGED);
+            }
         }
         
         public boolean hasTimeSlot(String timeSlot) {
-            return selectedTimeSlots.contains(timeSlot);
+            int minute = TimeSlotSet.minuteOf(timeSlot);
+            return minute >= 0 ? selectedSlotSet.contains(minute) : selectedTimeSlots.contains(timeSlot);
         }
         
         public String getFormattedDate() {
             return date.format(DateTimeFormatter.ofPattern("yyyy-MM-dd (E)", java.util.Locale.JAPANESE));
         }
+        
+        /**
+         * API・状態変更フィード用のマップに変換
+         */
+        public Map<String, Object> toMap() {
+            Map<String, Object> dateMap = new HashMap<>();
+            dateMap.put("date", date.toString());
+            dateMap.put("enabled", enabled);
+            dateMap.put("status", status.name());
+            dateMap.put("selectedTimeSlots", getSelectedTimeSlots());
+            return dateMap;
+        }
+        
+        /**
+         * この日付の変更を状態変更フィードに発行
+         */
+        private void publishChange(String type) {
+            Map<String, Object> data = new HashMap<>();
+            data.put("date", date.toString());
+            data.put("dateInfo", toMap());
+            StateChangeFeed.getInstance().publish(type, data);
+        }
     }
     
     /**
@@ -155,14 +191,22 @@ public class DateManager {
                 return; // 既に存在する場合は追加しない
             }
         }
-        dateList.add(new DateInfo(date, true));
+        DateInfo info = new DateInfo(date, true);
+        dateList.add(info);
+        info.publishChange(StateChangeFeed.DATE_ADDED);
     }
     
     /**
      * 日付を削除
      */
     public boolean removeDate(LocalDate date) {
-        return dateList.removeIf(info -> info.getDate().equals(date));
+        boolean removed = dateList.removeIf(info -> info.getDate().equals(date));
+        if (removed) {
+            Map<String, Object> data = new HashMap<>();
+            data.put("date", date.toString());
+            StateChangeFeed.getInstance().publish(StateChangeFeed.DATE_REMOVED, data);
+        }
+        return removed;
     }
     
     /**
@@ -172,6 +216,7 @@ public class DateManager {
         for (DateInfo info : dateList) {
             if (info.getDate().equals(date)) {
                 info.setEnabled(!info.isEnabled());
+                info.publishChange(StateChangeFeed.DATE_TOGGLED);
                 return;
             }
         }
@@ -248,7 +293,11 @@ public class DateManager {
     public void setReservationResult(LocalDate date, boolean success, List<String> timeSlots, String teacherUrl) {
         DateInfo info = getDateInfo(date);
         if (info != null) {
-            info.setStatus(success ? ReservationStatus.SUCCESS : ReservationStatus.FAILED);
+            ReservationStatus newStatus = success ? ReservationStatus.SUCCESS : ReservationStatus.FAILED;
+            if (info.getStatus() != newStatus) {
+                info.setStatus(newStatus);
+                info.publishChange(StateChangeFeed.DATE_STATUS_CHANGED);
+            }
             
             // 成功した場合は完了日リストに追加（重複チェック）
             if (success && !completedReservations.contains(date)) {
@@ -272,13 +321,17 @@ public class DateManager {
                 }
                 // データを永続化
                 saveCompletedReservations();
+                publishCompletedReservations();
             } else if (!success) {
                 // 失敗した場合は完了リストから削除（もしあれば）
-                completedReservations.remove(date);
+                boolean wasCompleted = completedReservations.remove(date);
                 completedReservationsWithTimeSlots.remove(date);
                 completedReservationsWithTeacherUrl.remove(date);
                 // データを永続化
                 saveCompletedReservations();
+                if (wasCompleted) {
+                    publishCompletedReservations();
+                }
             }
         }
     }
@@ -326,14 +379,20 @@ public class DateManager {
      */
     public void removePastCompletedReservations() {
         LocalDate today = LocalDate.now();
-        completedReservations.removeIf(date -> date.isBefore(today));
+        if (completedReservations.removeIf(date -> date.isBefore(today))) {
+            publishCompletedReservations();
+        }
     }
     
     /**
      * 予約完了日を削除
      */
     public boolean removeCompletedReservation(LocalDate date) {
-        return completedReservations.remove(date);
+        boolean removed = completedReservations.remove(date);
+        if (removed) {
+            publishCompletedReservations();
+        }
+        return removed;
     }
     
     /**
@@ -341,10 +400,22 @@ public class DateManager {
      */
     public void resetAllStatus() {
         for (DateInfo info : dateList) {
-            info.setStatus(ReservationStatus.PENDING);
+            if (info.getStatus() != ReservationStatus.PENDING) {
+                info.setStatus(ReservationStatus.PENDING);
+                info.publishChange(StateChangeFeed.DATE_STATUS_CHANGED);
+            }
         }
     }
     
+    /**
+     * 予約完了日リストの変更を状態変更フィードに発行
+     */
+    private void publishCompletedReservations() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("completedReservations", getCompletedReservationsWithDetails());
+        StateChangeFeed.getInstance().publish(StateChangeFeed.COMPLETED_RESERVATIONS_CHANGED, data);
+    }
+    
     /**
      * 予約完了データをJSONファイルから読み込む
      */
@@ -454,6 +525,10 @@ public class DateManager {
     public void setSelectedTeacherUrls(List<String> urls) {
         this.selectedTeacherUrls = new ArrayList<>(urls);
         saveSelectedTeachers();
+        
+        Map<String, Object> data = new HashMap<>();
+        data.put("selectedUrls", getSelectedTeacherUrls());
+        StateChangeFeed.getInstance().publish(StateChangeFeed.TEACHERS_SELECTED, data);
     }
     
     /**
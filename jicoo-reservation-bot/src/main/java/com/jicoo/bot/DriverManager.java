@@ -1,5 +1,6 @@
 package com.jicoo.bot;
 
+import org.openqa.selenium.Dimension;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
@@ -7,7 +8,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * WebDriver管理クラス
@@ -16,6 +21,49 @@ import java.util.Collections;
 public class DriverManager {
     private static final Logger logger = LoggerFactory.getLogger(DriverManager.class);
     
+    // 軽量プロファイルの固定ウィンドウサイズ（MUIがデスクトップ表示になる幅）
+    private static final int LEAN_WINDOW_WIDTH = 1280;
+    private static final int LEAN_WINDOW_HEIGHT = 800;
+    // Chromeの設定値：コンテンツをブロック
+    private static final int CONTENT_SETTING_BLOCK = 2;
+    
+    // 軽量プロファイルで読み込まないURL（画像・フォント・動画音声・解析/広告タグ）
+    // スタイルシートはタイムスロットボタンの表示判定に影響するためブロックしない
+    private static final List<String> LEAN_BLOCKED_URLS = List.of(
+        "*.png", "*.jpg", "*.jpeg", "*.gif", "*.webp", "*.avif", "*.ico", "*.bmp",
+        "*.woff", "*.woff2", "*.ttf", "*.otf", "*.eot",
+        "*.mp4", "*.webm", "*.mp3", "*.m4a", "*.ogg", "*.wav",
+        "*google-analytics.com*", "*googletagmanager.com*", "*doubleclick.net*",
+        "*googlesyndication.com*", "*facebook.net*", "*connect.facebook.com*",
+        "*hotjar.com*", "*clarity.ms*", "*intercom.io*", "*intercomcdn.com*",
+        "*sentry.io*", "*segment.io*", "*segment.com*", "*mixpanel.com*", "*amplitude.com*"
+    );
+    
+    /**
+     * ブラウザのプロファイル
+     */
+    public enum BrowserProfile {
+        // 通常のChrome（ウィンドウ最大化、すべてのリソースを読み込む）
+        FULL,
+        // 監視用の軽量Chrome（固定ビューポート・画像/フォント/動画/トラッカーをブロック、ヘッドレスは設定に従う）
+        LEAN;
+        
+        /**
+         * 名前からプロファイルを取得（大文字小文字を区別しない）
+         * @return 該当するプロファイル（存在しない場合はFULL）
+         */
+        public static BrowserProfile fromName(String name) {
+            if (name != null) {
+                for (BrowserProfile profile : values()) {
+                    if (profile.name().equalsIgnoreCase(name.trim())) {
+                        return profile;
+                    }
+                }
+            }
+            return FULL;
+        }
+    }
+    
     // インスタンス化を防ぐためのprivateコンストラクタ
     private DriverManager() {
         throw new UnsupportedOperationException("Utility class");
@@ -29,6 +77,21 @@ public class DriverManager {
      * @return 初期化されたWebDriver
      */
     public static WebDriver createWebDriver(boolean headless, int timeoutSeconds, int implicitWaitSeconds) {
+        return createWebDriver(BrowserProfile.FULL, headless, timeoutSeconds, implicitWaitSeconds);
+    }
+    
+    /**
+     * プロファイルを指定してWebDriverを作成
+     * @param profile ブラウザのプロファイル
+     * @param headless ヘッドレスモードで起動するか（LEANの場合は新ヘッドレスモード）
+     * @param timeoutSeconds タイムアウト（秒）
+     * @param implicitWaitSeconds 暗黙的な待機時間（秒）
+     * @return 初期化されたWebDriver
+     */
+    public static WebDriver createWebDriver(BrowserProfile profile, boolean headless, int timeoutSeconds, int implicitWaitSeconds) {
+        if (profile == BrowserProfile.LEAN) {
+            return createLeanWebDriver(headless, timeoutSeconds, implicitWaitSeconds);
+        }
         logger.info("WebDriverを初期化しています... (headless={})", headless);
         
         // ChromeDriverを自動取得
@@ -60,6 +123,73 @@ public class DriverManager {
         return driver;
     }
     
+    /**
+     * 監視用の軽量WebDriverを作成
+     * 固定ビューポートで起動し（ヘッドレスの場合は新ヘッドレスモード）、拡張機能とGPUを無効にする。
+     * 予約に成功したブラウザは開いたままにするため、ヘッドレスにするかどうかは webdriver.headless に従う。
+     * 画像・フォント・動画音声・解析タグはChromeの設定とCDPのNetwork.setBlockedURLsで読み込まない。
+     */
+    private static WebDriver createLeanWebDriver(boolean headless, int timeoutSeconds, int implicitWaitSeconds) {
+        logger.info("WebDriverを初期化しています... (profile=lean, headless={})", headless);
+        
+        // ChromeDriverを自動取得
+        io.github.bonigarcia.wdm.WebDriverManager.chromedriver().setup();
+        
+        ChromeOptions options = new ChromeOptions();
+        if (headless) {
+            options.addArguments("--headless=new");
+        }
+        options.addArguments("--window-size=" + LEAN_WINDOW_WIDTH + "," + LEAN_WINDOW_HEIGHT);
+        options.addArguments("--no-sandbox");
+        options.addArguments("--disable-dev-shm-usage");
+        options.addArguments("--disable-blink-features=AutomationControlled");
+        options.addArguments("--disable-extensions");
+        options.addArguments("--disable-gpu");
+        options.addArguments("--disable-background-networking");
+        options.addArguments("--disable-component-update");
+        options.addArguments("--disable-default-apps");
+        options.addArguments("--disable-sync");
+        options.addArguments("--mute-audio");
+        options.addArguments("--no-first-run");
+        options.addArguments("--blink-settings=imagesEnabled=false");
+        options.setExperimentalOption("excludeSwitches", 
+            Collections.singletonList("enable-automation"));
+        
+        // 画像・通知・位置情報などをChromeの設定でブロック
+        Map<String, Object> prefs = new HashMap<>();
+        prefs.put("profile.managed_default_content_settings.images", CONTENT_SETTING_BLOCK);
+        prefs.put("profile.default_content_setting_values.notifications", CONTENT_SETTING_BLOCK);
+        prefs.put("profile.default_content_setting_values.geolocation", CONTENT_SETTING_BLOCK);
+        prefs.put("profile.default_content_setting_values.media_stream", CONTENT_SETTING_BLOCK);
+        options.setExperimentalOption("prefs", prefs);
+        
+        ChromeDriver driver = new ChromeDriver(options);
+        
+        // フォント・動画・トラッカーなどはURLパターンでブロック（設定で指定した追加パターンも含む）
+        List<String> blockedUrls = new ArrayList<>(LEAN_BLOCKED_URLS);
+        blockedUrls.addAll(Config.getInstance().getLeanBlockedUrls());
+        try {
+            driver.executeCdpCommand("Network.enable", new HashMap<>());
+            Map<String, Object> params = new HashMap<>();
+            params.put("urls", blockedUrls);
+            driver.executeCdpCommand("Network.setBlockedURLs", params);
+            logger.debug("読み込みをブロックするURLパターンを設定しました: {}件", blockedUrls.size());
+        } catch (Exception e) {
+            // CDPが使えない場合もChromeの設定による画像ブロックは有効
+            logger.warn("URLブロックの設定に失敗しました（画像以外も読み込まれます）: {}", e.getMessage());
+        }
+        
+        // タイムアウト設定
+        driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(timeoutSeconds));
+        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(implicitWaitSeconds));
+        
+        // ビューポートを固定（最大化はしない）
+        driver.manage().window().setSize(new Dimension(LEAN_WINDOW_WIDTH, LEAN_WINDOW_HEIGHT));
+        
+        logger.info("WebDriverの初期化が完了しました");
+        return driver;
+    }
+    
     /**
      * WebDriverを終了（エラーを無視して安全に終了）
      * @param driver 終了するWebDriver
@@ -0,0 +1,201 @@
+package com.jicoo.bot;
+
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 予備WebDriverのプール
+ * ブラウザの異常終了などでWebDriverを作り直すとき、起動済みの予備を渡して起動待ちをなくす。
+ * 予備を渡したら裏で次の予備を起動しておく。
+ * プールは利用者（監視のセッションやホライズンスキャン）ごとに {@link #open} で開き、
+ * 最後の利用者が {@link #close(Lease)} で閉じたときだけ予備を終了する。
+ * 停止した古いセッションが、後から開始したセッションのプールを閉じることはない。
+ */
+public class DriverPool {
+    private static final Logger logger = LoggerFactory.getLogger(DriverPool.class);
+    private static final DriverPool instance = new DriverPool();
+    private static final String WARMER_THREAD_NAME = "DriverPoolWarmer";
+    private static final String CLOSER_THREAD_NAME = "DriverPoolCloser";
+    
+    private final LinkedBlockingDeque<WebDriver> spares = new LinkedBlockingDeque<>(); // 先頭から渡す
+    private final AtomicInteger warming = new AtomicInteger();
+    private final Set<Lease> leases = new HashSet<>(); // このオブジェクトのロックで更新する
+    private ExecutorService warmer;
+    private volatile boolean open;
+    
+    /**
+     * プールの利用（{@link #open} で取得し、使い終わったら {@link #close(Lease)} に渡す）
+     */
+    public static final class Lease {
+        private final String owner;
+        
+        private Lease(String owner) {
+            this.owner = owner;
+        }
+        
+        @Override
+        public String toString() {
+            return owner;
+        }
+    }
+    
+    private DriverPool() {
+    }
+    
+    /**
+     * シングルトンインスタンスを取得
+     */
+    public static DriverPool getInstance() {
+        return instance;
+    }
+    
+    /**
+     * 予備の起動を開始（監視やホライズンスキャンの開始時に呼ぶ）
+     * @param owner 利用者の名前（ログ用）
+     * @return プールの利用（終了時に {@link #close(Lease)} に渡す）
+     */
+    public synchronized Lease open(String owner) {
+        Lease lease = new Lease(owner);
+        leases.add(lease);
+        open = true;
+        if (warmer == null) {
+            warmer = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, WARMER_THREAD_NAME);
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        refill();
+        logger.debug("予備WebDriverのプールを開きました: {}（利用者: {}件）", owner, leases.size());
+        return lease;
+    }
+    
+    /**
+     * WebDriverを取得（予備があればそれを使い、なければその場で作成する）
+     * @return 初期化されたWebDriver
+     */
+    public WebDriver acquire() {
+        WebDriver driver = spares.poll();
+        if (driver != null) {
+            logger.info("予備のWebDriverを使用します");
+        } else {
+            Config config = Config.getInstance();
+            driver = DriverManager.createWebDriver(config.getBrowserProfile(), config.isHeadless(),
+                config.getTimeoutSeconds(), config.getImplicitWaitSeconds());
+        }
+        refill();
+        return driver;
+    }
+    
+    /**
+     * 使い終わったWebDriverを予備に戻す（監視タスクの終了時に呼ぶ）
+     * プールが閉じている場合や、予備が足りている場合は終了する。
+     */
+    public void release(WebDriver driver) {
+        synchronized (this) {
+            if (open && spares.size() < Math.max(1, Config.getInstance().getSpareDrivers())) {
+                spares.offer(driver);
+                logger.debug("WebDriverを予備に戻しました（予備: {}件）", spares.size());
+                return;
+            }
+        }
+        DriverManager.closeWebDriver(driver, true);
+    }
+    
+    /**
+     * ログイン済みのWebDriverを、次に渡す予備として戻す（予約が成功したタスクのブラウザを残りの日付で使うため）
+     * 予備が足りている場合は、起動しただけの予備のほうを終了して数を保つ。プールが閉じている場合は終了する。
+     */
+    public void releasePreferred(WebDriver driver) {
+        WebDriver evicted = null;
+        synchronized (this) {
+            if (open) {
+                spares.offerFirst(driver);
+                if (spares.size() > Math.max(1, Config.getInstance().getSpareDrivers())) {
+                    evicted = spares.pollLast();
+                }
+                logger.debug("ログイン済みのWebDriverを次に渡す予備にしました（予備: {}件）", spares.size());
+                driver = null;
+            }
+        }
+        DriverManager.closeWebDriver(evicted != null ? evicted : driver, true);
+    }
+    
+    /**
+     * プールの利用を終える（監視やホライズンスキャンのタスクがすべて終了してから呼ぶ）
+     * 最後の利用者が終えたときだけ予備をすべて終了する。呼び出し元を待たせないよう、ブラウザの終了は裏で行う。
+     * 既に終えた利用を渡した場合は何もしない。
+     * @param lease {@link #open} で取得した利用
+     */
+    public synchronized void close(Lease lease) {
+        if (lease == null || !leases.remove(lease)) {
+            return;
+        }
+        if (!leases.isEmpty()) {
+            logger.debug("予備WebDriverのプールの利用を終えました: {}（残りの利用者: {}件）", lease, leases.size());
+            return;
+        }
+        open = false;
+        List<WebDriver> drivers = new ArrayList<>();
+        spares.drainTo(drivers);
+        if (drivers.isEmpty()) {
+            return;
+        }
+        new Thread(() -> {
+            for (WebDriver driver : drivers) {
+                DriverManager.closeWebDriver(driver, true);
+            }
+        }, CLOSER_THREAD_NAME).start();
+    }
+    
+    /**
+     * 待機中の予備の数を取得
+     */
+    public int getSpareCount() {
+        return spares.size();
+    }
+    
+    /**
+     * 予備が設定数に満たなければ裏で起動する
+     */
+    private synchronized void refill() {
+        if (!open || warmer == null) {
+            return;
+        }
+        int target = Config.getInstance().getSpareDrivers();
+        while (spares.size() + warming.get() < target) {
+            warming.incrementAndGet();
+            warmer.submit(this::warmOne);
+        }
+    }
+    
+    private void warmOne() {
+        try {
+            Config config = Config.getInstance();
+            WebDriver driver = DriverManager.createWebDriver(config.getBrowserProfile(), config.isHeadless(),
+                config.getTimeoutSeconds(), config.getImplicitWaitSeconds());
+            synchronized (this) {
+                if (open) {
+                    spares.offer(driver);
+                    return;
+                }
+            }
+            // 起動中にプールが閉じられた場合は破棄
+            DriverManager.closeWebDriver(driver, true);
+        } catch (Exception e) {
+            logger.warn("予備のWebDriverの起動に失敗しました: {}", e.getMessage());
+        } finally {
+            warming.decrementAndGet();
+        }
+    }
+}
@@ -344,7 +344,7 @@ public class EmailMonitoringService {
     /**
      * テキストから日付を抽出
      */
-    private LocalDate extractDate(String text) {
+    LocalDate extractDate(String text) {
         if (text == null || text.isEmpty()) {
             return null;
         }
@@ -381,7 +381,7 @@ public class EmailMonitoringService {
     /**
      * テキストから時間を抽出
      */
-    private LocalTime extractTime(String text) {
+    LocalTime extractTime(String text) {
         if (text == null || text.isEmpty()) {
             return null;
         }
@@ -403,7 +403,7 @@ public class EmailMonitoringService {
     /**
      * 講師名を抽出（オプション）
      */
-    private String extractTeacher(String text) {
+    String extractTeacher(String text) {
         // 講師名の抽出ロジック（必要に応じて実装）
         // 例: "Teacher Vanessa" や "講師: Vanessa" などのパターン
         Pattern teacherPattern = Pattern.compile("(?:講師|Teacher|teacher)[:：]?\\s*([A-Za-z]+)");
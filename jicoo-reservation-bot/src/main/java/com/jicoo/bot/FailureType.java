@@ -0,0 +1,94 @@
+package com.jicoo.bot;
+
+import org.openqa.selenium.InvalidElementStateException;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.ElementNotInteractableException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+
+/**
+ * 予約処理の失敗の分類
+ * 分類ごとに再試行までの待機時間やWebDriverの作り直しの要否を変える。
+ */
+public enum FailureType {
+    // 要素の再描画・クリック妨害など、すぐに再試行すれば成功する可能性が高い失敗
+    TRANSIENT_DOM("一時的なDOMエラー", true),
+    // ページ遷移・読み込みのタイムアウトやネットワークエラー
+    NAVIGATION_TIMEOUT("ページ遷移タイムアウト", true),
+    // ブラウザの終了・通信切断（WebDriverの作り直しが必要）
+    BROWSER_CRASH("ブラウザ異常終了", true),
+    // ログインできない・ログアウトされた
+    LOGGED_OUT("ログイン失敗", true),
+    // WebDriverを作成できない
+    DRIVER_UNAVAILABLE("WebDriver作成失敗", true),
+    // 監視時間内にタイムスロットが空かなかった（エラーではない）
+    NO_SLOT("空きなし", false),
+    // 監視時間外（エラーではない）
+    OUTSIDE_HOURS("監視時間外", false),
+    // ドライランで予約確定の直前まで実行した（エラーではない）
+    DRY_RUN("ドライラン完了", false),
+    // 上記以外
+    UNKNOWN("不明なエラー", true);
+    
+    private final String label;
+    private final boolean error;
+    
+    FailureType(String label, boolean error) {
+        this.label = label;
+        this.error = error;
+    }
+    
+    public String getLabel() {
+        return label;
+    }
+    
+    /**
+     * エラーとして扱う失敗か（サーキットブレーカーの失敗数に数えるか）
+     */
+    public boolean isError() {
+        return error;
+    }
+    
+    /**
+     * 例外を分類（原因の連鎖もたどる）
+     * @param throwable 発生した例外
+     * @return 失敗の分類
+     */
+    public static FailureType classify(Throwable throwable) {
+        for (Throwable t = throwable; t != null; t = t.getCause()) {
+            if (t instanceof UnreachableBrowserException
+                || t instanceof NoSuchSessionException
+                || t instanceof SessionNotCreatedException) {
+                return BROWSER_CRASH;
+            }
+            if (t instanceof StaleElementReferenceException
+                || t instanceof NoSuchElementException
+                || t instanceof ElementNotInteractableException
+                || t instanceof InvalidElementStateException
+                || t instanceof JavascriptException) {
+                return TRANSIENT_DOM;
+            }
+            if (t instanceof TimeoutException || t instanceof ScriptTimeoutException) {
+                return NAVIGATION_TIMEOUT;
+            }
+            String message = t.getMessage();
+            if (message != null) {
+                if (message.contains("chrome not reachable")
+                    || message.contains("disconnected")
+                    || message.contains("target window already closed")
+                    || message.contains("session deleted")) {
+                    return BROWSER_CRASH;
+                }
+                if (message.contains("net::ERR_") || message.contains("timed out")) {
+                    return NAVIGATION_TIMEOUT;
+                }
+            }
+        }
+        return UNKNOWN;
+    }
+}
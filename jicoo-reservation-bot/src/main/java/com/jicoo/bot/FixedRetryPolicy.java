@@ -0,0 +1,24 @@
+package com.jicoo.bot;
+
+/**
+ * 固定時間の再試行方針（従来の動作）
+ * 失敗後は1分、ブラウザとの通信切断後は2分待機してから再試行する。
+ */
+public class FixedRetryPolicy implements RetryPolicy {
+    public static final String NAME = "fixed";
+    
+    private static final long RETRY_WAIT_MS = 60_000L; // 1分
+    private static final long SLEEP_RECOVERY_WAIT_MS = 120_000L; // 2分
+    
+    @Override
+    public Decision decide(FailureType type, int consecutiveFailures) {
+        switch (type) {
+            case BROWSER_CRASH:
+                return new Decision(SLEEP_RECOVERY_WAIT_MS, true);
+            case DRIVER_UNAVAILABLE:
+                return new Decision(RETRY_WAIT_MS, true);
+            default:
+                return new Decision(RETRY_WAIT_MS, false);
+        }
+    }
+}
@@ -0,0 +1,324 @@
+package com.jicoo.bot;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 予約フォームの事前準備
+ * 予約フォームの名前・メール・確定ボタンの場所（XPath）を事前に学習しておき、
+ * タイムスロットのクリック後は1回のスクリプト実行で全項目を入力し、確定ボタンのクリックだけを別に行う
+ * （入力は同じ日付の他の予約処理と並行して進め、確定のみを1件ずつ行うため）。
+ * 学習結果は data/form-locators.json に保存し、再起動後も使用する。
+ */
+public class FormStager {
+    private static final Logger logger = LoggerFactory.getLogger(FormStager.class);
+    private static final FormStager instance = new FormStager();
+    
+    private static final String DATA_DIR = "data";
+    private static final String FORM_LOCATORS_FILE = "form-locators.json";
+    private static final Gson gson = new GsonBuilder()
+        .setPrettyPrinting()
+        .create();
+    // 先生ごとの学習結果がない場合に使う学習結果のキー（Jicooのフォームは先生間で共通）
+    private static final String DEFAULT_KEY = "*";
+    // フォームの項目が表示されるまでスクリプト内で待つ最大時間（ミリ秒）
+    private static final long FIELD_WAIT_MS = 5_000L;
+    private static final String RESULT_OK = "ok";
+    
+    // 名前フィールドの候補（優先順）
+    static final List<String> NAME_SELECTORS = List.of(
+        "//input[@name='name']",
+        "//input[@placeholder*='名前' or @placeholder*='Name']",
+        "//input[@type='text'][1]",
+        "//input[@id*='name' or @id*='Name']"
+    );
+    
+    // メールフィールドの候補（優先順）
+    static final List<String> EMAIL_SELECTORS = List.of(
+        "//input[@type='email']",
+        "//input[@name='email' or @name='Email']",
+        "//input[@placeholder*='メール' or @placeholder*='Email']",
+        "//input[@id*='email' or @id*='Email']"
+    );
+    
+    // 確定ボタンの候補（優先順）
+    static final List<String> SUBMIT_SELECTORS = List.of(
+        "//button[@type='submit']",
+        "//button[contains(text(), '確定') or contains(text(), '予約') or contains(text(), 'Submit')]",
+        "//input[@type='submit']",
+        "//button[@class*='submit' or @class*='confirm']"
+    );
+    
+    // 候補のうち最初に見つかったXPathを返すスクリプト（見つからない場合はnull）
+    private static final String FIND_SCRIPT =
+        "var lists = arguments;"
+        + "function first(list) {"
+        + "  for (var i = 0; i < list.length; i++) {"
+        + "    var node = document.evaluate(list[i], document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;"
+        + "    if (node) { return list[i]; }"
+        + "  }"
+        + "  return null;"
+        + "}"
+        + "return [first(lists[0]), first(lists[1]), first(lists[2])];";
+    
+    // 項目が揃うまで待ち、ネイティブのsetterで値を設定して入力イベントを発火するスクリプト
+    // （ReactなどのフレームワークはsendKeys相当のイベントがないと値を認識しないため）
+    private static final String FILL_SCRIPT =
+        "var nameXpath = arguments[0], emailXpath = arguments[1], submitXpath = arguments[2];"
+        + "var name = arguments[3], email = arguments[4], waitMs = arguments[5];"
+        + "var done = arguments[arguments.length - 1];"
+        + "var deadline = Date.now() + waitMs;"
+        + "function find(xpath) {"
+        + "  return document.evaluate(xpath, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;"
+        + "}"
+        + "function setValue(el, value) {"
+        + "  var proto = Object.getPrototypeOf(el);"
+        + "  var desc = Object.getOwnPropertyDescriptor(proto, 'value');"
+        + "  if (desc && desc.set) { desc.set.call(el, value); } else { el.value = value; }"
+        + "  el.dispatchEvent(new Event('input', { bubbles: true }));"
+        + "  el.dispatchEvent(new Event('change', { bubbles: true }));"
+        + "}"
+        + "(function attempt() {"
+        + "  var nameField = find(nameXpath), emailField = find(emailXpath), submit = find(submitXpath);"
+        + "  if (nameField && emailField && submit && !submit.disabled) {"
+        + "    setValue(nameField, name);"
+        + "    setValue(emailField, email);"
+        + "    done('ok');"
+        + "  } else if (Date.now() > deadline) {"
+        + "    done('missing:' + (nameField ? '' : 'name ') + (emailField ? '' : 'email ') + (submit ? '' : 'submit'));"
+        + "  } else {"
+        + "    setTimeout(attempt, 20);"
+        + "  }"
+        + "})();";
+    
+    // 確定ボタンを押すスクリプト
+    private static final String SUBMIT_SCRIPT =
+        "var submit = document.evaluate(arguments[0], document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;"
+        + "if (!submit || submit.disabled) { return 'missing:submit'; }"
+        + "submit.click();"
+        + "return 'ok';";
+    
+    /**
+     * 学習したフォームの場所
+     */
+    public static final class FormLocators {
+        private final String name;
+        private final String email;
+        private final String submit;
+        private final long learnedAt;
+        
+        public FormLocators(String name, String email, String submit, long learnedAt) {
+            this.name = name;
+            this.email = email;
+            this.submit = submit;
+            this.learnedAt = learnedAt;
+        }
+        
+        public String getName() {
+            return name;
+        }
+        
+        public String getEmail() {
+            return email;
+        }
+        
+        public String getSubmit() {
+            return submit;
+        }
+        
+        public long getLearnedAt() {
+            return learnedAt;
+        }
+        
+        private boolean isComplete() {
+            return name != null && email != null && submit != null;
+        }
+    }
+    
+    private final Map<String, FormLocators> locators = new ConcurrentHashMap<>();
+    
+    private FormStager() {
+        loadLocators();
+    }
+    
+    /**
+     * シングルトンインスタンスを取得
+     */
+    public static FormStager getInstance() {
+        return instance;
+    }
+    
+    /**
+     * 学習したフォームの場所を取得（先生ごとの学習結果がなければ共通の学習結果）
+     * @param teacher 先生名
+     * @return フォームの場所（未学習の場合はnull）
+     */
+    public FormLocators getLocators(String teacher) {
+        FormLocators found = teacher != null ? locators.get(teacher) : null;
+        return found != null ? found : locators.get(DEFAULT_KEY);
+    }
+    
+    /**
+     * 現在表示中の予約フォームから各項目の場所を学習
+     * 予約可能なタイムスロットのフォームやローカルの代替サーバーのフォームを開いた状態で呼ぶ。
+     * @param driver 予約フォームを表示中のWebDriver
+     * @param teacher 先生名
+     * @return すべての項目の場所が分かった場合true
+     */
+    public boolean learn(WebDriver driver, String teacher) {
+        try {
+            Object result = ((JavascriptExecutor) driver).executeScript(FIND_SCRIPT,
+                NAME_SELECTORS, EMAIL_SELECTORS, SUBMIT_SELECTORS);
+            if (!(result instanceof List)) {
+                return false;
+            }
+            List<?> found = (List<?>) result;
+            FormLocators learned = new FormLocators(asString(found.get(0)), asString(found.get(1)),
+                asString(found.get(2)), System.currentTimeMillis());
+            if (!learned.isComplete()) {
+                logger.debug("予約フォームの項目が揃っていないため学習しません: name={}, email={}, submit={}",
+                    learned.name, learned.email, learned.submit);
+                return false;
+            }
+            ReservationMetrics metrics = ReservationMetrics.getInstance();
+            metrics.recordLocatorHit("name", learned.name);
+            metrics.recordLocatorHit("email", learned.email);
+            metrics.recordLocatorHit("submit", learned.submit);
+            locators.put(teacher, learned);
+            locators.put(DEFAULT_KEY, learned);
+            saveLocators();
+            logger.info("予約フォームの場所を学習しました: 先生={}, name={}, email={}, submit={}",
+                teacher, learned.name, learned.email, learned.submit);
+            return true;
+        } catch (Exception e) {
+            logger.warn("予約フォームの場所の学習に失敗しました: {}", e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * 学習したフォームの場所を使い、1回のスクリプト実行で全項目を入力する（確定ボタンは押さない）
+     * @param driver 予約フォームを表示中（または表示直前）のWebDriver
+     * @param teacher 先生名
+     * @param name 名前
+     * @param email メールアドレス
+     * @return 全項目を入力し、確定ボタンが押せる状態になった場合true（未学習・項目が見つからない場合false）
+     */
+    public boolean fill(WebDriver driver, String teacher, String name, String email) {
+        FormLocators staged = getLocators(teacher);
+        if (staged == null) {
+            return false;
+        }
+        try {
+            Object result = ((JavascriptExecutor) driver).executeAsyncScript(FILL_SCRIPT,
+                staged.name, staged.email, staged.submit, name, email, FIELD_WAIT_MS);
+            if (RESULT_OK.equals(result)) {
+                logger.debug("【STEP】{} - 事前準備したフォームに入力しました", teacher);
+                return true;
+            }
+            logger.warn("【WARN】{} - 事前準備したフォームの項目が見つかりませんでした: {}", teacher, result);
+        } catch (Exception e) {
+            logger.warn("【WARN】{} - 事前準備したフォームへの入力に失敗しました: {}", teacher, e.getMessage());
+        }
+        // フォームの構成が変わった可能性があるため、使用した学習結果を破棄して次回学習し直す
+        forget(teacher, staged);
+        return false;
+    }
+    
+    /**
+     * 学習した確定ボタンを押す（{@link #fill} で入力した後に呼ぶ）
+     * @param driver 入力済みの予約フォームを表示中のWebDriver
+     * @param teacher 先生名
+     * @return 確定ボタンを押せた場合true
+     */
+    public boolean submit(WebDriver driver, String teacher) {
+        FormLocators staged = getLocators(teacher);
+        if (staged == null) {
+            return false;
+        }
+        try {
+            Object result = ((JavascriptExecutor) driver).executeScript(SUBMIT_SCRIPT, staged.submit);
+            if (RESULT_OK.equals(result)) {
+                logger.debug("【STEP】{} - 事前準備したフォームの確定ボタンを押しました", teacher);
+                return true;
+            }
+            logger.warn("【WARN】{} - 事前準備したフォームの確定ボタンが押せませんでした: {}", teacher, result);
+        } catch (Exception e) {
+            logger.warn("【WARN】{} - 事前準備したフォームの確定に失敗しました: {}", teacher, e.getMessage());
+        }
+        return false;
+    }
+    
+    /**
+     * 学習結果を破棄（共通の学習結果も同じものであれば破棄する）
+     */
+    private void forget(String teacher, FormLocators staged) {
+        if (teacher != null) {
+            locators.remove(teacher, staged);
+        }
+        locators.remove(DEFAULT_KEY, staged);
+        saveLocators();
+    }
+    
+    private static String asString(Object value) {
+        return value != null ? value.toString() : null;
+    }
+    
+    /**
+     * 学習結果をJSONファイルから読み込む
+     */
+    private void loadLocators() {
+        Path filePath = Paths.get(DATA_DIR).resolve(FORM_LOCATORS_FILE);
+        if (!Files.exists(filePath)) {
+            return;
+        }
+        try (FileReader reader = new FileReader(filePath.toFile())) {
+            Type type = new TypeToken<Map<String, FormLocators>>() {}.getType();
+            Map<String, FormLocators> loaded = gson.fromJson(reader, type);
+            if (loaded != null) {
+                loaded.forEach((teacher, value) -> {
+                    if (value != null && value.isComplete()) {
+                        locators.put(teacher, value);
+                    }
+                });
+                logger.info("予約フォームの学習結果を読み込みました: {}件", locators.size());
+            }
+        } catch (Exception e) {
+            logger.warn("予約フォームの学習結果の読み込みに失敗しました: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * 学習結果をJSONファイルに保存
+     */
+    private synchronized void saveLocators() {
+        try {
+            Path dataDir = Paths.get(DATA_DIR);
+            if (!Files.exists(dataDir)) {
+                Files.createDirectories(dataDir);
+            }
+            try (FileWriter writer = new FileWriter(dataDir.resolve(FORM_LOCATORS_FILE).toFile())) {
+                gson.toJson(new HashMap<>(locators), writer);
+            }
+        } catch (IOException e) {
+            logger.warn("予約フォームの学習結果の保存に失敗しました: {}", e.getMessage());
+        }
+    }
+}
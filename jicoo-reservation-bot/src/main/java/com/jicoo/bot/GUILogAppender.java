@@ -2,57 +2,42 @@ package com.jicoo.bot;
 
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.AppenderBase;
-import com.jicoo.bot.api.WebSocketHandler;
 
-import javax.swing.*;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * GUIにログを表示するカスタムアペンダー
- * WebSocketにもログを送信
+ * ログイベントはLogCaptureのリングバッファに書き込むだけで、
+ * 整形とGUI・WebSocketへの配信はLogCaptureのコンシューマースレッドが行う。
  */
 public class GUILogAppender extends AppenderBase<ILoggingEvent> {
-    private static JTextArea logTextArea;
-    private static WebSocketHandler webSocketHandler;
-    private static final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+    private static LogListView logView;
+    private static Consumer<List<String>> logViewSink;
     
     /**
-     * ログ表示用のテキストエリアを設定
+     * ログ表示用のリストを設定
      */
-    public static void setLogTextArea(JTextArea textArea) {
-        logTextArea = textArea;
+    public static synchronized void setLogView(LogListView view) {
+        logView = view;
+        if (logViewSink == null) {
+            logViewSink = GUILogAppender::appendToLogView;
+            LogCapture.getInstance().addSink(logViewSink);
+        }
     }
     
     /**
-     * WebSocketハンドラーを設定
+     * 整形済みログをまとめてログ表示に追加（EDTへの反映はLogListViewがまとめて行う）
      */
-    public static void setWebSocketHandler(WebSocketHandler handler) {
-        webSocketHandler = handler;
+    private static void appendToLogView(List<String> lines) {
+        LogListView view = logView;
+        if (view != null) {
+            view.appendAll(lines);
+        }
     }
     
     @Override
     protected void append(ILoggingEvent event) {
-        // ログメッセージをフォーマット
-        String timestamp = dateFormat.format(new Date(event.getTimeStamp()));
-        String level = event.getLevel().toString();
-        String message = event.getFormattedMessage();
-        String logLine = String.format("%s [%s] %s", timestamp, level, message);
-        
-        // Swing GUIに表示
-        if (logTextArea != null) {
-            SwingUtilities.invokeLater(() -> {
-                if (logTextArea != null) {
-                    logTextArea.append(logLine + "\n");
-                    logTextArea.setCaretPosition(logTextArea.getDocument().getLength());
-                }
-            });
-        }
-        
-        // WebSocketに送信
-        if (webSocketHandler != null) {
-            WebSocketHandler.broadcastLog(logLine);
-        }
+        LogCapture.getInstance().capture(event);
     }
 }
-
@@ -0,0 +1,291 @@
+package com.jicoo.bot;
+
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+/**
+ * ホライズンスキャン（先の日付までの空き状況の巡回）
+ * 下位層では軽量な取得手段（HTTPまたは共有タブ）で、全先生×明日からN日先までの空き状況を順番に取得する。
+ * 共有ボードの差分エンジンが希望の時間帯の空き（APPEARED・OPENED）を報告したら、上位層としてWebDriverを1つ取得し、
+ * 既存の予約処理（processUrl）にその先生×日付を引き継ぐ。
+ * 予約の調整役は監視と共有するため、監視中の日付に空きが出ても同じ日付を二重に予約しない。
+ * 予約用のWebDriverは巡回の間開いておく予備のプールから取得し、使い終わったらプールに戻す。
+ * 常時起動するブラウザは取得手段の0〜1個だけで済むため、数百件の先生×日付を1台で巡回できる。
+ */
+public class HorizonScanner implements Runnable {
+    private static final Logger logger = LoggerFactory.getLogger(HorizonScanner.class);
+    
+    private static final ZoneId JAPAN_ZONE = ZoneId.of("Asia/Tokyo");
+    private static final String MDC_MONITOR_KEY = "monitor";
+    private static final long ESCALATION_SHUTDOWN_TIMEOUT_SECONDS = 10L;
+    
+    private final ReservationService reservationService;
+    private final DateManager dateManager;
+    private final List<String> urls;
+    private final AvailabilityProbe probe;
+    private final JicooReservationBot.ReservationCallback callback;
+    private final BooleanSupplier running;
+    private final Config config = Config.getInstance();
+    private final AvailabilityBoard availabilityBoard = AvailabilityBoard.getInstance();
+    // 予約処理で予約できなかった先生×日付（次の巡回でまだ空いていれば再度引き継ぐ）
+    private final Set<String> retries = ConcurrentHashMap.newKeySet();
+    // 予約処理中の先生×日付（同じ組み合わせを二重に引き継がない）
+    private final Set<String> escalating = ConcurrentHashMap.newKeySet();
+    // 日付ごとの投機的予約の調整役（監視と共有し、同じ日付で複数の先生に空きが出ても確定は1件だけ）
+    private final Function<LocalDate, BookingCoordinator> bookingCoordinators;
+    // 予測に基づく監視計画（先生ごとの取得間隔）と先生ごとの最後に取得した時刻（巡回スレッドからのみ参照する）
+    private final PollSchedule pollSchedule;
+    private final Map<String, Long> lastProbedAt = new HashMap<>();
+    
+    /**
+     * @param reservationService 予約処理に使う予約サービス（タイムスロットの監視時間を短くしたもの）
+     * @param urls 巡回する先生のURL
+     * @param probe 空き状況の取得手段（巡回の終了時に閉じる）
+     * @param callback 予約成功時の通知先（nullの場合は通知しない）
+     * @param bookingCoordinators 日付ごとの投機的予約の調整役（監視中の場合は監視と同じ調整役を返す）
+     * @param running 巡回を続ける間trueを返す
+     */
+    public HorizonScanner(ReservationService reservationService, DateManager dateManager, List<String> urls,
+                          AvailabilityProbe probe, JicooReservationBot.ReservationCallback callback,
+                          Function<LocalDate, BookingCoordinator> bookingCoordinators, BooleanSupplier running) {
+        this.reservationService = reservationService;
+        this.dateManager = dateManager;
+        this.urls = new ArrayList<>(urls);
+        this.probe = probe;
+        this.callback = callback;
+        this.bookingCoordinators = bookingCoordinators;
+        this.running = running;
+        this.pollSchedule = PollSchedule.fromConfig(config, this.urls, config.getHorizonScanIntervalSeconds());
+    }
+    
+    @Override
+    public void run() {
+        MDC.put(MDC_MONITOR_KEY, "horizon");
+        int maxBrowsers = Math.max(1, config.getHorizonEscalationMaxBrowsers());
+        ExecutorService escalationExecutor = Executors.newFixedThreadPool(maxBrowsers);
+        DriverPool.Lease poolLease = DriverPool.getInstance().open("ホライズンスキャン");
+        logger.info("【STEP】ホライズンスキャンを開始します: 先生数={}, 期間={}日, 取得手段={}, 予約用ブラウザ上限={}",
+            urls.size(), config.getHorizonDays(), probe.getName(), maxBrowsers);
+        try {
+            while (running.getAsBoolean() && !Thread.currentThread().isInterrupted()) {
+                // 1巡の間隔を先生数で割り、取得を均等に分散させる
+                long spacingMs = Math.max(1, config.getHorizonScanIntervalSeconds()) * 1000L / Math.max(1, urls.size());
+                boolean scanned = false;
+                for (String url : urls) {
+                    if (!running.getAsBoolean()) {
+                        break;
+                    }
+                    // 監視計画で空きが出にくいと予測された先生は、確認間隔が経過するまで取得しない
+                    if (!pollSchedule.isDue(url, lastProbedAt.getOrDefault(url, 0L))) {
+                        continue;
+                    }
+                    long startedAt = System.currentTimeMillis();
+                    if (config.isWithinMonitoringHours()) {
+                        lastProbedAt.put(url, startedAt);
+                        scan(url, escalationExecutor);
+                        scanned = true;
+                    }
+                    long elapsedMs = System.currentTimeMillis() - startedAt;
+                    if (elapsedMs < spacingMs) {
+                        Thread.sleep(spacingMs - elapsedMs);
+                    }
+                }
+                if (!scanned) {
+                    Thread.sleep(spacingMs);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            probe.close();
+            escalationExecutor.shutdownNow();
+            try {
+                escalationExecutor.awaitTermination(ESCALATION_SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            // 予約処理と取得手段のWebDriverをプールに戻してから閉じる
+            DriverPool.getInstance().close(poolLease);
+            logger.info("ホライズンスキャンを終了しました");
+            MDC.remove(MDC_MONITOR_KEY);
+        }
+    }
+    
+    /**
+     * 先生1人分の空き状況を取得し、新しく空いた希望の時間帯があれば予約処理に引き継ぐ
+     */
+    private void scan(String url, ExecutorService escalationExecutor) {
+        String teacherName = reservationService.extractTeacherNameFromUrl(url);
+        List<LocalDate> dates = horizonDates();
+        if (dates.isEmpty()) {
+            return;
+        }
+        Map<LocalDate, List<String>> slotsByDate;
+        try {
+            slotsByDate = probe.probe(url, dates);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Exception e) {
+            logger.warn("【WARN】{} - ホライズンスキャンで空き状況を取得できませんでした: {}", teacherName, e.getMessage());
+            return;
+        }
+        // 前回からの状態遷移は共有ボードの差分エンジンが1回だけ計算する
+        Map<LocalDate, TimeSlotSet> openedByDate = new LinkedHashMap<>();
+        for (SlotTransition transition : availabilityBoard.publish(url, slotsByDate)) {
+            if (transition.isOpen()) {
+                openedByDate.merge(transition.getDate(), TimeSlotSet.EMPTY.with(transition.getMinute()), TimeSlotSet::or);
+            }
+        }
+        for (Map.Entry<LocalDate, List<String>> entry : slotsByDate.entrySet()) {
+            if (retries.remove(key(url, entry.getKey()))) {
+                openedByDate.merge(entry.getKey(), TimeSlotSet.of(entry.getValue()), TimeSlotSet::or);
+            }
+        }
+        
+        for (Map.Entry<LocalDate, TimeSlotSet> entry : openedByDate.entrySet()) {
+            LocalDate date = entry.getKey();
+            TimeSlotSet opened = entry.getValue();
+            if (opened.isEmpty()) {
+                continue;
+            }
+            List<String> matchingSlots = matchPreferences(date, opened);
+            logger.debug("{} - {} に空きが出ました: {}（希望の時間帯: {}）", teacherName, date, opened, matchingSlots);
+            if (!matchingSlots.isEmpty()) {
+                escalate(url, date, matchingSlots, escalationExecutor);
+            }
+        }
+    }
+    
+    /**
+     * 巡回する日付（明日からN日先まで、予約済みの日付を除く）
+     */
+    private List<LocalDate> horizonDates() {
+        LocalDate today = LocalDate.now(JAPAN_ZONE);
+        List<LocalDate> completed = dateManager != null ? dateManager.getCompletedReservations() : List.of();
+        List<LocalDate> dates = new ArrayList<>();
+        for (int i = 1; i <= Math.max(1, config.getHorizonDays()); i++) {
+            LocalDate date = today.plusDays(i);
+            if (!completed.contains(date)) {
+                dates.add(date);
+            }
+        }
+        return dates;
+    }
+    
+    /**
+     * 新しく空いた時刻のうち希望に合う時間帯を希望順に返す
+     * 希望は、画面で選択された日付ならその時間帯、それ以外は jicoo.horizon.time.slots（空なら対象時間）。
+     * どちらも空の場合は新しく空いたすべての時間帯を対象にする。
+     */
+    private List<String> matchPreferences(LocalDate date, TimeSlotSet opened) {
+        List<String> preferences = null;
+        if (dateManager != null) {
+            preferences = dateManager.getEnabledDatesWithTimeSlots().get(date);
+        }
+        if (preferences == null || preferences.isEmpty()) {
+            preferences = config.getHorizonTimeSlots();
+        }
+        if (preferences.isEmpty() && !config.getTargetTime().isEmpty()) {
+            preferences = List.of(config.getTargetTime());
+        }
+        if (preferences.isEmpty()) {
+            preferences = opened.toTimeSlots();
+        }
+        List<String> matching = new ArrayList<>();
+        TimeSlotSet matched = TimeSlotSet.EMPTY;
+        for (String preference : preferences) {
+            int minute = TimeSlotSet.minuteOf(preference);
+            if (opened.contains(minute) && !matched.contains(minute)) {
+                matching.add(preference);
+                matched = matched.with(minute);
+            }
+        }
+        return matching;
+    }
+    
+    /**
+     * 先生×日付の予約処理を予約用のWebDriverに引き継ぐ（同じ組み合わせが処理中の場合は何もしない）
+     */
+    private void escalate(String url, LocalDate date, List<String> timeSlots, ExecutorService escalationExecutor) {
+        String key = key(url, date);
+        if (!escalating.add(key)) {
+            return;
+        }
+        logger.info("【予約解放検知】ホライズンスキャンで空きを検知したため、予約処理を開始します: 日付={}, URL={}, 時間帯={}",
+            date, url, timeSlots);
+        try {
+            escalationExecutor.submit(() -> book(url, date, timeSlots));
+        } catch (RejectedExecutionException e) {
+            escalating.remove(key);
+        }
+    }
+    
+    private void book(String url, LocalDate date, List<String> timeSlots) {
+        String key = key(url, date);
+        MDC.put(MDC_MONITOR_KEY, reservationService.extractTeacherNameFromUrl(url) + "@" + date + "@horizon");
+        DriverPool driverPool = DriverPool.getInstance();
+        WebDriver driver = null;
+        boolean success = false;
+        try {
+            if (dateManager != null && dateManager.getCompletedReservations().contains(date)) {
+                logger.info("日付 {} の予約が既に成功しているため、予約処理を行いません: URL={}", date, url);
+                return;
+            }
+            BookingCoordinator coordinator = bookingCoordinators.apply(date);
+            if (coordinator.isCommitted()) {
+                logger.info("日付 {} の予約が既に確定しているため、予約処理を行いません: URL={}", date, url);
+                return;
+            }
+            driver = driverPool.acquire();
+            success = reservationService.processUrl(driver, url, date, timeSlots, coordinator);
+            if (success) {
+                logger.info("ホライズンスキャンからの予約が成功しました！日付: {}, URL: {}, 時間帯: {}", date, url, timeSlots);
+                if (callback != null) {
+                    callback.onReservationResult(date, true, timeSlots, url);
+                }
+                // 予約成功時はWebDriverをクローズせず、ブラウザを開いたままにする
+                driver = null;
+            } else {
+                logger.info("ホライズンスキャンからの予約処理で予約できませんでした: 日付={}, URL={}", date, url);
+            }
+        } catch (Exception e) {
+            logger.warn("【WARN】ホライズンスキャンからの予約処理に失敗しました: 日付={}, URL={}: {}", date, url, e.getMessage());
+            // 異常のあったWebDriverはプールに戻さず終了する
+            DriverManager.closeWebDriver(driver, true);
+            driver = null;
+        } finally {
+            if (!success) {
+                // 次の巡回でまだ空いていれば再度引き継ぐ
+                retries.add(key);
+            }
+            if (driver != null) {
+                driverPool.release(driver);
+            }
+            escalating.remove(key);
+            MDC.remove(MDC_MONITOR_KEY);
+        }
+    }
+    
+    private static String key(String url, LocalDate date) {
+        return url + "@" + date;
+    }
+}
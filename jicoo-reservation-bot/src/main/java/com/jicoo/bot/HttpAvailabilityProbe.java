@@ -0,0 +1,108 @@
+package com.jicoo.bot;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * HTTPによる空き状況の取得
+ * 予約ページが取得する空き状況のJSONをブラウザを使わずに直接取得し、AvailabilityPayloadParser で解析する。
+ * URLテンプレートのプレースホルダ:
+ *   {teacher} 先生のURLの最後のパス（例: Teacher_Vanessa）
+ *   {url} 先生のURL（URLエンコード済み）
+ *   {date} 対象日付（yyyy-MM-dd）。含まない場合は先生1人につき1回だけ取得し、レスポンスに含まれる日付をすべて使う
+ */
+public class HttpAvailabilityProbe implements AvailabilityProbe {
+    private static final String PLACEHOLDER_TEACHER = "{teacher}";
+    private static final String PLACEHOLDER_URL = "{url}";
+    private static final String PLACEHOLDER_DATE = "{date}";
+    private static final int HTTP_OK = 200;
+    private static final DateTimeFormatter TIME_SLOT_FORMAT = DateTimeFormatter.ofPattern("H:mm");
+    
+    private final String urlTemplate;
+    private final Duration timeout;
+    private final HttpClient httpClient;
+    
+    /**
+     * @param urlTemplate 空き状況のURLテンプレート
+     * @param timeoutSeconds 1回の取得のタイムアウト（秒）
+     */
+    public HttpAvailabilityProbe(String urlTemplate, int timeoutSeconds) {
+        this.urlTemplate = urlTemplate;
+        this.timeout = Duration.ofSeconds(Math.max(1, timeoutSeconds));
+        this.httpClient = HttpClient.newBuilder()
+            .connectTimeout(timeout)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+    }
+    
+    @Override
+    public Map<LocalDate, List<String>> probe(String url, List<LocalDate> dates) throws IOException, InterruptedException {
+        Map<LocalDate, List<String>> result = new LinkedHashMap<>();
+        if (urlTemplate.contains(PLACEHOLDER_DATE)) {
+            for (LocalDate date : dates) {
+                collect(fetch(url, date), List.of(date), result);
+            }
+        } else {
+            collect(fetch(url, null), dates, result);
+        }
+        return result;
+    }
+    
+    @Override
+    public String getName() {
+        return "http";
+    }
+    
+    private Map<LocalDate, Map<LocalTime, Boolean>> fetch(String url, LocalDate date) throws IOException, InterruptedException {
+        String requestUrl = urlTemplate
+            .replace(PLACEHOLDER_TEACHER, URLEncoder.encode(teacherSegment(url), StandardCharsets.UTF_8))
+            .replace(PLACEHOLDER_URL, URLEncoder.encode(url, StandardCharsets.UTF_8))
+            .replace(PLACEHOLDER_DATE, date != null ? date.toString() : "");
+        HttpRequest request = HttpRequest.newBuilder(URI.create(requestUrl))
+            .timeout(timeout)
+            .header("Accept", "application/json")
+            .GET()
+            .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        if (response.statusCode() != HTTP_OK) {
+            throw new IOException("空き状況の取得に失敗しました: HTTP " + response.statusCode() + " " + requestUrl);
+        }
+        return AvailabilityPayloadParser.parse(response.body());
+    }
+    
+    private static void collect(Map<LocalDate, Map<LocalTime, Boolean>> parsed, List<LocalDate> dates,
+                                Map<LocalDate, List<String>> result) {
+        for (LocalDate date : dates) {
+            Map<LocalTime, Boolean> times = parsed.get(date);
+            if (times == null) {
+                continue;
+            }
+            List<String> availableSlots = new ArrayList<>();
+            for (Map.Entry<LocalTime, Boolean> entry : times.entrySet()) {
+                if (Boolean.TRUE.equals(entry.getValue())) {
+                    availableSlots.add(entry.getKey().format(TIME_SLOT_FORMAT));
+                }
+            }
+            result.put(date, availableSlots);
+        }
+    }
+    
+    private static String teacherSegment(String url) {
+        String trimmed = url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+        int index = trimmed.lastIndexOf('/');
+        return index >= 0 ? trimmed.substring(index + 1) : trimmed;
+    }
+}
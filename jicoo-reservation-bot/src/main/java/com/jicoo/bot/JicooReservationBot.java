@@ -4,12 +4,19 @@ import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.remote.UnreachableBrowserException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Jicoo自動予約BOT メインクラス
@@ -21,10 +28,8 @@ public class JicooReservationBot {
     // 定数定義
     private static final String SEPARATOR = "========================================";
     private static final String RETRY_INTERRUPTED_MSG = "再試行待機中に中断されました";
-    private static final long RETRY_WAIT_MS = 60000L; // 1分
-    private static final long SLEEP_RECOVERY_WAIT_MS = 120000L; // 2分
     private static final long SLEEP_DETECTION_THRESHOLD_MS = 60000L; // 1分（スリープ検知の感度を上げる）
-    private static final long MONITORING_CHECK_INTERVAL_MS = 1000L; // 1秒
+    private static final String MDC_MONITOR_KEY = "monitor"; // ログのMDCキー（logback.xmlの%X{monitor}）
     
     private final Config config;
     private final ReservationService reservationService;
@@ -33,6 +38,14 @@ public class JicooReservationBot {
     private ReservationCallback guiCallback;
     private volatile boolean isMonitoring = false; // 監視中フラグ
     private volatile boolean shouldStopMonitoring = false; // 監視停止フラグ
+    private volatile boolean isHorizonScanning = false; // ホライズンスキャン中フラグ
+    private Thread horizonThread; // ホライズンスキャンのスレッド
+    private AtomicBoolean horizonRunning; // 実行中のホライズンスキャンを続けるかどうか（スキャンごとに作成）
+    private volatile PollSchedule pollSchedule; // 予測に基づく監視計画（監視中のみ）
+    private volatile MonitorSupervisor supervisor; // 監視タスクの管理（監視中のみ）
+    // 日付ごとの投機的予約の調整役（監視とホライズンスキャンで共有し、同じ日付を二重に予約しない）
+    private final Map<LocalDate, BookingCoordinator> bookingCoordinators = new ConcurrentHashMap<>();
+    private final Set<LocalDate> sessionOnlyDates = new HashSet<>(); // DateManagerにない監視中の日付（設定ファイルのデフォルト日付など、thisのロックで更新）
     private long lastActivityTime = System.currentTimeMillis(); // 最後の活動時間（スリープ検知用）
     
     /**
@@ -76,6 +89,7 @@ public class JicooReservationBot {
         this.config = Config.getInstance();
         this.reservationService = new ReservationService(config);
         this.dateManager = new DateManager();
+        applyLogProfile();
     }
     
     public JicooReservationBot(Config config, ReservationService reservationService, DateManager dateManager) {
@@ -84,6 +98,30 @@ public class JicooReservationBot {
         this.dateManager = dateManager;
         // ReservationServiceにDateManagerを設定（予約完了状態を共有するため）
         reservationService.setDateManager(dateManager);
+        applyLogProfile();
+    }
+    
+    /**
+     * 設定ファイルのログプロファイルを適用
+     */
+    private void applyLogProfile() {
+        try {
+            LogLevelController.getInstance().applyProfile(config.getLogProfile());
+        } catch (IllegalArgumentException e) {
+            logger.warn("ログプロファイルの適用に失敗しました（logback.xmlの設定を使用します）: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * ログのMDCに設定する監視タスクの識別子（先生@日付）
+     */
+    private static String monitorKey(LocalDate date, String url) {
+        String teacher = url;
+        int index = url.lastIndexOf('/');
+        if (index >= 0 && index + 1 < url.length()) {
+            teacher = url.substring(index + 1);
+        }
+        return teacher + "@" + date;
     }
     
     /**
@@ -134,417 +172,541 @@ public class JicooReservationBot {
     
     /**
      * 監視を開始（日付と時間帯のマッピング）
+     * 既に監視中の場合は、指定された日付を監視中の日付に追加する（実行中のタスクはそのまま続ける）。
      * @param datesWithTimeSlots 日付と時間帯のマッピング（nullの場合は1週間後を使用）
      */
     public void startMonitoring(Map<LocalDate, List<String>> datesWithTimeSlots) {
-        // 既に監視中の場合は新規監視を開始しない
-        if (isMonitoring) {
-            logger.warn("既に監視中です。新しい監視を開始しません。");
-            return;
+        final MonitorSupervisor session;
+        final DriverPool.Lease poolLease;
+        final AtomicBoolean overallSuccess = new AtomicBoolean(false);
+        synchronized (this) {
+            // 既に監視中の場合は、日付を追加して差分のタスクだけを開始する
+            if (isMonitoring) {
+                if (supervisor == null || datesWithTimeSlots == null || datesWithTimeSlots.isEmpty()) {
+                    logger.warn("既に監視中です。新しい監視を開始しません。");
+                    return;
+                }
+                Map<LocalDate, List<String>> merged = new LinkedHashMap<>(supervisor.getDatesWithTimeSlots());
+                merged.putAll(datesWithTimeSlots);
+                rememberSessionOnlyDates(datesWithTimeSlots.keySet());
+                logger.info("監視中の日付に追加します: {}", datesWithTimeSlots.keySet());
+                reconcile(merged, resolveUrls());
+                return;
+            }
+            
+            logger.info("監視を開始します");
+            isMonitoring = true;
+            shouldStopMonitoring = false;
+            
+            // 監視時間内かどうかをチェック（日本時間）
+            if (!config.isWithinMonitoringHours()) {
+                long secondsUntilStart = config.getSecondsUntilMonitoringStart();
+                logger.warn("監視時間外です（日本時間 {}時〜{}時）。{}秒後に監視を開始します", 
+                    config.getMonitoringStartHour(), config.getMonitoringEndHour(), secondsUntilStart);
+                // 監視時間外でも開始は可能（監視ループ内で時間チェックを行う）
+            } else {
+                logger.info("監視時間内です（日本時間 {}時〜{}時）", 
+                    config.getMonitoringStartHour(), config.getMonitoringEndHour());
+            }
+            
+            // URLリストを取得（選択された先生のみ、選択されていない場合はすべて）
+            List<String> urls = resolveUrls();
+            if (urls.isEmpty()) {
+                logger.error("監視対象URLが設定されていません");
+                isMonitoring = false;
+                return;
+            }
+            
+            // URLの順序をランダムにシャッフル（優先度をランダム化）
+            java.util.Collections.shuffle(urls, new java.util.Random());
+            logger.info("監視対象URL数: {} (順序をランダム化しました)", urls.size());
+            for (int i = 0; i < urls.size(); i++) {
+                logger.info("  {}: {}", i + 1, urls.get(i));
+            }
+            
+            // 対象日付リストと時間帯マッピングを決定
+            Map<LocalDate, List<String>> datesWithTimeSlotsMap;
+            if (datesWithTimeSlots != null && !datesWithTimeSlots.isEmpty()) {
+                datesWithTimeSlotsMap = datesWithTimeSlots;
+                logger.debug("指定された日付数: {}", datesWithTimeSlotsMap.size());
+                for (Map.Entry<LocalDate, List<String>> entry : datesWithTimeSlotsMap.entrySet()) {
+                    logger.debug("  対象日付: {}, 時間帯: {}", entry.getKey(), entry.getValue());
+                }
+            } else {
+                // デフォルト：1週間後、デフォルト時間
+                LocalDate defaultDate = config.getTargetDate();
+                datesWithTimeSlotsMap = new HashMap<>(2); // 初期サイズを指定
+                datesWithTimeSlotsMap.put(defaultDate, List.of(config.getTargetTime()));
+                logger.debug("デフォルト日付を使用: {}, 時間帯: {}", defaultDate, config.getTargetTime());
+            }
+            
+            sessionOnlyDates.clear();
+            rememberSessionOnlyDates(datesWithTimeSlotsMap.keySet());
+            
+            // 監視タスクのレジストリ・予備WebDriver・カレンダーの一括スキャンの共有結果を初期化
+            // 予約の調整役は、実行中のホライズンスキャンと共有するため、スキャン中は引き継ぐ
+            if (!isHorizonScanning) {
+                bookingCoordinators.clear();
+            }
+            MonitorRegistry.getInstance().clear();
+            poolLease = DriverPool.getInstance().open("監視");
+            AvailabilityBoard.getInstance().clear();
+            
+            Map<String, Object> startedData = new HashMap<>(4);
+            startedData.put("dates", datesWithTimeSlotsMap.keySet().stream().map(LocalDate::toString).toList());
+            startedData.put("urls", new ArrayList<>(urls));
+            StateChangeFeed.getInstance().publish(StateChangeFeed.MONITORING_STARTED, startedData);
+            
+            // 先生×日付の監視タスクを開始（以降の先生・日付の変更は差分のタスクだけを開始・停止する）
+            session = new MonitorSupervisor(config, reservationService, dateManager,
+                (s, date, url, scope) -> runMonitorTask(s, date, url, scope, overallSuccess), this::getBookingCoordinator);
+            supervisor = session;
+            reconcile(datesWithTimeSlotsMap, urls);
+            if (session.getPollSchedule() != null) {
+                logger.info("予測に基づく監視計画を使用します: 予算={}回/時, 背景の割合={}",
+                    config.getPollBudgetPerHour(), config.getPollBackgroundRatio());
+            }
         }
         
-        logger.info("監視を開始します");
-        isMonitoring = true;
-        shouldStopMonitoring = false;
-        
-        // 監視時間内かどうかをチェック（日本時間）
-        if (!config.isWithinMonitoringHours()) {
-            long secondsUntilStart = config.getSecondsUntilMonitoringStart();
-            logger.warn("監視時間外です（日本時間 {}時〜{}時）。{}秒後に監視を開始します", 
-                config.getMonitoringStartHour(), config.getMonitoringEndHour(), secondsUntilStart);
-            // 監視時間外でも開始は可能（監視ループ内で時間チェックを行う）
-        } else {
-            logger.info("監視時間内です（日本時間 {}時〜{}時）", 
-                config.getMonitoringStartHour(), config.getMonitoringEndHour());
+        // 監視が停止される（監視全体が取り消される）まで待機
+        // 監視タスクの作成中に停止された場合は、ここで取り消す
+        if (!isMonitoring || shouldStopMonitoring) {
+            session.cancel();
+        }
+        try {
+            session.awaitCancelled();
+        } catch (InterruptedException e) {
+            logger.error("待機中に中断されました", e);
+            Thread.currentThread().interrupt();
+            shouldStopMonitoring = true;
+            isMonitoring = false;
         }
         
-        // URLリストを取得（選択された先生のみ）
-        List<String> allUrls = config.getUrls();
-        List<String> selectedUrls = dateManager.getSelectedTeacherUrls();
+        // すべてのタスクの停止を待機（待機中のタスクは取り消しによりすぐに終了し、ブラウザを予備に戻す）
+        // 予備はタスクが終了してから、このセッションの利用分だけ閉じる（停止直後に開始した次のセッションのプールは閉じない）
+        try {
+            session.shutdown();
+        } finally {
+            synchronized (this) {
+                if (supervisor == session) {
+                    supervisor = null;
+                }
+            }
+            DriverPool.getInstance().close(poolLease);
+        }
         
-        // 選択された先生のURLのみを使用（選択されていない場合はすべて使用）
-        List<String> urls;
-        if (selectedUrls != null && !selectedUrls.isEmpty()) {
-            urls = new ArrayList<>(selectedUrls);
-            logger.info("選択された先生のみを監視対象にします: {}件", urls.size());
+        if (overallSuccess.get()) {
+            logger.info("少なくとも1つの予約が成功しました");
         } else {
-            urls = new ArrayList<>(allUrls);
-            logger.info("すべての先生を監視対象にします: {}件", urls.size());
+            logger.info("監視を継続中です（失敗しても再試行を続けます）");
         }
-        
-        if (urls.isEmpty()) {
-            logger.error("監視対象URLが設定されていません");
-            return;
+    }
+    
+    /**
+     * 監視中の先生・日付を、現在の選択（有効な日付と選択された先生）に合わせる
+     * 追加された先生×日付のタスクだけを開始し、外された先生×日付のタスクだけを停止する。
+     * DateManagerにない日付（設定ファイルのデフォルト日付など）は、監視中の時間帯のまま続ける。
+     * @return 監視中でない場合false
+     */
+    public synchronized boolean reconcileMonitoring() {
+        if (!isMonitoring || supervisor == null) {
+            return false;
         }
-        
-        // URLの順序をランダムにシャッフル（優先度をランダム化）
-        java.util.Collections.shuffle(urls, new java.util.Random());
-        logger.info("監視対象URL数: {} (順序をランダム化しました)", urls.size());
-        for (int i = 0; i < urls.size(); i++) {
-            logger.info("  {}: {}", i + 1, urls.get(i));
+        Map<LocalDate, List<String>> datesWithTimeSlots = new LinkedHashMap<>();
+        for (Map.Entry<LocalDate, List<String>> entry : supervisor.getDatesWithTimeSlots().entrySet()) {
+            // 後からDateManagerに追加された日付は、DateManagerの有効・無効と時間帯に従う
+            if (sessionOnlyDates.contains(entry.getKey()) && dateManager.getDateInfo(entry.getKey()) == null) {
+                datesWithTimeSlots.put(entry.getKey(), entry.getValue());
+            }
         }
-        
-        // 対象日付リストと時間帯マッピングを決定
-        Map<LocalDate, List<String>> datesWithTimeSlotsMap;
-        if (datesWithTimeSlots != null && !datesWithTimeSlots.isEmpty()) {
-            datesWithTimeSlotsMap = datesWithTimeSlots;
-            logger.debug("指定された日付数: {}", datesWithTimeSlotsMap.size());
-            for (Map.Entry<LocalDate, List<String>> entry : datesWithTimeSlotsMap.entrySet()) {
-                logger.debug("  対象日付: {}, 時間帯: {}", entry.getKey(), entry.getValue());
+        datesWithTimeSlots.putAll(dateManager.getEnabledDatesWithTimeSlots());
+        if (datesWithTimeSlots.isEmpty()) {
+            // 有効な日付がない場合は、監視中の日付をそのまま続ける
+            datesWithTimeSlots = supervisor.getDatesWithTimeSlots();
+        }
+        List<String> urls = resolveUrls();
+        if (urls.isEmpty()) {
+            logger.warn("監視対象URLが設定されていないため、監視中のタスクを変更しません");
+            return true;
+        }
+        reconcile(datesWithTimeSlots, urls);
+        return true;
+    }
+    
+    /**
+     * 日付の投機的予約の調整役（監視とホライズンスキャンで共有する）
+     */
+    private BookingCoordinator getBookingCoordinator(LocalDate date) {
+        return bookingCoordinators.computeIfAbsent(date, d -> new BookingCoordinator(d, new AtomicBoolean(false),
+            config.getSpeculativeBookingMaxAttempts(), config.getTimeoutSeconds() * 1000L));
+    }
+    
+    /**
+     * 監視を開始・追加した日付のうち、DateManagerにない日付を記録（日付の変更時に対象から外さないため）
+     */
+    private void rememberSessionOnlyDates(Collection<LocalDate> dates) {
+        for (LocalDate date : dates) {
+            if (dateManager.getDateInfo(date) == null) {
+                sessionOnlyDates.add(date);
             }
-        } else {
-            // デフォルト：1週間後、デフォルト時間
-            LocalDate defaultDate = config.getTargetDate();
-            datesWithTimeSlotsMap = new HashMap<>(datesWithTimeSlots.size()); // 初期サイズを指定
-            datesWithTimeSlotsMap.put(defaultDate, List.of(config.getTargetTime()));
-            logger.debug("デフォルト日付を使用: {}, 時間帯: {}", defaultDate, config.getTargetTime());
         }
-        
-        List<LocalDate> datesToProcess = new ArrayList<>(datesWithTimeSlotsMap.keySet());
-        
-        // 並行処理用のExecutorService（URL数×日付数のスレッド）
-        // スレッドプールサイズを最適化（CPUコア数に基づく）
-        int availableProcessors = Runtime.getRuntime().availableProcessors();
-        int threadCount = urls.size() * datesToProcess.size();
-        int optimalThreadPoolSize = Math.min(Math.max(threadCount, 2), Math.max(availableProcessors * 2, 8));
-        java.util.concurrent.ExecutorService executor = java.util.concurrent.Executors.newFixedThreadPool(optimalThreadPoolSize);
-        logger.debug("スレッドプールサイズ: {} (利用可能CPU: {}, タスク数: {})", optimalThreadPoolSize, availableProcessors, threadCount);
-        
-        final java.util.concurrent.atomic.AtomicBoolean overallSuccess = new java.util.concurrent.atomic.AtomicBoolean(false);
-        final java.util.concurrent.CountDownLatch latch = new java.util.concurrent.CountDownLatch(threadCount);
-        // 日付ごとの成功フラグ（その日の予約が成功したら、その日の他のタスクを停止）
-        final Map<LocalDate, java.util.concurrent.atomic.AtomicBoolean> dateSuccessMap = 
-            new HashMap<>(datesToProcess.size()); // 初期サイズを指定
-        for (LocalDate date : datesToProcess) {
-            dateSuccessMap.put(date, new java.util.concurrent.atomic.AtomicBoolean(false));
+    }
+    
+    /**
+     * 監視タスクを比較して差分を開始・停止し、変更があれば状態変更フィードに発行
+     */
+    private void reconcile(Map<LocalDate, List<String>> datesWithTimeSlots, List<String> urls) {
+        MonitorSupervisor.Result result = supervisor.reconcile(datesWithTimeSlots, urls);
+        pollSchedule = supervisor.getPollSchedule();
+        if (!result.isEmpty()) {
+            Map<String, Object> data = new HashMap<>(4);
+            data.put("started", result.getStarted());
+            data.put("stopped", result.getStopped());
+            StateChangeFeed.getInstance().publish(StateChangeFeed.MONITORING_RECONCILED, data);
         }
-        
-        // 各URL×日付の組み合わせを並行処理
-        for (Map.Entry<LocalDate, List<String>> dateEntry : datesWithTimeSlotsMap.entrySet()) {
-            LocalDate targetDate = dateEntry.getKey();
-            List<String> timeSlots = dateEntry.getValue();
-            
-            for (String url : urls) {
-                final LocalDate date = targetDate; // ラムダ式で使用するためfinal
-                final List<String> finalTimeSlots = new ArrayList<>(timeSlots); // ラムダ式で使用するためfinal
-                final String finalUrl = url; // ラムダ式で使用するためfinal（teacherUrlとして使用）
-                executor.submit(() -> {
-                    // 失敗しても監視を継続する無限ループ
-                    WebDriver urlDriver = null; // スコープを広げるため、ループの外で宣言
-                    while (isMonitoring && !shouldStopMonitoring) {
-                        try {
-                            // この日付の予約が既に成功している場合はスキップ
-                            // DateManagerの完了リストもチェック（複数タブ/ウィンドウ間で状態を共有）
-                            if (dateSuccessMap.get(date).get() || dateManager.getCompletedReservations().contains(date)) {
-                                logger.info("日付 {} の予約が既に成功しているため、このタスクを終了します: URL={}", date, finalUrl);
-                                latch.countDown();
-                                return;
+    }
+    
+    /**
+     * 監視対象の先生のURL（選択された先生のみ、選択されていない場合はすべて）
+     */
+    private List<String> resolveUrls() {
+        List<String> selectedUrls = dateManager.getSelectedTeacherUrls();
+        if (selectedUrls != null && !selectedUrls.isEmpty()) {
+            logger.info("選択された先生のみを監視対象にします: {}件", selectedUrls.size());
+            return new ArrayList<>(selectedUrls);
+        }
+        List<String> allUrls = config.getUrls();
+        logger.info("すべての先生を監視対象にします: {}件", allUrls.size());
+        return new ArrayList<>(allUrls);
+    }
+    
+    /**
+     * 先生×日付の監視タスク（失敗しても監視を継続し、予約の成功・監視の停止・対象からの削除で終了する）
+     * @param session 監視タスクの管理（日付ごとの成功フラグ・時間帯などを共有する）
+     * @param date 対象日付
+     * @param finalUrl 先生のURL
+     * @param scope このタスクの取り消し範囲（監視の停止・対象からの削除で取り消される）
+     * @param overallSuccess 予約が1件でも成功したらtrueにする
+     */
+    private void runMonitorTask(MonitorSupervisor session, LocalDate date, String finalUrl, CancellationScope scope,
+                                AtomicBoolean overallSuccess) {
+        final RetryPolicy retryPolicy = reservationService.getRetryPolicy();
+        final DriverPool driverPool = DriverPool.getInstance();
+        final MonitorRegistry monitorRegistry = MonitorRegistry.getInstance();
+        final AtomicBoolean dateSuccessFlag = session.getDateSuccessFlag(date);
+        // このタスクのログに監視対象を付与
+        MDC.put(MDC_MONITOR_KEY, monitorKey(date, finalUrl));
+        // 失敗しても監視を継続する無限ループ
+        WebDriver urlDriver = null; // スコープを広げるため、ループの外で宣言
+        final CircuitBreaker circuitBreaker = session.getCircuitBreaker(finalUrl);
+        int consecutiveFailures = 0; // 再試行の待機時間を決めるための連続失敗回数
+        while (!scope.isCancelled()) {
+            // 時間帯は監視中に変更されることがあるため、周期ごとに取得する
+            final List<String> finalTimeSlots = session.getTimeSlots(date);
+            try {
+                // この日付の予約が既に成功している場合はスキップ
+                // DateManagerの完了リストもチェック（複数タブ/ウィンドウ間で状態を共有）
+                if (dateSuccessFlag.get() || dateManager.getCompletedReservations().contains(date)) {
+                    logger.info("日付 {} の予約が既に成功しているため、このタスクを終了します: URL={}", date, finalUrl);
+                    break;
+                }
+                
+                // この先生で失敗が続いている場合は、ブレーカーが閉じるまで再試行しない
+                if (!circuitBreaker.allowRequest()) {
+                    long openMs = circuitBreaker.getRemainingOpenMs();
+                    logger.warn("【遮断】連続して失敗しているため、{}秒間再試行を停止します: 日付={}, URL={}", 
+                        (openMs + 999) / 1000, date, finalUrl);
+                    if (!awaitRetry(scope, date, finalUrl, MonitorRegistry.State.CIRCUIT_OPEN, openMs)) {
+                        break;
+                    }
+                    continue;
+                }
+                
+                logger.info(SEPARATOR);
+                logger.info("監視開始: 日付={}, URL={}, 時間帯={}", date, finalUrl, finalTimeSlots);
+                logger.info(SEPARATOR);
+                
+                // このURL×日付の組み合わせ用にWebDriverを取得（既に存在する場合は再作成しない）
+                if (urlDriver == null) {
+                    urlDriver = acquireDriver(driverPool, date, finalUrl);
+                    if (urlDriver == null) {
+                        consecutiveFailures++;
+                        RetryPolicy.Decision decision = retryPolicy.decide(FailureType.DRIVER_UNAVAILABLE, consecutiveFailures);
+                        logger.info("{}ms後に再試行します...", decision.getDelayMs());
+                        if (!awaitRetry(scope, date, finalUrl, MonitorRegistry.State.BACKOFF, decision.getDelayMs())) {
+                            break;
+                        }
+                        continue; // ループを継続
+                    }
+                }
+                
+                try {
+                    // スリープモード検知：システム時間の大きな変化をチェック
+                    long currentTime = System.currentTimeMillis();
+                    long timeDiff = currentTime - lastActivityTime;
+                    if (timeDiff > SLEEP_DETECTION_THRESHOLD_MS) { // 1分以上の時間差がある場合（スリープから復帰した可能性）
+                        logger.warn("【スリープ検知】システム時間の大きな変化を検知しました（{}秒）。スリープから復帰した可能性があります", timeDiff / 1000);
+                        logger.warn("【スリープ検知】WebDriverを再作成して監視を再開します");
+                        // WebDriverをクリーンアップして再作成
+                        DriverManager.closeWebDriver(urlDriver, true); // silent=trueでエラーを無視
+                        urlDriver = null; // 再作成のためnullに設定
+                        lastActivityTime = currentTime;
+                        // スリープから復帰したことをログに記録
+                        logger.info("【スリープ復帰】監視を自動的に再開します: 日付={}, URL={}", date, finalUrl);
+                    } else {
+                        lastActivityTime = currentTime;
+                    }
+                    
+                    // WebDriverが無効な場合は再作成
+                    if (urlDriver == null) {
+                        logger.info("WebDriverを再作成します: 日付={}, URL={}", date, finalUrl);
+                        urlDriver = acquireDriver(driverPool, date, finalUrl);
+                        if (urlDriver == null) {
+                            consecutiveFailures++;
+                            RetryPolicy.Decision decision = retryPolicy.decide(FailureType.DRIVER_UNAVAILABLE, consecutiveFailures);
+                            if (!awaitRetry(scope, date, finalUrl, MonitorRegistry.State.BACKOFF, decision.getDelayMs())) {
+                                break;
+                            }
+                            continue; // ループを継続
+                        }
+                    }
+                    
+                    // WebDriverの接続状態をチェック
+                    try {
+                        urlDriver.getCurrentUrl(); // 接続状態を確認
+                    } catch (Exception e) {
+                        logger.warn("【接続切断検知】WebDriverの接続が切断されました。再作成します: {}", e.getMessage());
+                        monitorRegistry.recordFailure(date, finalUrl, "WebDriverの接続が切断されました");
+                        DriverManager.closeWebDriver(urlDriver, true); // silent=trueでエラーを無視
+                        urlDriver = null; // 再作成のためnullに設定
+                        continue; // ループを継続して再作成
+                    }
+                    
+                    // この日付の予約が既に成功している場合は処理を中断
+                    // DateManagerの完了リストもチェック（複数タブ/ウィンドウ間で状態を共有）
+                    if (dateSuccessFlag.get() || dateManager.getCompletedReservations().contains(date)) {
+                        logger.info("日付 {} の予約が既に成功しているため、処理を中断します: URL={}", date, finalUrl);
+                        break;
+                    }
+                    
+                    // リトライ付きでURL処理を実行（日付と時間帯リスト指定、日付成功フラグ付き）
+                    // ラムダ式内で使用するため、urlDriverをfinal変数にコピー
+                    final WebDriver finalUrlDriver = urlDriver;
+                    boolean success = reservationService.processWithRetry(
+                        () -> {
+                            // 処理中に他のタスクが成功した場合は中断
+                            if (dateSuccessFlag.get()) {
+                                logger.info("日付 {} の予約が成功したため、処理を中断します", date);
+                                return false;
                             }
-                            
+                            return reservationService.processUrl(finalUrlDriver, finalUrl, date, finalTimeSlots, session.getBookingCoordinator(date));
+                        },
+                        config.getMaxRetries()
+                    );
+                    publishPollOutcome(date, finalUrl, success);
+                    FailureType failure = success ? null : reservationService.getLastFailureType();
+                    circuitBreaker.record(failure);
+                    
+                    if (success) {
+                        logger.info("予約が成功しました！日付: {}, URL: {}", date, finalUrl);
+                        monitorRegistry.setState(date, finalUrl, MonitorRegistry.State.SUCCEEDED);
+                        overallSuccess.set(true);
+                        
+                        // この日付の成功フラグを設定（この日の他のタスクを停止）
+                        dateSuccessFlag.set(true);
+                        logger.info("日付 {} の予約が成功したため、この日の他のタスクを停止します", date);
+                        
+                        // GUIに結果を通知（時間帯と先生URL付き）
+                        if (guiCallback != null) {
+                            logger.info("予約成功コールバック呼び出し: 日付={}, 時間帯={}, 先生URL={}", date, finalTimeSlots, finalUrl);
+                            guiCallback.onReservationResult(date, true, finalTimeSlots, finalUrl);
+                        } else {
+                            logger.warn("予約成功しましたが、guiCallbackがnullです: 日付={}, URL={}", date, finalUrl);
+                        }
+                        
+                        // 他の日付が残っている場合は、ログイン済みのブラウザを次に渡す予備にする
+                        // （起動しただけの予備より優先して、残りの日付のタスクがWebDriverを作り直すときに使う）
+                        boolean otherDatesRemain = session.getDatesWithTimeSlots().keySet().stream()
+                            .anyMatch(d -> !d.equals(date));
+                        if (otherDatesRemain) {
+                            logger.info("残りの日付の監視を続けます。ブラウザを予備に戻します: URL={}", finalUrl);
+                            driverPool.releasePreferred(urlDriver);
+                        } else {
+                            // 最後の日付の場合はWebDriverをクローズせず、ブラウザを開いたままにする
+                            logger.info("予約が成功したため、ブラウザを開いたままにします: URL={}", finalUrl);
+                        }
+                        urlDriver = null; // 参照を解除する（予備に戻したか、開いたままにする）
+                        
+                        // この日付の監視を終える（同じ日付の他のタスクを取り消し、他の日付の監視は続ける）
+                        if (session.completeDate(date) == 0) {
                             logger.info(SEPARATOR);
-                            logger.info("監視開始: 日付={}, URL={}, 時間帯={}", date, finalUrl, finalTimeSlots);
+                            logger.info("すべての日付の予約が完了したため、監視を終了します");
                             logger.info(SEPARATOR);
-                            
-                            // このURL×日付の組み合わせ用に新しいWebDriverを作成（既に存在する場合は再作成しない）
-                            if (urlDriver == null) {
-                                urlDriver = DriverManager.createWebDriver(
-                                    config.isHeadless(),
-                                    config.getTimeoutSeconds(),
-                                    config.getImplicitWaitSeconds()
-                                );
-                                
-                                if (urlDriver == null) {
-                                    logger.error("WebDriverの作成に失敗しました: 日付={}, URL={}", date, finalUrl);
-                                    // WebDriver作成失敗時は1分待機してから再試行
-                                    logger.info("1分後に再試行します...");
-                                    try {
-                                        Thread.sleep(RETRY_WAIT_MS);
-                                    } catch (InterruptedException ie) {
-                                        Thread.currentThread().interrupt();
-                                        logger.warn(RETRY_INTERRUPTED_MSG);
-                                        latch.countDown();
-                                        return;
-                                    }
-                                    continue; // ループを継続
-                                }
-                            }
-                            
-                            try {
-                                // スリープモード検知：システム時間の大きな変化をチェック
-                                long currentTime = System.currentTimeMillis();
-                                long timeDiff = currentTime - lastActivityTime;
-                                if (timeDiff > SLEEP_DETECTION_THRESHOLD_MS) { // 1分以上の時間差がある場合（スリープから復帰した可能性）
-                                    logger.warn("【スリープ検知】システム時間の大きな変化を検知しました（{}秒）。スリープから復帰した可能性があります", timeDiff / 1000);
-                                    logger.warn("【スリープ検知】WebDriverを再作成して監視を再開します");
-                                    // WebDriverをクリーンアップして再作成
-                                    DriverManager.closeWebDriver(urlDriver, true); // silent=trueでエラーを無視
-                                    urlDriver = null; // 再作成のためnullに設定
-                                    lastActivityTime = currentTime;
-                                    // スリープから復帰したことをログに記録
-                                    logger.info("【スリープ復帰】監視を自動的に再開します: 日付={}, URL={}", date, finalUrl);
-                                } else {
-                                    lastActivityTime = currentTime;
-                                }
-                                
-                                // WebDriverが無効な場合は再作成
-                                if (urlDriver == null) {
-                                    logger.info("WebDriverを再作成します: 日付={}, URL={}", date, finalUrl);
-                                    urlDriver = DriverManager.createWebDriver(
-                                        config.isHeadless(),
-                                        config.getTimeoutSeconds(),
-                                        config.getImplicitWaitSeconds()
-                                    );
-                                    if (urlDriver == null) {
-                                        logger.error("WebDriverの再作成に失敗しました: 日付={}, URL={}", date, finalUrl);
-                                        // 1分待機してから再試行
-                                        try {
-                                            Thread.sleep(RETRY_WAIT_MS);
-                                        } catch (InterruptedException ie) {
-                                            Thread.currentThread().interrupt();
-                                            logger.warn(RETRY_INTERRUPTED_MSG);
-                                            break;
-                                        }
-                                        continue; // ループを継続
-                                    }
-                                }
-                                
-                                // WebDriverの接続状態をチェック
-                                try {
-                                    urlDriver.getCurrentUrl(); // 接続状態を確認
-                                } catch (Exception e) {
-                                    logger.warn("【接続切断検知】WebDriverの接続が切断されました。再作成します: {}", e.getMessage());
-                                    DriverManager.closeWebDriver(urlDriver, true); // silent=trueでエラーを無視
-                                    urlDriver = null; // 再作成のためnullに設定
-                                    continue; // ループを継続して再作成
-                                }
-                                
-                                // この日付の予約が既に成功している場合は処理を中断
-                                // DateManagerの完了リストもチェック（複数タブ/ウィンドウ間で状態を共有）
-                                if (dateSuccessMap.get(date).get() || dateManager.getCompletedReservations().contains(date)) {
-                                    logger.info("日付 {} の予約が既に成功しているため、処理を中断します: URL={}", date, finalUrl);
-                                    return;
-                                }
-                                
-                                // リトライ付きでURL処理を実行（日付と時間帯リスト指定、日付成功フラグ付き）
-                                // ラムダ式内で使用するため、urlDriverをfinal変数にコピー
-                                final WebDriver finalUrlDriver = urlDriver;
-                                boolean success = reservationService.processWithRetry(
-                                    () -> {
-                                        // 処理中に他のタスクが成功した場合は中断
-                                        if (dateSuccessMap.get(date).get()) {
-                                            logger.info("日付 {} の予約が成功したため、処理を中断します", date);
-                                            return false;
-                                        }
-                                        return reservationService.processUrl(finalUrlDriver, finalUrl, date, finalTimeSlots, dateSuccessMap.get(date));
-                                    },
-                                    config.getMaxRetries()
-                                );
-                                
-                                if (success) {
-                                    logger.info("予約が成功しました！日付: {}, URL: {}", date, finalUrl);
-                                    overallSuccess.set(true);
-                                    
-                                    // この日付の成功フラグを設定（この日の他のタスクを停止）
-                                    dateSuccessMap.get(date).set(true);
-                                    logger.info("日付 {} の予約が成功したため、この日の他のタスクを停止します", date);
-                                    
-                                    // GUIに結果を通知（時間帯と先生URL付き）
-                                    if (guiCallback != null) {
-                                        logger.info("予約成功コールバック呼び出し: 日付={}, 時間帯={}, 先生URL={}", date, finalTimeSlots, finalUrl);
-                                        guiCallback.onReservationResult(date, true, finalTimeSlots, finalUrl);
-                                    } else {
-                                        logger.warn("予約成功しましたが、guiCallbackがnullです: 日付={}, URL={}", date, finalUrl);
-                                    }
-                                    
-                                    // 予約成功時はWebDriverをクローズせず、ブラウザを開いたままにする
-                                    logger.info("予約が成功したため、ブラウザを開いたままにします: URL={}", finalUrl);
-                                    urlDriver = null; // 参照を解除するが、ブラウザは開いたまま
-                                    
-                                    // 予約成功時にシステムを終了
-                                    logger.info(SEPARATOR);
-                                    logger.info("予約が成功したため、システムを終了します");
-                                    logger.info(SEPARATOR);
-                                    
-                                    // 監視を停止
-                                    shouldStopMonitoring = true;
-                                    isMonitoring = false;
-                                    
-                                    // ExecutorServiceをシャットダウン（非同期で実行し、タイムアウト後に強制終了）
-                                    new Thread(() -> {
-                                        try {
-                                            shutdownExecutorService(executor);
-                                        } catch (Exception e) {
-                                            logger.warn("ExecutorServiceのシャットダウン中にエラーが発生しました（無視して続行）: {}", e.getMessage());
-                                        }
-                                        
-                                        // システムを終了
-                                        try {
-                                            Thread.sleep(2000); // 2秒待機してから終了（ログの出力を待つ）
-                                        } catch (InterruptedException e) {
-                                            Thread.currentThread().interrupt();
-                                        }
-                                        logger.info("システムを終了します");
-                                        System.exit(0);
-                                    }, "SystemShutdownThread").start();
-                                    
-                                    break;
-                                } else {
-                                    // この日付の予約が既に成功している場合は失敗として扱わない
-                                    if (!dateSuccessMap.get(date).get()) {
-                                        logger.warn("URL処理に失敗しました: 日付={}, URL={}", date, finalUrl);
-                                        logger.info("1分後に再試行します...");
-                                        if (guiCallback != null) {
-                                            guiCallback.onReservationResult(date, false);
-                                        }
-                                    } else {
-                                        // 他のタスクが成功した場合はループを終了
-                                        break;
-                                    }
-                                }
-                            } finally {
-                                // WebDriverをクリーンアップ（成功時のみ、失敗時は再試行のため保持）
-                                // 注意: 失敗時はurlDriverを保持して再試行するため、ここではクリーンアップしない
-                                // 成功時やループ終了時にのみクリーンアップする
-                            }
-                            
-                            // 失敗した場合は1分待機してから再試行（urlDriverは保持）
-                            if (!dateSuccessMap.get(date).get() && isMonitoring && !shouldStopMonitoring) {
-                                try {
-                                    Thread.sleep(RETRY_WAIT_MS);
-                                } catch (InterruptedException ie) {
-                                    Thread.currentThread().interrupt();
-                                    logger.warn(RETRY_INTERRUPTED_MSG);
-                                    break;
-                                }
-                            }
-                        } catch (UnreachableBrowserException e) {
-                            // スリープモードに入った可能性がある
-                            logger.warn("【スリープ検知】WebDriverが到達不能になりました。スリープモードに入った可能性があります: {}", e.getMessage());
-                            logger.warn("【スリープ検知】スリープから復帰後に自動的に再開します");
-                            
-                            // WebDriverをクリーンアップ
-                            if (urlDriver != null) {
-                                DriverManager.closeWebDriver(urlDriver, true); // silent=trueでエラーを無視
-                            }
-                            urlDriver = null; // 再作成のためnullに設定
-                            
-                            if (guiCallback != null && !dateSuccessMap.get(date).get()) {
-                                guiCallback.onReservationResult(date, false);
-                            }
-                            
-                            // スリープから復帰を待つため、少し長めに待機（2分）
-                            if (!dateSuccessMap.get(date).get() && isMonitoring && !shouldStopMonitoring) {
-                                try {
-                                    logger.info("スリープから復帰を待機中...（2分後に再試行）");
-                                    Thread.sleep(SLEEP_RECOVERY_WAIT_MS);
-                                    lastActivityTime = System.currentTimeMillis(); // 活動時間を更新
-                                } catch (InterruptedException ie) {
-                                    Thread.currentThread().interrupt();
-                                    logger.warn(RETRY_INTERRUPTED_MSG);
-                                    break;
-                                }
-                            }
-                        } catch (Exception e) {
-                            logger.error("並行処理中にエラーが発生しました: 日付={}, URL={}", date, finalUrl, e);
-                            
-                            // WebDriverが切断された可能性がある場合は再作成
-                            if (urlDriver != null) {
-                                try {
-                                    urlDriver.getCurrentUrl(); // 接続状態を確認
-                                } catch (Exception checkEx) {
-                                    logger.warn("WebDriverの接続が切断されています。再作成します");
-                                    DriverManager.closeWebDriver(urlDriver, true); // silent=trueでエラーを無視
-                                    urlDriver = null; // 再作成のためnullに設定
-                                }
+                            stopMonitoring();
+                        }
+                        
+                        break;
+                    } else {
+                        // この日付の予約が既に成功している場合は失敗として扱わない
+                        if (!dateSuccessFlag.get()) {
+                            if (failure.isError()) {
+                                consecutiveFailures++;
+                                logger.warn("URL処理に失敗しました（{}）: 日付={}, URL={}", failure.getLabel(), date, finalUrl);
+                                monitorRegistry.recordFailure(date, finalUrl, "URL処理に失敗しました（" + failure.getLabel() + "）");
+                            } else {
+                                consecutiveFailures = 0;
+                                logger.info("予約できませんでした（{}）: 日付={}, URL={}", failure.getLabel(), date, finalUrl);
                             }
-                            
-                            if (guiCallback != null && !dateSuccessMap.get(date).get()) {
+                            // ドライランは予約を試みていないため、結果として通知しない
+                            if (guiCallback != null && failure != FailureType.DRY_RUN) {
                                 guiCallback.onReservationResult(date, false);
                             }
-                            
-                            // エラー発生時も1分待機してから再試行
-                            if (!dateSuccessMap.get(date).get() && isMonitoring && !shouldStopMonitoring) {
-                                try {
-                                    Thread.sleep(RETRY_WAIT_MS);
-                                } catch (InterruptedException ie) {
-                                    Thread.currentThread().interrupt();
-                                    logger.warn(RETRY_INTERRUPTED_MSG);
-                                    break;
-                                }
-                            }
+                        } else {
+                            // 他のタスクが成功した場合はループを終了
+                            break;
                         }
                     }
-                    
-                    // ループ終了時にWebDriverをクリーンアップ
-                    if (urlDriver != null) {
-                        DriverManager.closeWebDriver(urlDriver);
+                } finally {
+                    // WebDriverをクリーンアップ（成功時のみ、失敗時は再試行のため保持）
+                    // 注意: 失敗時はurlDriverを保持して再試行するため、ここではクリーンアップしない
+                    // 成功時やループ終了時にのみクリーンアップする
+                }
+                
+                // 失敗した場合は再試行方針に従って待機してから再試行
+                if (!dateSuccessFlag.get() && !scope.isCancelled()) {
+                    FailureType failure = reservationService.getLastFailureType();
+                    RetryPolicy.Decision decision = retryPolicy.decide(failure, Math.max(1, consecutiveFailures));
+                    if (decision.isFreshDriver() && urlDriver != null) {
+                        // 予備のWebDriverに切り替えて再試行
+                        DriverManager.closeWebDriver(urlDriver, true); // silent=trueでエラーを無視
+                        urlDriver = null;
                     }
-                    
-                    // ループ終了時にlatchをカウントダウン
-                    latch.countDown();
-                });
+                    if (decision.getDelayMs() > 0) {
+                        logger.info("{}ms後に再試行します...（{}）", decision.getDelayMs(), failure.getLabel());
+                    }
+                    MonitorRegistry.State waitState = failure == FailureType.OUTSIDE_HOURS
+                        ? MonitorRegistry.State.OUTSIDE_HOURS : MonitorRegistry.State.BACKOFF;
+                    if (!awaitRetry(scope, date, finalUrl, waitState, decision.getDelayMs())) {
+                        break;
+                    }
+                }
+            } catch (UnreachableBrowserException e) {
+                // スリープモードに入った可能性がある
+                logger.warn("【スリープ検知】WebDriverが到達不能になりました。スリープモードに入った可能性があります: {}", e.getMessage());
+                logger.warn("【スリープ検知】スリープから復帰後に自動的に再開します");
+                monitorRegistry.recordFailure(date, finalUrl, "WebDriverが到達不能になりました");
+                circuitBreaker.record(FailureType.BROWSER_CRASH);
+                consecutiveFailures++;
+                
+                // WebDriverをクリーンアップ
+                if (urlDriver != null) {
+                    DriverManager.closeWebDriver(urlDriver, true); // silent=trueでエラーを無視
+                }
+                urlDriver = null; // 再作成のためnullに設定
+                
+                if (guiCallback != null && !dateSuccessFlag.get()) {
+                    guiCallback.onReservationResult(date, false);
+                }
+                
+                // 初回は予備のWebDriverですぐに再試行し、続く場合はスリープからの復帰を待つ
+                if (!dateSuccessFlag.get() && !scope.isCancelled()) {
+                    RetryPolicy.Decision decision = retryPolicy.decide(FailureType.BROWSER_CRASH, consecutiveFailures);
+                    if (decision.getDelayMs() > 0) {
+                        logger.info("スリープから復帰を待機中...（{}ms後に再試行）", decision.getDelayMs());
+                    }
+                    if (!awaitRetry(scope, date, finalUrl, MonitorRegistry.State.SLEEP_RECOVERY, decision.getDelayMs())) {
+                        break;
+                    }
+                    lastActivityTime = System.currentTimeMillis(); // 活動時間を更新
+                }
+            } catch (Exception e) {
+                logger.error("並行処理中にエラーが発生しました: 日付={}, URL={}", date, finalUrl, e);
+                monitorRegistry.recordFailure(date, finalUrl, e.getMessage());
+                FailureType failure = FailureType.classify(e);
+                circuitBreaker.record(failure);
+                consecutiveFailures++;
+                RetryPolicy.Decision decision = retryPolicy.decide(failure, consecutiveFailures);
+                
+                // WebDriverが切断された可能性がある場合は再作成
+                if (urlDriver != null && decision.isFreshDriver()) {
+                    DriverManager.closeWebDriver(urlDriver, true); // silent=trueでエラーを無視
+                    urlDriver = null;
+                } else if (urlDriver != null) {
+                    try {
+                        urlDriver.getCurrentUrl(); // 接続状態を確認
+                    } catch (Exception checkEx) {
+                        logger.warn("WebDriverの接続が切断されています。再作成します");
+                        DriverManager.closeWebDriver(urlDriver, true); // silent=trueでエラーを無視
+                        urlDriver = null; // 再作成のためnullに設定
+                    }
+                }
+                
+                if (guiCallback != null && !dateSuccessFlag.get()) {
+                    guiCallback.onReservationResult(date, false);
+                }
+                
+                // エラーの分類に応じて待機してから再試行
+                if (!dateSuccessFlag.get() && !scope.isCancelled()) {
+                    if (!awaitRetry(scope, date, finalUrl, MonitorRegistry.State.BACKOFF, decision.getDelayMs())) {
+                        break;
+                    }
+                }
             }
         }
         
-        // 監視が停止されるまで待機（無限ループで監視を継続するため、latchは使用しない）
-        // 代わりに、監視停止フラグが設定されるまで待機
-        try {
-            while (isMonitoring && !shouldStopMonitoring) {
-                Thread.sleep(MONITORING_CHECK_INTERVAL_MS); // 1秒ごとにチェック
-            }
-        } catch (InterruptedException e) {
-            logger.error("待機中に中断されました", e);
-            Thread.currentThread().interrupt();
-            shouldStopMonitoring = true;
-            isMonitoring = false;
+        // ループ終了時にWebDriverを予備に戻す（予備が足りている場合や監視の停止後は終了する）
+        if (urlDriver != null) {
+            driverPool.release(urlDriver);
         }
         
-        // 監視停止を待機（すべてのタスクが停止するまで最大30秒待機）
-        logger.info("すべてのタスクの停止を待機中...");
+        monitorRegistry.markStopped(scope);
+        MDC.remove(MDC_MONITOR_KEY);
+    }
+    
+    /**
+     * 予備のWebDriverを取得（予備がなければその場で作成）
+     * @return WebDriver（作成に失敗した場合はnull）
+     */
+    private WebDriver acquireDriver(DriverPool driverPool, LocalDate date, String url) {
         try {
-            boolean finished = latch.await(30, java.util.concurrent.TimeUnit.SECONDS);
-            if (!finished) {
-                logger.warn("一部のタスクがタイムアウトしました。強制終了します。");
-            }
-        } catch (InterruptedException e) {
-            logger.error("待機中に中断されました", e);
-            Thread.currentThread().interrupt();
-        } finally {
-            // ExecutorServiceの確実なシャットダウン
-            shutdownExecutorService(executor);
-        }
-        
-        if (overallSuccess.get()) {
-            logger.info("少なくとも1つの予約が成功しました");
-        } else {
-            logger.info("監視を継続中です（失敗しても再試行を続けます）");
+            WebDriver webDriver = driverPool.acquire();
+            MonitorRegistry.getInstance().recordDriverCreated(date, url);
+            return webDriver;
+        } catch (Exception e) {
+            logger.error("WebDriverの作成に失敗しました: 日付={}, URL={}, エラー={}", date, url, e.getMessage());
+            MonitorRegistry.getInstance().recordFailure(date, url, "WebDriverの作成に失敗しました");
+            return null;
         }
     }
     
     /**
-     * ExecutorServiceを安全にシャットダウン
-     * @param executor シャットダウンするExecutorService
+     * 再試行まで待機（監視の停止や対象からの削除で取り消されたらすぐに戻る）
+     * @param scope タスクの取り消し範囲
+     * @param state 待機中の状態（BACKOFF / SLEEP_RECOVERY / OUTSIDE_HOURS / CIRCUIT_OPEN）
+     * @param waitMs 待機時間（ミリ秒、0以下の場合は待機しない）
+     * @return 取り消された場合false
      */
-    private void shutdownExecutorService(java.util.concurrent.ExecutorService executor) {
-        if (executor == null || executor.isShutdown()) {
-            return;
+    private boolean awaitRetry(CancellationScope scope, LocalDate date, String url, MonitorRegistry.State state, long waitMs) {
+        if (waitMs <= 0) {
+            return !scope.isCancelled();
         }
-        
-        executor.shutdown();
-        try {
-            if (!executor.awaitTermination(10, java.util.concurrent.TimeUnit.SECONDS)) {
-                logger.warn("ExecutorServiceの正常終了がタイムアウトしました。強制終了します。");
-                executor.shutdownNow();
-                // 強制終了後も少し待機
-                if (!executor.awaitTermination(5, java.util.concurrent.TimeUnit.SECONDS)) {
-                    logger.error("ExecutorServiceの強制終了もタイムアウトしました");
-                }
-            }
-        } catch (InterruptedException e) {
-            logger.warn("ExecutorServiceのシャットダウン待機中に中断されました");
-            executor.shutdownNow();
-            Thread.currentThread().interrupt();
+        MonitorRegistry.getInstance().recordBackoff(date, url, state, waitMs);
+        if (!scope.sleep(waitMs)) {
+            logger.debug(RETRY_INTERRUPTED_MSG);
+            return false;
         }
+        return true;
+    }
+    
+    /**
+     * ポーリング結果を状態変更フィードに発行
+     */
+    private void publishPollOutcome(LocalDate date, String url, boolean success) {
+        Map<String, Object> data = new HashMap<>(4);
+        data.put("date", date.toString());
+        data.put("url", url);
+        data.put("success", success);
+        StateChangeFeed.getInstance().publish(StateChangeFeed.POLL_OUTCOME, data);
     }
     
     /**
@@ -552,8 +714,17 @@ public class JicooReservationBot {
      */
     public void stopMonitoring() {
         logger.info("監視を停止します");
+        boolean wasMonitoring = isMonitoring;
         shouldStopMonitoring = true;
         isMonitoring = false;
+        if (wasMonitoring) {
+            StateChangeFeed.getInstance().publish(StateChangeFeed.MONITORING_STOPPED, new HashMap<>());
+        }
+        // 待機中・監視中のタスクをすぐに終了させる（タスクの停止は監視を開始したスレッドが待機する）
+        MonitorSupervisor session = supervisor;
+        if (session != null) {
+            session.cancel();
+        }
         
         if (driver != null) {
             try {
@@ -575,6 +746,91 @@ public class JicooReservationBot {
     public boolean isMonitoring() {
         return isMonitoring;
     }
+    
+    /**
+     * ホライズンスキャンを開始（全先生×明日から jicoo.horizon.days 日先までを軽量に巡回し、空きが出たら予約処理に引き継ぐ）
+     */
+    public synchronized void startHorizonScan() {
+        if (isHorizonScanning) {
+            logger.warn("既にホライズンスキャン中です。新しいスキャンを開始しません。");
+            return;
+        }
+        
+        // 選択された先生のURLのみを使用（選択されていない場合はすべて使用）
+        List<String> selectedUrls = dateManager.getSelectedTeacherUrls();
+        List<String> urls = selectedUrls != null && !selectedUrls.isEmpty()
+            ? new ArrayList<>(selectedUrls) : new ArrayList<>(config.getUrls());
+        if (urls.isEmpty()) {
+            logger.error("監視対象URLが設定されていません");
+            return;
+        }
+        
+        // 予約処理用の予約サービス（空きを検知してから引き継ぐため、タイムスロットの監視時間を短くする）
+        ReservationService escalationService = new ReservationService(config);
+        escalationService.setDateManager(dateManager);
+        escalationService.setSlotWatchTimeout(java.time.Duration.ofSeconds(config.getHorizonEscalationWatchSeconds()));
+        AvailabilityProbe probe = AvailabilityProbe.create(config, escalationService);
+        
+        // 予約の調整役は、実行中の監視と共有するため、監視中は引き継ぐ
+        if (!isMonitoring) {
+            bookingCoordinators.clear();
+        }
+        // 停止後に終了した古いスキャンが、次に開始したスキャンを止めないよう、続けるかどうかはスキャンごとに持つ
+        AtomicBoolean running = new AtomicBoolean(true);
+        horizonRunning = running;
+        isHorizonScanning = true;
+        HorizonScanner scanner = new HorizonScanner(escalationService, dateManager, urls, probe, guiCallback,
+            this::getBookingCoordinator, running::get);
+        Thread thread = new Thread(() -> {
+            try {
+                scanner.run();
+            } finally {
+                synchronized (JicooReservationBot.this) {
+                    // 停止済み（または次のスキャンに置き換え済み）の場合は、現在のスキャンの状態を変更しない
+                    if (horizonThread == Thread.currentThread()) {
+                        isHorizonScanning = false;
+                        horizonThread = null;
+                        horizonRunning = null;
+                    }
+                }
+            }
+        }, "HorizonScanner");
+        thread.setDaemon(true);
+        horizonThread = thread;
+        thread.start();
+    }
+    
+    /**
+     * ホライズンスキャンを停止
+     */
+    public synchronized void stopHorizonScan() {
+        isHorizonScanning = false;
+        if (horizonRunning != null) {
+            horizonRunning.set(false);
+            horizonRunning = null;
+        }
+        if (horizonThread != null) {
+            horizonThread.interrupt();
+            horizonThread = null;
+            logger.info("ホライズンスキャンを停止しました");
+        }
+    }
+    
+    /**
+     * 監視中の予測に基づく監視計画を取得
+     * @return 監視計画（監視を開始していない場合はnull）
+     */
+    public PollSchedule getPollSchedule() {
+        return pollSchedule;
+    }
+    
+    /**
+     * ホライズンスキャン中かどうかを取得
+     * @return スキャン中の場合true
+     */
+    public boolean isHorizonScanning() {
+        return isHorizonScanning;
+    }
 }
 
 
@@ -30,7 +30,7 @@ public class JicooReservationBotGUI extends JFrame {
     private JButton startButton;
     private JButton stopButton;
     private JButton manualReserveButton; // 手動予約ボタン
-    private JTextArea logArea;
+    private LogListView logArea;
     private JLabel statusLabel;
     private JProgressBar progressBar;
     
@@ -197,14 +197,10 @@ public class JicooReservationBotGUI extends JFrame {
             new Font(Font.SANS_SERIF, Font.BOLD, 14),
             new Color(66, 66, 66)
         ));
-        logArea = new JTextArea();
-        logArea.setEditable(false);
-        logArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 11));
-        logArea.setBackground(new Color(30, 30, 30));
-        logArea.setForeground(new Color(0, 255, 0));
-        logArea.setCaretColor(new Color(0, 255, 0));
-        logArea.setMargin(new Insets(10, 10, 10, 10));
+        // 直近のログだけを保持し、表示中の行だけを描画するリスト
+        logArea = new LogListView();
         JScrollPane scrollPane = new JScrollPane(logArea);
+        scrollPane.getViewport().setBackground(new Color(30, 30, 30));
         scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_ALWAYS);
         scrollPane.setBorder(BorderFactory.createEmptyBorder());
         scrollPane.getVerticalScrollBar().setBackground(new Color(50, 50, 50));
@@ -972,7 +968,15 @@ public class JicooReservationBotGUI extends JFrame {
                     Thread.sleep(2000);
                     
                     // 利用可能な時間帯を取得
-                    List<String> availableSlots = reservationService.getAvailableTimeSlots(driver);
+                    List<String> availableSlots;
+                    try {
+                        availableSlots = reservationService.scanAvailableTimeSlots(driver);
+                        // 空き状況の共有ボードと履歴にも反映（取得に失敗した場合は反映しない）
+                        AvailabilityBoard.getInstance().publish(finalSelectedUrl, Map.of(finalTargetDate, availableSlots));
+                    } catch (RuntimeException e) {
+                        appendLog("タイムスロットの取得に失敗しました: " + e.getMessage());
+                        availableSlots = new ArrayList<>();
+                    }
                     
                     final List<String> finalAvailableSlots = availableSlots;
                     SwingUtilities.invokeLater(() -> {
@@ -1307,28 +1311,17 @@ public class JicooReservationBotGUI extends JFrame {
      */
     private void setupLogAppender() {
         // GUIログアペンダーを設定
-        GUILogAppender.setLogTextArea(logArea);
-        
-        // Logbackのコンテキストにアペンダーを追加
-        ch.qos.logback.classic.LoggerContext loggerContext = 
-            (ch.qos.logback.classic.LoggerContext) LoggerFactory.getILoggerFactory();
+        GUILogAppender.setLogView(logArea);
         
-        GUILogAppender guiAppender = new GUILogAppender();
-        guiAppender.setContext(loggerContext);
-        guiAppender.start();
-        
-        ch.qos.logback.classic.Logger rootLogger = loggerContext.getLogger(ch.qos.logback.classic.Logger.ROOT_LOGGER_NAME);
-        rootLogger.addAppender(guiAppender);
+        // Logbackのルートロガーにキャプチャ用アペンダーを追加
+        LogCapture.getInstance().install();
     }
     
     /**
      * ログエリアにメッセージを追加
      */
     private void appendLog(String message) {
-        SwingUtilities.invokeLater(() -> {
-            logArea.append(message + "\n");
-            logArea.setCaretPosition(logArea.getDocument().getLength());
-        });
+        logArea.append(message);
     }
     
     /**
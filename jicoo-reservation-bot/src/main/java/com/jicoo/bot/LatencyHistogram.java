@@ -0,0 +1,109 @@
+package com.jicoo.bot;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * レイテンシのヒストグラム（HDR形式の対数線形バケット）
+ * 値はマイクロ秒単位で記録し、2のべき乗ごとの区間をさらに16分割したバケットに数える。
+ * 相対誤差は約6%以内で、記録はロックを使わずどのスレッドからでも行える。
+ */
+public class LatencyHistogram {
+    // 1区間あたりのサブバケット数（2^SUB_BUCKET_BITS）
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    // 記録できる最大値（マイクロ秒、約19時間）
+    private static final long MAX_TRACKABLE_MICROS = (1L << 36) - 1;
+    private static final int BUCKET_COUNT = bucketIndex(MAX_TRACKABLE_MICROS) + 1;
+    
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+    private final AtomicLong maxMicros = new AtomicLong();
+    
+    /**
+     * 所要時間を記録
+     * @param durationNanos 所要時間（ナノ秒）
+     */
+    public void recordNanos(long durationNanos) {
+        long micros = Math.min(Math.max(0, durationNanos / 1_000), MAX_TRACKABLE_MICROS);
+        counts.incrementAndGet(bucketIndex(micros));
+        totalCount.increment();
+        totalMicros.add(micros);
+        maxMicros.accumulateAndGet(micros, Math::max);
+    }
+    
+    /**
+     * 記録件数を取得
+     */
+    public long getCount() {
+        return totalCount.sum();
+    }
+    
+    /**
+     * 合計時間を取得（秒）
+     */
+    public double getSumSeconds() {
+        return totalMicros.sum() / 1_000_000.0;
+    }
+    
+    /**
+     * 最大値を取得（秒）
+     */
+    public double getMaxSeconds() {
+        return maxMicros.get() / 1_000_000.0;
+    }
+    
+    /**
+     * パーセンタイル値を取得（秒）
+     * 該当バケットの上限値を返す（最大値を超えない）。
+     * @param percentile 0〜100
+     * @return パーセンタイル値（記録がない場合は0）
+     */
+    public double getValueAtPercentile(double percentile) {
+        long total = 0;
+        long[] snapshot = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            cumulative += snapshot[i];
+            if (cumulative >= rank) {
+                return Math.min(bucketUpperBound(i), maxMicros.get()) / 1_000_000.0;
+            }
+        }
+        return getMaxSeconds();
+    }
+    
+    /**
+     * 値（マイクロ秒）からバケット番号を計算
+     * 16未満はそのまま、それ以上は最上位ビットの位置と続く4ビットで決める。
+     */
+    private static int bucketIndex(long micros) {
+        if (micros < SUB_BUCKET_COUNT) {
+            return (int) micros;
+        }
+        int shift = (63 - Long.numberOfLeadingZeros(micros)) - SUB_BUCKET_BITS;
+        int subBucket = (int) (micros >>> shift) - SUB_BUCKET_COUNT;
+        return SUB_BUCKET_COUNT * (shift + 1) + subBucket;
+    }
+    
+    /**
+     * バケットに含まれる最大値（マイクロ秒）
+     */
+    private static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        long lowerBound = (long) (index % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT) << shift;
+        return lowerBound + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,236 @@
+package com.jicoo.bot;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * ログキャプチャ
+ * ログイベントを事前確保したロックフリーのリングバッファに書き込み、
+ * 単一のコンシューマースレッドで整形してGUI・WebSocketなどの配信先に渡す。
+ * ログ出力スレッドの処理はバッファへの書き込み1回のみ。
+ * 整形済みの直近のログは履歴として保持し、後から接続したクライアントに再送できる。
+ */
+public class LogCapture {
+    private static final LogCapture instance = new LogCapture();
+    
+    // リングバッファの容量（2のべき乗）
+    private static final int CAPACITY = 4096;
+    private static final int MASK = CAPACITY - 1;
+    // 再送用に保持する整形済みログの件数
+    private static final int HISTORY_CAPACITY = 1000;
+    // 1回の配信でまとめるログの最大件数
+    private static final int MAX_BATCH_SIZE = 256;
+    // バッファが空のときの待機時間（ナノ秒）
+    private static final long IDLE_PARK_NANOS = 10_000_000L;
+    // 書き込み中のスロットを待つ最大回数（超えたらスキップ）
+    private static final int MAX_PUBLISH_SPINS = 1000;
+    private static final String CONSUMER_THREAD_NAME = "LogCaptureConsumer";
+    private static final DateTimeFormatter TIMESTAMP_FORMATTER =
+        DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.systemDefault());
+    
+    private final Slot[] slots = new Slot[CAPACITY];
+    private final AtomicLong nextSequence = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final String[] history = new String[HISTORY_CAPACITY];
+    private int historyHead = 0;  // historyで保護
+    private int historySize = 0;  // historyで保護
+    private final List<Consumer<List<String>>> sinks = new CopyOnWriteArrayList<>();
+    private volatile boolean installed = false;
+    
+    /**
+     * リングバッファのスロット
+     * sequenceが書き込み中は-1、書き込み完了後はそのスロットのシーケンス番号になる。
+     */
+    private static final class Slot {
+        private volatile long sequence = -1;
+        private volatile ILoggingEvent event;
+    }
+    
+    private LogCapture() {
+        for (int i = 0; i < CAPACITY; i++) {
+            slots[i] = new Slot();
+        }
+        Thread consumer = new Thread(this::consumeLoop, CONSUMER_THREAD_NAME);
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+    
+    /**
+     * シングルトンインスタンスを取得
+     */
+    public static LogCapture getInstance() {
+        return instance;
+    }
+    
+    /**
+     * ルートロガーにキャプチャ用アペンダーを登録（複数回呼ばれても1回だけ登録）
+     */
+    public synchronized void install() {
+        if (installed) {
+            return;
+        }
+        LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        GUILogAppender appender = new GUILogAppender();
+        appender.setContext(loggerContext);
+        appender.start();
+        loggerContext.getLogger(Logger.ROOT_LOGGER_NAME).addAppender(appender);
+        installed = true;
+    }
+    
+    /**
+     * ログイベントをバッファに書き込む（ログ出力スレッドから呼ばれる）
+     * メッセージの整形はコンシューマースレッドで行う。
+     */
+    public void capture(ILoggingEvent event) {
+        long sequence = nextSequence.getAndIncrement();
+        Slot slot = slots[(int) (sequence & MASK)];
+        slot.sequence = -1;
+        slot.event = event;
+        slot.sequence = sequence;
+    }
+    
+    /**
+     * 配信先を登録
+     * 配信先はコンシューマースレッドから整形済みログのリストで呼び出される。
+     */
+    public void addSink(Consumer<List<String>> sink) {
+        sinks.add(sink);
+    }
+    
+    /**
+     * 配信先を解除
+     */
+    public void removeSink(Consumer<List<String>> sink) {
+        sinks.remove(sink);
+    }
+    
+    /**
+     * 直近のログを古い順に取得
+     */
+    public List<String> getRecentLines() {
+        synchronized (history) {
+            List<String> lines = new ArrayList<>(historySize);
+            int start = (historyHead - historySize + HISTORY_CAPACITY) % HISTORY_CAPACITY;
+            for (int i = 0; i < historySize; i++) {
+                lines.add(history[(start + i) % HISTORY_CAPACITY]);
+            }
+            return lines;
+        }
+    }
+    
+    /**
+     * バッファの上書きにより配信できなかったログの累計を取得
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+    
+    /**
+     * コンシューマースレッドの処理
+     */
+    private void consumeLoop() {
+        long next = 0;
+        int spins = 0;
+        List<String> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        while (true) {
+            long published = nextSequence.get();
+            if (next >= published) {
+                flush(batch);
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+            // 追い越された分はスキップ
+            if (published - next > CAPACITY) {
+                droppedCount.addAndGet(published - CAPACITY - next);
+                next = published - CAPACITY;
+            }
+            
+            Slot slot = slots[(int) (next & MASK)];
+            long sequence = slot.sequence;
+            if (sequence != next) {
+                if (sequence > next) {
+                    // 読む前に次の周回で上書きされた
+                    droppedCount.incrementAndGet();
+                    next++;
+                    spins = 0;
+                } else if (++spins > MAX_PUBLISH_SPINS) {
+                    // 書き込みが完了しないスロットは諦める
+                    droppedCount.incrementAndGet();
+                    next++;
+                    spins = 0;
+                } else {
+                    flush(batch);
+                    Thread.onSpinWait();
+                }
+                continue;
+            }
+            ILoggingEvent event = slot.event;
+            if (slot.sequence != next) {
+                // 読み取り中に上書きされた
+                droppedCount.incrementAndGet();
+                next++;
+                spins = 0;
+                continue;
+            }
+            
+            batch.add(format(event));
+            next++;
+            spins = 0;
+            if (batch.size() >= MAX_BATCH_SIZE) {
+                flush(batch);
+            }
+        }
+    }
+    
+    private String format(ILoggingEvent event) {
+        String message;
+        try {
+            message = event.getFormattedMessage();
+        } catch (Exception e) {
+            message = event.getMessage();
+        }
+        return new StringBuilder(64 + (message != null ? message.length() : 4))
+            .append(TIMESTAMP_FORMATTER.format(Instant.ofEpochMilli(event.getTimeStamp())))
+            .append(" [").append(event.getLevel()).append("] ")
+            .append(message)
+            .toString();
+    }
+    
+    private void flush(List<String> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<String> lines = new ArrayList<>(batch);
+        batch.clear();
+        
+        synchronized (history) {
+            for (String line : lines) {
+                history[historyHead] = line;
+                historyHead = (historyHead + 1) % HISTORY_CAPACITY;
+                if (historySize < HISTORY_CAPACITY) {
+                    historySize++;
+                }
+            }
+        }
+        
+        for (Consumer<List<String>> sink : sinks) {
+            try {
+                sink.accept(lines);
+            } catch (Exception e) {
+                // 配信先の例外でコンシューマースレッドを止めない（ここでログ出力すると自己ループになるため出力しない）
+            }
+        }
+    }
+}
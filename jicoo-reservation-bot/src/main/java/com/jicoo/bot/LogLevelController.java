@@ -0,0 +1,143 @@
+package com.jicoo.bot;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * ログレベルの実行時切り替え
+ * 本番用の静かなプロファイルと調査用の詳細プロファイルを再起動なしで切り替える。
+ * 個別のロガーのレベル変更も可能。
+ */
+public class LogLevelController {
+    private static final Logger logger = LoggerFactory.getLogger(LogLevelController.class);
+    private static final LogLevelController instance = new LogLevelController();
+    
+    // アプリケーションのロガー名
+    private static final String APP_LOGGER = "com.jicoo.bot";
+    private static final String SELENIUM_LOGGER = "org.openqa.selenium";
+    private static final String WEBDRIVER_MANAGER_LOGGER = "io.github.bonigarcia";
+    private static final String JETTY_LOGGER = "org.eclipse.jetty";
+    
+    /**
+     * ログレベルのプロファイル
+     */
+    public enum Profile {
+        // 本番用：ステップ単位の情報のみ
+        QUIET(Level.INFO, Level.ERROR, Level.WARN, Level.WARN),
+        // 調査用：監視ループの詳細まで出力
+        VERBOSE(Level.DEBUG, Level.WARN, Level.INFO, Level.INFO);
+        
+        private final Map<String, Level> levels = new LinkedHashMap<>();
+        
+        Profile(Level app, Level selenium, Level webDriverManager, Level jetty) {
+            levels.put(APP_LOGGER, app);
+            levels.put(SELENIUM_LOGGER, selenium);
+            levels.put(WEBDRIVER_MANAGER_LOGGER, webDriverManager);
+            levels.put(JETTY_LOGGER, jetty);
+        }
+        
+        public String getName() {
+            return name().toLowerCase();
+        }
+        
+        /**
+         * 名前からプロファイルを取得（大文字小文字を区別しない）
+         * @return 該当するプロファイル（存在しない場合はnull）
+         */
+        public static Profile fromName(String name) {
+            if (name == null) {
+                return null;
+            }
+            for (Profile profile : values()) {
+                if (profile.name().equalsIgnoreCase(name.trim())) {
+                    return profile;
+                }
+            }
+            return null;
+        }
+    }
+    
+    private volatile Profile currentProfile;
+    
+    private LogLevelController() {
+    }
+    
+    /**
+     * シングルトンインスタンスを取得
+     */
+    public static LogLevelController getInstance() {
+        return instance;
+    }
+    
+    /**
+     * プロファイルを適用
+     * @param profileName プロファイル名（quiet / verbose）
+     * @throws IllegalArgumentException 不明なプロファイル名の場合
+     */
+    public synchronized void applyProfile(String profileName) {
+        Profile profile = Profile.fromName(profileName);
+        if (profile == null) {
+            throw new IllegalArgumentException("不明なログプロファイルです: " + profileName);
+        }
+        LoggerContext loggerContext = getLoggerContext();
+        for (Map.Entry<String, Level> entry : profile.levels.entrySet()) {
+            loggerContext.getLogger(entry.getKey()).setLevel(entry.getValue());
+        }
+        if (currentProfile != profile) {
+            logger.info("ログプロファイルを変更しました: {}", profile.getName());
+        }
+        currentProfile = profile;
+    }
+    
+    /**
+     * 個別のロガーのレベルを変更
+     * @param loggerName ロガー名
+     * @param levelName レベル名（TRACE / DEBUG / INFO / WARN / ERROR / OFF）。nullまたは空の場合は親ロガーに従う
+     * @throws IllegalArgumentException 不明なレベル名の場合
+     */
+    public void setLevel(String loggerName, String levelName) {
+        if (loggerName == null || loggerName.trim().isEmpty()) {
+            throw new IllegalArgumentException("ロガー名が指定されていません");
+        }
+        Level level = null;
+        if (levelName != null && !levelName.trim().isEmpty()) {
+            level = Level.toLevel(levelName.trim(), null);
+            if (level == null) {
+                throw new IllegalArgumentException("不明なログレベルです: " + levelName);
+            }
+        }
+        getLoggerContext().getLogger(loggerName.trim()).setLevel(level);
+        logger.info("ログレベルを変更しました: {} = {}", loggerName, level != null ? level : "（親ロガーに従う）");
+    }
+    
+    /**
+     * 現在のプロファイル名を取得
+     * @return プロファイル名（未適用の場合はnull）
+     */
+    public String getCurrentProfileName() {
+        Profile profile = currentProfile;
+        return profile != null ? profile.getName() : null;
+    }
+    
+    /**
+     * 明示的にレベルが設定されているロガーとそのレベルを取得
+     */
+    public Map<String, String> getConfiguredLevels() {
+        Map<String, String> levels = new LinkedHashMap<>();
+        for (ch.qos.logback.classic.Logger log : getLoggerContext().getLoggerList()) {
+            if (log.getLevel() != null) {
+                levels.put(log.getName(), log.getLevel().toString());
+            }
+        }
+        return levels;
+    }
+    
+    private LoggerContext getLoggerContext() {
+        return (LoggerContext) LoggerFactory.getILoggerFactory();
+    }
+}
@@ -0,0 +1,189 @@
+package com.jicoo.bot;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 上限付きのログ表示リスト
+ * 直近のログだけをリング状に保持し、表示中の行だけを描画する。
+ * 追加はどのスレッドからでも可能で、EDTへの反映はタイマーで一定間隔ごとにまとめて行う。
+ */
+public class LogListView extends JList<String> {
+    // 保持する最大行数
+    private static final int MAX_LINES = 5000;
+    // EDTへの反映間隔（ミリ秒）
+    private static final int FLUSH_INTERVAL_MS = 200;
+    // 表示幅の基準にする文字数（幅を固定して全行の幅計算を避ける）
+    private static final int PROTOTYPE_LINE_LENGTH = 200;
+    
+    private final RingListModel model = new RingListModel();
+    private final Queue<String> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingSize = new AtomicInteger();
+    private final Timer flushTimer;
+    
+    /**
+     * 最大行数で古い行を捨てるリストモデル（EDTからのみ操作する）
+     */
+    private static final class RingListModel extends AbstractListModel<String> {
+        private final String[] lines = new String[MAX_LINES];
+        private int head = 0;
+        private int size = 0;
+        
+        @Override
+        public int getSize() {
+            return size;
+        }
+        
+        @Override
+        public String getElementAt(int index) {
+            return lines[(head + index) % MAX_LINES];
+        }
+        
+        private void addAll(List<String> newLines) {
+            int count = newLines.size();
+            if (count == 0) {
+                return;
+            }
+            if (count >= MAX_LINES) {
+                // 全行が入れ替わる
+                int oldSize = size;
+                head = 0;
+                size = MAX_LINES;
+                List<String> tail = newLines.subList(count - MAX_LINES, count);
+                for (int i = 0; i < MAX_LINES; i++) {
+                    lines[i] = tail.get(i);
+                }
+                if (oldSize > 0) {
+                    fireIntervalRemoved(this, 0, oldSize - 1);
+                }
+                fireIntervalAdded(this, 0, MAX_LINES - 1);
+                return;
+            }
+            
+            int evict = Math.max(0, size + count - MAX_LINES);
+            if (evict > 0) {
+                for (int i = 0; i < evict; i++) {
+                    lines[(head + i) % MAX_LINES] = null;
+                }
+                head = (head + evict) % MAX_LINES;
+                size -= evict;
+                fireIntervalRemoved(this, 0, evict - 1);
+            }
+            int start = size;
+            for (String line : newLines) {
+                lines[(head + size) % MAX_LINES] = line;
+                size++;
+            }
+            fireIntervalAdded(this, start, size - 1);
+        }
+        
+        private void clear() {
+            int oldSize = size;
+            Arrays.fill(lines, null);
+            head = 0;
+            size = 0;
+            if (oldSize > 0) {
+                fireIntervalRemoved(this, 0, oldSize - 1);
+            }
+        }
+    }
+    
+    public LogListView() {
+        setModel(model);
+        setFont(new Font(Font.MONOSPACED, Font.PLAIN, 11));
+        setBackground(new Color(30, 30, 30));
+        setForeground(new Color(0, 255, 0));
+        setSelectionBackground(new Color(60, 60, 60));
+        setSelectionForeground(new Color(0, 255, 0));
+        setLayoutOrientation(JList.VERTICAL);
+        setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
+        // セルサイズを固定し、表示中の行だけを描画させる
+        setPrototypeCellValue("W".repeat(PROTOTYPE_LINE_LENGTH));
+        
+        // タイマーは表示中のみ動かす（addNotify/removeNotify）
+        flushTimer = new Timer(FLUSH_INTERVAL_MS, e -> flushPending());
+        flushTimer.setCoalesce(true);
+    }
+    
+    /**
+     * ログを1行追加（任意のスレッドから呼び出し可能）
+     */
+    public void append(String line) {
+        enqueue(line);
+    }
+    
+    /**
+     * ログをまとめて追加（任意のスレッドから呼び出し可能）
+     */
+    public void appendAll(List<String> lines) {
+        for (String line : lines) {
+            enqueue(line);
+        }
+    }
+    
+    /**
+     * 表示中のログをすべて消去
+     */
+    public void clear() {
+        SwingUtilities.invokeLater(model::clear);
+    }
+    
+    private void enqueue(String line) {
+        pending.add(line);
+        // EDTが追いつかない場合も保持行数を超えて溜めない
+        if (pendingSize.incrementAndGet() > MAX_LINES) {
+            if (pending.poll() != null) {
+                pendingSize.decrementAndGet();
+            }
+        }
+    }
+    
+    /**
+     * 溜まったログをモデルに反映（タイマーによりEDTで呼ばれる）
+     */
+    private void flushPending() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<String> batch = new ArrayList<>(Math.min(pendingSize.get(), MAX_LINES));
+        String line;
+        while ((line = pending.poll()) != null) {
+            pendingSize.decrementAndGet();
+            batch.add(line);
+        }
+        
+        // 最下部を表示している場合のみ自動スクロール
+        boolean atBottom = isScrolledToBottom();
+        model.addAll(batch);
+        if (atBottom && model.getSize() > 0) {
+            ensureIndexIsVisible(model.getSize() - 1);
+        }
+    }
+    
+    private boolean isScrolledToBottom() {
+        Container parent = SwingUtilities.getUnwrappedParent(this);
+        if (!(parent instanceof JViewport)) {
+            return true;
+        }
+        Rectangle viewRect = ((JViewport) parent).getViewRect();
+        return viewRect.y + viewRect.height >= getHeight() - getFixedCellHeight();
+    }
+    
+    @Override
+    public void removeNotify() {
+        flushTimer.stop();
+        super.removeNotify();
+    }
+    
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        flushTimer.start();
+    }
+}
@@ -0,0 +1,383 @@
+package com.jicoo.bot;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 監視タスクのレジストリ
+ * 先生×日付の監視タスクごとに、状態・ポーリング回数・最終スキャン時刻・連続失敗数・
+ * WebDriver再作成回数を保持する。一定間隔で停滞を判定し、変化があればリスナーに通知する。
+ * エントリはタスクごと（タスクの取り消し範囲ごと）に持つため、停止中の古いタスクの終了が、
+ * 同じ先生×日付で開始し直したタスクの状態を上書きすることはない。
+ * 先生×日付で指定する更新は、その組み合わせで最後に登録したタスクに反映する。
+ */
+public class MonitorRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(MonitorRegistry.class);
+    private static final MonitorRegistry instance = new MonitorRegistry();
+    
+    // ポーリング頻度の集計期間（ミリ秒）
+    private static final long RATE_WINDOW_MS = 60_000L;
+    // 変化の確認・通知間隔（ミリ秒）
+    private static final long PUBLISH_INTERVAL_MS = 2_000L;
+    // 停滞判定の猶予（ミリ秒）
+    private static final long STALL_GRACE_MS = 15_000L;
+    private static final String PUBLISHER_THREAD_NAME = "MonitorRegistryPublisher";
+    
+    /**
+     * 監視タスクの状態
+     */
+    public enum State {
+        STARTING("起動中"),
+        LOADING("ページ読み込み中"),
+        POLLING("監視中"),
+        OUTSIDE_HOURS("監視時間外"),
+        BOOKING("予約処理中"),
+        BACKOFF("再試行待機"),
+        SLEEP_RECOVERY("スリープ復帰待機"),
+        CIRCUIT_OPEN("遮断中"),
+        SUCCEEDED("予約成功"),
+        STOPPED("停止");
+        
+        private final String label;
+        
+        State(String label) {
+            this.label = label;
+        }
+        
+        public String getLabel() {
+            return label;
+        }
+        
+        /**
+         * 処理が進んでいるはずの状態か（停滞判定の対象）
+         */
+        private boolean isActive() {
+            return this == STARTING || this == LOADING || this == POLLING || this == BOOKING;
+        }
+    }
+    
+    /**
+     * 1つの監視タスクの状態（更新は自身のロックで行う）
+     */
+    private static final class MonitorStatus {
+        private final String url;
+        private final String teacher;
+        private final LocalDate date;
+        private final Deque<Long> recentPolls = new ArrayDeque<>();
+        private State state = State.STARTING;
+        private long stateSince;
+        private long totalPolls;
+        private long lastPollAt;
+        private long lastSuccessfulScanAt;
+        private int consecutiveFailures;
+        private long totalFailures;
+        private String lastError;
+        private long driverCreations;
+        private long nextRetryAt;
+        
+        private MonitorStatus(String url, LocalDate date, long now) {
+            this.url = url;
+            this.teacher = extractTeacher(url);
+            this.date = date;
+            this.stateSince = now;
+        }
+        
+        private synchronized void setState(State newState, long now) {
+            if (state != newState) {
+                state = newState;
+                stateSince = now;
+            }
+            if (newState != State.BACKOFF && newState != State.SLEEP_RECOVERY && newState != State.CIRCUIT_OPEN) {
+                nextRetryAt = 0;
+            }
+        }
+        
+        private synchronized void recordPoll(long now) {
+            totalPolls++;
+            lastPollAt = now;
+            recentPolls.addLast(now);
+            trimRecentPolls(now);
+        }
+        
+        private void trimRecentPolls(long now) {
+            while (!recentPolls.isEmpty() && now - recentPolls.peekFirst() > RATE_WINDOW_MS) {
+                recentPolls.pollFirst();
+            }
+        }
+        
+        private synchronized Map<String, Object> toMap(long now, long stallThresholdMs) {
+            trimRecentPolls(now);
+            long lastActivity = Math.max(stateSince, lastPollAt);
+            boolean stalled = state.isActive() && now - lastActivity > stallThresholdMs;
+            
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("teacher", teacher);
+            map.put("url", url);
+            map.put("date", date.toString());
+            map.put("state", state.name());
+            map.put("stateLabel", state.getLabel());
+            map.put("stateSince", stateSince);
+            map.put("stalled", stalled);
+            map.put("pollsPerMinute", recentPolls.size());
+            map.put("totalPolls", totalPolls);
+            map.put("lastPollAt", lastPollAt);
+            map.put("lastSuccessfulScanAt", lastSuccessfulScanAt);
+            map.put("consecutiveFailures", consecutiveFailures);
+            map.put("totalFailures", totalFailures);
+            map.put("lastError", lastError);
+            map.put("driverRestarts", Math.max(0, driverCreations - 1));
+            map.put("nextRetryAt", nextRetryAt);
+            return map;
+        }
+    }
+    
+    // タスク（取り消し範囲）ごとの状態と、先生×日付ごとに最後に登録したタスクの状態
+    private final Map<CancellationScope, MonitorStatus> monitors = new ConcurrentHashMap<>();
+    private final Map<String, MonitorStatus> latest = new ConcurrentHashMap<>();
+    private final List<Consumer<List<Map<String, Object>>>> listeners = new CopyOnWriteArrayList<>();
+    private ScheduledExecutorService publisher;
+    private List<Map<String, Object>> lastPublished = List.of();
+    
+    private MonitorRegistry() {
+    }
+    
+    /**
+     * シングルトンインスタンスを取得
+     */
+    public static MonitorRegistry getInstance() {
+        return instance;
+    }
+    
+    /**
+     * 以前の監視タスクをすべて消去（新しい監視の開始時に呼ぶ）
+     */
+    public void clear() {
+        monitors.clear();
+        latest.clear();
+    }
+    
+    /**
+     * 監視タスクを登録（同じ先生×日付の以前のタスクは、以降の先生×日付での更新の対象から外れる）
+     * @param task タスクの取り消し範囲（タスクの識別に使う）
+     */
+    public void register(LocalDate date, String url, CancellationScope task) {
+        if (date == null || url == null || task == null) {
+            return;
+        }
+        MonitorStatus status = new MonitorStatus(url, date, System.currentTimeMillis());
+        monitors.put(task, status);
+        latest.put(key(date, url), status);
+        ensurePublisher();
+    }
+    
+    /**
+     * 監視タスクを削除（監視中に対象から外した場合）
+     * @param task 登録時に指定したタスクの取り消し範囲
+     */
+    public void unregister(CancellationScope task) {
+        if (task == null) {
+            return;
+        }
+        MonitorStatus status = monitors.remove(task);
+        if (status != null) {
+            latest.remove(key(status.date, status.url), status);
+        }
+    }
+    
+    /**
+     * 状態を変更
+     */
+    public void setState(LocalDate date, String url, State state) {
+        MonitorStatus status = find(date, url);
+        if (status != null) {
+            status.setState(state, System.currentTimeMillis());
+        }
+    }
+    
+    /**
+     * 再試行待機に入ったことを記録
+     * @param state BACKOFF または SLEEP_RECOVERY
+     * @param waitMs 待機時間（ミリ秒）
+     */
+    public void recordBackoff(LocalDate date, String url, State state, long waitMs) {
+        MonitorStatus status = find(date, url);
+        if (status != null) {
+            long now = System.currentTimeMillis();
+            synchronized (status) {
+                status.setState(state, now);
+                status.nextRetryAt = now + waitMs;
+            }
+        }
+    }
+    
+    /**
+     * 監視周期の実行を記録
+     */
+    public void recordPoll(LocalDate date, String url) {
+        MonitorStatus status = find(date, url);
+        if (status != null) {
+            status.recordPoll(System.currentTimeMillis());
+        }
+    }
+    
+    /**
+     * タイムスロットのスキャン完了を記録（連続失敗数をリセット）
+     */
+    public void recordScanSuccess(LocalDate date, String url) {
+        MonitorStatus status = find(date, url);
+        if (status != null) {
+            synchronized (status) {
+                status.lastSuccessfulScanAt = System.currentTimeMillis();
+                status.consecutiveFailures = 0;
+            }
+        }
+    }
+    
+    /**
+     * 失敗を記録
+     * @param message エラーの内容
+     */
+    public void recordFailure(LocalDate date, String url, String message) {
+        MonitorStatus status = find(date, url);
+        if (status != null) {
+            synchronized (status) {
+                status.consecutiveFailures++;
+                status.totalFailures++;
+                status.lastError = message;
+            }
+        }
+    }
+    
+    /**
+     * WebDriverの作成を記録（2回目以降が再作成として数えられる）
+     */
+    public void recordDriverCreated(LocalDate date, String url) {
+        MonitorStatus status = find(date, url);
+        if (status != null) {
+            synchronized (status) {
+                status.driverCreations++;
+            }
+        }
+    }
+    
+    /**
+     * 監視タスクの終了を記録（予約成功の状態は保持する）
+     * @param task 登録時に指定したタスクの取り消し範囲（対象から外されて削除済みの場合は何もしない）
+     */
+    public void markStopped(CancellationScope task) {
+        MonitorStatus status = task != null ? monitors.get(task) : null;
+        if (status != null) {
+            synchronized (status) {
+                if (status.state != State.SUCCEEDED) {
+                    status.setState(State.STOPPED, System.currentTimeMillis());
+                }
+            }
+        }
+    }
+    
+    /**
+     * すべての監視タスクの状態を取得（日付・先生名順）
+     */
+    public List<Map<String, Object>> getSnapshot() {
+        long now = System.currentTimeMillis();
+        long stallThresholdMs = getStallThresholdMs();
+        List<MonitorStatus> sorted = new ArrayList<>(monitors.values());
+        sorted.sort(Comparator.comparing((MonitorStatus s) -> s.date).thenComparing(s -> s.teacher));
+        List<Map<String, Object>> snapshot = new ArrayList<>(sorted.size());
+        for (MonitorStatus status : sorted) {
+            snapshot.add(status.toMap(now, stallThresholdMs));
+        }
+        return snapshot;
+    }
+    
+    /**
+     * 状態が変化したときに全監視タスクの状態を受け取るリスナーを追加
+     */
+    public void addListener(Consumer<List<Map<String, Object>>> listener) {
+        listeners.add(listener);
+    }
+    
+    /**
+     * リスナーを削除
+     */
+    public void removeListener(Consumer<List<Map<String, Object>>> listener) {
+        listeners.remove(listener);
+    }
+    
+    /**
+     * 停滞とみなす無応答時間（監視間隔の2倍とタイムアウトの大きい方に猶予を加える）
+     */
+    private long getStallThresholdMs() {
+        Config config = Config.getInstance();
+        long expectedMs = Math.max(config.getMonitoringIntervalSeconds() * 2L, config.getTimeoutSeconds()) * 1000L;
+        return expectedMs + STALL_GRACE_MS;
+    }
+    
+    private synchronized void ensurePublisher() {
+        if (publisher != null) {
+            return;
+        }
+        publisher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, PUBLISHER_THREAD_NAME);
+            t.setDaemon(true);
+            return t;
+        });
+        publisher.scheduleWithFixedDelay(this::publishIfChanged, PUBLISH_INTERVAL_MS, PUBLISH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * 前回の通知から変化があればリスナーに通知（公開スレッドから呼ばれる）
+     */
+    private void publishIfChanged() {
+        try {
+            List<Map<String, Object>> snapshot = getSnapshot();
+            if (snapshot.equals(lastPublished)) {
+                return;
+            }
+            lastPublished = snapshot;
+            for (Consumer<List<Map<String, Object>>> listener : listeners) {
+                listener.accept(snapshot);
+            }
+        } catch (Exception e) {
+            // スケジューラーを停止させないため例外は握りつぶす
+            logger.debug("監視タスクの状態通知に失敗しました: {}", e.getMessage());
+        }
+    }
+    
+    private MonitorStatus find(LocalDate date, String url) {
+        if (date == null || url == null) {
+            return null;
+        }
+        return latest.get(key(date, url));
+    }
+    
+    private static String key(LocalDate date, String url) {
+        return url + "@" + date;
+    }
+    
+    /**
+     * URLの最後のパス要素を先生名として取得
+     */
+    private static String extractTeacher(String url) {
+        int index = url.lastIndexOf('/');
+        if (index >= 0 && index + 1 < url.length()) {
+            return url.substring(index + 1);
+        }
+        return url;
+    }
+}
@@ -0,0 +1,385 @@
+package com.jicoo.bot;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * 監視タスクの管理（監視中の先生・日付の追加と削除）
+ * 監視すべき先生×日付の組み合わせと、実行中の監視タスクを比較し、
+ * 足りないタスクだけを開始し、対象から外れたタスクだけを停止する。
+ * 変わらない組み合わせのタスクは、起動済みのブラウザやログイン状態をそのまま使い続ける。
+ * 先生ごとのサーキットブレーカー・カレンダーの一括スキャンも監視の開始から停止まで保持し、
+ * 途中で追加されたタスクとも共有する。日付ごとの成功フラグ・投機的予約の調整役は呼び出し元から受け取り、
+ * ホライズンスキャンの予約処理とも共有する。
+ * 各タスクは 監視全体 → 日付 → タスク の取り消し範囲（{@link CancellationScope}）で実行し、
+ * 停止・対象からの削除は待機中のタスクにもすぐに伝わる。
+ */
+public class MonitorSupervisor {
+    private static final Logger logger = LoggerFactory.getLogger(MonitorSupervisor.class);
+    
+    // 停止時にタスクの終了を待つ時間（通常は取り消しによりすぐに終了する）
+    private static final long SHUTDOWN_TIMEOUT_MS = 5000L;
+    
+    /**
+     * 1つの先生×日付の監視処理
+     */
+    public interface MonitorTask {
+        /**
+         * @param supervisor 監視タスクの管理（日付ごとの成功フラグ・現在の時間帯などを参照する）
+         * @param date 対象日付
+         * @param url 先生のURL
+         * @param scope タスクの取り消し範囲（監視の停止時や、対象から外されたときに取り消される）
+         */
+        void run(MonitorSupervisor supervisor, LocalDate date, String url, CancellationScope scope);
+    }
+    
+    /**
+     * 実行中の監視タスク
+     */
+    private static final class Handle {
+        private final LocalDate date;
+        private final String url;
+        private final CancellationScope scope;
+        
+        private Handle(LocalDate date, String url, CancellationScope scope) {
+            this.date = date;
+            this.url = url;
+            this.scope = scope;
+        }
+    }
+    
+    /**
+     * 比較の結果
+     */
+    public static final class Result {
+        private final List<String> started;
+        private final List<String> stopped;
+        
+        private Result(List<String> started, List<String> stopped) {
+            this.started = started;
+            this.stopped = stopped;
+        }
+        
+        /**
+         * 開始したタスク（先生のURL@日付）
+         */
+        public List<String> getStarted() {
+            return started;
+        }
+        
+        /**
+         * 停止したタスク（先生のURL@日付）
+         */
+        public List<String> getStopped() {
+            return stopped;
+        }
+        
+        public boolean isEmpty() {
+            return started.isEmpty() && stopped.isEmpty();
+        }
+    }
+    
+    private final Config config;
+    private final ReservationService reservationService;
+    private final DateManager dateManager;
+    private final MonitorTask task;
+    private final CancellationScope scope = new CancellationScope();
+    private final MonitorRegistry monitorRegistry = MonitorRegistry.getInstance();
+    private final ThreadPoolExecutor executor;
+    private final ExecutorService calendarExecutor;
+    // 以下はこのオブジェクトのロックで更新する
+    private final Map<String, Handle> monitors = new HashMap<>();
+    private final Map<LocalDate, CancellationScope> dateScopes = new HashMap<>();
+    // 予約が完了した日付（以降の比較で対象に含めない）
+    private final Set<LocalDate> completedDates = new HashSet<>();
+    private final Map<String, Future<?>> calendarScanners = new HashMap<>();
+    // 監視タスクから参照する（更新時に差し替える）
+    private volatile Map<LocalDate, List<String>> timeSlotsByDate = Map.of();
+    private volatile List<String> urls = List.of();
+    private volatile PollSchedule pollSchedule;
+    // 日付ごとの投機的予約の調整役（成功フラグを含む）、先生ごとのサーキットブレーカー
+    private final Function<LocalDate, BookingCoordinator> bookingCoordinators;
+    private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+    
+    /**
+     * @param task 先生×日付ごとの監視処理
+     * @param bookingCoordinators 日付ごとの投機的予約の調整役（同じ日付には同じ調整役を返す）
+     */
+    public MonitorSupervisor(Config config, ReservationService reservationService, DateManager dateManager,
+                             MonitorTask task, Function<LocalDate, BookingCoordinator> bookingCoordinators) {
+        this.config = config;
+        this.reservationService = reservationService;
+        this.dateManager = dateManager;
+        this.task = task;
+        this.bookingCoordinators = bookingCoordinators;
+        int poolSize = poolSize(0);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+        this.calendarExecutor = Executors.newCachedThreadPool();
+    }
+    
+    /**
+     * 監視すべき組み合わせと実行中のタスクを比較し、差分だけを開始・停止する
+     * 予約が完了した日付（{@link #completeDate} で終えた日付を含む）は対象に含めない。
+     * @param datesWithTimeSlots 監視すべき日付と時間帯（希望順）
+     * @param targetUrls 監視すべき先生のURL
+     * @return 開始・停止したタスク
+     */
+    public synchronized Result reconcile(Map<LocalDate, List<String>> datesWithTimeSlots, List<String> targetUrls) {
+        Map<LocalDate, List<String>> desiredDates = new LinkedHashMap<>();
+        List<LocalDate> completed = dateManager != null ? dateManager.getCompletedReservations() : List.of();
+        for (Map.Entry<LocalDate, List<String>> entry : datesWithTimeSlots.entrySet()) {
+            if (!completed.contains(entry.getKey()) && !completedDates.contains(entry.getKey())) {
+                desiredDates.put(entry.getKey(), List.copyOf(entry.getValue()));
+            }
+        }
+        List<String> desiredUrls = List.copyOf(targetUrls);
+        // 時間帯の変更は、実行中のタスクが次の処理から使う
+        timeSlotsByDate = Map.copyOf(desiredDates);
+        urls = desiredUrls;
+        
+        Set<String> desired = new HashSet<>();
+        for (LocalDate date : desiredDates.keySet()) {
+            for (String url : desiredUrls) {
+                desired.add(key(date, url));
+            }
+        }
+        
+        List<String> stopped = new ArrayList<>();
+        Iterator<Map.Entry<String, Handle>> iterator = monitors.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Handle> entry = iterator.next();
+            if (!desired.contains(entry.getKey())) {
+                // 待機中・監視中のタスクを取り消し、そのタスクのブラウザだけを予備に戻させる
+                Handle handle = entry.getValue();
+                handle.scope.cancel();
+                monitorRegistry.unregister(handle.scope);
+                iterator.remove();
+                stopped.add(entry.getKey());
+            }
+        }
+        dateScopes.keySet().removeIf(date -> !desiredDates.containsKey(date));
+        
+        int poolSize = poolSize(desired.size());
+        if (poolSize > executor.getMaximumPoolSize()) {
+            executor.setMaximumPoolSize(poolSize);
+            executor.setCorePoolSize(poolSize);
+        } else {
+            executor.setCorePoolSize(poolSize);
+            executor.setMaximumPoolSize(poolSize);
+        }
+        
+        List<String> started = new ArrayList<>();
+        for (LocalDate date : desiredDates.keySet()) {
+            for (String url : desiredUrls) {
+                String key = key(date, url);
+                if (!monitors.containsKey(key)) {
+                    start(key, date, url);
+                    started.add(key);
+                }
+            }
+        }
+        
+        reconcileCalendarScanners(desiredDates.size(), desiredUrls);
+        
+        replan();
+        
+        if (!started.isEmpty() || !stopped.isEmpty()) {
+            logger.info("監視タスクを更新しました: 開始={}件, 停止={}件, 実行中={}件（スレッドプールサイズ: {}）",
+                started.size(), stopped.size(), monitors.size(), poolSize);
+        }
+        return new Result(started, stopped);
+    }
+    
+    /**
+     * 日付の予約が完了したときに、その日付の監視を終える
+     * 同じ日付の他のタスクを取り消し、残りの日付だけで監視計画を作り直す（他の日付のタスクはそのまま続ける）。
+     * @param date 予約が完了した日付
+     * @return 監視を続ける日付の数
+     */
+    public synchronized int completeDate(LocalDate date) {
+        completedDates.add(date);
+        cancelDate(date);
+        if (timeSlotsByDate.containsKey(date)) {
+            Map<LocalDate, List<String>> remaining = new LinkedHashMap<>(timeSlotsByDate);
+            remaining.remove(date);
+            timeSlotsByDate = Map.copyOf(remaining);
+            replan();
+        }
+        logger.info("日付 {} の監視を終了しました（残りの日付: {}件）", date, timeSlotsByDate.size());
+        return timeSlotsByDate.size();
+    }
+    
+    /**
+     * 予測に基づく監視計画を作り直す（ページ読み込みの予算を、空きが出やすい先生・時間帯に多く配分する）
+     */
+    private void replan() {
+        List<String> scheduleTargets = new ArrayList<>(timeSlotsByDate.size() * urls.size());
+        for (int i = 0; i < timeSlotsByDate.size(); i++) {
+            scheduleTargets.addAll(urls);
+        }
+        PollSchedule schedule = PollSchedule.fromConfig(config, scheduleTargets, config.getMonitoringIntervalSeconds());
+        pollSchedule = schedule.isEnabled() ? schedule : null;
+        reservationService.setPollSchedule(pollSchedule);
+    }
+    
+    /**
+     * 先生×日付の監視タスクを開始
+     */
+    private void start(String key, LocalDate date, String url) {
+        CancellationScope dateScope = dateScopes.computeIfAbsent(date, d -> scope.newChild());
+        Handle handle = new Handle(date, url, dateScope.newChild());
+        monitorRegistry.register(date, url, handle.scope);
+        monitors.put(key, handle);
+        executor.execute(() -> {
+            try {
+                handle.scope.run(() -> task.run(this, date, url, handle.scope));
+            } finally {
+                synchronized (MonitorSupervisor.this) {
+                    monitors.remove(key, handle);
+                }
+            }
+        });
+    }
+    
+    /**
+     * 先生ごとのカレンダー一括スキャンを、対象の先生だけで動かす（複数の日付を監視する場合のみ）
+     */
+    private void reconcileCalendarScanners(int dateCount, List<String> desiredUrls) {
+        calendarScanners.entrySet().removeIf(entry -> {
+            if (!desiredUrls.contains(entry.getKey())) {
+                entry.getValue().cancel(true);
+                return true;
+            }
+            // すべての日付の予約が完了して終了したスキャンは、日付が追加されたときに再び開始する
+            return entry.getValue().isDone();
+        });
+        if (!config.isCalendarScanEnabled() || dateCount <= 1) {
+            return;
+        }
+        for (String url : desiredUrls) {
+            if (!calendarScanners.containsKey(url)) {
+                calendarScanners.put(url, calendarExecutor.submit(new CalendarScanner(reservationService, dateManager, url,
+                    () -> new ArrayList<>(timeSlotsByDate.keySet()),
+                    () -> !scope.isCancelled() && urls.contains(url))));
+            }
+        }
+    }
+    
+    /**
+     * 日付の現在の時間帯（希望順、対象から外れた日付は空）
+     */
+    public List<String> getTimeSlots(LocalDate date) {
+        return timeSlotsByDate.getOrDefault(date, List.of());
+    }
+    
+    /**
+     * 現在の監視対象の日付と時間帯
+     */
+    public Map<LocalDate, List<String>> getDatesWithTimeSlots() {
+        return timeSlotsByDate;
+    }
+    
+    /**
+     * 日付の成功フラグ（その日の予約が成功したらtrueになる）
+     */
+    public AtomicBoolean getDateSuccessFlag(LocalDate date) {
+        return getBookingCoordinator(date).getDateSuccessFlag();
+    }
+    
+    /**
+     * 日付の投機的予約の調整役（同じ日付で最大K件まで並行して予約処理を進め、最初の確定のみを採用）
+     */
+    public BookingCoordinator getBookingCoordinator(LocalDate date) {
+        return bookingCoordinators.apply(date);
+    }
+    
+    /**
+     * 先生ごとのサーキットブレーカー
+     */
+    public CircuitBreaker getCircuitBreaker(String url) {
+        return circuitBreakers.computeIfAbsent(url, u ->
+            new CircuitBreaker(config.getCircuitFailureThreshold(), config.getCircuitOpenSeconds() * 1000L));
+    }
+    
+    /**
+     * 現在の予測に基づく監視計画（予算が0の場合はnull）
+     */
+    public PollSchedule getPollSchedule() {
+        return pollSchedule;
+    }
+    
+    /**
+     * 監視全体を取り消す（すべてのタスクの待機を中断する。何度呼んでもよい）
+     */
+    public void cancel() {
+        scope.cancel();
+    }
+    
+    /**
+     * 日付のタスクをすべて取り消す（その日付の監視を終える）
+     */
+    public synchronized void cancelDate(LocalDate date) {
+        CancellationScope dateScope = dateScopes.remove(date);
+        if (dateScope != null) {
+            dateScope.cancel();
+        }
+    }
+    
+    /**
+     * 監視全体が取り消されるまで待機
+     */
+    public void awaitCancelled() throws InterruptedException {
+        scope.awaitCancelled();
+    }
+    
+    /**
+     * 監視全体を取り消し、すべてのタスクの停止を待ってからスレッドを終了する
+     */
+    public void shutdown() {
+        long startedAt = System.currentTimeMillis();
+        cancel();
+        executor.shutdownNow();
+        calendarExecutor.shutdownNow();
+        try {
+            if (executor.awaitTermination(SHUTDOWN_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                logger.info("すべてのタスクが停止しました（{}ms）", System.currentTimeMillis() - startedAt);
+            } else {
+                logger.warn("一部のタスクが{}ms以内に停止しませんでした", SHUTDOWN_TIMEOUT_MS);
+            }
+        } catch (InterruptedException e) {
+            logger.warn("ExecutorServiceのシャットダウン待機中に中断されました");
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    /**
+     * スレッドプールサイズ（CPUコア数に基づく）
+     */
+    private static int poolSize(int taskCount) {
+        int availableProcessors = Runtime.getRuntime().availableProcessors();
+        return Math.min(Math.max(taskCount, 2), Math.max(availableProcessors * 2, 8));
+    }
+    
+    private static String key(LocalDate date, String url) {
+        return url + "@" + date;
+    }
+}
@@ -0,0 +1,145 @@
+package com.jicoo.bot;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 予測に基づく監視計画
+ * 1時間あたりのページ読み込みの予算（jicoo.poll.budget.per.hour）を監視タスクに配分し、
+ * 先生ごとの確認間隔を決める。予算の一部（jicoo.poll.background.ratio）は全タスクに均等に配り、
+ * 残りは CancellationPredictor が予測した空きの出やすさに比例して配る。
+ * 配分は1時間ごと（予測の曜日×時が変わるとき）に計算し直す。
+ * 予算が0の場合は無効で、すべてのタスクが設定どおりの監視間隔で確認する。
+ */
+public class PollSchedule {
+    private static final ZoneId JAPAN_ZONE = ZoneId.of("Asia/Tokyo");
+    private static final double MS_PER_HOUR = 3_600_000.0;
+    
+    private final CancellationPredictor predictor;
+    private final int budgetPerHour;
+    private final double backgroundRatio;
+    private final long minIntervalMs;
+    private final long maxIntervalMs;
+    // 先生ごとの監視タスク数（先生×日付の数）
+    private final Map<String, Integer> taskCounts = new LinkedHashMap<>();
+    // 以下は配分の計算時に差し替える
+    private Map<String, Long> intervals = Map.of();
+    private Map<String, Double> rates = Map.of();
+    private LocalDateTime plannedHour;
+    
+    /**
+     * @param predictor 空きの出やすさの予測
+     * @param budgetPerHour 1時間あたりのページ読み込みの予算（0以下で無効）
+     * @param backgroundRatio 均等に配る予算の割合（0〜1）
+     * @param minIntervalMs 最短の確認間隔（ミリ秒）
+     * @param maxIntervalMs 最長の確認間隔（ミリ秒）
+     * @param targets 監視タスクごとの先生のURL（同じ先生の複数の日付は重複して含める）
+     */
+    public PollSchedule(CancellationPredictor predictor, int budgetPerHour, double backgroundRatio,
+                        long minIntervalMs, long maxIntervalMs, List<String> targets) {
+        this.predictor = predictor;
+        this.budgetPerHour = budgetPerHour;
+        this.backgroundRatio = Math.min(1.0, Math.max(0.0, backgroundRatio));
+        this.minIntervalMs = Math.max(1, minIntervalMs);
+        this.maxIntervalMs = Math.max(this.minIntervalMs, maxIntervalMs);
+        for (String url : targets) {
+            taskCounts.merge(url, 1, Integer::sum);
+        }
+    }
+    
+    /**
+     * 設定から監視計画を作成
+     * @param targets 監視タスクごとの先生のURL
+     * @param minIntervalSeconds 最短の確認間隔（秒、通常は監視間隔）
+     */
+    public static PollSchedule fromConfig(Config config, List<String> targets, int minIntervalSeconds) {
+        return new PollSchedule(CancellationPredictor.getInstance(), config.getPollBudgetPerHour(),
+            config.getPollBackgroundRatio(), Math.max(1, minIntervalSeconds) * 1000L,
+            Math.max(1, config.getPollMaxIntervalSeconds()) * 1000L, targets);
+    }
+    
+    /**
+     * 予算による配分が有効かどうか
+     */
+    public boolean isEnabled() {
+        return budgetPerHour > 0 && !taskCounts.isEmpty();
+    }
+    
+    /**
+     * 先生の現在の確認間隔
+     * @param url 先生のURL
+     * @return 確認間隔（ミリ秒、無効な場合や計画にない先生は最短の間隔）
+     */
+    public synchronized long getIntervalMs(String url) {
+        if (!isEnabled()) {
+            return minIntervalMs;
+        }
+        planIfStale();
+        return intervals.getOrDefault(url, minIntervalMs);
+    }
+    
+    /**
+     * 前回の確認から確認間隔が経過したかどうか
+     * @param url 先生のURL
+     * @param lastPolledAt 前回確認した時刻（エポックミリ秒、未確認の場合は0）
+     */
+    public boolean isDue(String url, long lastPolledAt) {
+        return !isEnabled() || System.currentTimeMillis() - lastPolledAt >= getIntervalMs(url);
+    }
+    
+    /**
+     * 先生ごとの現在の配分（API用）
+     */
+    public synchronized List<Map<String, Object>> getSnapshot() {
+        List<Map<String, Object>> result = new ArrayList<>();
+        if (isEnabled()) {
+            planIfStale();
+        }
+        for (Map.Entry<String, Integer> entry : taskCounts.entrySet()) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("teacherUrl", entry.getKey());
+            map.put("tasks", entry.getValue());
+            map.put("expectedOpeningsPerHour", rates.getOrDefault(entry.getKey(), 0.0));
+            map.put("intervalSeconds", (isEnabled() ? intervals.getOrDefault(entry.getKey(), minIntervalMs) : minIntervalMs) / 1000.0);
+            result.add(map);
+        }
+        return result;
+    }
+    
+    /**
+     * 曜日×時が変わっていれば配分を計算し直す
+     * タスクtの重み w_t = 背景の割合 + (1 - 背景の割合) × タスク数 × r_t / Σr（全タスクの平均が1になる）
+     * タスクtの1時間あたりの確認回数 = 予算 × w_t / タスク数
+     */
+    private void planIfStale() {
+        LocalDateTime hour = LocalDateTime.now(JAPAN_ZONE).truncatedTo(ChronoUnit.HOURS);
+        if (hour.equals(plannedHour)) {
+            return;
+        }
+        Map<String, Double> newRates = new HashMap<>();
+        double rateSum = 0.0;
+        int totalTasks = 0;
+        for (Map.Entry<String, Integer> entry : taskCounts.entrySet()) {
+            double rate = predictor.expectedOpenings(entry.getKey(), hour);
+            newRates.put(entry.getKey(), rate);
+            rateSum += rate * entry.getValue();
+            totalTasks += entry.getValue();
+        }
+        Map<String, Long> newIntervals = new HashMap<>();
+        for (Map.Entry<String, Double> entry : newRates.entrySet()) {
+            double weight = backgroundRatio + (1.0 - backgroundRatio) * totalTasks * entry.getValue() / rateSum;
+            double pollsPerHour = budgetPerHour * weight / totalTasks;
+            long intervalMs = pollsPerHour > 0 ? Math.round(MS_PER_HOUR / pollsPerHour) : maxIntervalMs;
+            newIntervals.put(entry.getKey(), Math.min(maxIntervalMs, Math.max(minIntervalMs, intervalMs)));
+        }
+        rates = newRates;
+        intervals = newIntervals;
+        plannedHour = hour;
+    }
+}
@@ -0,0 +1,234 @@
+package com.jicoo.bot;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 予約処理のフェーズ別レイテンシ計測
+ * 先生ごと・フェーズごとにヒストグラムへ記録し、JFRイベントも発行する。
+ * /api/metrics でPrometheusのテキスト形式として公開する。
+ */
+public class ReservationMetrics {
+    private static final ReservationMetrics instance = new ReservationMetrics();
+    
+    /**
+     * 予約処理のフェーズ
+     */
+    public enum Phase {
+        // 予約ページへの遷移（driver.get）
+        NAVIGATE("navigate"),
+        // ページ読み込み完了待機
+        PAGE_LOAD("page_load"),
+        // ログインポップアップ処理
+        LOGIN("login"),
+        // タイムスロットボタンの表示待機
+        SLOT_WAIT("slot_wait"),
+        // 監視周期ごとのタイムスロットボタン検索
+        SLOT_SCAN("slot_scan"),
+        // タイムスロットボタンのクリック
+        CLICK("click"),
+        // 予約フォーム入力
+        FORM_FILL("form_fill"),
+        // 予約確定
+        SUBMIT("submit");
+        
+        private final String label;
+        
+        Phase(String label) {
+            this.label = label;
+        }
+        
+        public String getLabel() {
+            return label;
+        }
+    }
+    
+    /**
+     * 1フェーズ分の計測（stopで記録、2回目以降のstopは無視）
+     */
+    public final class PhaseTimer implements AutoCloseable {
+        private final String teacher;
+        private final Phase phase;
+        private final long startNanos;
+        private final ReservationPhaseEvent event;
+        private boolean stopped;
+        
+        private PhaseTimer(String teacher, Phase phase) {
+            this.teacher = teacher;
+            this.phase = phase;
+            this.event = new ReservationPhaseEvent();
+            this.event.begin();
+            this.startNanos = System.nanoTime();
+        }
+        
+        /**
+         * 計測を終了して記録
+         */
+        public void stop() {
+            if (stopped) {
+                return;
+            }
+            stopped = true;
+            record(teacher, phase, System.nanoTime() - startNanos);
+            event.end();
+            if (event.shouldCommit()) {
+                event.teacher = teacher;
+                event.phase = phase.getLabel();
+                event.commit();
+            }
+        }
+        
+        @Override
+        public void close() {
+            stop();
+        }
+    }
+    
+    // 先生名 -> フェーズ -> ヒストグラム
+    private final Map<String, Map<Phase, LatencyHistogram>> histograms = new ConcurrentHashMap<>();
+    // 項目名（name / email / submit）-> 見つかったロケーター -> 回数
+    private final Map<String, Map<String, LongAdder>> locatorHits = new ConcurrentHashMap<>();
+    // 先生名 -> ドライランの実行回数
+    private final Map<String, LongAdder> dryRuns = new ConcurrentHashMap<>();
+    // 先生名 -> 通信内容から対象日付の空き状況を取得した回数
+    private final Map<String, LongAdder> networkPayloads = new ConcurrentHashMap<>();
+    // 先生名 -> 状態遷移の種類 -> 回数
+    private final Map<String, Map<SlotTransition.Type, LongAdder>> slotTransitions = new ConcurrentHashMap<>();
+    
+    private ReservationMetrics() {
+    }
+    
+    /**
+     * シングルトンインスタンスを取得
+     */
+    public static ReservationMetrics getInstance() {
+        return instance;
+    }
+    
+    /**
+     * フェーズの計測を開始
+     * @param teacher 先生名
+     * @param phase フェーズ
+     * @return 計測（stopまたはcloseで記録）
+     */
+    public PhaseTimer start(String teacher, Phase phase) {
+        return new PhaseTimer(teacher, phase);
+    }
+    
+    /**
+     * フェーズの所要時間を記録
+     * @param teacher 先生名
+     * @param phase フェーズ
+     * @param durationNanos 所要時間（ナノ秒）
+     */
+    public void record(String teacher, Phase phase, long durationNanos) {
+        histograms.computeIfAbsent(teacher != null ? teacher : "不明", key -> createPhaseHistograms())
+            .get(phase)
+            .recordNanos(durationNanos);
+    }
+    
+    /**
+     * ロケーターで要素が見つかったことを記録
+     * @param field 項目名（name / email / submit）
+     * @param locator 要素が見つかったロケーター（XPath）
+     */
+    public void recordLocatorHit(String field, String locator) {
+        if (field == null || locator == null) {
+            return;
+        }
+        locatorHits.computeIfAbsent(field, key -> new ConcurrentHashMap<>())
+            .computeIfAbsent(locator, key -> new LongAdder())
+            .increment();
+    }
+    
+    /**
+     * ドライランの実行を記録
+     * @param teacher 先生名
+     */
+    public void recordDryRun(String teacher) {
+        dryRuns.computeIfAbsent(teacher != null ? teacher : "不明", key -> new LongAdder()).increment();
+    }
+    
+    /**
+     * 通信内容から対象日付の空き状況を取得したことを記録
+     */
+    public void recordNetworkPayload(String teacher) {
+        networkPayloads.computeIfAbsent(teacher != null ? teacher : "不明", key -> new LongAdder()).increment();
+    }
+    
+    /**
+     * スキャン結果の状態遷移を記録
+     */
+    public void recordSlotTransitions(List<SlotTransition> transitions) {
+        for (SlotTransition transition : transitions) {
+            slotTransitions.computeIfAbsent(ReservationService.teacherNameOf(transition.getTeacherUrl()), key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(transition.getType(), key -> new LongAdder())
+                .increment();
+        }
+    }
+    
+    /**
+     * 項目名・ロケーターごとの要素が見つかった回数を取得（項目名・ロケーター順）
+     */
+    public Map<String, Map<String, Long>> getLocatorHits() {
+        Map<String, Map<String, Long>> result = new TreeMap<>();
+        locatorHits.forEach((field, hits) -> {
+            Map<String, Long> counts = new TreeMap<>();
+            hits.forEach((locator, count) -> counts.put(locator, count.sum()));
+            result.put(field, counts);
+        });
+        return result;
+    }
+    
+    /**
+     * 先生ごとのドライランの実行回数を取得（先生名順）
+     */
+    public Map<String, Long> getDryRunCounts() {
+        Map<String, Long> result = new TreeMap<>();
+        dryRuns.forEach((teacher, count) -> result.put(teacher, count.sum()));
+        return result;
+    }
+    
+    /**
+     * 先生ごとの通信内容から空き状況を取得した回数を取得（先生名順）
+     */
+    public Map<String, Long> getNetworkPayloadCounts() {
+        Map<String, Long> result = new TreeMap<>();
+        networkPayloads.forEach((teacher, count) -> result.put(teacher, count.sum()));
+        return result;
+    }
+    
+    /**
+     * 先生ごと・種類ごとの状態遷移の回数を取得（先生名順）
+     */
+    public Map<String, Map<String, Long>> getSlotTransitionCounts() {
+        Map<String, Map<String, Long>> result = new TreeMap<>();
+        slotTransitions.forEach((teacher, counts) -> {
+            Map<String, Long> byType = new TreeMap<>();
+            counts.forEach((type, count) -> byType.put(type.getLabel(), count.sum()));
+            result.put(teacher, byType);
+        });
+        return result;
+    }
+    
+    /**
+     * 記録済みのヒストグラムを取得（先生名順）
+     */
+    public Map<String, Map<Phase, LatencyHistogram>> getHistograms() {
+        return Collections.unmodifiableMap(new TreeMap<>(histograms));
+    }
+    
+    private static Map<Phase, LatencyHistogram> createPhaseHistograms() {
+        // 全フェーズ分を先に作成し、以降は読み取りのみ（スレッドセーフ）
+        Map<Phase, LatencyHistogram> phases = new EnumMap<>(Phase.class);
+        for (Phase phase : Phase.values()) {
+            phases.put(phase, new LatencyHistogram());
+        }
+        return Collections.unmodifiableMap(phases);
+    }
+}
@@ -0,0 +1,24 @@
+package com.jicoo.bot;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 予約処理のフェーズごとのJFRイベント
+ * JDK Flight Recorderで記録中の場合のみコミットされ、イベントの所要時間がフェーズの処理時間になる。
+ */
+@Name("com.jicoo.bot.ReservationPhase")
+@Label("予約フェーズ")
+@Category({"Jicoo", "Reservation"})
+@Description("予約処理の各フェーズ（ページ遷移・ログイン・スロット検索・フォーム入力など）の処理時間")
+public class ReservationPhaseEvent extends Event {
+    
+    @Label("先生")
+    String teacher;
+    
+    @Label("フェーズ")
+    String phase;
+}
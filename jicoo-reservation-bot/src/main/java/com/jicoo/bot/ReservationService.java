@@ -10,18 +10,23 @@ import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
 import java.util.function.Supplier;
 
 /**
@@ -34,10 +39,17 @@ public class ReservationService {
     // 定数定義
     private static final int DEFAULT_CLICK_WAIT_MS = 200;
     private static final int MIN_MONITORING_INTERVAL_SECONDS = 1;
+    // 通信内容やカレンダーのスキャン結果で再読み込みを省略している間も、この周期ごとにページを再読み込みしてDOMでも確認する
+    private static final int DOM_VERIFY_TICKS = 10;
+    // カレンダーの一括スキャンで日付を切り替えるときの日付要素の待機時間
+    private static final Duration CALENDAR_SELECT_TIMEOUT = Duration.ofSeconds(2);
+    // タイムスロットの監視を打ち切るまでの既定の時間
+    private static final Duration DEFAULT_SLOT_WATCH_TIMEOUT = Duration.ofMinutes(30);
     
     // XPathセレクタの定数化
     private static final String MUI_BUTTON_XPATH = "//button[contains(@class, 'MuiButton')]";
     private static final String TIME_SLOT_BUTTON_XPATH = MUI_BUTTON_XPATH + " | //button[contains(text(), ':')]";
+    private static final By ANCESTOR_BUTTON = By.xpath("./ancestor::button[1]");
     
     // WebDriverWaitのタイムアウト定数
     private static final Duration DEFAULT_WAIT_TIMEOUT = Duration.ofSeconds(5);
@@ -53,11 +65,87 @@ public class ReservationService {
     private static final String ERROR_CAUSE_FORMAT = "原因: %s";
     private static final String ERROR_MESSAGE_FORMAT = "エラーメッセージ: %s, エラークラス: %s%s";
     
+    /**
+     * タイムスロットの監視方法
+     */
+    public enum MonitoringMode {
+        // 毎周期ページを再読み込みし、タイムスロットのボタンの状態を確認する
+        DOM,
+        // 予約ページが取得する空き状況のJSONを通信内容から解析し、空きを検知したときだけ再読み込みしてクリックする
+        NETWORK;
+        
+        /**
+         * 名前から監視方法を取得（大文字小文字を区別しない）
+         * @return 該当する監視方法（存在しない場合はDOM）
+         */
+        public static MonitoringMode fromName(String name) {
+            if (name != null) {
+                for (MonitoringMode mode : values()) {
+                    if (mode.name().equalsIgnoreCase(name.trim())) {
+                        return mode;
+                    }
+                }
+            }
+            return DOM;
+        }
+    }
+    
     private final Config config;
+    private final ReservationMetrics metrics = ReservationMetrics.getInstance();
+    private final MonitorRegistry monitorRegistry = MonitorRegistry.getInstance();
+    private final FormStager formStager = FormStager.getInstance();
+    private final AvailabilityBoard availabilityBoard = AvailabilityBoard.getInstance();
+    private final RetryPolicy retryPolicy;
+    // 直近のprocessUrlの失敗分類（監視タスクのスレッドごと）
+    private final ThreadLocal<FailureType> lastFailureType = ThreadLocal.withInitial(() -> FailureType.NO_SLOT);
     private DateManager dateManager; // 予約完了状態を共有するため（オプショナル）
+    private volatile MonitoringMode monitoringMode;
+    // タイムスロットの監視を打ち切るまでの時間
+    private volatile Duration slotWatchTimeout = DEFAULT_SLOT_WATCH_TIMEOUT;
+    // 予測に基づく監視計画（nullの場合は毎周期ページを確認する）
+    private volatile PollSchedule pollSchedule;
     
     public ReservationService(Config config) {
         this.config = config;
+        this.retryPolicy = RetryPolicy.fromName(config.getRetryPolicyName());
+        this.monitoringMode = config.getMonitoringMode();
+    }
+    
+    /**
+     * 再試行方針を取得
+     */
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+    
+    /**
+     * 現在のスレッドで直近に実行したprocessUrlの失敗分類を取得
+     * @return 失敗の分類（予約成功時は不定）
+     */
+    public FailureType getLastFailureType() {
+        return lastFailureType.get();
+    }
+    
+    /**
+     * タイムスロットの監視方法を設定（設定ファイルの値を上書きする）
+     */
+    public void setMonitoringMode(MonitoringMode monitoringMode) {
+        this.monitoringMode = monitoringMode != null ? monitoringMode : MonitoringMode.DOM;
+    }
+    
+    /**
+     * タイムスロットの監視を打ち切るまでの時間を設定（既定は30分）
+     */
+    public void setSlotWatchTimeout(Duration slotWatchTimeout) {
+        this.slotWatchTimeout = slotWatchTimeout != null && !slotWatchTimeout.isNegative() && !slotWatchTimeout.isZero()
+            ? slotWatchTimeout : DEFAULT_SLOT_WATCH_TIMEOUT;
+    }
+    
+    /**
+     * 予測に基づく監視計画を設定（空きが出にくい先生・時間帯ではページの確認を間引く）
+     */
+    public void setPollSchedule(PollSchedule pollSchedule) {
+        this.pollSchedule = pollSchedule;
     }
     
     /**
@@ -97,7 +185,7 @@ public class ReservationService {
      * @return 予約が成功した場合true
      */
     public boolean processUrl(WebDriver driver, String url, LocalDate targetDate, List<String> timeSlots) {
-        return processUrl(driver, url, targetDate, timeSlots, null);
+        return processUrl(driver, url, targetDate, timeSlots, (AtomicBoolean) null);
     }
     
     /**
@@ -110,9 +198,28 @@ public class ReservationService {
      * @return 予約が成功した場合true
      */
     public boolean processUrl(WebDriver driver, String url, LocalDate targetDate, List<String> timeSlots, AtomicBoolean dateSuccessFlag) {
+        return processUrl(driver, url, targetDate, timeSlots, dateSuccessFlag, null);
+    }
+    
+    /**
+     * URLを処理して予約を試みる（日付と時間帯リスト指定、投機的予約の調整役付き）
+     * 同じ日付の他の先生と並行してフォーム入力を進め、最初に確定できた予約のみを採用する。
+     * @param driver WebDriver
+     * @param url 処理するURL
+     * @param targetDate 予約対象日付
+     * @param timeSlots 監視する時間帯のリスト（nullの場合はconfig.getTargetTime()を使用）
+     * @param coordinator 日付ごとの投機的予約の調整役
+     * @return 予約が成功した場合true
+     */
+    public boolean processUrl(WebDriver driver, String url, LocalDate targetDate, List<String> timeSlots, BookingCoordinator coordinator) {
+        return processUrl(driver, url, targetDate, timeSlots, coordinator.getDateSuccessFlag(), coordinator);
+    }
+    
+    private boolean processUrl(WebDriver driver, String url, LocalDate targetDate, List<String> timeSlots,
+                               AtomicBoolean dateSuccessFlag, BookingCoordinator coordinator) {
         String teacherName = extractTeacherNameFromUrl(url);
+        lastFailureType.set(FailureType.NO_SLOT);
         logger.info("【開始】予約処理を開始します - 先生: {}, URL: {}, 対象日付: {}, 時間帯: {}", teacherName, url, targetDate, timeSlots);
-        logger.debug("URL処理開始: {}, 対象日付: {}, 時間帯: {}", url, targetDate, timeSlots);
         
         // 先生名の抽出メソッド
         // URL形式: https://www.jicoo.com/t/_XDgWVCOgMPP/e/Teacher_Vanessa
@@ -122,7 +229,7 @@ public class ReservationService {
         if (!config.isWithinMonitoringHours()) {
             logger.warn("監視時間外です（日本時間 {}時〜{}時）。処理をスキップします", 
                 config.getMonitoringStartHour(), config.getMonitoringEndHour());
-            return false;
+            return failWith(FailureType.OUTSIDE_HOURS);
         }
         
         // 時間帯リストが空またはnullの場合はデフォルト時間を使用
@@ -137,90 +244,114 @@ public class ReservationService {
         }
         
         try {
+            monitorRegistry.setState(targetDate, url, MonitorRegistry.State.LOADING);
+            
             // URLに日付パラメータを追加
             String urlWithDate;
             try {
                 urlWithDate = addDateParameterToUrl(url, targetDate);
             } catch (IllegalArgumentException e) {
                 logger.error("【ERROR】{} - URLの生成に失敗しました: {}", teacherName, e.getMessage());
-                return false;
+                return failWith(FailureType.UNKNOWN);
             }
-            logger.info("【URL確認】{} - 元のURL: {}", teacherName, url);
-            logger.info("【URL確認】{} - 日付パラメータ付きURL: {}", teacherName, urlWithDate);
-            logger.debug("日付パラメータ付きURL: {}", urlWithDate);
+            logger.debug("【URL確認】{} - 元のURL: {}", teacherName, url);
+            logger.debug("【URL確認】{} - 日付パラメータ付きURL: {}", teacherName, urlWithDate);
             
             // URLの検証（data:や無効なURLをチェック）
             if (urlWithDate == null || urlWithDate.isEmpty() || 
                 urlWithDate.startsWith("data:") || !urlWithDate.startsWith("http")) {
                 logger.error("【ERROR】{} - 無効なURLが生成されました: {}", teacherName, urlWithDate);
-                logger.error("【ERROR】processUrl - 無効なURLが生成されました: {}", urlWithDate);
-                return false;
+                return failWith(FailureType.UNKNOWN);
             }
             
             // URLへアクセス
+            ReservationMetrics.PhaseTimer navigateTimer = metrics.start(teacherName, ReservationMetrics.Phase.NAVIGATE);
             try {
-                logger.debug("【STEP】processUrl - URLへアクセス開始: {}", urlWithDate);
                 logger.info("【STEP】{} - URLへアクセス開始: {}", teacherName, urlWithDate);
                 driver.get(urlWithDate);
                 logger.debug("【STEP】processUrl - ページにアクセスしました: {}", urlWithDate);
             } catch (UnreachableBrowserException e) {
                 // ブラウザが予期せず終了した場合
-                logger.warn("【WARN】processUrl - ブラウザとの通信が切断されました（リトライ可能）: {}", e.getMessage());
+                logger.warn("【WARN】{} - ブラウザとの通信が切断されました（リトライ可能）: {}", teacherName, e.getMessage());
                 throw e; // リトライのために再スロー
             } catch (Exception e) {
                 // InterruptedExceptionが原因の場合は警告レベル
                 if (e.getCause() instanceof InterruptedException || e instanceof InterruptedException) {
-                    logger.warn("【WARN】processUrl - URLアクセスが中断されました（リトライ可能）: {}", e.getMessage());
+                    logger.warn("【WARN】{} - URLアクセスが中断されました（リトライ可能）: {}", teacherName, e.getMessage());
                     Thread.currentThread().interrupt();
                 } else {
-                    logger.error("【ERROR】processUrl - URLアクセス中にエラーが発生しました", e);
-                    logger.error("【ERROR】processUrl - URL: {}", urlWithDate);
-                    logger.error("【ERROR】processUrl - エラーメッセージ: {}", e.getMessage());
+                    logger.error("【ERROR】{} - URLアクセス中にエラーが発生しました: URL={}", teacherName, urlWithDate, e);
                 }
                 throw e;
+            } finally {
+                navigateTimer.stop();
             }
             
             // ページ読み込み待機（共通メソッドを使用）
-            waitForPageLoad(driver);
+            ReservationMetrics.PhaseTimer pageLoadTimer = metrics.start(teacherName, ReservationMetrics.Phase.PAGE_LOAD);
+            try {
+                waitForPageLoad(driver);
+            } finally {
+                pageLoadTimer.stop();
+            }
             
             // アクセス後のURLを確認
             String actualUrl = driver.getCurrentUrl();
-            logger.info("【URL確認】{} - アクセス後のURL: {}", teacherName, actualUrl);
+            logger.debug("【URL確認】{} - アクセス後のURL: {}", teacherName, actualUrl);
             if (actualUrl != null && (actualUrl.startsWith("data:") || actualUrl.isEmpty() || !actualUrl.startsWith("http"))) {
                 logger.error("【ERROR】{} - アクセス後に無効なURLが検出されました: {}", teacherName, actualUrl);
-                logger.error("【ERROR】processUrl - アクセス後に無効なURLが検出されました: {}", actualUrl);
-                return false;
+                return failWith(FailureType.NAVIGATION_TIMEOUT);
             }
             
             // ログインポップアップ処理
             logger.debug("【STEP】processUrl - ログインポップアップ処理を開始します");
-            if (!handleLoginPopup(driver)) {
-                logger.error("【ERROR】processUrl - ログイン処理に失敗しました");
-                return false;
+            boolean loggedIn;
+            ReservationMetrics.PhaseTimer loginTimer = metrics.start(teacherName, ReservationMetrics.Phase.LOGIN);
+            try {
+                loggedIn = handleLoginPopup(driver);
+            } finally {
+                loginTimer.stop();
+            }
+            if (!loggedIn) {
+                logger.error("【ERROR】{} - ログイン処理に失敗しました", teacherName);
+                return failWith(FailureType.LOGGED_OUT);
             }
             logger.debug("【STEP】processUrl - ログインポップアップ処理が完了しました");
             
             // URLに日付パラメータが含まれている場合、日付選択はスキップ可能
             // タイムスロットの表示を待機（共通メソッドを使用）
             logger.debug("URLに日付パラメータが含まれています。タイムスロットの表示を待機中...");
-            waitForTimeSlotButtons(driver);
+            ReservationMetrics.PhaseTimer slotWaitTimer = metrics.start(teacherName, ReservationMetrics.Phase.SLOT_WAIT);
+            try {
+                waitForTimeSlotButtons(driver);
+            } finally {
+                slotWaitTimer.stop();
+            }
             
-            // 選択された時間帯を順番に監視（日付は既に選択済み）
-            for (String timeSlot : timeSlots) {
+            // 選択された時間帯をすべて同時に監視し、希望順で最初に空いた時間帯から予約する（日付は既に選択済み）
+            // 予約に失敗した時間帯は除外し、残りの時間帯の監視を続ける
+            FailureType failure = FailureType.NO_SLOT;
+            List<String> remainingSlots = new ArrayList<>(timeSlots);
+            while (!remainingSlots.isEmpty()) {
                 // この日付の予約が既に成功している場合はスキップ（dateSuccessFlagとDateManagerの両方をチェック）
                 if ((dateSuccessFlag != null && dateSuccessFlag.get()) || 
                     (dateManager != null && dateManager.getCompletedReservations().contains(targetDate))) {
-                    logger.info("【SKIP】processUrl - 日付 {} の予約が既に成功しているため、時間帯 {} の監視をスキップします", targetDate, timeSlot);
+                    logger.info("【SKIP】processUrl - 日付 {} の予約が既に成功しているため、時間帯 {} の監視をスキップします", targetDate, remainingSlots);
                     break;
                 }
                 
-                logger.debug("【STEP】processUrl - 時間帯 {} を監視します（日付は既に選択済み）", timeSlot);
-                logger.info("【STEP】{} - 時間帯 {} の監視を開始します", teacherName, timeSlot);
-                // 元のURLを保持してmonitorTimeSlotに渡す
+                if (remainingSlots.size() < timeSlots.size()) {
+                    // 予約できなかった時間帯のフォームから、タイムスロットのページに戻る
+                    driver.get(urlWithDate);
+                }
+                logger.info("【STEP】{} - 時間帯 {} の監視を開始します", teacherName, remainingSlots);
+                // 元のURLを保持してmonitorTimeSlotsに渡す
                 String originalUrl = url;
-                if (monitorTimeSlot(driver, timeSlot, targetDate, dateSuccessFlag, originalUrl)) {
+                String timeSlot = monitorTimeSlots(driver, remainingSlots, targetDate, dateSuccessFlag, originalUrl);
+                if (timeSlot != null) {
+                    remainingSlots.remove(timeSlot);
                     logger.info("【SUCCESS】{} - 時間帯 {} のクリックに成功しました", teacherName, timeSlot);
-                    logger.info("【STEP】processUrl - 時間帯 {} のクリックに成功しました", timeSlot);
+                    monitorRegistry.setState(targetDate, url, MonitorRegistry.State.BOOKING);
                     
                     // この日付の予約が既に成功している場合はスキップ（dateSuccessFlagとDateManagerの両方をチェック）
                     if ((dateSuccessFlag != null && dateSuccessFlag.get()) || 
@@ -229,38 +360,124 @@ public class ReservationService {
                         break;
                     }
                     
-                    // 予約フォーム入力
-                    logger.info("【STEP】{} - 予約フォーム入力を開始します", teacherName);
-                    logger.info("【STEP】processUrl - 予約フォーム入力を開始します");
-                    if (!fillReservationForm(driver, config.getReservationName(), config.getReservationEmail())) {
-                        logger.error("【ERROR】{} - 予約フォーム入力に失敗しました。次の時間帯を試行します", teacherName);
-                        logger.error("【ERROR】processUrl - 予約フォーム入力に失敗しました。次の時間帯を試行します");
-                        continue; // 次の時間帯を試行
-                    }
-                    logger.info("【STEP】{} - 予約フォーム入力が完了しました", teacherName);
-                    logger.info("【STEP】processUrl - 予約フォーム入力が完了しました");
-                    
-                    // この日付の予約が既に成功している場合はスキップ（dateSuccessFlagとDateManagerの両方をチェック）
-                    if ((dateSuccessFlag != null && dateSuccessFlag.get()) || 
-                        (dateManager != null && dateManager.getCompletedReservations().contains(targetDate))) {
-                        logger.info("【SKIP】processUrl - 日付 {} の予約が既に成功しているため、予約確定をスキップします", targetDate);
+                    // 同じ日付で同時に進める予約処理の枠を確保（上限に達している場合は空くまで待つ）
+                    if (coordinator != null && !coordinator.beginAttempt(teacherName)) {
                         break;
                     }
-                    
-                    // 予約確定
-                    logger.info("【STEP】{} - 予約確定を開始します", teacherName);
-                    logger.info("【STEP】processUrl - 予約確定を開始します");
-                    if (!submitReservation(driver)) {
-                        logger.error("【ERROR】{} - 予約確定に失敗しました。次の時間帯を試行します", teacherName);
-                        logger.error("【ERROR】processUrl - 予約確定に失敗しました。次の時間帯を試行します");
-                        continue; // 次の時間帯を試行
+                    try {
+                        // ドライラン：フォームの検出と入力まで行い、予約確定はしない
+                        if (config.isDryRun()) {
+                            logger.info("【DRY-RUN】{} - 予約フォームの検出と入力まで実行します（予約確定はしません）", teacherName);
+                            boolean formFilled;
+                            ReservationMetrics.PhaseTimer formFillTimer = metrics.start(teacherName, ReservationMetrics.Phase.FORM_FILL);
+                            try {
+                                formFilled = fillReservationForm(driver, config.getReservationName(), config.getReservationEmail());
+                            } finally {
+                                formFillTimer.stop();
+                            }
+                            // 確定ボタンを含む項目の場所を学習し、本番の事前準備に使う
+                            boolean learned = formFilled && formStager.learn(driver, teacherName);
+                            metrics.recordDryRun(teacherName);
+                            logger.info("【DRY-RUN】{} - 予約確定の直前で停止しました: 時間帯={}, フォーム入力={}, 項目の学習={}", 
+                                teacherName, timeSlot, formFilled, learned);
+                            return failWith(FailureType.DRY_RUN);
+                        }
+                        
+                        // 予約フォームの場所を学習済みの場合は、1回のスクリプトで入力して即座に確定
+                        // 入力は同じ日付の他の予約処理と並行して行い、確定ボタンのクリックだけを1件ずつ行う
+                        if (config.isFormStagingEnabled() && formStager.getLocators(teacherName) != null) {
+                            logger.info("【STEP】{} - 事前準備したフォームで予約確定を開始します", teacherName);
+                            boolean staged;
+                            ReservationMetrics.PhaseTimer formFillTimer = metrics.start(teacherName, ReservationMetrics.Phase.FORM_FILL);
+                            try {
+                                staged = formStager.fill(driver, teacherName, config.getReservationName(), config.getReservationEmail());
+                            } finally {
+                                formFillTimer.stop();
+                            }
+                            if (staged) {
+                                ReservationMetrics.PhaseTimer submitTimer = metrics.start(teacherName, ReservationMetrics.Phase.SUBMIT);
+                                try {
+                                    BooleanSupplier stagedSubmit = () -> {
+                                        if (!formStager.submit(driver, teacherName)) {
+                                            return false;
+                                        }
+                                        waitForSubmitCompletion(driver);
+                                        return true;
+                                    };
+                                    staged = coordinator != null
+                                        ? coordinator.submit(teacherName, stagedSubmit)
+                                        : stagedSubmit.getAsBoolean();
+                                } finally {
+                                    submitTimer.stop();
+                                }
+                            }
+                            if (staged) {
+                                logger.info("【SUCCESS】{} - 予約が成功しました！時間帯: {}", teacherName, timeSlot);
+                                return true;
+                            }
+                            if (coordinator != null && coordinator.isCommitted()) {
+                                // 他の先生で予約が確定したため中止した
+                                break;
+                            }
+                            logger.warn("【WARN】{} - 事前準備したフォームで確定できなかったため、通常の入力に切り替えます", teacherName);
+                        }
+                        
+                        // 予約フォーム入力
+                        logger.info("【STEP】{} - 予約フォーム入力を開始します", teacherName);
+                        boolean formFilled;
+                        ReservationMetrics.PhaseTimer formFillTimer = metrics.start(teacherName, ReservationMetrics.Phase.FORM_FILL);
+                        try {
+                            formFilled = fillReservationForm(driver, config.getReservationName(), config.getReservationEmail());
+                        } finally {
+                            formFillTimer.stop();
+                        }
+                        if (!formFilled) {
+                            logger.error("【ERROR】{} - 予約フォーム入力に失敗しました。次の時間帯を試行します", teacherName);
+                            failure = FailureType.TRANSIENT_DOM;
+                            continue; // 次の時間帯を試行
+                        }
+                        logger.info("【STEP】{} - 予約フォーム入力が完了しました", teacherName);
+                        if (config.isFormStagingEnabled() && formStager.getLocators(teacherName) == null) {
+                            // 次回以降のために表示中のフォームから項目の場所を学習
+                            formStager.learn(driver, teacherName);
+                        }
+                        
+                        // この日付の予約が既に成功している場合はスキップ（dateSuccessFlagとDateManagerの両方をチェック）
+                        if ((dateSuccessFlag != null && dateSuccessFlag.get()) || 
+                            (dateManager != null && dateManager.getCompletedReservations().contains(targetDate))) {
+                            logger.info("【SKIP】processUrl - 日付 {} の予約が既に成功しているため、予約確定をスキップします", targetDate);
+                            break;
+                        }
+                        
+                        // 予約確定
+                        logger.info("【STEP】{} - 予約確定を開始します", teacherName);
+                        boolean submitted;
+                        ReservationMetrics.PhaseTimer submitTimer = metrics.start(teacherName, ReservationMetrics.Phase.SUBMIT);
+                        try {
+                            submitted = coordinator != null
+                                ? coordinator.submit(teacherName, () -> submitReservation(driver))
+                                : submitReservation(driver);
+                        } finally {
+                            submitTimer.stop();
+                        }
+                        if (!submitted) {
+                            if (coordinator != null && coordinator.isCommitted()) {
+                                // 他の先生で予約が確定したため中止した
+                                break;
+                            }
+                            logger.error("【ERROR】{} - 予約確定に失敗しました。次の時間帯を試行します", teacherName);
+                            failure = FailureType.NAVIGATION_TIMEOUT;
+                            continue; // 次の時間帯を試行
+                        }
+                        logger.info("【STEP】{} - 予約確定が完了しました", teacherName);
+                        
+                        logger.info("【SUCCESS】{} - 予約が成功しました！時間帯: {}", teacherName, timeSlot);
+                        return true;
+                    } finally {
+                        if (coordinator != null) {
+                            coordinator.endAttempt();
+                        }
                     }
-                    logger.info("【STEP】{} - 予約確定が完了しました", teacherName);
-                    logger.info("【STEP】processUrl - 予約確定が完了しました");
-                    
-                    logger.info("【SUCCESS】{} - 予約が成功しました！時間帯: {}", teacherName, timeSlot);
-                    logger.info("【SUCCESS】processUrl - 予約が成功しました！時間帯: {}", timeSlot);
-                    return true;
                 } else {
                     // この日付の予約が既に成功している場合はスキップ（dateSuccessFlagとDateManagerの両方をチェック）
                     if ((dateSuccessFlag != null && dateSuccessFlag.get()) || 
@@ -268,53 +485,51 @@ public class ReservationService {
                         logger.info("【SKIP】processUrl - 日付 {} の予約が既に成功しているため、次の時間帯の監視をスキップします", targetDate);
                         break;
                     }
-                    logger.warn("【WARN】{} - 時間帯 {} の監視に失敗しました。次の時間帯を試行します", teacherName, timeSlot);
-                    logger.warn("【WARN】processUrl - 時間帯 {} の監視に失敗しました。次の時間帯を試行します", timeSlot);
+                    logger.warn("【WARN】{} - 時間帯 {} の監視に失敗しました", teacherName, remainingSlots);
+                    break;
                 }
             }
             
             logger.warn("【失敗】{} - すべての時間帯の監視に失敗しました", teacherName);
-            logger.warn("すべての時間帯の監視に失敗しました");
-            return false;
+            return failWith(failure);
             
         } catch (UnreachableBrowserException e) {
             // ブラウザが予期せず終了した場合（リトライ可能）
-            logger.warn("【WARN】{} - ブラウザとの通信が切断されました（リトライ可能）", teacherName);
-            logger.warn("【WARN】processUrl - ブラウザとの通信が切断されました（リトライ可能）");
-            logger.warn("【WARN】processUrl - URL: {}, 対象日付: {}, 時間帯: {}", url, targetDate, timeSlots);
-            if (e.getCause() instanceof InterruptedException) {
-                logger.warn("【WARN】processUrl - 原因: 処理が中断されました（リトライ可能）");
+            boolean interrupted = e.getCause() instanceof InterruptedException;
+            logger.warn("【WARN】{} - ブラウザとの通信が切断されました（リトライ可能）: 対象日付={}, 時間帯={}{}",
+                teacherName, targetDate, timeSlots, interrupted ? ", 原因: 処理が中断されました" : "");
+            if (interrupted) {
                 Thread.currentThread().interrupt();
             }
-            return false;
+            return failWith(FailureType.BROWSER_CRASH);
         } catch (Exception e) {
             // InterruptedExceptionが原因の場合は警告レベル
             if (e.getCause() instanceof InterruptedException || e instanceof InterruptedException) {
-                logger.warn("【WARN】{} - URL処理が中断されました（リトライ可能）", teacherName);
-                logger.warn("【WARN】processUrl - URL処理が中断されました（リトライ可能）");
-                logger.warn("【WARN】processUrl - URL: {}, 対象日付: {}, 時間帯: {}", url, targetDate, timeSlots);
+                logger.warn("【WARN】{} - URL処理が中断されました（リトライ可能）: 対象日付={}, 時間帯={}", teacherName, targetDate, timeSlots);
                 Thread.currentThread().interrupt();
             } else {
-                logger.error("【ERROR】{} - URL処理中にエラーが発生しました: {}", teacherName, e.getMessage());
-                logger.error("【ERROR】processUrl - URL処理中にエラーが発生しました", e);
-                logger.error("【ERROR】processUrl - URL: {}, 対象日付: {}, 時間帯: {}", url, targetDate, timeSlots);
-                logger.error("【ERROR】processUrl - エラーメッセージ: {}", e.getMessage());
-                logger.error("【ERROR】processUrl - エラークラス: {}", e.getClass().getName());
-                if (e.getCause() != null) {
-                    logger.error("【ERROR】processUrl - 原因: {}", e.getCause().getMessage());
-                }
+                // エラークラス・原因はスタックトレースに含まれる
+                logger.error("【ERROR】{} - URL処理中にエラーが発生しました: 対象日付={}, 時間帯={}", teacherName, targetDate, timeSlots, e);
             }
-            return false;
+            return failWith(FailureType.classify(e));
         }
     }
     
+    /**
+     * 失敗分類を記録してfalseを返す
+     */
+    private boolean failWith(FailureType type) {
+        lastFailureType.set(type);
+        return false;
+    }
+    
     /**
      * URLに日付パラメータを追加
      * @param url 元のURL
      * @param targetDate 対象日付
      * @return 日付パラメータが追加されたURL
      */
-    private String addDateParameterToUrl(String url, LocalDate targetDate) {
+    String addDateParameterToUrl(String url, LocalDate targetDate) {
         if (url == null || targetDate == null) {
             return url;
         }
@@ -371,7 +586,7 @@ public class ReservationService {
      * @param timeSlot 時間帯文字列
      * @return 正規化された時間帯
      */
-    private String normalizeTimeSlot(String timeSlot) {
+    String normalizeTimeSlot(String timeSlot) {
         if (timeSlot == null || timeSlot.isEmpty()) {
             return timeSlot;
         }
@@ -398,8 +613,8 @@ public class ReservationService {
      * @return 処理が成功した場合true（ポップアップが存在しない場合もtrue）
      */
     public boolean handleLoginPopup(WebDriver driver) {
-        logger.info("【STEP】handleLoginPopup - ログインポップアップの存在を確認しています...");
-        logger.info("【STEP】handleLoginPopup - 現在のURL: {}", driver.getCurrentUrl());
+        logger.debug("【STEP】handleLoginPopup - ログインポップアップの存在を確認しています...");
+        logger.debug("【STEP】handleLoginPopup - 現在のURL: {}", driver.getCurrentUrl());
         
         try {
             WebDriverWait wait = createWebDriverWait(driver);
@@ -441,7 +656,7 @@ public class ReservationService {
                     usernameField = wait.until(
                         ExpectedConditions.presenceOfElementLocated(By.cssSelector(selector)));
                     if (usernameField != null && usernameField.isDisplayed()) {
-                        logger.info("【STEP】handleLoginPopup - ユーザー名フィールドを見つけました: {}", selector);
+                        logger.debug("【STEP】handleLoginPopup - ユーザー名フィールドを見つけました: {}", selector);
                         break;
                     }
                 } catch (TimeoutException | NoSuchElementException e) {
@@ -459,7 +674,7 @@ public class ReservationService {
                         passwordField = wait.until(
                             ExpectedConditions.presenceOfElementLocated(By.cssSelector(selector)));
                         if (passwordField != null && passwordField.isDisplayed()) {
-                            logger.info("【STEP】handleLoginPopup - パスワードフィールドを見つけました: {}", selector);
+                            logger.debug("【STEP】handleLoginPopup - パスワードフィールドを見つけました: {}", selector);
                             break;
                         }
                     } catch (TimeoutException | NoSuchElementException e) {
@@ -486,7 +701,7 @@ public class ReservationService {
                                 ExpectedConditions.elementToBeClickable(By.cssSelector(selector)));
                         }
                         if (submitButton != null && submitButton.isDisplayed()) {
-                            logger.info("【STEP】handleLoginPopup - 送信ボタンを見つけました: {}", selector);
+                            logger.debug("【STEP】handleLoginPopup - 送信ボタンを見つけました: {}", selector);
                             break;
                         }
                     } catch (TimeoutException | NoSuchElementException e) {
@@ -503,11 +718,11 @@ public class ReservationService {
                 try {
                     usernameField.clear();
                     usernameField.sendKeys(config.getUsername());
-                    logger.info("【STEP】handleLoginPopup - ユーザー名を入力しました");
+                    logger.debug("【STEP】handleLoginPopup - ユーザー名を入力しました");
                     
                     passwordField.clear();
                     passwordField.sendKeys(config.getPassword());
-                    logger.info("【STEP】handleLoginPopup - パスワードを入力しました");
+                    logger.debug("【STEP】handleLoginPopup - パスワードを入力しました");
                     
                     submitButton.click();
                     logger.debug("【STEP】handleLoginPopup - ログインボタンをクリックしました");
@@ -532,7 +747,7 @@ public class ReservationService {
                 }
             } else {
                 // ポップアップが存在しない場合は正常
-                logger.info("【INFO】handleLoginPopup - ログインポップアップは存在しません。次の処理に進みます");
+                logger.debug("【INFO】handleLoginPopup - ログインポップアップは存在しません。次の処理に進みます");
                 logger.debug("【DEBUG】handleLoginPopup - 検索結果: usernameField={}, passwordField={}, submitButton={}", 
                     usernameField != null, passwordField != null, submitButton != null);
                 return true;
@@ -540,12 +755,12 @@ public class ReservationService {
             
         } catch (TimeoutException e) {
             // ポップアップが存在しない場合は正常
-            logger.info("【INFO】handleLoginPopup - ログインポップアップは存在しません（タイムアウト）。次の処理に進みます");
+            logger.debug("【INFO】handleLoginPopup - ログインポップアップは存在しません（タイムアウト）。次の処理に進みます");
             logger.debug("【DEBUG】handleLoginPopup - タイムアウト: {}", e.getMessage());
             return true;
         } catch (NoSuchElementException e) {
             // 要素が見つからない場合は正常（ポップアップが存在しない）
-            logger.info("【INFO】handleLoginPopup - ログインポップアップは存在しません（要素未検出）。次の処理に進みます");
+            logger.debug("【INFO】handleLoginPopup - ログインポップアップは存在しません（要素未検出）。次の処理に進みます");
             logger.debug("【DEBUG】handleLoginPopup - NoSuchElementException: {}", e.getMessage());
             return true;
         } catch (Exception e) {
@@ -567,6 +782,17 @@ public class ReservationService {
      * @return 選択が成功した場合true
      */
     public boolean selectDate(WebDriver driver, LocalDate targetDate) {
+        return selectDate(driver, targetDate, Duration.ofSeconds(config.getTimeoutSeconds()));
+    }
+    
+    /**
+     * カレンダーから日付を選択（日付要素の待機時間指定版）
+     * @param driver WebDriver
+     * @param targetDate 選択する日付
+     * @param waitTimeout セレクタごとの日付要素の待機時間
+     * @return 選択が成功した場合true
+     */
+    private boolean selectDate(WebDriver driver, LocalDate targetDate, Duration waitTimeout) {
         logger.info("日付を選択します: {}", targetDate);
         
         try {
@@ -578,7 +804,7 @@ public class ReservationService {
                 String.valueOf(targetDate.getDayOfMonth())
             };
             
-            WebDriverWait wait = createWebDriverWait(driver, config.getTimeoutSeconds());
+            WebDriverWait wait = createWebDriverWait(driver, waitTimeout);
             
             // カレンダー要素を探す（複数のセレクタを試行）
             WebElement dateElement = null;
@@ -641,7 +867,7 @@ public class ReservationService {
                 // JavaScriptクリックが失敗した場合は通常のクリックを試行
                 logger.debug("JavaScriptクリックに失敗、通常のクリックを試行: {}", jsEx.getMessage());
                 dateElement.click();
-                logger.info("日付をクリックしました（通常）: {}", targetDate);
+                logger.debug("日付をクリックしました（通常）: {}", targetDate);
             }
             
             // タイムスロット一覧が表示されるまで待機
@@ -670,131 +896,221 @@ public class ReservationService {
     /**
      * 利用可能なタイムスロットを取得
      * @param driver WebDriver
-     * @return 利用可能なタイムスロットのリスト
+     * @return 利用可能なタイムスロットのリスト（取得に失敗した場合は空）
      */
     public List<String> getAvailableTimeSlots(WebDriver driver) {
+        try {
+            return scanAvailableTimeSlots(driver);
+        } catch (Exception e) {
+            logger.error("【ERROR】getAvailableTimeSlots - タイムスロット取得中にエラーが発生しました", e);
+            String causeMsg = e.getCause() != null ? String.format(ERROR_CAUSE_FORMAT, e.getCause().getMessage()) : null;
+            logErrorWithUrlAndTitle("getAvailableTimeSlots", driver, 
+                String.format(ERROR_MESSAGE_FORMAT, e.getMessage(), e.getClass().getName(), 
+                    causeMsg != null ? ", " + causeMsg : ""));
+            return new ArrayList<>();
+        }
+    }
+    
+    /**
+     * 利用可能なタイムスロットを取得（取得に失敗した場合は例外を投げる）
+     * 空き状況の共有ボードに公開する場合はこちらを使い、読めなかったページを「すべて埋まっている」として公開しない。
+     * @param driver WebDriver
+     * @return 利用可能なタイムスロットのリスト
+     * @throws RuntimeException ページからタイムスロットを読めなかった場合
+     */
+    public List<String> scanAvailableTimeSlots(WebDriver driver) {
+        return scanAvailableTimeSlots(driver, true);
+    }
+    
+    /**
+     * 利用可能なタイムスロットを取得（取得に失敗した場合は例外を投げる）
+     * @param driver WebDriver
+     * @param logSlots 取得したタイムスロットをINFOで記録するか（監視の周期ごとに呼ぶ場合はfalse）
+     * @return 利用可能なタイムスロットのリスト
+     */
+    private List<String> scanAvailableTimeSlots(WebDriver driver, boolean logSlots) {
         List<String> availableSlots = new ArrayList<>();
-        logger.info("利用可能なタイムスロットを取得します");
+        if (logSlots) {
+            logger.info("利用可能なタイムスロットを取得します");
+        }
         
-        try {
-            // タイムスロット要素を探す（複数のセレクタを試行）
-            String[] selectors = {
-                // Material-UI (MUI) ボタン対応
-                "//button[contains(@class, 'MuiButton')]//div[contains(text(), ':')]",
-                "//button[contains(@class, 'MuiButtonBase')]//div[contains(text(), ':')]",
-                "//button[.//div[contains(text(), ':')]]",
-                // 通常のボタン
-                "//button[contains(@class, 'time') or contains(@class, 'slot')]",
-                "//a[contains(@class, 'time') or contains(@class, 'slot')]",
-                "//div[contains(@class, 'time') or contains(@class, 'slot')]",
-                "//span[contains(@class, 'time') or contains(@class, 'slot')]",
-                "//button[contains(text(), ':')]",
-                "//a[contains(text(), ':')]",
-                "//div[contains(text(), ':')]",
-                "//span[contains(text(), ':')]",
-                "//*[contains(@class, 'time-slot')]",
-                "//*[contains(@class, 'timeslot')]",
-                "//*[contains(@class, 'timeSlot')]"
-            };
-            
-            Set<String> foundSlots = new HashSet<>();
-            
-                    for (String selector : selectors) {
-                try {
-                    List<WebElement> elements = driver.findElements(By.xpath(selector));
-                    for (WebElement element : elements) {
-                        try {
-                            // MUIボタンの場合、親要素（button）を取得
-                            WebElement buttonElement = element;
-                            if (selector.contains("//div[contains(text(), ':')]")) {
-                                // div要素の場合は親のbutton要素を取得
-                                try {
-                                    buttonElement = element.findElement(By.xpath("./ancestor::button[1]"));
-                                } catch (Exception e) {
-                                    // 親要素が見つからない場合はdiv要素自体を使用
-                                    buttonElement = element;
-                                }
+        // タイムスロット要素を探す（複数のセレクタを試行）
+        String[] selectors = {
+            // Material-UI (MUI) ボタン対応
+            "//button[contains(@class, 'MuiButton')]//div[contains(text(), ':')]",
+            "//button[contains(@class, 'MuiButtonBase')]//div[contains(text(), ':')]",
+            "//button[.//div[contains(text(), ':')]]",
+            // 通常のボタン
+            "//button[contains(@class, 'time') or contains(@class, 'slot')]",
+            "//a[contains(@class, 'time') or contains(@class, 'slot')]",
+            "//div[contains(@class, 'time') or contains(@class, 'slot')]",
+            "//span[contains(@class, 'time') or contains(@class, 'slot')]",
+            "//button[contains(text(), ':')]",
+            "//a[contains(text(), ':')]",
+            "//div[contains(text(), ':')]",
+            "//span[contains(text(), ':')]",
+            "//*[contains(@class, 'time-slot')]",
+            "//*[contains(@class, 'timeslot')]",
+            "//*[contains(@class, 'timeSlot')]"
+        };
+        
+        Set<String> foundSlots = new HashSet<>();
+        RuntimeException lastFailure = null;
+        boolean anySelectorSucceeded = false;
+        
+        for (String selector : selectors) {
+            try {
+                List<WebElement> elements = driver.findElements(By.xpath(selector));
+                anySelectorSucceeded = true;
+                for (WebElement element : elements) {
+                    try {
+                        // MUIボタンの場合、親要素（button）を取得
+                        WebElement buttonElement = element;
+                        if (selector.contains("//div[contains(text(), ':')]")) {
+                            // div要素の場合は親のbutton要素を取得
+                            try {
+                                buttonElement = element.findElement(By.xpath("./ancestor::button[1]"));
+                            } catch (Exception e) {
+                                // 親要素が見つからない場合はdiv要素自体を使用
+                                buttonElement = element;
                             }
-                            
-                            String text = element.getText().trim();
-                            // 時間形式（HH:MM）を抽出
-                            if (text.matches(".*\\d{1,2}:\\d{2}.*")) {
-                                // 時間部分を抽出
-                                java.util.regex.Pattern pattern = java.util.regex.Pattern.compile("(\\d{1,2}:\\d{2})");
-                                java.util.regex.Matcher matcher = pattern.matcher(text);
-                                if (matcher.find()) {
-                                    String timeSlot = matcher.group(1);
-                                    
-                                    // ボタンが有効か確認（非表示でも有効な場合がある）
-                                    boolean isEnabled = buttonElement.isEnabled();
-                                    String disabled = buttonElement.getAttribute(ATTR_DISABLED);
-                                    String style = buttonElement.getAttribute("style");
-                                    String className = buttonElement.getAttribute(ATTR_CLASS);
-                                    
-                                    // MUIボタンの場合、disabledクラスやaria-disabled属性も確認
-                                    boolean isMuiDisabled = className != null && 
-                                                          (className.contains(CLASS_MUI_DISABLED) || 
-                                                           className.contains(ATTR_DISABLED));
-                                    String ariaDisabled = buttonElement.getAttribute(ATTR_ARIA_DISABLED);
-                                    
-                                    // 非表示でも予約可能な場合があるため、disabled属性とクラス名で判断
-                                    boolean isAvailable = isEnabled && 
-                                                         !"true".equals(disabled) &&
-                                                         !ATTR_DISABLED.equals(disabled) &&
-                                                         !isMuiDisabled &&
-                                                         !"true".equals(ariaDisabled) &&
-                                                         (style == null || !style.contains("display: none")) &&
-                                                         buttonElement.isDisplayed();
-                                    
-                                    if (isAvailable || foundSlots.isEmpty()) {
-                                        // 最初の検索時はすべて追加、その後は有効なもののみ
-                                        foundSlots.add(timeSlot);
-                                        if (isAvailable) {
-                                            availableSlots.add(timeSlot);
-                                        }
+                        }
+                        
+                        String text = element.getText().trim();
+                        // 時間形式（HH:MM）を抽出
+                        if (text.matches(".*\\d{1,2}:\\d{2}.*")) {
+                            // 時間部分を抽出
+                            java.util.regex.Pattern pattern = java.util.regex.Pattern.compile("(\\d{1,2}:\\d{2})");
+                            java.util.regex.Matcher matcher = pattern.matcher(text);
+                            if (matcher.find()) {
+                                String timeSlot = matcher.group(1);
+                                
+                                // ボタンが有効か確認（非表示でも有効な場合がある）
+                                boolean isEnabled = buttonElement.isEnabled();
+                                String disabled = buttonElement.getAttribute(ATTR_DISABLED);
+                                String style = buttonElement.getAttribute("style");
+                                String className = buttonElement.getAttribute(ATTR_CLASS);
+                                
+                                // MUIボタンの場合、disabledクラスやaria-disabled属性も確認
+                                boolean isMuiDisabled = className != null && 
+                                                      (className.contains(CLASS_MUI_DISABLED) || 
+                                                       className.contains(ATTR_DISABLED));
+                                String ariaDisabled = buttonElement.getAttribute(ATTR_ARIA_DISABLED);
+                                
+                                // 非表示でも予約可能な場合があるため、disabled属性とクラス名で判断
+                                boolean isAvailable = isEnabled && 
+                                                     !"true".equals(disabled) &&
+                                                     !ATTR_DISABLED.equals(disabled) &&
+                                                     !isMuiDisabled &&
+                                                     !"true".equals(ariaDisabled) &&
+                                                     (style == null || !style.contains("display: none")) &&
+                                                     buttonElement.isDisplayed();
+                                
+                                if (isAvailable || foundSlots.isEmpty()) {
+                                    // 最初の検索時はすべて追加、その後は有効なもののみ
+                                    foundSlots.add(timeSlot);
+                                    if (isAvailable) {
+                                        availableSlots.add(timeSlot);
                                     }
                                 }
                             }
-                        } catch (Exception e) {
-                            // 個別の要素の処理でエラーが発生しても続行
-                            continue;
                         }
+                    } catch (Exception e) {
+                        // 個別の要素の処理でエラーが発生しても続行
+                        continue;
                     }
-                } catch (Exception e) {
-                    // 次のセレクタを試行
-                    continue;
                 }
+            } catch (RuntimeException e) {
+                // 次のセレクタを試行
+                lastFailure = e;
             }
-            
-            // 見つかったすべてのスロットをソート
-            availableSlots.sort(String::compareTo);
-            
-            logger.info("利用可能なタイムスロット数: {}", availableSlots.size());
-            for (String slot : availableSlots) {
-                logger.info("  - {}", slot);
-            }
-            
-            // 非表示だが存在するスロットもログに記録
-            if (!foundSlots.isEmpty() && foundSlots.size() > availableSlots.size()) {
-                logger.info("非表示だが存在するタイムスロット:");
-                for (String slot : foundSlots) {
-                    if (!availableSlots.contains(slot)) {
-                        logger.info("  - {} (非表示)", slot);
-                    }
+        }
+        // すべてのセレクタで失敗した場合は、空きがないのではなくページを読めなかったものとして扱う
+        if (!anySelectorSucceeded && lastFailure != null) {
+            throw lastFailure;
+        }
+        
+        // 見つかったすべてのスロットをソート
+        availableSlots.sort(String::compareTo);
+        
+        if (!logSlots) {
+            logger.debug("利用可能なタイムスロット: {}", availableSlots);
+            return availableSlots;
+        }
+        
+        logger.info("利用可能なタイムスロット数: {}", availableSlots.size());
+        for (String slot : availableSlots) {
+            logger.info("  - {}", slot);
+        }
+        
+        // 非表示だが存在するスロットもログに記録
+        if (!foundSlots.isEmpty() && foundSlots.size() > availableSlots.size()) {
+            logger.info("非表示だが存在するタイムスロット:");
+            for (String slot : foundSlots) {
+                if (!availableSlots.contains(slot)) {
+                    logger.info("  - {} (非表示)", slot);
                 }
             }
-            
-        } catch (Exception e) {
-            logger.error("【ERROR】getAvailableTimeSlots - タイムスロット取得中にエラーが発生しました", e);
-            String causeMsg = e.getCause() != null ? String.format(ERROR_CAUSE_FORMAT, e.getCause().getMessage()) : null;
-            logErrorWithUrlAndTitle("getAvailableTimeSlots", driver, 
-                String.format(ERROR_MESSAGE_FORMAT, e.getMessage(), e.getClass().getName(), 
-                    causeMsg != null ? ", " + causeMsg : ""));
         }
         
         return availableSlots;
     }
     
+    /**
+     * 1つの先生ページで複数の日付の空いているタイムスロットを取得（日付はページ内のカレンダーで切り替える）
+     * カレンダーに表示されていない日付（別の月など）は、日付パラメータ付きのURLで切り替える。
+     * @param driver WebDriver
+     * @param url 先生のURL
+     * @param dates 対象日付
+     * @param reload trueの場合はページを読み込み直してから取得する
+     * @return 日付ごとの空いているタイムスロット（ログインできなかった場合は空）
+     * @throws RuntimeException ページからタイムスロットを読めなかった場合（空きなしとして公開しないため）
+     */
+    public Map<LocalDate, List<String>> scanCalendar(WebDriver driver, String url, List<LocalDate> dates, boolean reload) {
+        String teacherName = extractTeacherNameFromUrl(url);
+        Map<LocalDate, List<String>> slotsByDate = new LinkedHashMap<>();
+        if (dates == null || dates.isEmpty()) {
+            return slotsByDate;
+        }
+        
+        String currentUrl = driver.getCurrentUrl();
+        if (reload || currentUrl == null || !currentUrl.startsWith(url)) {
+            ReservationMetrics.PhaseTimer navigateTimer = metrics.start(teacherName, ReservationMetrics.Phase.NAVIGATE);
+            try {
+                driver.get(addDateParameterToUrl(url, dates.get(0)));
+            } finally {
+                navigateTimer.stop();
+            }
+            ReservationMetrics.PhaseTimer pageLoadTimer = metrics.start(teacherName, ReservationMetrics.Phase.PAGE_LOAD);
+            try {
+                waitForPageLoad(driver);
+            } finally {
+                pageLoadTimer.stop();
+            }
+            if (!handleLoginPopup(driver)) {
+                logger.warn("【WARN】scanCalendar - {} のログインに失敗したため、スキャンをスキップします", teacherName);
+                return slotsByDate;
+            }
+            waitForTimeSlotButtons(driver);
+        }
+        
+        for (LocalDate date : dates) {
+            if (!selectDate(driver, date, CALENDAR_SELECT_TIMEOUT)) {
+                logger.debug("カレンダーで日付 {} を選択できないため、URLで切り替えます", date);
+                driver.get(addDateParameterToUrl(url, date));
+                waitForPageLoad(driver);
+                waitForTimeSlotButtons(driver);
+            }
+            ReservationMetrics.PhaseTimer scanTimer = metrics.start(teacherName, ReservationMetrics.Phase.SLOT_SCAN);
+            try {
+                slotsByDate.put(date, scanAvailableTimeSlots(driver));
+            } finally {
+                scanTimer.stop();
+            }
+        }
+        return slotsByDate;
+    }
+    
     /**
      * タイムスロットを監視してクリック
      * @param driver WebDriver
@@ -825,45 +1141,65 @@ public class ReservationService {
      * @return クリックが成功した場合true
      */
     public boolean monitorTimeSlot(WebDriver driver, String timeSlot, LocalDate targetDate, AtomicBoolean dateSuccessFlag) {
-        return monitorTimeSlot(driver, timeSlot, targetDate, dateSuccessFlag, null);
+        return monitorTimeSlots(driver, List.of(timeSlot), targetDate, dateSuccessFlag, null) != null;
     }
     
     /**
-     * タイムスロットを監視してクリック（日付指定版、日付成功フラグ付き、元のURL指定版）
+     * 複数のタイムスロットを同時に監視し、希望順で最初に有効になったものをクリック（日付指定版、日付成功フラグ付き、元のURL指定版）
+     * 毎周期、同じページの状態ですべてのタイムスロットを確認するため、時間帯の数が増えてもページの読み込み回数は増えない。
+     * ページから読んだ空きは共有ボードに公開し、得られた状態遷移（空いた時間帯）をもとにクリックする。
      * @param driver WebDriver
-     * @param timeSlot 対象のタイムスロット（例: "20:25"）
+     * @param timeSlots 対象のタイムスロット（希望順、例: ["20:25", "21:00"]）
      * @param targetDate 対象日付（リフレッシュ後に再選択するため）
      * @param dateSuccessFlag 日付の成功フラグ（その日の予約が成功したらtrueになる。nullの場合はチェックしない）
      * @param originalUrl 元のURL（リフレッシュ時に使用）
-     * @return クリックが成功した場合true
+     * @return クリックしたタイムスロット（タイムアウトした場合などはnull）
      */
-    private boolean monitorTimeSlot(WebDriver driver, String timeSlot, LocalDate targetDate, AtomicBoolean dateSuccessFlag, String originalUrl) {
-        logger.debug("タイムスロットを監視します: {} (日付: {})", timeSlot, targetDate);
+    private String monitorTimeSlots(WebDriver driver, List<String> timeSlots, LocalDate targetDate, AtomicBoolean dateSuccessFlag, String originalUrl) {
+        logger.debug("タイムスロットを監視します: {} (日付: {})", timeSlots, targetDate);
         logger.debug("予約が解放されたら即座に予約を実行します");
         
-        final boolean[] success = {false};
-        final String[] previousPageHash = {null}; // 前回のページハッシュを保持
-        final boolean[] wasDisabled = {true}; // 前回のボタン状態（無効だったか）
+        final String[] clickedSlot = {null}; // クリックしたタイムスロット
+        // クリックできずに空いたままの時間帯（次の周期で再試行する。最初にページを読むまではnull）
+        final TimeSlotSet[] pendingSlots = {null};
+        final long[] lastPublishedAt = {0L}; // ページから読んだ空きを共有ボードに最後に公開した時刻
         final String[] baseUrl = {originalUrl}; // 元のURLを保持
+        final String teacherName = extractTeacherNameFromUrl(originalUrl);
+        final int[] skippedReloads = {0}; // 通信内容やカレンダーのスキャン結果で再読み込みを省略した周期数
+        final long[] lastPolledAt = {0L}; // 監視計画に従って最後にページを確認した時刻
+        final TimeSlotSet wantedSlots = TimeSlotSet.of(timeSlots); // 周期ごとに時間帯を解析し直さないよう事前に変換
+        final List<SlotLocator> slotLocators = buildSlotLocators(timeSlots); // ボタンを探すXPathも周期ごとに組み立て直さない
+        // これより古いカレンダーのスキャン結果は使わない
+        final long calendarScanMaxAgeMs = Math.max(config.getMonitoringIntervalSeconds() * 2L, config.getTimeoutSeconds()) * 1000L;
+        final AvailabilityInterceptor interceptor = monitoringMode == MonitoringMode.NETWORK && targetDate != null
+            ? AvailabilityInterceptor.attach(driver, config.getNetworkAvailabilityUrlPattern(), teacherName)
+            : null;
         ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
+        // 監視スレッドのMDC（監視対象）をスケジューラースレッドに引き継ぐ
+        final Map<String, String> mdcContext = MDC.getCopyOfContextMap();
         
         try {
             // 監視間隔を設定（設定値を使用、ただし最小1秒）
             int monitoringInterval = Math.max(MIN_MONITORING_INTERVAL_SECONDS, config.getMonitoringIntervalSeconds());
             logger.debug("監視間隔: {}秒", monitoringInterval);
+            monitorRegistry.setState(targetDate, originalUrl, MonitorRegistry.State.POLLING);
             
             scheduler.scheduleAtFixedRate(() -> {
+                if (mdcContext != null) {
+                    MDC.setContextMap(mdcContext);
+                }
                 try {
                     // この日付の予約が既に成功している場合は監視を停止（dateSuccessFlagとDateManagerの両方をチェック）
                     if ((dateSuccessFlag != null && dateSuccessFlag.get()) || 
                         (dateManager != null && dateManager.getCompletedReservations().contains(targetDate))) {
-                        logger.info("【STOP】monitorTimeSlot - 日付 {} の予約が既に成功しているため、監視を停止します: 時間帯={}", targetDate, timeSlot);
+                        logger.info("【STOP】monitorTimeSlot - 日付 {} の予約が既に成功しているため、監視を停止します: 時間帯={}", targetDate, timeSlots);
                         scheduler.shutdown();
                         return;
                     }
                     
                     // 監視時間内かどうかをチェック（日本時間）
                     if (!config.isWithinMonitoringHours()) {
+                        monitorRegistry.setState(targetDate, originalUrl, MonitorRegistry.State.OUTSIDE_HOURS);
                         long secondsUntilStart = config.getSecondsUntilMonitoringStart();
                         if (secondsUntilStart > 0) {
                             logger.info("監視時間外です（日本時間 {}時〜{}時）。{}秒後に監視を再開します", 
@@ -874,19 +1210,59 @@ public class ReservationService {
                         }
                         return; // 監視時間外の場合は処理をスキップ
                     }
+                    monitorRegistry.setState(targetDate, originalUrl, MonitorRegistry.State.POLLING);
                     
-                    // ページソースのハッシュを取得して更新を検知
-                    String currentPageSource = driver.getPageSource();
-                    String currentHash = String.valueOf(currentPageSource.hashCode());
+                    // 通信内容やカレンダーのスキャンで空きを検知した周期か
+                    boolean openingDetected = false;
                     
-                    // 前回のハッシュと比較
-                    boolean pageUpdated = previousPageHash[0] == null || 
-                                        !previousPageHash[0].equals(currentHash);
+                    // 通信内容から空きがないことが分かっている間は、再読み込みの代わりに空き状況だけを再取得する
+                    if (interceptor != null) {
+                        AvailabilityInterceptor.Availability availability;
+                        ReservationMetrics.PhaseTimer scanTimer = metrics.start(teacherName, ReservationMetrics.Phase.SLOT_SCAN);
+                        try {
+                            availability = interceptor.check(targetDate, wantedSlots);
+                        } finally {
+                            scanTimer.stop();
+                        }
+                        if (availability == AvailabilityInterceptor.Availability.AVAILABLE) {
+                            logger.info("【予約解放検知】通信内容からタイムスロット {} のいずれかの空きを検知しました。ページを再読み込みしてクリックします", timeSlots);
+                            skippedReloads[0] = 0;
+                            openingDetected = true;
+                        } else if (availability == AvailabilityInterceptor.Availability.UNAVAILABLE
+                            && ++skippedReloads[0] % DOM_VERIFY_TICKS != 0
+                            && interceptor.refetch(driver)) {
+                            logger.debug("通信内容ではタイムスロット {} に空きがありません。空き状況を再取得します", timeSlots);
+                            // 空き状況を再取得した周期は、ページを確認した周期として数える
+                            monitorRegistry.recordPoll(targetDate, originalUrl);
+                            monitorRegistry.recordScanSuccess(targetDate, originalUrl);
+                            return;
+                        }
+                    }
                     
-                        if (pageUpdated && previousPageHash[0] != null) {
-                        logger.debug("ページが更新されました（ハッシュ変更を検知）");
+                    // カレンダーの一括スキャンで空きがないことが分かっている間は、ページの再読み込みを省略する（通信内容の監視が優先）
+                    // この監視自身が公開した結果は使わない（使うと自分の結果で再読み込みを省略し続けてしまう）
+                    Boolean scannedOpening = interceptor == null
+                        ? availabilityBoard.hasOpening(originalUrl, targetDate, wantedSlots, calendarScanMaxAgeMs, lastPublishedAt[0])
+                        : null;
+                    if (Boolean.TRUE.equals(scannedOpening)) {
+                        logger.info("【予約解放検知】カレンダーのスキャンでタイムスロット {} のいずれかの空きを検知しました。ページを再読み込みしてクリックします", timeSlots);
+                        skippedReloads[0] = 0;
+                        openingDetected = true;
+                    } else if (Boolean.FALSE.equals(scannedOpening) && ++skippedReloads[0] % DOM_VERIFY_TICKS != 0) {
+                        logger.debug("カレンダーのスキャンではタイムスロット {} に空きがありません。再読み込みを省略します", timeSlots);
+                        monitorRegistry.recordScanSuccess(targetDate, originalUrl);
+                        return;
+                    }
+                    
+                    // 空きを検知していない間は、監視計画の確認間隔（空きが出にくい時間帯ほど長い）が経過するまでページを確認しない
+                    PollSchedule schedule = pollSchedule;
+                    if (schedule != null && !openingDetected && !schedule.isDue(originalUrl, lastPolledAt[0])) {
+                        logger.debug("監視計画の確認間隔が経過していないため、ページの確認を省略します: {}ms", schedule.getIntervalMs(originalUrl));
+                        return;
                     }
-                    previousPageHash[0] = currentHash;
+                    lastPolledAt[0] = System.currentTimeMillis();
+                    // 省略せずにページを確認する周期だけを数える（監視画面のポーリング頻度）
+                    monitorRegistry.recordPoll(targetDate, originalUrl);
                     
                     // ページを更新（定期的なリフレッシュ）
                     // リフレッシュ後、日付パラメータ付きURLで再アクセス
@@ -986,130 +1362,59 @@ public class ReservationService {
                         }
                     }
                     
-                    // タイムスロットボタンを探す（複数のセレクタと時間形式を試行）
-                    // 時間形式の正規化（"19:00" と "19:0" の両方に対応）
-                    String normalizedTimeSlot = normalizeTimeSlot(timeSlot);
-                    String[] timeVariations = {
-                        timeSlot,           // "19:00"
-                        normalizedTimeSlot, // "19:0" -> "19:00"
-                        timeSlot.replace(":", "："), // 全角コロン
-                        timeSlot.replace(":0", ":")  // "19:00" -> "19:0"
-                    };
+                    // ページに表示されている空きをすべて読み取り、共有ボードに公開して前回からの状態遷移を得る
+                    List<String> observedSlots;
+                    ReservationMetrics.PhaseTimer scanTimer = metrics.start(teacherName, ReservationMetrics.Phase.SLOT_SCAN);
+                    try {
+                        observedSlots = scanAvailableTimeSlots(driver, false);
+                    } finally {
+                        scanTimer.stop();
+                    }
+                    monitorRegistry.recordScanSuccess(targetDate, originalUrl);
+                    TimeSlotSet observed = TimeSlotSet.of(observedSlots);
+                    TimeSlotSet opened;
+                    if (originalUrl != null && targetDate != null) {
+                        opened = TimeSlotSet.EMPTY;
+                        for (SlotTransition transition : availabilityBoard.publish(originalUrl, Map.of(targetDate, observedSlots))) {
+                            if (transition.isOpen() && targetDate.equals(transition.getDate())) {
+                                opened = opened.with(transition.getMinute());
+                            }
+                        }
+                        lastPublishedAt[0] = System.currentTimeMillis();
+                    } else {
+                        // 公開先がない場合は前回と比較できないため、表示中の空きをすべて空いたものとして扱う
+                        opened = observed;
+                    }
                     
-                    WebElement timeSlotButton = null;
+                    // 空いた（OPENED/APPEARED）時間帯と、前回クリックできずに空いたままの時間帯をクリックの候補にする
+                    // 最初にページを読んだ周期は、既に空いている時間帯もすべて候補にする
+                    TimeSlotSet candidates = (pendingSlots[0] == null ? observed : pendingSlots[0].or(opened))
+                        .and(observed)
+                        .and(wantedSlots);
+                    pendingSlots[0] = candidates;
+                    if (candidates.isEmpty()) {
+                        logger.debug("有効なタイムスロットボタンが見つかりません: {}", timeSlots);
+                        return;
+                    }
                     
-                    // 各時間形式バリエーションを試行
-                    for (String timeVar : timeVariations) {
-                        String[] selectors = {
-                            // Material-UI (MUI) ボタン対応
-                            "//button[contains(@class, 'MuiButton')]//div[normalize-space(text())='" + timeVar + "']",
-                            "//button[contains(@class, 'MuiButtonBase')]//div[normalize-space(text())='" + timeVar + "']",
-                            "//button[.//div[normalize-space(text())='" + timeVar + "']]",
-                            "//button[contains(@class, 'MuiButton')]//div[contains(text(), '" + timeVar + "')]",
-                            "//button[contains(@class, 'MuiButtonBase')]//div[contains(text(), '" + timeVar + "')]",
-                            // 通常のボタン
-                            "//button[contains(text(), '" + timeVar + "')]",
-                            "//a[contains(text(), '" + timeVar + "')]",
-                            "//div[contains(text(), '" + timeVar + "')]",
-                            "//span[contains(text(), '" + timeVar + "')]",
-                            "//button[normalize-space(text())='" + timeVar + "']",
-                            "//a[normalize-space(text())='" + timeVar + "']",
-                            "//div[normalize-space(text())='" + timeVar + "']",
-                            "//span[normalize-space(text())='" + timeVar + "']",
-                            "//*[contains(@class, 'time') and contains(text(), '" + timeVar + "')]",
-                            "//*[contains(@class, 'slot') and contains(text(), '" + timeVar + "')]"
-                        };
-                        
-                        for (String selector : selectors) {
-                            try {
-                                List<WebElement> elements = driver.findElements(By.xpath(selector));
-                                for (WebElement element : elements) {
-                                    try {
-                                        // MUIボタンの場合、親要素（button）を取得
-                                        WebElement targetElement = element;
-                                        if (selector.contains("//div[") && !selector.contains("//button[")) {
-                                            // div要素の場合は親のbutton要素を取得
-                                            try {
-                                                targetElement = element.findElement(By.xpath("./ancestor::button[1]"));
-                                            } catch (Exception e) {
-                                                // 親要素が見つからない場合はdiv要素自体を使用
-                                                targetElement = element;
-                                            }
-                                        }
-                                        
-                                        // 要素が表示されているか確認
-                                        if (!targetElement.isDisplayed()) {
-                                            continue;
-                                        }
-                                        
-                                        // ボタンが有効か確認（より柔軟な判定）
-                                        boolean isClickable = targetElement.isEnabled() && 
-                                                             !"true".equals(targetElement.getAttribute(ATTR_DISABLED)) &&
-                                                             !ATTR_DISABLED.equals(targetElement.getAttribute(ATTR_DISABLED)) &&
-                                                             targetElement.isDisplayed();
-                                        
-                                        // MUIボタンの場合、disabledクラスやaria-disabled属性も確認
-                                        String className = targetElement.getAttribute(ATTR_CLASS);
-                                        boolean isMuiDisabled = className != null && 
-                                                              (className.contains(CLASS_MUI_DISABLED) || 
-                                                               className.contains(ATTR_DISABLED));
-                                        String ariaDisabled = targetElement.getAttribute(ATTR_ARIA_DISABLED);
-                                        
-                                        if (isMuiDisabled || "true".equals(ariaDisabled)) {
-                                            isClickable = false;
-                                        }
-                                        
-                                        if (isClickable) {
-                                            timeSlotButton = targetElement; // button要素を使用
-                                            logger.debug("タイムスロットボタンを見つけました: {} (セレクタ: {})", timeVar, selector);
-                                            break;
-                                        }
-                                    } catch (Exception e) {
-                                        // 個別の要素の処理でエラーが発生しても続行
-                                        continue;
-                                    }
-                                }
-                                if (timeSlotButton != null) {
-                                    break;
-                                }
-                            } catch (Exception e) {
-                                // 次のセレクタを試行
-                                continue;
-                            }
+                    // 候補の時間帯のボタンだけを希望順に探す
+                    WebElement timeSlotButton = null;
+                    String timeSlot = null;
+                    for (SlotLocator candidate : slotLocators) {
+                        if (!candidates.contains(candidate.timeSlot)) {
+                            continue;
                         }
+                        timeSlotButton = findClickableTimeSlotButton(driver, candidate);
                         if (timeSlotButton != null) {
+                            timeSlot = candidate.timeSlot;
                             break;
                         }
                     }
-                    
-                    // ボタンの状態変化を検知（無効→有効）
-                    if (timeSlotButton != null) {
-                        // MUIボタンの場合、disabledクラスやaria-disabled属性も確認
-                        String className = timeSlotButton.getAttribute(ATTR_CLASS);
-                        boolean isMuiDisabled = className != null && 
-                                              (className.contains(CLASS_MUI_DISABLED) || 
-                                               className.contains(ATTR_DISABLED));
-                        String ariaDisabled = timeSlotButton.getAttribute(ATTR_ARIA_DISABLED);
-                        
-                        boolean isCurrentlyEnabled = timeSlotButton.isEnabled() && 
-                                                    !"true".equals(timeSlotButton.getAttribute(ATTR_DISABLED)) &&
-                                                    !ATTR_DISABLED.equals(timeSlotButton.getAttribute(ATTR_DISABLED)) &&
-                                                    !isMuiDisabled &&
-                                                    !"true".equals(ariaDisabled) &&
-                                                    timeSlotButton.isDisplayed();
-                        
-                        // 無効から有効に変わった場合（予約が解放された）
-                        if (wasDisabled[0] && isCurrentlyEnabled) {
-                            logger.info("【予約解放検知】タイムスロット {} が有効になりました！即座に予約を実行します", timeSlot);
-                        }
-                        wasDisabled[0] = !isCurrentlyEnabled;
-                    }
-                    
                     if (timeSlotButton == null) {
-                        logger.debug("タイムスロットボタンが見つかりません: {} (試行した形式: {})", timeSlot, String.join(", ", timeVariations));
-                        wasDisabled[0] = true; // 見つからない場合は無効として扱う
+                        logger.debug("空いたタイムスロットのボタンが見つかりません（次回再試行）: {}", candidates);
                         return;
                     }
+                    logger.info("【予約解放検知】タイムスロット {} が有効になりました！即座に予約を実行します", timeSlot);
                     
                     // ボタンが押せる状態か再確認
                     try {
@@ -1129,55 +1434,60 @@ public class ReservationService {
                         
                         if (!isEnabled) {
                             logger.debug("タイムスロットボタンは無効または非表示です: {}", timeSlot);
-                            wasDisabled[0] = true;
                             return;
                         }
                         
                         // 【重要】予約が解放されたら即座にクリック
-                        logger.info("【予約実行】タイムスロット {} が有効です。即座にクリックします", timeSlot);
-                        
-                        // JavaScriptでクリック可能か確認（より確実なクリック）
+                        logger.debug("【予約実行】タイムスロット {} が有効です。即座にクリックします", timeSlot);
+                        ReservationMetrics.PhaseTimer clickTimer = metrics.start(teacherName, ReservationMetrics.Phase.CLICK);
                         try {
-                            // スクロールして要素を表示
-                            ((org.openqa.selenium.JavascriptExecutor) driver).executeScript(
-                                "arguments[0].scrollIntoView({behavior: 'instant', block: 'center'});", timeSlotButton);
-                            // 短い待機（要素が表示されるまで）
+                            // JavaScriptでクリック可能か確認（より確実なクリック）
                             try {
-                                WebDriverWait wait = createWebDriverWait(driver, Duration.ofMillis(DEFAULT_CLICK_WAIT_MS * 10L));
-                                wait.until(ExpectedConditions.elementToBeClickable(timeSlotButton));
-                            } catch (TimeoutException e) {
-                                logger.debug("要素のクリック可能状態の待機タイムアウト（続行します）");
-                            }
-                            
-                            // JavaScriptでクリックを試行（より確実）
-                            ((org.openqa.selenium.JavascriptExecutor) driver).executeScript(
-                                "arguments[0].click();", timeSlotButton);
-                            logger.info("【成功】タイムスロットボタンをクリックしました（JavaScript）: {}", timeSlot);
-                        } catch (Exception jsEx) {
-                            // JavaScriptクリックが失敗した場合は通常のクリックを試行
-                            logger.debug("JavaScriptクリックに失敗、通常のクリックを試行: {}", jsEx.getMessage());
-                            try {
-                                timeSlotButton.click();
-                                logger.info("【成功】タイムスロットボタンをクリックしました（通常）: {}", timeSlot);
-                            } catch (Exception clickEx) {
-                                logger.warn("クリックに失敗しました: {}", clickEx.getMessage());
-                                return; // クリック失敗時は次回再試行
+                                // スクロールして要素を表示
+                                ((org.openqa.selenium.JavascriptExecutor) driver).executeScript(
+                                    "arguments[0].scrollIntoView({behavior: 'instant', block: 'center'});", timeSlotButton);
+                                // 短い待機（要素が表示されるまで）
+                                try {
+                                    WebDriverWait wait = createWebDriverWait(driver, Duration.ofMillis(DEFAULT_CLICK_WAIT_MS * 10L));
+                                    wait.until(ExpectedConditions.elementToBeClickable(timeSlotButton));
+                                } catch (TimeoutException e) {
+                                    logger.debug("要素のクリック可能状態の待機タイムアウト（続行します）");
+                                }
+                                
+                                // JavaScriptでクリックを試行（より確実）
+                                ((org.openqa.selenium.JavascriptExecutor) driver).executeScript(
+                                    "arguments[0].click();", timeSlotButton);
+                                logger.debug("【成功】タイムスロットボタンをクリックしました（JavaScript）: {}", timeSlot);
+                            } catch (Exception jsEx) {
+                                // JavaScriptクリックが失敗した場合は通常のクリックを試行
+                                logger.debug("JavaScriptクリックに失敗、通常のクリックを試行: {}", jsEx.getMessage());
+                                try {
+                                    timeSlotButton.click();
+                                    logger.debug("【成功】タイムスロットボタンをクリックしました（通常）: {}", timeSlot);
+                                } catch (Exception clickEx) {
+                                    logger.warn("クリックに失敗しました: {}", clickEx.getMessage());
+                                    return; // クリック失敗時は次回再試行
+                                }
                             }
+                        } finally {
+                            // クリックに失敗した場合も計測する
+                            clickTimer.stop();
                         }
                         
-                        success[0] = true;
+                        clickedSlot[0] = timeSlot;
                         scheduler.shutdown();
-                        logger.info("【予約成功】タイムスロット {} の予約処理を開始しました", timeSlot);
+                        logger.debug("【予約成功】タイムスロット {} の予約処理を開始しました", timeSlot);
                     } catch (Exception e) {
                         logger.warn("タイムスロットボタンのクリックに失敗しました: {}", e.getMessage());
                     }
                     
                 } catch (NoSuchElementException e) {
                     // ボタンが見つからない場合は次回の監視で再試行
-                    logger.debug("タイムスロットボタンが見つかりません（次回再試行）: {}", timeSlot);
+                    logger.debug("タイムスロットボタンが見つかりません（次回再試行）: {}", timeSlots);
                 } catch (Exception e) {
+                    monitorRegistry.recordFailure(targetDate, originalUrl, e.getMessage());
                     logger.error("【ERROR】monitorTimeSlot - タイムスロット監視中にエラーが発生しました", e);
-                    logger.error("【ERROR】monitorTimeSlot - タイムスロット: {}, 対象日付: {}", timeSlot, targetDate);
+                    logger.error("【ERROR】monitorTimeSlot - タイムスロット: {}, 対象日付: {}", timeSlots, targetDate);
                     String causeMsg = e.getCause() != null ? String.format(ERROR_CAUSE_FORMAT, e.getCause().getMessage()) : null;
                     logErrorWithUrlAndTitle("monitorTimeSlot", driver, 
                         String.format(ERROR_MESSAGE_FORMAT, e.getMessage(), e.getClass().getName(), 
@@ -1185,11 +1495,11 @@ public class ReservationService {
                 }
                }, 0, monitoringInterval, TimeUnit.SECONDS);
             
-            // 最大30分待機（タイムアウト）
-            scheduler.awaitTermination(30, TimeUnit.MINUTES);
+            // 最大で監視時間（既定30分）まで待機（タイムアウト）
+            scheduler.awaitTermination(slotWatchTimeout.toMillis(), TimeUnit.MILLISECONDS);
             
-            if (success[0]) {
-                logger.info("タイムスロットのクリックが成功しました: {}", timeSlot);
+            if (clickedSlot[0] != null) {
+                logger.debug("タイムスロットのクリックが成功しました: {}", clickedSlot[0]);
                 // ページ遷移を待機（WebDriverWaitで最適化）
                 try {
                     WebDriverWait wait = createWebDriverWait(driver);
@@ -1197,18 +1507,17 @@ public class ReservationService {
                 } catch (TimeoutException e) {
                     logger.debug("ページ遷移後の読み込みタイムアウト（続行します）");
                 }
-                return true;
+                return clickedSlot[0];
             } else {
-                logger.warn("タイムスロットの監視がタイムアウトしました: {}", timeSlot);
-                return false;
+                logger.warn("タイムスロットの監視がタイムアウトしました: {}", timeSlots);
+                return null;
             }
             
         } catch (InterruptedException e) {
-            logger.error("【ERROR】monitorTimeSlot - タイムスロット監視が中断されました", e);
-            logger.error("【ERROR】monitorTimeSlot - タイムスロット: {}, 対象日付: {}", timeSlot, targetDate);
-            logger.error("【ERROR】monitorTimeSlot - エラーメッセージ: {}", e.getMessage());
+            // 監視の停止や対象からの削除による取り消し
+            logger.info("タイムスロットの監視が取り消されました: 時間帯={}, 対象日付={}", timeSlots, targetDate);
             Thread.currentThread().interrupt();
-            return false;
+            return null;
         } finally {
             if (scheduler != null) {
                 scheduler.shutdown();
@@ -1221,7 +1530,161 @@ public class ReservationService {
                     Thread.currentThread().interrupt();
                 }
             }
+            if (interceptor != null) {
+                interceptor.close();
+            }
+        }
+    }
+    
+    /**
+     * タイムスロットボタンを探すXPathの1つ（XPathの組み立てと解析を周期ごとに繰り返さないよう保持する）
+     */
+    private static final class SlotSelector {
+        private final String timeVar;
+        private final String xpath;
+        private final By locator;
+        private final boolean divOnly; // div要素を直接指すXPathか（見つかった要素の親のbutton要素をクリックする）
+        
+        private SlotSelector(String timeVar, String xpath) {
+            this.timeVar = timeVar;
+            this.xpath = xpath;
+            this.locator = By.xpath(xpath);
+            this.divOnly = xpath.contains("//div[") && !xpath.contains("//button[");
+        }
+    }
+    
+    /**
+     * 1つの時間帯のボタンを探すXPath（監視の開始時に一度だけ組み立て、周期ごとに再利用する）
+     */
+    private static final class SlotLocator {
+        private final String timeSlot;
+        private final List<SlotSelector> selectors;
+        
+        private SlotLocator(String timeSlot, List<SlotSelector> selectors) {
+            this.timeSlot = timeSlot;
+            this.selectors = selectors;
+        }
+    }
+    
+    /**
+     * 監視する時間帯ごとにボタンを探すXPathを組み立てる（"19:00" と "19:0" のように同じ時刻を表す時間帯は最初の1つだけ残す）
+     * @param timeSlots 監視する時間帯のリスト（優先順）
+     * @return 時間帯ごとのXPath（優先順）
+     */
+    private List<SlotLocator> buildSlotLocators(List<String> timeSlots) {
+        List<SlotLocator> slotLocators = new ArrayList<>(timeSlots.size());
+        TimeSlotSet seen = TimeSlotSet.EMPTY;
+        for (String timeSlot : timeSlots) {
+            int minute = TimeSlotSet.minuteOf(timeSlot);
+            if (minute >= 0) {
+                if (seen.contains(minute)) {
+                    continue;
+                }
+                seen = seen.with(minute);
+            }
+            // 時間形式の正規化（"19:00" と "19:0" の両方に対応）。同じ文字列になる形式は一度だけ試す
+            Set<String> timeVariations = new LinkedHashSet<>();
+            timeVariations.add(timeSlot);                    // "19:00"
+            timeVariations.add(normalizeTimeSlot(timeSlot)); // "19:0" -> "19:00"
+            timeVariations.add(timeSlot.replace(":", "："));  // 全角コロン
+            timeVariations.add(timeSlot.replace(":0", ":")); // "19:00" -> "19:0"
+            
+            List<SlotSelector> selectors = new ArrayList<>();
+            for (String timeVar : timeVariations) {
+                String[] xpaths = {
+                    // Material-UI (MUI) ボタン対応
+                    "//button[contains(@class, 'MuiButton')]//div[normalize-space(text())='" + timeVar + "']",
+                    "//button[contains(@class, 'MuiButtonBase')]//div[normalize-space(text())='" + timeVar + "']",
+                    "//button[.//div[normalize-space(text())='" + timeVar + "']]",
+                    "//button[contains(@class, 'MuiButton')]//div[contains(text(), '" + timeVar + "')]",
+                    "//button[contains(@class, 'MuiButtonBase')]//div[contains(text(), '" + timeVar + "')]",
+                    // 通常のボタン
+                    "//button[contains(text(), '" + timeVar + "')]",
+                    "//a[contains(text(), '" + timeVar + "')]",
+                    "//div[contains(text(), '" + timeVar + "')]",
+                    "//span[contains(text(), '" + timeVar + "')]",
+                    "//button[normalize-space(text())='" + timeVar + "']",
+                    "//a[normalize-space(text())='" + timeVar + "']",
+                    "//div[normalize-space(text())='" + timeVar + "']",
+                    "//span[normalize-space(text())='" + timeVar + "']",
+                    "//*[contains(@class, 'time') and contains(text(), '" + timeVar + "')]",
+                    "//*[contains(@class, 'slot') and contains(text(), '" + timeVar + "')]"
+                };
+                for (String xpath : xpaths) {
+                    selectors.add(new SlotSelector(timeVar, xpath));
+                }
+            }
+            slotLocators.add(new SlotLocator(timeSlot, selectors));
         }
+        return slotLocators;
+    }
+    
+    /**
+     * 表示中のページからクリック可能なタイムスロットボタンを探す（複数のセレクタと時間形式を試行）
+     * @param driver WebDriver
+     * @param slotLocator 対象のタイムスロットのXPath（{@link #buildSlotLocators} で組み立てたもの）
+     * @return クリック可能なボタン（見つからない場合や無効な場合はnull）
+     */
+    private WebElement findClickableTimeSlotButton(WebDriver driver, SlotLocator slotLocator) {
+        WebElement timeSlotButton = null;
+        for (SlotSelector selector : slotLocator.selectors) {
+            try {
+                List<WebElement> elements = driver.findElements(selector.locator);
+                for (WebElement element : elements) {
+                    try {
+                        // MUIボタンの場合、親要素（button）を取得
+                        WebElement targetElement = element;
+                        if (selector.divOnly) {
+                            // div要素の場合は親のbutton要素を取得
+                            try {
+                                targetElement = element.findElement(ANCESTOR_BUTTON);
+                            } catch (Exception e) {
+                                // 親要素が見つからない場合はdiv要素自体を使用
+                                targetElement = element;
+                            }
+                        }
+                        
+                        // 要素が表示されているか確認
+                        if (!targetElement.isDisplayed()) {
+                            continue;
+                        }
+                        
+                        // ボタンが有効か確認（より柔軟な判定）
+                        boolean isClickable = targetElement.isEnabled() && 
+                                             !"true".equals(targetElement.getAttribute(ATTR_DISABLED)) &&
+                                             !ATTR_DISABLED.equals(targetElement.getAttribute(ATTR_DISABLED)) &&
+                                             targetElement.isDisplayed();
+                        
+                        // MUIボタンの場合、disabledクラスやaria-disabled属性も確認
+                        String className = targetElement.getAttribute(ATTR_CLASS);
+                        boolean isMuiDisabled = className != null && 
+                                              (className.contains(CLASS_MUI_DISABLED) || 
+                                               className.contains(ATTR_DISABLED));
+                        String ariaDisabled = targetElement.getAttribute(ATTR_ARIA_DISABLED);
+                        
+                        if (isMuiDisabled || "true".equals(ariaDisabled)) {
+                            isClickable = false;
+                        }
+                        
+                        if (isClickable) {
+                            timeSlotButton = targetElement; // button要素を使用
+                            logger.debug("タイムスロットボタンを見つけました: {} (セレクタ: {})", selector.timeVar, selector.xpath);
+                            break;
+                        }
+                    } catch (Exception e) {
+                        // 個別の要素の処理でエラーが発生しても続行
+                        continue;
+                    }
+                }
+                if (timeSlotButton != null) {
+                    break;
+                }
+            } catch (Exception e) {
+                // 次のセレクタを試行
+                continue;
+            }
+        }
+        return timeSlotButton;
     }
     
     /**
@@ -1232,24 +1695,20 @@ public class ReservationService {
      * @return 入力が成功した場合true
      */
     public boolean fillReservationForm(WebDriver driver, String name, String email) {
-        logger.info("予約フォームに入力します: name={}, email={}", name, email);
+        logger.debug("予約フォームに入力します: name={}, email={}", name, email);
         
         try {
             WebDriverWait wait = createWebDriverWait(driver, config.getTimeoutSeconds());
             
             // 名前フィールドを探す（複数のセレクタを試行）
-            String[] nameSelectors = {
-                "//input[@name='name']",
-                "//input[@placeholder*='名前' or @placeholder*='Name']",
-                "//input[@type='text'][1]",
-                "//input[@id*='name' or @id*='Name']"
-            };
+            List<String> nameSelectors = FormStager.NAME_SELECTORS;
             
             WebElement nameField = null;
             for (String selector : nameSelectors) {
                 try {
                     nameField = wait.until(ExpectedConditions.presenceOfElementLocated(By.xpath(selector)));
                     if (nameField != null) {
+                        metrics.recordLocatorHit("name", selector);
                         break;
                     }
                 } catch (TimeoutException e) {
@@ -1259,27 +1718,23 @@ public class ReservationService {
             
             if (nameField == null) {
                 logErrorWithUrlAndTitle("fillReservationForm", driver, 
-                    String.format("名前フィールドが見つかりませんでした, 試行したセレクタ数: %d", nameSelectors.length));
+                    String.format("名前フィールドが見つかりませんでした, 試行したセレクタ数: %d", nameSelectors.size()));
                 return false;
             }
             
             nameField.clear();
             nameField.sendKeys(name);
-            logger.info("名前を入力しました: {}", name);
+            logger.debug("名前を入力しました: {}", name);
             
             // メールフィールドを探す（複数のセレクタを試行）
-            String[] emailSelectors = {
-                "//input[@type='email']",
-                "//input[@name='email' or @name='Email']",
-                "//input[@placeholder*='メール' or @placeholder*='Email']",
-                "//input[@id*='email' or @id*='Email']"
-            };
+            List<String> emailSelectors = FormStager.EMAIL_SELECTORS;
             
             WebElement emailField = null;
             for (String selector : emailSelectors) {
                 try {
                     emailField = driver.findElement(By.xpath(selector));
                     if (emailField != null) {
+                        metrics.recordLocatorHit("email", selector);
                         break;
                     }
                 } catch (NoSuchElementException e) {
@@ -1289,7 +1744,7 @@ public class ReservationService {
             
             if (emailField == null) {
                 logger.error("【ERROR】fillReservationForm - メールフィールドが見つかりませんでした");
-                logger.error("【ERROR】fillReservationForm - 試行したセレクタ数: {}", emailSelectors.length);
+                logger.error("【ERROR】fillReservationForm - 試行したセレクタ数: {}", emailSelectors.size());
                 logErrorWithUrlAndTitle("fillReservationForm", driver, null);
                 return false;
             }
@@ -1327,24 +1782,20 @@ public class ReservationService {
      * @return 確定が成功した場合true
      */
     public boolean submitReservation(WebDriver driver) {
-        logger.info("予約を確定します");
+        logger.debug("予約を確定します");
         
         try {
             WebDriverWait wait = createWebDriverWait(driver, config.getTimeoutSeconds());
             
             // 確定ボタンを探す（複数のセレクタを試行）
-            String[] submitSelectors = {
-                "//button[@type='submit']",
-                "//button[contains(text(), '確定') or contains(text(), '予約') or contains(text(), 'Submit')]",
-                "//input[@type='submit']",
-                "//button[@class*='submit' or @class*='confirm']"
-            };
+            List<String> submitSelectors = FormStager.SUBMIT_SELECTORS;
             
             WebElement submitButton = null;
             for (String selector : submitSelectors) {
                 try {
                     submitButton = wait.until(ExpectedConditions.elementToBeClickable(By.xpath(selector)));
                     if (submitButton != null) {
+                        metrics.recordLocatorHit("submit", selector);
                         break;
                     }
                 } catch (TimeoutException e) {
@@ -1354,33 +1805,15 @@ public class ReservationService {
             
             if (submitButton == null) {
                 logger.error("【ERROR】submitReservation - 確定ボタンが見つかりませんでした");
-                logger.error("【ERROR】submitReservation - 試行したセレクタ数: {}", submitSelectors.length);
+                logger.error("【ERROR】submitReservation - 試行したセレクタ数: {}", submitSelectors.size());
                 logErrorWithUrlAndTitle("submitReservation", driver, null);
                 return false;
             }
             
             submitButton.click();
-            logger.info("確定ボタンをクリックしました");
-            
-            // 成功画面への遷移を待機（WebDriverWaitで最適化）
-            try {
-                WebDriverWait submitWait = createWebDriverWait(driver);
-                // ページが更新されるまで待機（URLまたはタイトルの変更を検知）
-                submitWait.until(ExpectedConditions.or(
-                    ExpectedConditions.urlContains("success"),
-                    ExpectedConditions.urlContains("confirm"),
-                    ExpectedConditions.titleContains("予約")
-                ));
-            } catch (TimeoutException e) {
-                logger.debug("予約確定後の画面遷移待機タイムアウト（続行します）");
-            }
-            
-            // 成功画面の確認（URLやタイトルの変更を確認）
-            String currentUrl = driver.getCurrentUrl();
-            String pageTitle = driver.getTitle();
-            logger.debug("予約確定後のURL: {}, タイトル: {}", currentUrl, pageTitle);
+            logger.debug("確定ボタンをクリックしました");
             
-            logger.info("予約確定が完了しました");
+            waitForSubmitCompletion(driver);
             return true;
             
         } catch (Exception e) {
@@ -1395,37 +1828,78 @@ public class ReservationService {
         }
     }
     
+    /**
+     * 確定ボタンを押した後、成功画面への遷移を待機
+     * @param driver WebDriver
+     */
+    private void waitForSubmitCompletion(WebDriver driver) {
+        // 成功画面への遷移を待機（WebDriverWaitで最適化）
+        try {
+            WebDriverWait submitWait = createWebDriverWait(driver);
+            // ページが更新されるまで待機（URLまたはタイトルの変更を検知）
+            submitWait.until(ExpectedConditions.or(
+                ExpectedConditions.urlContains("success"),
+                ExpectedConditions.urlContains("confirm"),
+                ExpectedConditions.titleContains("予約")
+            ));
+        } catch (TimeoutException e) {
+            logger.debug("予約確定後の画面遷移待機タイムアウト（続行します）");
+        }
+        
+        // 成功画面の確認（URLやタイトルの変更を確認）
+        String currentUrl = driver.getCurrentUrl();
+        String pageTitle = driver.getTitle();
+        logger.debug("予約確定後のURL: {}, タイトル: {}", currentUrl, pageTitle);
+        
+        logger.debug("予約確定が完了しました");
+    }
+    
     /**
      * リトライ付きで処理を実行
+     * 失敗の分類に応じて再試行方針の待機時間で再試行する。空きなし・監視時間外の場合や
+     * WebDriverの作り直しが必要な場合は、呼び出し元に判断を任せるためすぐにfalseを返す。
      * @param process 実行する処理
      * @param maxRetries 最大リトライ回数
      * @return 処理が成功した場合true
      */
     public boolean processWithRetry(Supplier<Boolean> process, int maxRetries) {
         for (int i = 0; i < maxRetries; i++) {
+            FailureType failure;
             try {
                 if (process.get()) {
                     return true;
                 }
+                failure = lastFailureType.get();
             } catch (Exception e) {
+                failure = FailureType.classify(e);
+                lastFailureType.set(failure);
                 logger.error("【ERROR】processWithRetry - 処理失敗 (試行 {}/{})", i + 1, maxRetries);
                 logger.error("【ERROR】processWithRetry - エラーメッセージ: {}", e.getMessage());
                 logger.error("【ERROR】processWithRetry - エラークラス: {}", e.getClass().getName());
                 if (e.getCause() != null) {
                     logger.error("【ERROR】processWithRetry - 原因: {}", e.getCause().getMessage());
                 }
-                if (i < maxRetries - 1) {
-                    logger.info("【RETRY】processWithRetry - 5秒後に再試行します...");
-                    try {
-                        // リトライ待機（Thread.sleepの代わりにTimeUnitを使用）
-                        java.util.concurrent.TimeUnit.SECONDS.sleep(5);
-                    } catch (InterruptedException ie) {
-                        logger.error("【ERROR】processWithRetry - 再試行待機中に中断されました");
-                        Thread.currentThread().interrupt();
-                        return false;
-                    }
-                } else {
-                    logger.error("【ERROR】processWithRetry - 最大リトライ回数に達しました。処理を終了します");
+            }
+            if (!failure.isError()) {
+                return false;
+            }
+            RetryPolicy.Decision decision = retryPolicy.decide(failure, i + 1);
+            if (decision.isFreshDriver()) {
+                logger.info("【RETRY】processWithRetry - {}のためWebDriverを作り直して再試行します", failure.getLabel());
+                return false;
+            }
+            if (i >= maxRetries - 1) {
+                logger.error("【ERROR】processWithRetry - 最大リトライ回数に達しました。処理を終了します");
+                break;
+            }
+            logger.info("【RETRY】processWithRetry - {}のため{}ms後に再試行します...", failure.getLabel(), decision.getDelayMs());
+            if (decision.getDelayMs() > 0) {
+                try {
+                    Thread.sleep(decision.getDelayMs());
+                } catch (InterruptedException ie) {
+                    logger.error("【ERROR】processWithRetry - 再試行待機中に中断されました");
+                    Thread.currentThread().interrupt();
+                    return false;
                 }
             }
         }
@@ -1507,7 +1981,16 @@ public class ReservationService {
      * @param url 先生のURL
      * @return 先生名（抽出できない場合は"不明"）
      */
-    private String extractTeacherNameFromUrl(String url) {
+    String extractTeacherNameFromUrl(String url) {
+        return teacherNameOf(url);
+    }
+    
+    /**
+     * URLから先生名を抽出（予約サービスを持たないクラス用）
+     * @param url 先生のURL
+     * @return 先生名（抽出できない場合は"不明"）
+     */
+    static String teacherNameOf(String url) {
         if (url == null || url.trim().isEmpty()) {
             return "不明";
         }
@@ -0,0 +1,56 @@
+package com.jicoo.bot;
+
+/**
+ * 失敗後の再試行方針
+ * 失敗の分類と連続失敗回数から、待機時間とWebDriverの作り直しの要否を決める。
+ * 設定（retry.policy）で実装を切り替えられる。
+ */
+public interface RetryPolicy {
+    
+    /**
+     * 再試行の判断
+     */
+    final class Decision {
+        private final long delayMs;
+        private final boolean freshDriver;
+        
+        public Decision(long delayMs, boolean freshDriver) {
+            this.delayMs = Math.max(0, delayMs);
+            this.freshDriver = freshDriver;
+        }
+        
+        /**
+         * 再試行までの待機時間（ミリ秒）
+         */
+        public long getDelayMs() {
+            return delayMs;
+        }
+        
+        /**
+         * WebDriverを作り直してから再試行するか
+         */
+        public boolean isFreshDriver() {
+            return freshDriver;
+        }
+    }
+    
+    /**
+     * 再試行方針を決める
+     * @param type 失敗の分類
+     * @param consecutiveFailures 連続失敗回数（1以上）
+     * @return 再試行の判断
+     */
+    Decision decide(FailureType type, int consecutiveFailures);
+    
+    /**
+     * 設定に応じた再試行方針を作成
+     * @param name 方針名（backoff / fixed）
+     * @return 再試行方針（不明な名前の場合はbackoff）
+     */
+    static RetryPolicy fromName(String name) {
+        if (FixedRetryPolicy.NAME.equalsIgnoreCase(name != null ? name.trim() : "")) {
+            return new FixedRetryPolicy();
+        }
+        return new BackoffRetryPolicy();
+    }
+}
@@ -0,0 +1,92 @@
+package com.jicoo.bot;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * スキャン結果の差分エンジン
+ * 先生×日付ごとに前回のスキャン結果を保持し、新しいスキャン結果との差分を SlotTransition として返す。
+ * 1回のスキャンの差分は1回だけ計算し、利用側は遷移を受け取るだけで状態を再計算しない。
+ * まだスキャンしていない先生×日付は、空き状況の履歴に記録された最後の状態から比較を始める（再起動をまたいで重複して記録しない）。
+ */
+public class ScanDiffEngine {
+    
+    /**
+     * 先生×日付ごとの比較の基準
+     */
+    private static final class Baseline {
+        // 前回のスキャンで空いていた時間帯
+        private final TimeSlotSet open;
+        // これまでに一度でも空いていた時間帯（APPEAREDとOPENEDの区別に使う）
+        private final TimeSlotSet known;
+        
+        private Baseline(TimeSlotSet open, TimeSlotSet known) {
+            this.open = open;
+            this.known = known;
+        }
+    }
+    
+    private static final ZoneId JAPAN_ZONE = ZoneId.of("Asia/Tokyo");
+    
+    private final AvailabilityHistory history;
+    // 先生のURL -> 日付 -> 比較の基準
+    private final Map<String, Map<LocalDate, Baseline>> baselines = new HashMap<>();
+    
+    /**
+     * @param history 比較の初期状態の取得元（nullの場合は空の状態から比較する）
+     */
+    public ScanDiffEngine(AvailabilityHistory history) {
+        this.history = history;
+    }
+    
+    /**
+     * 先生1人分のスキャン結果を前回と比較
+     * @param url 先生のURL
+     * @param slotsByDate 日付ごとの空いているタイムスロット（含まれない日付は変化なしとみなす）
+     * @return 状態遷移（日付ごとに時刻順、CLOSEDが先）
+     */
+    public synchronized List<SlotTransition> diff(String url, Map<LocalDate, List<String>> slotsByDate) {
+        List<SlotTransition> transitions = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        Map<LocalDate, Baseline> teacherBaselines = baselines.computeIfAbsent(url, k -> new HashMap<>());
+        // 過ぎた日付の基準は使わないため捨てる
+        LocalDate today = LocalDate.now(JAPAN_ZONE);
+        teacherBaselines.keySet().removeIf(date -> date.isBefore(today));
+        for (Map.Entry<LocalDate, List<String>> entry : slotsByDate.entrySet()) {
+            LocalDate date = entry.getKey();
+            TimeSlotSet current = TimeSlotSet.of(entry.getValue());
+            Baseline baseline = teacherBaselines.get(date);
+            if (baseline == null) {
+                baseline = initialBaseline(url, date);
+            }
+            if (baseline.open.equals(current)) {
+                teacherBaselines.putIfAbsent(date, baseline);
+                continue;
+            }
+            TimeSlotSet closed = baseline.open.andNot(current);
+            for (int minute = closed.nextMinute(0); minute >= 0; minute = closed.nextMinute(minute + 1)) {
+                transitions.add(new SlotTransition(url, date, minute, SlotTransition.Type.CLOSED, now));
+            }
+            TimeSlotSet opened = current.andNot(baseline.open);
+            for (int minute = opened.nextMinute(0); minute >= 0; minute = opened.nextMinute(minute + 1)) {
+                SlotTransition.Type type = baseline.known.contains(minute)
+                    ? SlotTransition.Type.OPENED : SlotTransition.Type.APPEARED;
+                transitions.add(new SlotTransition(url, date, minute, type, now));
+            }
+            teacherBaselines.put(date, new Baseline(current, baseline.known.or(current)));
+        }
+        return transitions;
+    }
+    
+    private Baseline initialBaseline(String url, LocalDate date) {
+        TimeSlotSet open = TimeSlotSet.EMPTY;
+        if (history != null && Config.getInstance().isAvailabilityHistoryEnabled()) {
+            open = history.getOpenSlots(url, date);
+        }
+        return new Baseline(open, open);
+    }
+}
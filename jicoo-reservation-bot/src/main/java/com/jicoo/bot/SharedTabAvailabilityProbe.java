@@ -0,0 +1,51 @@
+package com.jicoo.bot;
+
+import org.openqa.selenium.WebDriver;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 共有タブによる空き状況の取得
+ * 1つのWebDriverで先生のページを順番に開き、カレンダーの日付をページ内で切り替えて空いているタイムスロットを取得する。
+ * 先生が何人いてもブラウザは1つで済む。WebDriverは予備のプールから取得し、閉じるときにプールに戻す。
+ */
+public class SharedTabAvailabilityProbe implements AvailabilityProbe {
+    private final ReservationService reservationService;
+    // ホライズンスキャンのスレッドからのみ参照する
+    private WebDriver driver;
+    
+    public SharedTabAvailabilityProbe(ReservationService reservationService) {
+        this.reservationService = reservationService;
+    }
+    
+    @Override
+    public Map<LocalDate, List<String>> probe(String url, List<LocalDate> dates) {
+        if (driver == null) {
+            driver = DriverPool.getInstance().acquire();
+        }
+        try {
+            // 先生ごとにページが変わるため毎回読み込む
+            return reservationService.scanCalendar(driver, url, dates, true);
+        } catch (RuntimeException e) {
+            // 異常のあったWebDriverはプールに戻さず終了し、次回は新しいWebDriverで取得する
+            DriverManager.closeWebDriver(driver, true);
+            driver = null;
+            throw e;
+        }
+    }
+    
+    @Override
+    public String getName() {
+        return "shared-tab";
+    }
+    
+    @Override
+    public void close() {
+        if (driver != null) {
+            DriverPool.getInstance().release(driver);
+            driver = null;
+        }
+    }
+}
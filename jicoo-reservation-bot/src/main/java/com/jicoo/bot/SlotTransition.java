@@ -0,0 +1,114 @@
+package com.jicoo.bot;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * タイムスロットの状態遷移
+ * ScanDiffEngine が先生×日付の連続したスキャン結果を比較して発行する。
+ * 予約処理の引き継ぎ・空き状況の履歴・状態変更フィード・メトリクスは、この遷移だけを受け取る。
+ */
+public final class SlotTransition {
+    
+    /**
+     * 遷移の種類
+     */
+    public enum Type {
+        // その先生×日付で初めて空いているのを観測した（初回のスキャンや、新しく追加された時間帯）
+        APPEARED("appeared"),
+        // 以前は空いていたが埋まっていた時間帯が再び空いた（キャンセル）
+        OPENED("opened"),
+        // 空いていた時間帯が埋まった（またはページから消えた）
+        CLOSED("closed");
+        
+        private final String label;
+        
+        Type(String label) {
+            this.label = label;
+        }
+        
+        public String getLabel() {
+            return label;
+        }
+    }
+    
+    private final String teacherUrl;
+    private final LocalDate date;
+    private final int minute;
+    private final Type type;
+    private final long observedAt;
+    
+    /**
+     * @param teacherUrl 先生のURL
+     * @param date 対象日付
+     * @param minute 時間帯（0時からの分）
+     * @param type 遷移の種類
+     * @param observedAt 観測した時刻（エポックミリ秒）
+     */
+    public SlotTransition(String teacherUrl, LocalDate date, int minute, Type type, long observedAt) {
+        this.teacherUrl = teacherUrl;
+        this.date = date;
+        this.minute = minute;
+        this.type = type;
+        this.observedAt = observedAt;
+    }
+    
+    public String getTeacherUrl() {
+        return teacherUrl;
+    }
+    
+    public LocalDate getDate() {
+        return date;
+    }
+    
+    /**
+     * 時間帯（0時からの分）
+     */
+    public int getMinute() {
+        return minute;
+    }
+    
+    /**
+     * 時間帯（例: "9:45"）
+     */
+    public String getTimeSlot() {
+        return TimeSlotSet.format(minute);
+    }
+    
+    public Type getType() {
+        return type;
+    }
+    
+    /**
+     * 遷移後に空いている場合true（APPEARED・OPENED）
+     */
+    public boolean isOpen() {
+        return type != Type.CLOSED;
+    }
+    
+    /**
+     * 観測した時刻（エポックミリ秒）
+     */
+    public long getObservedAt() {
+        return observedAt;
+    }
+    
+    /**
+     * API・状態変更フィード用のマップに変換
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("teacherUrl", teacherUrl);
+        map.put("date", date.toString());
+        map.put("time", getTimeSlot());
+        map.put("type", type.getLabel());
+        map.put("observedAt", observedAt);
+        return map;
+    }
+    
+    @Override
+    public String toString() {
+        return type.getLabel() + " " + date + " " + getTimeSlot();
+    }
+}
@@ -0,0 +1,168 @@
+package com.jicoo.bot;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 状態変更フィード
+ * 日付・時間帯・監視状態などの変更を型付きの差分（デルタ）として配信する。
+ * 各デルタには単調増加するリビジョン番号が付与され、直近の履歴を保持するため
+ * クライアントは最後に受信したリビジョンから再開できる。
+ */
+public class StateChangeFeed {
+    private static final Logger logger = LoggerFactory.getLogger(StateChangeFeed.class);
+    private static final StateChangeFeed instance = new StateChangeFeed();
+    
+    // 再開用に保持する履歴の最大件数
+    private static final int HISTORY_CAPACITY = 1024;
+    
+    // デルタの種類
+    public static final String DATE_ADDED = "dateAdded";
+    public static final String DATE_REMOVED = "dateRemoved";
+    public static final String DATE_TOGGLED = "dateToggled";
+    public static final String DATE_STATUS_CHANGED = "dateStatusChanged";
+    public static final String TIME_SLOTS_CHANGED = "timeSlotsChanged";
+    public static final String COMPLETED_RESERVATIONS_CHANGED = "completedReservationsChanged";
+    public static final String TEACHERS_SELECTED = "teachersSelected";
+    public static final String MONITORING_STARTED = "monitoringStarted";
+    public static final String MONITORING_STOPPED = "monitoringStopped";
+    public static final String MONITORING_RECONCILED = "monitoringReconciled";
+    public static final String MONITORING_TIME_RESTRICTION_CHANGED = "monitoringTimeRestrictionChanged";
+    public static final String DRY_RUN_CHANGED = "dryRunChanged";
+    public static final String POLL_OUTCOME = "pollOutcome";
+    public static final String SLOT_TRANSITIONS = "slotTransitions";
+    
+    private final Deque<Delta> history = new ArrayDeque<>(HISTORY_CAPACITY);
+    private final List<Consumer<Delta>> listeners = new CopyOnWriteArrayList<>();
+    private long revision = 0;
+    
+    /**
+     * 状態変更の差分
+     */
+    public static final class Delta {
+        private final long revision;
+        private final String type;
+        private final long timestamp;
+        private final Map<String, Object> data;
+        
+        private Delta(long revision, String type, long timestamp, Map<String, Object> data) {
+            this.revision = revision;
+            this.type = type;
+            this.timestamp = timestamp;
+            this.data = data;
+        }
+        
+        public long getRevision() {
+            return revision;
+        }
+        
+        public String getType() {
+            return type;
+        }
+        
+        public long getTimestamp() {
+            return timestamp;
+        }
+        
+        public Map<String, Object> getData() {
+            return data;
+        }
+    }
+    
+    private StateChangeFeed() {
+    }
+    
+    /**
+     * シングルトンインスタンスを取得
+     */
+    public static StateChangeFeed getInstance() {
+        return instance;
+    }
+    
+    /**
+     * 差分を発行
+     * @param type デルタの種類
+     * @param data デルタの内容
+     * @return 発行されたデルタ
+     */
+    public Delta publish(String type, Map<String, Object> data) {
+        Delta delta;
+        synchronized (history) {
+            revision++;
+            delta = new Delta(revision, type, System.currentTimeMillis(),
+                Collections.unmodifiableMap(new HashMap<>(data)));
+            if (history.size() >= HISTORY_CAPACITY) {
+                history.removeFirst();
+            }
+            history.addLast(delta);
+            
+            // リビジョン順を保証するためロック内で通知する（リスナーはブロックしないこと）
+            for (Consumer<Delta> listener : listeners) {
+                try {
+                    listener.accept(delta);
+                } catch (Exception e) {
+                    logger.warn("状態変更リスナーの呼び出し中にエラーが発生しました（無視）: {}", e.getMessage());
+                }
+            }
+        }
+        return delta;
+    }
+    
+    /**
+     * 指定リビジョンより後の差分を取得
+     * @param sinceRevision 最後に受信したリビジョン
+     * @return 差分のリスト（履歴から既に消えている場合はnull。クライアントは全件再取得が必要）
+     */
+    public List<Delta> getDeltasSince(long sinceRevision) {
+        synchronized (history) {
+            if (sinceRevision >= revision) {
+                return new ArrayList<>();
+            }
+            Delta oldest = history.peekFirst();
+            if (oldest == null || sinceRevision < oldest.getRevision() - 1) {
+                return null;
+            }
+            List<Delta> result = new ArrayList<>();
+            for (Delta delta : history) {
+                if (delta.getRevision() > sinceRevision) {
+                    result.add(delta);
+                }
+            }
+            return result;
+        }
+    }
+    
+    /**
+     * 現在のリビジョンを取得
+     */
+    public long getCurrentRevision() {
+        synchronized (history) {
+            return revision;
+        }
+    }
+    
+    /**
+     * リスナーを登録
+     * リスナーは発行スレッド上で呼び出されるため、重い処理は別スレッドに委譲すること
+     */
+    public void addListener(Consumer<Delta> listener) {
+        listeners.add(listener);
+    }
+    
+    /**
+     * リスナーを解除
+     */
+    public void removeListener(Consumer<Delta> listener) {
+        listeners.remove(listener);
+    }
+}
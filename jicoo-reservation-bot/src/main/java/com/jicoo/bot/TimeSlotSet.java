@@ -0,0 +1,230 @@
+package com.jicoo.bot;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 1日分の時間帯の集合（0時からの分を位置とするビット集合）
+ * 1440分を23個のlongで表し、選択した時間帯と空いている時間帯の共通部分や、スキャン間の差分を
+ * 文字列を解析し直さずに一定時間で求める。"9:45" と "09:45"、全角コロンは同じ時間帯として扱う。
+ * 不変オブジェクトで、集合演算は新しいインスタンスを返す（判定のみの {@link #intersects} は割り当てを行わない）。
+ */
+public final class TimeSlotSet {
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int WORDS = (MINUTES_PER_DAY + Long.SIZE - 1) / Long.SIZE;
+    
+    /**
+     * 空の集合
+     */
+    public static final TimeSlotSet EMPTY = new TimeSlotSet(new long[WORDS]);
+    
+    private final long[] words;
+    
+    private TimeSlotSet(long[] words) {
+        this.words = words;
+    }
+    
+    /**
+     * 時間帯の文字列から集合を作成（解釈できない文字列は無視する）
+     * @param timeSlots 時間帯（例: ["19:00", "9:45"]）
+     */
+    public static TimeSlotSet of(Collection<String> timeSlots) {
+        if (timeSlots == null || timeSlots.isEmpty()) {
+            return EMPTY;
+        }
+        long[] words = new long[WORDS];
+        for (String timeSlot : timeSlots) {
+            int minute = minuteOf(timeSlot);
+            if (minute >= 0) {
+                words[minute >>> 6] |= 1L << minute;
+            }
+        }
+        return new TimeSlotSet(words);
+    }
+    
+    /**
+     * 時刻から集合を作成
+     */
+    public static TimeSlotSet ofTimes(Collection<LocalTime> times) {
+        if (times == null || times.isEmpty()) {
+            return EMPTY;
+        }
+        long[] words = new long[WORDS];
+        for (LocalTime time : times) {
+            int minute = time.getHour() * 60 + time.getMinute();
+            words[minute >>> 6] |= 1L << minute;
+        }
+        return new TimeSlotSet(words);
+    }
+    
+    /**
+     * 時間帯の文字列を0時からの分に変換
+     * @return 0時からの分（解釈できない場合は-1）
+     */
+    public static int minuteOf(String timeSlot) {
+        LocalTime time = AvailabilityPayloadParser.parseTimeSlot(timeSlot);
+        return time != null ? time.getHour() * 60 + time.getMinute() : -1;
+    }
+    
+    /**
+     * 0時からの分の時間帯を含むかどうか
+     */
+    public boolean contains(int minute) {
+        return minute >= 0 && minute < MINUTES_PER_DAY && (words[minute >>> 6] & (1L << minute)) != 0;
+    }
+    
+    /**
+     * 時間帯の文字列を含むかどうか
+     */
+    public boolean contains(String timeSlot) {
+        return contains(minuteOf(timeSlot));
+    }
+    
+    /**
+     * 共通の時間帯があるかどうか（割り当てを行わない）
+     */
+    public boolean intersects(TimeSlotSet other) {
+        for (int i = 0; i < WORDS; i++) {
+            if ((words[i] & other.words[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * 共通部分
+     */
+    public TimeSlotSet and(TimeSlotSet other) {
+        long[] result = new long[WORDS];
+        for (int i = 0; i < WORDS; i++) {
+            result[i] = words[i] & other.words[i];
+        }
+        return new TimeSlotSet(result);
+    }
+    
+    /**
+     * 和集合
+     */
+    public TimeSlotSet or(TimeSlotSet other) {
+        long[] result = new long[WORDS];
+        for (int i = 0; i < WORDS; i++) {
+            result[i] = words[i] | other.words[i];
+        }
+        return new TimeSlotSet(result);
+    }
+    
+    /**
+     * 差集合（この集合にあり、otherにない時間帯。前回のスキャンとの差分に使う）
+     */
+    public TimeSlotSet andNot(TimeSlotSet other) {
+        long[] result = new long[WORDS];
+        for (int i = 0; i < WORDS; i++) {
+            result[i] = words[i] & ~other.words[i];
+        }
+        return new TimeSlotSet(result);
+    }
+    
+    /**
+     * 時間帯を追加した集合
+     */
+    public TimeSlotSet with(int minute) {
+        if (contains(minute) || minute < 0 || minute >= MINUTES_PER_DAY) {
+            return this;
+        }
+        long[] result = words.clone();
+        result[minute >>> 6] |= 1L << minute;
+        return new TimeSlotSet(result);
+    }
+    
+    /**
+     * 時間帯を除いた集合
+     */
+    public TimeSlotSet without(int minute) {
+        if (!contains(minute)) {
+            return this;
+        }
+        long[] result = words.clone();
+        result[minute >>> 6] &= ~(1L << minute);
+        return new TimeSlotSet(result);
+    }
+    
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    public int size() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+    
+    /**
+     * 指定した分以降で最初に含まれる時間帯
+     * @param fromMinute 検索を始める0時からの分
+     * @return 0時からの分（ない場合は-1）
+     */
+    public int nextMinute(int fromMinute) {
+        if (fromMinute < 0) {
+            fromMinute = 0;
+        }
+        if (fromMinute >= MINUTES_PER_DAY) {
+            return -1;
+        }
+        int index = fromMinute >>> 6;
+        long word = words[index] & (-1L << fromMinute);
+        while (true) {
+            if (word != 0) {
+                return index * Long.SIZE + Long.numberOfTrailingZeros(word);
+            }
+            if (++index == WORDS) {
+                return -1;
+            }
+            word = words[index];
+        }
+    }
+    
+    /**
+     * 含まれる時間帯を時刻順の文字列（例: "9:45"）で返す
+     */
+    public List<String> toTimeSlots() {
+        List<String> result = new ArrayList<>(size());
+        for (int minute = nextMinute(0); minute >= 0; minute = nextMinute(minute + 1)) {
+            result.add(format(minute));
+        }
+        return result;
+    }
+    
+    /**
+     * 0時からの分を時間帯の文字列（例: "9:45"）に変換
+     */
+    public static String format(int minute) {
+        int mm = minute % 60;
+        return (minute / 60) + (mm < 10 ? ":0" : ":") + mm;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof TimeSlotSet && Arrays.equals(words, ((TimeSlotSet) o).words));
+    }
+    
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words);
+    }
+    
+    @Override
+    public String toString() {
+        return toTimeSlots().toString();
+    }
+}
@@ -1,9 +1,14 @@
 package com.jicoo.bot.api;
 
 import com.google.gson.Gson;
+import com.jicoo.bot.AvailabilityHistory;
 import com.jicoo.bot.Config;
 import com.jicoo.bot.DateManager;
 import com.jicoo.bot.JicooReservationBot;
+import com.jicoo.bot.LogLevelController;
+import com.jicoo.bot.MonitorRegistry;
+import com.jicoo.bot.PollSchedule;
+import com.jicoo.bot.StateChangeFeed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -14,7 +19,9 @@ import jakarta.servlet.http.HttpServletResponse;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -35,6 +42,17 @@ public class ApiServlet extends HttpServlet {
     private static final String API_ERROR_MSG = "APIリクエスト処理中にエラーが発生しました";
     private static final String DATES_PATH_PREFIX = "/dates/";
     private static final String UNKNOWN_ENDPOINT_MSG = "Unknown endpoint: ";
+    private static final String LOG_LEVEL_PATH = "/log-level";
+    private static final int DEFAULT_HISTORY_LIMIT = 1000;
+    
+    /**
+     * ログレベルの変更リクエスト（PUT /log-level）
+     */
+    private static final class LogLevelRequest {
+        private String profile;
+        private String logger;
+        private String level;
+    }
     
     private final Gson gson;
     private final DateManager dateManager;
@@ -52,7 +70,7 @@ public class ApiServlet extends HttpServlet {
     protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
         handleRequest(req, resp, () -> {
             String path = getPath(req);
-            return handleGetRequest(path);
+            return handleGetRequest(path, req);
         });
     }
     
@@ -135,27 +153,24 @@ public class ApiServlet extends HttpServlet {
         String handle() throws Exception;
     }
     
-    private String handleGetRequest(String path) {
+    private String handleGetRequest(String path, HttpServletRequest req) {
         if (path.equals("/status")) {
             Map<String, Object> status = new HashMap<>();
+            // 状態変更フィードの再開位置（スナップショット取得前に読むことで取りこぼしを防ぐ）
+            status.put("revision", StateChangeFeed.getInstance().getCurrentRevision());
             status.put("running", server.isRunning());
             status.put("isMonitoring", bot.isMonitoring()); // 監視中かどうか
+            status.put("isHorizonScanning", bot.isHorizonScanning()); // ホライズンスキャン中かどうか
             Config config = Config.getInstance();
             status.put("monitoringTimeRestriction", config.isMonitoringTimeRestrictionEnabled());
             status.put("monitoringStartHour", config.getMonitoringStartHour());
             status.put("monitoringEndHour", config.getMonitoringEndHour());
             status.put("withinMonitoringHours", config.isWithinMonitoringHours());
+            status.put("dryRun", config.isDryRun());
             return gson.toJson(status);
         } else if (path.equals("/dates")) {
             List<Map<String, Object>> dates = dateManager.getAllDateInfo().stream()
-                .map(info -> {
-                    Map<String, Object> dateMap = new HashMap<>();
-                    dateMap.put("date", info.getDate());
-                    dateMap.put(ENABLED_KEY, info.isEnabled());
-                    dateMap.put("status", info.getStatus().name());
-                    dateMap.put("selectedTimeSlots", info.getSelectedTimeSlots());
-                    return dateMap;
-                })
+                .map(DateManager.DateInfo::toMap)
                 .toList();
             return gson.toJson(dates);
         } else if (path.equals("/completed-reservations")) {
@@ -169,6 +184,7 @@ public class ApiServlet extends HttpServlet {
             configMap.put("monitoringEndHour", config.getMonitoringEndHour());
             configMap.put("monitoringIntervalSeconds", config.getMonitoringIntervalSeconds());
             configMap.put("monitoringTimeRestriction", config.isMonitoringTimeRestrictionEnabled());
+            configMap.put("dryRun", config.isDryRun());
             return gson.toJson(configMap);
         } else if (path.equals("/teachers")) {
             // 利用可能な先生のリストを取得
@@ -188,6 +204,32 @@ public class ApiServlet extends HttpServlet {
         } else if (path.equals("/time-slots")) {
             // 利用可能な時間帯のリストを取得
             return gson.toJson(DateManager.AVAILABLE_TIME_SLOTS);
+        } else if (path.equals(LOG_LEVEL_PATH)) {
+            return gson.toJson(createLogLevelResponse());
+        } else if (path.equals("/availability/history")) {
+            // 空き状況の変化の履歴（?teacher=&date=&from=&to=&limit=、from/toは日本時間のyyyy-MM-ddTHH:mm）
+            String teacher = req.getParameter("teacher");
+            String date = req.getParameter("date");
+            String from = req.getParameter("from");
+            String to = req.getParameter("to");
+            String limit = req.getParameter("limit");
+            List<Map<String, Object>> changes = AvailabilityHistory.getInstance().query(
+                    teacher != null && !teacher.isBlank() ? teacher : null,
+                    date != null && !date.isBlank() ? LocalDate.parse(date) : null,
+                    from != null && !from.isBlank() ? LocalDateTime.parse(from) : null,
+                    to != null && !to.isBlank() ? LocalDateTime.parse(to) : null,
+                    limit != null && !limit.isBlank() ? Integer.parseInt(limit) : DEFAULT_HISTORY_LIMIT)
+                .stream()
+                .map(AvailabilityHistory.Change::toMap)
+                .toList();
+            return gson.toJson(changes);
+        } else if (path.equals("/poll-schedule")) {
+            // 予測に基づく監視計画（先生ごとの空きの出やすさと確認間隔）
+            PollSchedule schedule = bot.getPollSchedule();
+            return gson.toJson(schedule != null ? schedule.getSnapshot() : List.of());
+        } else if (path.equals("/monitors")) {
+            // 監視タスクごとの状態（ポーリング頻度・連続失敗数・WebDriver再作成回数など）
+            return gson.toJson(MonitorRegistry.getInstance().getSnapshot());
         } else {
             throw new IllegalArgumentException(UNKNOWN_ENDPOINT_MSG + path);
         }
@@ -209,11 +251,20 @@ public class ApiServlet extends HttpServlet {
         } else if (path.equals("/monitoring/stop")) {
             bot.stopMonitoring();
             return createSuccessResponse("監視を停止しました");
+        } else if (path.equals("/horizon/start")) {
+            // 全先生×先の日付までの空き状況の巡回を開始（スキャン自体は別スレッドで動く）
+            bot.startHorizonScan();
+            return createSuccessResponse("ホライズンスキャンを開始しました");
+        } else if (path.equals("/horizon/stop")) {
+            bot.stopHorizonScan();
+            return createSuccessResponse("ホライズンスキャンを停止しました");
         } else if (path.equals("/dates")) {
             Map<String, Object> request = gson.fromJson(body, Map.class);
             String dateStr = (String) request.get("date");
             LocalDate date = LocalDate.parse(dateStr);
             dateManager.addDate(date);
+            // 監視中の場合は、追加した日付のタスクだけを開始する
+            bot.reconcileMonitoring();
             
             return createSuccessResponse("日付を追加しました");
         } else if (path.equals("/manual-reserve")) {
@@ -259,6 +310,8 @@ public class ApiServlet extends HttpServlet {
                     info.setSelectedTimeSlots(timeSlots);
                 }
             }
+            // 監視中の場合は、有効・無効を切り替えた日付のタスクだけを開始・停止する（時間帯は実行中のタスクに反映する）
+            bot.reconcileMonitoring();
             
             return createSuccessResponse("日付を更新しました");
         } else if (path.equals("/config/monitoring-time-restriction")) {
@@ -267,18 +320,53 @@ public class ApiServlet extends HttpServlet {
             Config.getInstance().setMonitoringTimeRestrictionEnabled(enabled);
             
             return createSuccessResponse("監視時間制限を更新しました");
+        } else if (path.equals("/config/dry-run")) {
+            // ドライラン（予約確定の直前で止める）のON/OFF
+            Map<String, Object> request = gson.fromJson(body, Map.class);
+            boolean enabled = (Boolean) request.get(ENABLED_KEY);
+            Config.getInstance().setDryRun(enabled);
+            
+            return createSuccessResponse("ドライランを更新しました");
         } else if (path.equals("/teachers/selected")) {
             // 選択された先生のURLリストを更新
             @SuppressWarnings("unchecked")
             List<String> selectedUrls = (List<String>) gson.fromJson(body, List.class);
             dateManager.setSelectedTeacherUrls(selectedUrls);
+            // 監視中の場合は、追加・削除された先生のタスクだけを開始・停止する
+            bot.reconcileMonitoring();
             
             return createSuccessResponse("選択された先生を更新しました");
+        } else if (path.equals(LOG_LEVEL_PATH)) {
+            // プロファイル（{"profile": "verbose"}）または個別ロガー（{"logger": "...", "level": "DEBUG"}）を変更
+            LogLevelRequest request = gson.fromJson(body, LogLevelRequest.class);
+            LogLevelController controller = LogLevelController.getInstance();
+            if (request.profile != null) {
+                controller.applyProfile(request.profile);
+            }
+            if (request.logger != null) {
+                controller.setLevel(request.logger, request.level);
+            }
+            
+            return gson.toJson(createLogLevelResponse());
         } else {
             throw new IllegalArgumentException(UNKNOWN_ENDPOINT_MSG + path);
         }
     }
     
+    /**
+     * ログレベルの現在の設定を生成
+     */
+    private Map<String, Object> createLogLevelResponse() {
+        LogLevelController controller = LogLevelController.getInstance();
+        Map<String, Object> response = new HashMap<>();
+        response.put("profile", controller.getCurrentProfileName());
+        response.put("profiles", Arrays.stream(LogLevelController.Profile.values())
+            .map(LogLevelController.Profile::getName)
+            .toList());
+        response.put("levels", controller.getConfiguredLevels());
+        return response;
+    }
+    
     /**
      * URLから先生名を抽出
      */
@@ -311,6 +399,7 @@ public class ApiServlet extends HttpServlet {
             String dateStr = path.substring(DATES_PATH_PREFIX.length());
             LocalDate date = LocalDate.parse(dateStr);
             dateManager.removeDate(date);
+            bot.reconcileMonitoring();
             
             return createSuccessResponse("日付を削除しました");
         } else {
@@ -0,0 +1,323 @@
+package com.jicoo.bot.api;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.jicoo.bot.StateChangeFeed;
+import com.jicoo.bot.TimeSlotSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 状態変更フィードのServer-Sent Events配信サーブレット
+ * 差分は1回だけシリアライズされ、単一のディスパッチャースレッドがクライアントごとの送信キューに積む。
+ * 送信はノンブロッキングI/O（{@link WriteListener}）で行うため、遅いクライアントが他のクライアントへの配信を止めない。
+ * 送信キューがあふれたクライアントは切断する（再接続時にLast-Event-IDから再開する）。
+ * Last-Event-IDヘッダーまたはsinceパラメータで指定したリビジョンから再開できる。
+ */
+public class EventStreamServlet extends HttpServlet {
+    private static final Logger logger = LoggerFactory.getLogger(EventStreamServlet.class);
+    
+    private static final String CONTENT_TYPE_EVENT_STREAM = "text/event-stream";
+    private static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+    private static final String SINCE_PARAM = "since";
+    private static final String EVENT_DELTA = "delta";
+    private static final String EVENT_RESYNC = "resync";
+    private static final long HEARTBEAT_INTERVAL_SECONDS = 15;
+    private static final String DISPATCHER_THREAD_NAME = "StateChangeFeedDispatcher";
+    // クライアントごとの送信待ちイベントの上限（超えたクライアントは切断する）
+    private static final int MAX_PENDING_EVENTS = 256;
+    
+    private final Gson gson;
+    private final StateChangeFeed feed;
+    private final Set<Client> clients = new CopyOnWriteArraySet<>();
+    private final ScheduledExecutorService dispatcher;
+    private final Consumer<StateChangeFeed.Delta> feedListener;
+    
+    /**
+     * 接続中のSSEクライアント（送信キューとノンブロッキングの書き込み）
+     * キューへの追加はディスパッチャースレッド、書き込みは書き込み可能になったスレッドから行い、このオブジェクトのロックで保護する。
+     */
+    private final class Client implements WriteListener {
+        private final AsyncContext asyncContext;
+        private final ServletOutputStream out;
+        private final Deque<byte[]> pending = new ArrayDeque<>();
+        private boolean needsFlush;
+        private boolean closed;
+        // ディスパッチャースレッドからのみ参照する
+        private long lastRevision;
+        
+        private Client(AsyncContext asyncContext, ServletOutputStream out, long lastRevision) {
+            this.asyncContext = asyncContext;
+            this.out = out;
+            this.lastRevision = lastRevision;
+        }
+        
+        /**
+         * イベントを送信キューに追加し、書き込めるだけ書き込む
+         * @return キューがあふれた場合や切断済みの場合false
+         */
+        private synchronized boolean enqueue(String text) {
+            if (closed || pending.size() >= MAX_PENDING_EVENTS) {
+                return false;
+            }
+            pending.addLast(text.getBytes(StandardCharsets.UTF_8));
+            drain();
+            return !closed;
+        }
+        
+        /**
+         * 書き込み可能な間だけキューを書き込む（書き込めなくなったらコンテナが onWritePossible で再開させる）
+         */
+        private synchronized void drain() {
+            try {
+                while (!closed && out.isReady()) {
+                    byte[] next = pending.pollFirst();
+                    if (next != null) {
+                        out.write(next);
+                        needsFlush = true;
+                    } else if (needsFlush) {
+                        needsFlush = false;
+                        out.flush();
+                    } else {
+                        return;
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                close(this);
+            }
+        }
+        
+        @Override
+        public void onWritePossible() {
+            drain();
+        }
+        
+        @Override
+        public void onError(Throwable t) {
+            close(this);
+        }
+    }
+    
+    public EventStreamServlet() {
+        // 1イベント1行で送れるよう、整形なしのGsonを使用
+        this.gson = new GsonBuilder()
+            .registerTypeAdapter(LocalDate.class, new LocalDateAdapter())
+            .registerTypeAdapter(TimeSlotSet.class, new TimeSlotSetAdapter())
+            .create();
+        this.feed = StateChangeFeed.getInstance();
+        this.dispatcher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, DISPATCHER_THREAD_NAME);
+            t.setDaemon(true);
+            return t;
+        });
+        
+        // 発行スレッドをブロックしないよう、配信はディスパッチャースレッドに委譲
+        this.feedListener = delta -> dispatcher.execute(() -> broadcast(delta));
+        feed.addListener(feedListener);
+        dispatcher.scheduleAtFixedRate(this::sendHeartbeat,
+            HEARTBEAT_INTERVAL_SECONDS, HEARTBEAT_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+    
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+        resp.setContentType(CONTENT_TYPE_EVENT_STREAM);
+        resp.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        resp.setHeader("Cache-Control", "no-cache");
+        resp.setHeader("X-Accel-Buffering", "no");
+        resp.setStatus(HttpServletResponse.SC_OK);
+        
+        long sinceRevision = parseRevision(req.getHeader(LAST_EVENT_ID_HEADER));
+        if (sinceRevision < 0) {
+            sinceRevision = parseRevision(req.getParameter(SINCE_PARAM));
+        }
+        
+        AsyncContext asyncContext = req.startAsync();
+        asyncContext.setTimeout(0); // 無制限
+        ServletOutputStream out = resp.getOutputStream();
+        Client client = new Client(asyncContext, out, sinceRevision);
+        asyncContext.addListener(new AsyncListener() {
+            @Override
+            public void onComplete(AsyncEvent event) {
+                clients.remove(client);
+            }
+            
+            @Override
+            public void onTimeout(AsyncEvent event) {
+                clients.remove(client);
+            }
+            
+            @Override
+            public void onError(AsyncEvent event) {
+                clients.remove(client);
+            }
+            
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+                // 何もしない
+            }
+        });
+        
+        // 以降の書き込みはノンブロッキングで行う
+        out.setWriteListener(client);
+        
+        // 未受信分の送信と登録はディスパッチャースレッドで行い、ライブ配信との順序を保証する
+        dispatcher.execute(() -> register(client));
+    }
+    
+    /**
+     * クライアントを登録し、指定リビジョン以降の差分を送信
+     */
+    private void register(Client client) {
+        if (client.lastRevision >= 0) {
+            List<StateChangeFeed.Delta> backlog = feed.getDeltasSince(client.lastRevision);
+            if (backlog == null) {
+                // 履歴から消えている場合は全件再取得を要求
+                client.lastRevision = feed.getCurrentRevision();
+                Map<String, Object> data = new HashMap<>(2);
+                data.put("revision", client.lastRevision);
+                if (!send(client, formatEvent(client.lastRevision, EVENT_RESYNC, gson.toJson(data)))) {
+                    return;
+                }
+            } else {
+                for (StateChangeFeed.Delta delta : backlog) {
+                    if (!send(client, formatDelta(delta))) {
+                        return;
+                    }
+                    client.lastRevision = delta.getRevision();
+                }
+            }
+        } else {
+            client.lastRevision = feed.getCurrentRevision();
+        }
+        // 接続直後にフラッシュしてクライアントのonopenを発火させる
+        if (!send(client, ": connected\n\n")) {
+            return;
+        }
+        clients.add(client);
+        logger.debug("SSEクライアントを登録しました（接続数: {}, リビジョン: {}）", clients.size(), client.lastRevision);
+    }
+    
+    /**
+     * 差分を全クライアントに配信（ディスパッチャースレッドから呼ばれる）
+     */
+    private void broadcast(StateChangeFeed.Delta delta) {
+        if (clients.isEmpty()) {
+            return;
+        }
+        String event = formatDelta(delta);
+        for (Client client : clients) {
+            if (delta.getRevision() <= client.lastRevision) {
+                continue; // 再開時に送信済み
+            }
+            if (send(client, event)) {
+                client.lastRevision = delta.getRevision();
+            }
+        }
+    }
+    
+    /**
+     * 接続維持用のコメント行を送信（切断検知も兼ねる）
+     */
+    private void sendHeartbeat() {
+        for (Client client : clients) {
+            send(client, ": heartbeat\n\n");
+        }
+    }
+    
+    private String formatDelta(StateChangeFeed.Delta delta) {
+        Map<String, Object> payload = new HashMap<>(4);
+        payload.put("revision", delta.getRevision());
+        payload.put("type", delta.getType());
+        payload.put("timestamp", delta.getTimestamp());
+        payload.put("data", delta.getData());
+        return formatEvent(delta.getRevision(), EVENT_DELTA, gson.toJson(payload));
+    }
+    
+    private String formatEvent(long id, String event, String json) {
+        // SSEのdata行は改行を含められないため、念のため行ごとに分割する
+        StringBuilder sb = new StringBuilder(json.length() + 64);
+        sb.append("id: ").append(id).append('\n');
+        sb.append("event: ").append(event).append('\n');
+        for (String line : json.split("\n")) {
+            sb.append("data: ").append(line).append('\n');
+        }
+        sb.append('\n');
+        return sb.toString();
+    }
+    
+    /**
+     * クライアントの送信キューに追加（あふれた場合や切断済みの場合は切断してfalseを返す）
+     */
+    private boolean send(Client client, String text) {
+        if (client.enqueue(text)) {
+            return true;
+        }
+        if (!client.closed) {
+            logger.warn("【WARN】SSEクライアントの送信待ちが{}件を超えたため切断します", MAX_PENDING_EVENTS);
+        }
+        close(client);
+        return false;
+    }
+    
+    private void close(Client client) {
+        synchronized (client) {
+            if (client.closed) {
+                clients.remove(client);
+                return;
+            }
+            client.closed = true;
+            client.pending.clear();
+        }
+        clients.remove(client);
+        try {
+            client.asyncContext.complete();
+        } catch (Exception e) {
+            logger.debug("SSEクライアントのクローズ中にエラーが発生しました（無視）: {}", e.getMessage());
+        }
+    }
+    
+    private long parseRevision(String value) {
+        if (value == null || value.isEmpty()) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+    
+    @Override
+    public void destroy() {
+        feed.removeListener(feedListener);
+        for (Client client : clients) {
+            close(client);
+        }
+        dispatcher.shutdownNow();
+        super.destroy();
+    }
+}
@@ -0,0 +1,116 @@
+package com.jicoo.bot.api;
+
+import com.jicoo.bot.LatencyHistogram;
+import com.jicoo.bot.ReservationMetrics;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * メトリクス公開サーブレット
+ * 予約処理のフェーズ別レイテンシをPrometheusのテキスト形式（summary）で返す。
+ * 予約フォームのロケーターの使用回数とドライランの実行回数もcounterとして返す。
+ */
+public class MetricsServlet extends HttpServlet {
+    private static final String CONTENT_TYPE_PROMETHEUS = "text/plain; version=0.0.4; charset=UTF-8";
+    private static final String PHASE_METRIC = "jicoo_reservation_phase_duration_seconds";
+    private static final String PHASE_MAX_METRIC = "jicoo_reservation_phase_duration_seconds_max";
+    private static final String LOCATOR_HITS_METRIC = "jicoo_form_locator_hits_total";
+    private static final String DRY_RUN_METRIC = "jicoo_dry_run_total";
+    private static final String NETWORK_PAYLOAD_METRIC = "jicoo_network_availability_payloads_total";
+    private static final String SLOT_TRANSITION_METRIC = "jicoo_slot_transitions_total";
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+    
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+        resp.setContentType(CONTENT_TYPE_PROMETHEUS);
+        resp.setStatus(HttpServletResponse.SC_OK);
+        resp.getWriter().write(createPrometheusText());
+    }
+    
+    /**
+     * フェーズ別レイテンシをPrometheusのテキスト形式に変換
+     */
+    private String createPrometheusText() {
+        Map<String, Map<ReservationMetrics.Phase, LatencyHistogram>> histograms =
+            ReservationMetrics.getInstance().getHistograms();
+        StringBuilder summary = new StringBuilder();
+        StringBuilder max = new StringBuilder();
+        summary.append("# HELP ").append(PHASE_METRIC).append(" 予約処理のフェーズ別所要時間\n");
+        summary.append("# TYPE ").append(PHASE_METRIC).append(" summary\n");
+        max.append("# HELP ").append(PHASE_MAX_METRIC).append(" 予約処理のフェーズ別所要時間の最大値\n");
+        max.append("# TYPE ").append(PHASE_MAX_METRIC).append(" gauge\n");
+        
+        for (Map.Entry<String, Map<ReservationMetrics.Phase, LatencyHistogram>> teacherEntry : histograms.entrySet()) {
+            for (Map.Entry<ReservationMetrics.Phase, LatencyHistogram> phaseEntry : teacherEntry.getValue().entrySet()) {
+                LatencyHistogram histogram = phaseEntry.getValue();
+                if (histogram.getCount() == 0) {
+                    continue;
+                }
+                String labels = "teacher=\"" + escapeLabelValue(teacherEntry.getKey())
+                    + "\",phase=\"" + phaseEntry.getKey().getLabel() + "\"";
+                for (double quantile : QUANTILES) {
+                    summary.append(PHASE_METRIC).append('{').append(labels)
+                        .append(",quantile=\"").append(quantile).append("\"} ")
+                        .append(formatValue(histogram.getValueAtPercentile(quantile * 100))).append('\n');
+                }
+                summary.append(PHASE_METRIC).append("_sum{").append(labels).append("} ")
+                    .append(formatValue(histogram.getSumSeconds())).append('\n');
+                summary.append(PHASE_METRIC).append("_count{").append(labels).append("} ")
+                    .append(histogram.getCount()).append('\n');
+                max.append(PHASE_MAX_METRIC).append('{').append(labels).append("} ")
+                    .append(formatValue(histogram.getMaxSeconds())).append('\n');
+            }
+        }
+        summary.append(max);
+        
+        ReservationMetrics metrics = ReservationMetrics.getInstance();
+        summary.append("# HELP ").append(LOCATOR_HITS_METRIC).append(" 予約フォームの項目が見つかったロケーターの回数\n");
+        summary.append("# TYPE ").append(LOCATOR_HITS_METRIC).append(" counter\n");
+        for (Map.Entry<String, Map<String, Long>> fieldEntry : metrics.getLocatorHits().entrySet()) {
+            for (Map.Entry<String, Long> hit : fieldEntry.getValue().entrySet()) {
+                summary.append(LOCATOR_HITS_METRIC).append("{field=\"").append(escapeLabelValue(fieldEntry.getKey()))
+                    .append("\",locator=\"").append(escapeLabelValue(hit.getKey())).append("\"} ")
+                    .append(hit.getValue()).append('\n');
+            }
+        }
+        summary.append("# HELP ").append(DRY_RUN_METRIC).append(" 予約確定の直前で止めたドライランの回数\n");
+        summary.append("# TYPE ").append(DRY_RUN_METRIC).append(" counter\n");
+        for (Map.Entry<String, Long> dryRun : metrics.getDryRunCounts().entrySet()) {
+            summary.append(DRY_RUN_METRIC).append("{teacher=\"").append(escapeLabelValue(dryRun.getKey())).append("\"} ")
+                .append(dryRun.getValue()).append('\n');
+        }
+        summary.append("# HELP ").append(NETWORK_PAYLOAD_METRIC).append(" 通信内容から対象日付の空き状況を取得した回数\n");
+        summary.append("# TYPE ").append(NETWORK_PAYLOAD_METRIC).append(" counter\n");
+        for (Map.Entry<String, Long> payload : metrics.getNetworkPayloadCounts().entrySet()) {
+            summary.append(NETWORK_PAYLOAD_METRIC).append("{teacher=\"").append(escapeLabelValue(payload.getKey())).append("\"} ")
+                .append(payload.getValue()).append('\n');
+        }
+        summary.append("# HELP ").append(SLOT_TRANSITION_METRIC).append(" スキャン結果のタイムスロットの状態遷移の回数\n");
+        summary.append("# TYPE ").append(SLOT_TRANSITION_METRIC).append(" counter\n");
+        for (Map.Entry<String, Map<String, Long>> teacherEntry : metrics.getSlotTransitionCounts().entrySet()) {
+            for (Map.Entry<String, Long> transition : teacherEntry.getValue().entrySet()) {
+                summary.append(SLOT_TRANSITION_METRIC).append("{teacher=\"").append(escapeLabelValue(teacherEntry.getKey()))
+                    .append("\",type=\"").append(transition.getKey()).append("\"} ")
+                    .append(transition.getValue()).append('\n');
+            }
+        }
+        return summary.toString();
+    }
+    
+    /**
+     * ラベル値のエスケープ（バックスラッシュ・ダブルクォート・改行）
+     */
+    private static String escapeLabelValue(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+    
+    private static String formatValue(double value) {
+        return String.format(Locale.ROOT, "%.6f", value);
+    }
+}
@@ -6,8 +6,12 @@ import com.jicoo.bot.Config;
 import com.jicoo.bot.DateManager;
 import com.jicoo.bot.EmailMonitoringService;
 import com.jicoo.bot.JicooReservationBot;
+import com.jicoo.bot.LogCapture;
+import com.jicoo.bot.MonitorRegistry;
 import com.jicoo.bot.ReservationService;
+import com.jicoo.bot.TimeSlotSet;
 import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.servlet.FilterHolder;
 import org.eclipse.jetty.servlet.ServletContextHandler;
 import org.eclipse.jetty.servlet.ServletHolder;
 import org.eclipse.jetty.websocket.server.config.JettyWebSocketServletContainerInitializer;
@@ -75,11 +79,19 @@ public class RestApiServer {
     private static final int MIDNIGHT_HOUR = 0;
     private static final int DAYS_TO_ADD_FOR_NEXT_WEEK = 7;
     
-    public RestApiServer() {
-        this.gson = new GsonBuilder()
+    /**
+     * REST APIのレスポンス用Gsonを生成
+     */
+    static Gson createGson() {
+        return new GsonBuilder()
             .setPrettyPrinting()
             .registerTypeAdapter(LocalDate.class, new LocalDateAdapter())
+            .registerTypeAdapter(TimeSlotSet.class, new TimeSlotSetAdapter())
             .create();
+    }
+    
+    public RestApiServer() {
+        this.gson = createGson();
         this.dateManager = new DateManager();
         Config config = Config.getInstance();
         ReservationService reservationService = new ReservationService(config);
@@ -109,6 +121,13 @@ public class RestApiServer {
             }
         });
         
+        // 監視タスクの状態変化をWebSocketでクライアントに通知
+        MonitorRegistry.getInstance().addListener(monitors -> {
+            Map<String, Object> data = new HashMap<>(2);
+            data.put("monitors", monitors);
+            WebSocketHandler.broadcastMessage("monitors", data);
+        });
+        
         // メール監視サービスを初期化
         if (config.isEmailMonitoringEnabled()) {
             this.emailMonitoringService = new EmailMonitoringService(
@@ -140,6 +159,9 @@ public class RestApiServer {
             return;
         }
         
+        // ログをWebSocketに配信するためキャプチャ用アペンダーを登録
+        LogCapture.getInstance().install();
+        
         serverPort = getServerPort();
         server = new Server(serverPort);
         
@@ -147,8 +169,17 @@ public class RestApiServer {
         context.setContextPath("/");
         // カスタムサーブレットで処理するため、リソースベースは設定しない
         
-        // CORS設定
-        context.addFilter(CorsFilter.class, "/*", null);
+        // CORS設定（SSEの非同期リクエストも通すため非同期対応にする）
+        FilterHolder corsFilterHolder = context.addFilter(CorsFilter.class, "/*", null);
+        corsFilterHolder.setAsyncSupported(true);
+        
+        // 状態変更フィード（SSE）エンドポイント（完全一致のため/api/*より優先される）
+        ServletHolder eventStreamHolder = new ServletHolder(new EventStreamServlet());
+        eventStreamHolder.setAsyncSupported(true);
+        context.addServlet(eventStreamHolder, "/api/events");
+        
+        // メトリクス（Prometheusテキスト形式）エンドポイント
+        context.addServlet(new ServletHolder(new MetricsServlet()), "/api/metrics");
         
         // REST APIエンドポイント（より具体的なパターンを先に登録）
         ServletHolder apiServletHolder = new ServletHolder(new ApiServlet(gson, dateManager, bot, this));
@@ -0,0 +1,37 @@
+package com.jicoo.bot.api;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonDeserializationContext;
+import com.google.gson.JsonDeserializer;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonSerializationContext;
+import com.google.gson.JsonSerializer;
+import com.jicoo.bot.TimeSlotSet;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * TimeSlotSetのJSONシリアライゼーション用アダプター（時刻順の時間帯の配列、例: ["9:45", "19:00"]）
+ */
+public class TimeSlotSetAdapter implements JsonSerializer<TimeSlotSet>, JsonDeserializer<TimeSlotSet> {
+    
+    @Override
+    public JsonElement serialize(TimeSlotSet src, Type typeOfSrc, JsonSerializationContext context) {
+        JsonArray array = new JsonArray();
+        for (String timeSlot : src.toTimeSlots()) {
+            array.add(timeSlot);
+        }
+        return array;
+    }
+    
+    @Override
+    public TimeSlotSet deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) {
+        List<String> timeSlots = new ArrayList<>();
+        for (JsonElement element : json.getAsJsonArray()) {
+            timeSlots.add(element.getAsString());
+        }
+        return TimeSlotSet.of(timeSlots);
+    }
+}
@@ -1,36 +1,138 @@
 package com.jicoo.bot.api;
 
 import com.google.gson.Gson;
-import com.jicoo.bot.GUILogAppender;
+import com.jicoo.bot.LogCapture;
 import org.eclipse.jetty.websocket.api.Session;
 import org.eclipse.jetty.websocket.api.WebSocketListener;
+import org.eclipse.jetty.websocket.api.WriteCallback;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.IOException;
 import java.time.LocalDate;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * WebSocketハンドラー
  * リアルタイムログ配信とイベント通知
+ * 送信はセッションごとの上限付きキューから非同期で行い、呼び出し元（ログ出力スレッド等）をブロックしない。
+ * ログは一定間隔でまとめて1フレームとして送信する。
  */
 public class WebSocketHandler implements WebSocketListener {
     private static final Logger logger = LoggerFactory.getLogger(WebSocketHandler.class);
-    private static final Set<Session> sessions = new CopyOnWriteArraySet<>();
     private static final Gson gson = new Gson();
     
+    // セッションごとの送信待ちキューの上限（超えた場合は古いものから破棄）
+    private static final int SESSION_QUEUE_CAPACITY = 256;
+    // ログのバッチ送信間隔（ミリ秒）
+    private static final long LOG_BATCH_INTERVAL_MS = 200;
+    // バッチ送信前に保持するログ行の上限（超えた場合は古いものから破棄）
+    private static final int LOG_BUFFER_CAPACITY = 2000;
+    private static final String LOG_BATCHER_THREAD_NAME = "WebSocketLogBatcher";
+    
+    private static final Map<Session, SessionOutbox> sessions = new ConcurrentHashMap<>();
+    private static final Deque<String> logBuffer = new ArrayDeque<>();
+    private static final AtomicLong droppedLogLines = new AtomicLong();
+    private static final AtomicLong droppedMessages = new AtomicLong();
+    private static long pendingDroppedLogLines = 0; // logBufferで保護
+    private static final ScheduledExecutorService logBatcher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, LOG_BATCHER_THREAD_NAME);
+        t.setDaemon(true);
+        return t;
+    });
+    
+    static {
+        logBatcher.scheduleAtFixedRate(WebSocketHandler::flushLogBatch,
+            LOG_BATCH_INTERVAL_MS, LOG_BATCH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        LogCapture.getInstance().addSink(WebSocketHandler::broadcastLogLines);
+    }
+    
     private Session session;
     
+    /**
+     * セッションごとの送信キュー
+     * 同時に送信中のフレームは1つだけとし、完了コールバックで次のフレームを送信する。
+     */
+    private static final class SessionOutbox implements WriteCallback {
+        private final Session session;
+        private final Deque<String> queue = new ArrayDeque<>(SESSION_QUEUE_CAPACITY);
+        private boolean sending = false;
+        private long droppedSinceNotice = 0;
+        private volatile long droppedTotal = 0;
+        
+        private SessionOutbox(Session session) {
+            this.session = session;
+        }
+        
+        /**
+         * メッセージをキューに追加（ブロックしない）
+         */
+        private void offer(String message) {
+            synchronized (this) {
+                if (queue.size() >= SESSION_QUEUE_CAPACITY) {
+                    queue.removeFirst();
+                    droppedSinceNotice++;
+                    droppedTotal++;
+                    droppedMessages.incrementAndGet();
+                }
+                queue.addLast(message);
+                if (sending) {
+                    return;
+                }
+                sending = true;
+            }
+            sendNext();
+        }
+        
+        private void sendNext() {
+            String message;
+            synchronized (this) {
+                if (droppedSinceNotice > 0) {
+                    // 破棄した件数をクライアントに通知
+                    message = "{\"type\":\"" + TYPE_DROPPED + "\",\"count\":" + droppedSinceNotice + "}";
+                    droppedSinceNotice = 0;
+                } else {
+                    message = queue.pollFirst();
+                }
+                if (message == null) {
+                    sending = false;
+                    return;
+                }
+            }
+            if (!session.isOpen()) {
+                remove(session);
+                return;
+            }
+            session.getRemote().sendString(message, this);
+        }
+        
+        @Override
+        public void writeSuccess() {
+            sendNext();
+        }
+        
+        @Override
+        public void writeFailed(Throwable cause) {
+            // ここでのログ出力はログバッファに積まれるだけなので再帰的な送信は起きない
+            logger.debug("WebSocket送信エラー（セッションを削除します）: {}", cause.getMessage());
+            remove(session);
+        }
+    }
+    
     @Override
     public void onWebSocketConnect(Session session) {
         this.session = session;
-        sessions.add(session);
+        SessionOutbox outbox = new SessionOutbox(session);
+        sessions.put(session, outbox);
         logger.info("【WebSocket】接続が確立されました: {}", session.getRemoteAddress());
         logger.info("【WebSocket】現在の接続数: {}", sessions.size());
         
@@ -41,14 +143,22 @@ public class WebSocketHandler implements WebSocketListener {
             logger.debug("セッションのアイドルタイムアウト設定に失敗しました（無視）", e);
         }
         
-        // ログアペンダーにWebSocketハンドラーを登録
-        GUILogAppender.setWebSocketHandler(this);
+        // 接続前の直近のログを再送
+        List<String> recentLines = LogCapture.getInstance().getRecentLines();
+        if (!recentLines.isEmpty()) {
+            Map<String, Object> replay = new HashMap<>(4);
+            replay.put("type", TYPE_LOG_BATCH);
+            replay.put("messages", recentLines);
+            replay.put("dropped", 0);
+            replay.put("replay", true);
+            outbox.offer(gson.toJson(replay));
+        }
     }
     
     @Override
     public void onWebSocketClose(int statusCode, String reason) {
         if (session != null) {
-            sessions.remove(session);
+            remove(session);
         }
         logger.info("【WebSocket】接続が切断されました: ステータスコード={}, 理由={}", statusCode, reason);
         logger.info("【WebSocket】現在の接続数: {}", sessions.size());
@@ -62,14 +172,14 @@ public class WebSocketHandler implements WebSocketListener {
             logger.debug("【WebSocket】アイドルタイムアウト（正常な動作）: {}", cause.getMessage());
             // タイムアウトは正常な切断なので、セッションを削除
             if (session != null) {
-                sessions.remove(session);
+                remove(session);
             }
         } else {
             // その他のエラーは警告レベルで記録
             logger.warn("【WebSocket】エラーが発生しました: {}", cause.getMessage());
             logger.debug("【WebSocket】エラーの詳細", cause);
             if (session != null) {
-                sessions.remove(session);
+                remove(session);
             }
         }
     }
@@ -84,19 +194,78 @@ public class WebSocketHandler implements WebSocketListener {
         // バイナリメッセージは使用しない
     }
     
-    /**
-     * ログメッセージをブロードキャスト
-     */
     // 定数：メッセージタイプ
-    private static final String TYPE_LOG = "log";
+    private static final String TYPE_LOG_BATCH = "logBatch";
+    private static final String TYPE_DROPPED = "dropped";
     private static final String TYPE_RESERVATION_RESULT = "reservationResult";
     private static final String TYPE_STATUS = "status";
     
+    /**
+     * ログメッセージをブロードキャスト
+     * ログはバッファに積むだけで、送信はバッチ送信スレッドが一定間隔でまとめて行う。
+     */
     public static void broadcastLog(String message) {
-        Map<String, String> logMessage = new HashMap<>(4); // 初期サイズを指定
-        logMessage.put("type", TYPE_LOG);
-        logMessage.put("message", message);
-        broadcast(gson.toJson(logMessage));
+        broadcastLogLines(List.of(message));
+    }
+    
+    /**
+     * 複数のログメッセージをまとめてブロードキャスト（LogCaptureから呼ばれる）
+     */
+    public static void broadcastLogLines(List<String> messages) {
+        if (sessions.isEmpty()) {
+            return;
+        }
+        synchronized (logBuffer) {
+            for (String message : messages) {
+                if (logBuffer.size() >= LOG_BUFFER_CAPACITY) {
+                    logBuffer.removeFirst();
+                    pendingDroppedLogLines++;
+                    droppedLogLines.incrementAndGet();
+                }
+                logBuffer.addLast(message);
+            }
+        }
+    }
+    
+    /**
+     * バッファに溜まったログを1フレームにまとめて送信（バッチ送信スレッドから呼ばれる）
+     */
+    private static void flushLogBatch() {
+        List<String> messages;
+        long dropped;
+        synchronized (logBuffer) {
+            if (logBuffer.isEmpty()) {
+                return;
+            }
+            messages = new ArrayList<>(logBuffer);
+            logBuffer.clear();
+            dropped = pendingDroppedLogLines;
+            pendingDroppedLogLines = 0;
+        }
+        Map<String, Object> batch = new HashMap<>(4);
+        batch.put("type", TYPE_LOG_BATCH);
+        batch.put("messages", messages);
+        batch.put("dropped", dropped);
+        try {
+            broadcast(gson.toJson(batch));
+        } catch (Exception e) {
+            // スケジューラーを停止させないため例外は握りつぶす
+            logger.debug("ログのバッチ送信に失敗しました: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * 破棄されたログ行の累計を取得
+     */
+    public static long getDroppedLogLineCount() {
+        return droppedLogLines.get();
+    }
+    
+    /**
+     * 送信キューの上限超過で破棄されたメッセージの累計を取得
+     */
+    public static long getDroppedMessageCount() {
+        return droppedMessages.get();
     }
     
     /**
@@ -154,20 +323,21 @@ public class WebSocketHandler implements WebSocketListener {
         broadcast(gson.toJson(message));
     }
     
+    /**
+     * 全セッションの送信キューにメッセージを追加（ブロックしない）
+     */
     private static void broadcast(String message) {
-        sessions.removeIf(session -> {
-            try {
-                if (session.isOpen()) {
-                    session.getRemote().sendString(message);
-                    return false;
-                } else {
-                    return true;
-                }
-            } catch (IOException e) {
-                logger.warn("WebSocket送信エラー", e);
-                return true;
-            }
-        });
+        for (SessionOutbox outbox : sessions.values()) {
+            outbox.offer(message);
+        }
+    }
+    
+    private static void remove(Session session) {
+        SessionOutbox outbox = sessions.remove(session);
+        if (outbox != null && outbox.droppedTotal > 0) {
+            logger.debug("【WebSocket】送信キューの上限超過で{}件のメッセージを破棄しました: {}",
+                outbox.droppedTotal, session.getRemoteAddress());
+        }
     }
 }
 
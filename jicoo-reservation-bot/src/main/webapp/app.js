@@ -2,6 +2,10 @@
 let ws = null;
 let reconnectInterval = null;
 
+// 状態変更フィード（SSE）
+let eventSource = null;
+let lastRevision = 0; // 最後に反映した状態変更のリビジョン
+
 // APIベースURL
 const API_BASE = "/api";
 
@@ -9,6 +13,9 @@ const API_BASE = "/api";
 let currentCalendarMonth = new Date();
 let allDates = []; // 全日付データ（カレンダー表示用）
 let availableTimeSlots = []; // 利用可能な時間帯リスト（APIから取得）
+let completedReservations = []; // 予約完了日リスト（差分で更新）
+let monitoringStatus = {}; // 監視時間設定（差分で更新）
+let monitors = []; // 監視タスクの状態（WebSocketで更新）
 
 // 初期化
 (function () {
@@ -30,20 +37,25 @@ let availableTimeSlots = []; // 利用可能な時間帯リスト（APIから取
       // まずイベントリスナーを設定
       setupEventListeners();
 
-      // 次に初期データを読み込み
-      loadInitialData().catch((error) => {
-        console.error("初期データ読み込みエラー:", error);
-        appendLog(
-          "初期データの読み込みに失敗しました: " + error.message,
-          "error"
-        );
-      });
+      // 次に初期データを読み込み、そのリビジョンから状態変更フィードを購読
+      loadInitialData()
+        .then(() => connectEventStream())
+        .catch((error) => {
+          console.error("初期データ読み込みエラー:", error);
+          appendLog(
+            "初期データの読み込みに失敗しました: " + error.message,
+            "error"
+          );
+        });
 
       // WebSocket接続を開始
       initializeWebSocket();
 
-      // ポーリングを開始
-      startPolling();
+      // 監視時間内かどうかの表示をローカル時計で更新
+      startMonitoringTimeClock();
+
+      // 監視タスクの経過時間表示を更新
+      setInterval(() => renderMonitorList(monitors), 1000);
 
       console.log("初期化が完了しました");
     } catch (error) {
@@ -137,6 +149,17 @@ function handleWebSocketMessage(data) {
     case "log":
       appendLog(data.message, "info");
       break;
+    case "logBatch":
+      // サーバー側で一定間隔ごとにまとめられたログ
+      if (data.dropped > 0) {
+        appendLog(`（ログ${data.dropped}件を省略しました）`, "warn");
+      }
+      (data.messages || []).forEach((message) => appendLog(message, "info"));
+      break;
+    case "dropped":
+      // 送信が追いつかずサーバー側で破棄されたメッセージ
+      appendLog(`（通知${data.count}件を省略しました）`, "warn");
+      break;
     case "reservationResult":
       // 時間帯情報と先生URLも受け取る
       const timeSlots = data.timeSlots || [];
@@ -146,6 +169,96 @@ function handleWebSocketMessage(data) {
     case "status":
       updateStatus(data.status);
       break;
+    case "monitors":
+      // 監視タスクの状態に変化があった場合のみ送られる
+      monitors = data.monitors || [];
+      renderMonitorList(monitors);
+      break;
+  }
+}
+
+// 状態変更フィード（SSE）に接続
+function connectEventStream() {
+  if (eventSource) {
+    eventSource.close();
+  }
+
+  // 再接続時はブラウザがLast-Event-IDを自動送信するため、sinceは初回のみ使われる
+  eventSource = new EventSource(`${API_BASE}/events?since=${lastRevision}`);
+
+  eventSource.addEventListener("delta", (event) => {
+    try {
+      const delta = JSON.parse(event.data);
+      if (delta.revision <= lastRevision) {
+        return; // 反映済み
+      }
+      lastRevision = delta.revision;
+      handleStateDelta(delta.type, delta.data || {});
+    } catch (error) {
+      console.error("状態変更の解析エラー:", error);
+    }
+  });
+
+  // 履歴が失われた場合は全件を取り直して購読し直す
+  eventSource.addEventListener("resync", async () => {
+    console.log("状態変更フィードの再同期を行います");
+    await loadInitialData();
+    connectEventStream();
+  });
+
+  eventSource.onerror = () => {
+    console.warn("状態変更フィードの接続が切断されました（自動再接続します）");
+  };
+}
+
+// 状態変更の差分を画面に反映
+function handleStateDelta(type, data) {
+  switch (type) {
+    case "dateAdded":
+    case "dateToggled":
+    case "dateStatusChanged":
+    case "timeSlotsChanged": {
+      const index = allDates.findIndex((d) => d.date === data.date);
+      if (index >= 0) {
+        allDates[index] = data.dateInfo;
+      } else {
+        allDates.push(data.dateInfo);
+      }
+      renderDateList(allDates);
+      renderCalendar();
+      break;
+    }
+    case "dateRemoved":
+      allDates = allDates.filter((d) => d.date !== data.date);
+      renderDateList(allDates);
+      renderCalendar();
+      break;
+    case "completedReservationsChanged":
+      completedReservations = data.completedReservations || [];
+      renderCompletedList(completedReservations);
+      break;
+    case "teachersSelected":
+      applySelectedTeachers(data.selectedUrls || []);
+      break;
+    case "monitoringStarted":
+      updateMonitoringButtons(true);
+      break;
+    case "monitoringStopped":
+      updateMonitoringButtons(false);
+      break;
+    case "monitoringTimeRestrictionChanged":
+      monitoringStatus.monitoringTimeRestriction =
+        data.monitoringTimeRestriction;
+      refreshMonitoringTimeStatus();
+      break;
+    case "dryRunChanged":
+      monitoringStatus.dryRun = data.dryRun;
+      updateDryRunToggle(data.dryRun);
+      break;
+    case "pollOutcome":
+      // 監視ループの結果（ログはWebSocketで届くため表示のみ）
+      console.debug("ポーリング結果:", data);
+      break;
   }
 }
 
@@ -160,7 +273,11 @@ async function loadInitialData() {
       throw new Error(`ステータス取得エラー: ${statusResponse.status}`);
     }
     const status = await statusResponse.json();
+    // スナップショット取得前のリビジョン（以降の差分はフィードで受け取る）
+    lastRevision = status.revision || 0;
+    monitoringStatus = status;
     updateMonitoringTimeStatus(status);
+    updateDryRunToggle(status.dryRun || false);
     // 監視状態に応じてボタンの状態を更新
     updateMonitoringButtons(status.isMonitoring || false);
 
@@ -180,7 +297,8 @@ async function loadInitialData() {
       throw new Error(`予約完了日取得エラー: ${completedResponse.status}`);
     }
     const completed = await completedResponse.json();
-    renderCompletedList(completed || []);
+    completedReservations = completed || [];
+    renderCompletedList(completedReservations);
 
     // 先生リスト取得
     const teachersResponse = await fetch(`${API_BASE}/teachers`);
@@ -198,6 +316,14 @@ async function loadInitialData() {
     availableTimeSlots = (await timeSlotsResponse.json()) || [];
     console.log("利用可能な時間帯:", availableTimeSlots);
 
+    // 監視タスクの状態取得
+    const monitorsResponse = await fetch(`${API_BASE}/monitors`);
+    if (!monitorsResponse.ok) {
+      throw new Error(`監視タスク取得エラー: ${monitorsResponse.status}`);
+    }
+    monitors = (await monitorsResponse.json()) || [];
+    renderMonitorList(monitors);
+
     console.log("初期データの読み込みが完了しました");
   } catch (error) {
     console.error("初期データ読み込みエラー:", error);
@@ -242,7 +368,6 @@ function setupEventListeners() {
             `監視時間制限を${newState ? "有効" : "無効"}にしました`,
             "info"
           );
-          loadInitialData();
         } else {
           const errorText = await response.text();
           console.error("監視時間設定エラー:", response.status, errorText);
@@ -255,6 +380,37 @@ function setupEventListeners() {
     });
   }
 
+  // ドライランON/OFF
+  const dryRunToggle = document.getElementById("dry-run-toggle");
+  if (dryRunToggle) {
+    dryRunToggle.addEventListener("click", async () => {
+      const newState = !dryRunToggle.classList.contains("toggle-on");
+
+      try {
+        const response = await fetch(`${API_BASE}/config/dry-run`, {
+          method: "PUT",
+          headers: { "Content-Type": "application/json" },
+          body: JSON.stringify({ enabled: newState }),
+        });
+
+        if (response.ok) {
+          updateDryRunToggle(newState);
+          appendLog(
+            `ドライランを${newState ? "有効" : "無効"}にしました`,
+            "info"
+          );
+        } else {
+          const errorText = await response.text();
+          console.error("ドライラン設定エラー:", response.status, errorText);
+          appendLog("ドライラン設定の更新に失敗しました", "error");
+        }
+      } catch (error) {
+        console.error("ドライラン設定エラー:", error);
+        appendLog("ドライラン設定の更新に失敗しました", "error");
+      }
+    });
+  }
+
   // 開始ボタン
   const startBtn = document.getElementById("start-btn");
   if (!startBtn) {
@@ -441,7 +597,7 @@ async function addDate(dateStr) {
 
     if (response.ok) {
       appendLog(`日付を追加しました: ${dateStr}`, "success");
-      await loadInitialData(); // カレンダーも更新される
+      // 画面は状態変更フィードの差分で更新される
     } else {
       const errorText = await response.text();
       console.error("日付追加エラー:", response.status, errorText);
@@ -549,10 +705,8 @@ function renderTimeSlots(date, selectedSlots) {
 // 日付ON/OFF切り替え（グローバルスコープに公開）
 globalThis.toggleDate = async function toggleDate(dateStr) {
   try {
-    // 現在の状態を取得
-    const datesResponse = await fetch(`${API_BASE}/dates`);
-    const dates = await datesResponse.json();
-    const dateInfo = dates.find((d) => d.date === dateStr);
+    // 現在の状態（差分で最新に保たれている）
+    const dateInfo = allDates.find((d) => d.date === dateStr);
     const currentEnabled = dateInfo ? dateInfo.enabled : false;
     const newEnabled = !currentEnabled;
 
@@ -567,7 +721,6 @@ globalThis.toggleDate = async function toggleDate(dateStr) {
         `日付の監視を${newEnabled ? "有効" : "無効"}にしました: ${dateStr}`,
         "info"
       );
-      loadInitialData();
     }
   } catch (error) {
     console.error("日付切り替えエラー:", error);
@@ -588,7 +741,6 @@ globalThis.removeDate = async function removeDate(dateStr) {
 
     if (response.ok) {
       appendLog(`日付を削除しました: ${dateStr}`, "success");
-      loadInitialData();
     } else {
       const errorText = await response.text();
       console.error("日付削除エラー:", response.status, errorText);
@@ -607,12 +759,7 @@ globalThis.updateTimeSlots = async function updateTimeSlots(
   checked
 ) {
   try {
-    const datesResponse = await fetch(`${API_BASE}/dates`);
-    if (!datesResponse.ok) {
-      throw new Error(`日付リスト取得エラー: ${datesResponse.status}`);
-    }
-    const dates = await datesResponse.json();
-    const dateInfo = dates.find((d) => d.date === dateStr);
+    const dateInfo = allDates.find((d) => d.date === dateStr);
 
     if (!dateInfo) {
       console.error("日付情報が見つかりません:", dateStr);
@@ -620,7 +767,7 @@ globalThis.updateTimeSlots = async function updateTimeSlots(
       return;
     }
 
-    let selectedSlots = dateInfo.selectedTimeSlots || [];
+    let selectedSlots = [...(dateInfo.selectedTimeSlots || [])];
     if (checked) {
       if (!selectedSlots.includes(timeSlot)) {
         selectedSlots.push(timeSlot);
@@ -635,9 +782,7 @@ globalThis.updateTimeSlots = async function updateTimeSlots(
       body: JSON.stringify({ timeSlots: selectedSlots }),
     });
 
-    if (response.ok) {
-      loadInitialData();
-    } else {
+    if (!response.ok) {
       const errorText = await response.text();
       console.error("時間帯更新エラー:", response.status, errorText);
       appendLog("時間帯の更新に失敗しました", "error");
@@ -688,6 +833,16 @@ function renderTeacherList(teachers) {
   });
 }
 
+// 他の画面で変更された先生選択を反映
+function applySelectedTeachers(selectedUrls) {
+  const checkboxes = document.querySelectorAll(
+    "#teacher-list input[type='checkbox']"
+  );
+  checkboxes.forEach((checkbox) => {
+    checkbox.checked = selectedUrls.includes(checkbox.dataset.url);
+  });
+}
+
 // 選択された先生を更新
 async function updateSelectedTeachers() {
   const checkboxes = document.querySelectorAll(
@@ -893,6 +1048,85 @@ function renderCompletedList(completed) {
   container.appendChild(totalDiv);
 }
 
+// 監視タスク一覧を描画
+function renderMonitorList(list) {
+  const container = document.getElementById("monitor-list");
+  if (!container) {
+    return;
+  }
+
+  container.innerHTML = "";
+  if (list.length === 0) {
+    const emptyDiv = document.createElement("div");
+    emptyDiv.className = "monitor-item empty";
+    emptyDiv.textContent = "監視タスクはありません";
+    container.appendChild(emptyDiv);
+    return;
+  }
+
+  const now = Date.now();
+  list.forEach((monitor) => {
+    const item = document.createElement("div");
+    item.className = `monitor-item state-${monitor.state.toLowerCase()}`;
+    if (monitor.stalled) {
+      item.classList.add("stalled");
+    }
+
+    const header = document.createElement("div");
+    header.className = "monitor-header";
+    const name = document.createElement("span");
+    name.className = "monitor-name";
+    name.textContent = `${monitor.teacher.replace(/_/g, " ")} / ${monitor.date}`;
+    const state = document.createElement("span");
+    state.className = "monitor-state";
+    state.textContent = monitor.stalled
+      ? `⚠️ 停滞（${formatElapsed(now - monitor.stateSince)}）`
+      : monitor.stateLabel;
+    header.appendChild(name);
+    header.appendChild(state);
+    item.appendChild(header);
+
+    const details = [
+      `${monitor.pollsPerMinute}回/分`,
+      `最終スキャン: ${
+        monitor.lastSuccessfulScanAt > 0
+          ? formatElapsed(now - monitor.lastSuccessfulScanAt) + "前"
+          : "なし"
+      }`,
+    ];
+    if (monitor.nextRetryAt > now) {
+      details.push(`再試行まで${formatElapsed(monitor.nextRetryAt - now)}`);
+    }
+    if (monitor.consecutiveFailures > 0) {
+      details.push(`連続失敗: ${monitor.consecutiveFailures}`);
+    }
+    if (monitor.driverRestarts > 0) {
+      details.push(`ブラウザ再起動: ${monitor.driverRestarts}`);
+    }
+    const detail = document.createElement("div");
+    detail.className = "monitor-detail";
+    detail.textContent = details.join(" ・ ");
+    if (monitor.lastError && monitor.consecutiveFailures > 0) {
+      detail.title = monitor.lastError;
+    }
+    item.appendChild(detail);
+
+    container.appendChild(item);
+  });
+}
+
+// 経過時間を「n秒」「n分」形式に変換
+function formatElapsed(ms) {
+  const seconds = Math.max(0, Math.floor(ms / 1000));
+  if (seconds < 60) {
+    return `${seconds}秒`;
+  }
+  if (seconds < 3600) {
+    return `${Math.floor(seconds / 60)}分`;
+  }
+  return `${Math.floor(seconds / 3600)}時間`;
+}
+
 // ログ追加
 function appendLog(message, level = "info") {
   const logArea = document.getElementById("log-area");
@@ -1033,6 +1267,15 @@ function updateMonitoringTimeStatus(status) {
   }
 }
 
+// ドライランの切り替えボタン更新
+function updateDryRunToggle(enabled) {
+  const btn = document.getElementById("dry-run-toggle");
+  if (btn) {
+    btn.textContent = enabled ? "ON" : "OFF";
+    btn.className = enabled ? "toggle-btn toggle-on" : "toggle-btn toggle-off";
+  }
+}
+
 // URLから先生名を抽出
 function extractTeacherName(url) {
   if (!url || !url.trim()) {
@@ -1090,9 +1333,7 @@ function updateReservationResult(
   } else {
     appendLog(`❌ 予約失敗: ${dateStr}`, "error");
   }
-
-  // データを再読み込みして最新の状態を表示
-  loadInitialData();
+  // 日付の状態と予約完了日は状態変更フィードの差分で更新される
 }
 
 // 予約完了通知を表示
@@ -1146,17 +1387,35 @@ function showReservationNotification(
   appendLog(`━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━`, "success");
 }
 
-// ポーリング（ステータス更新）
-function startPolling() {
-  setInterval(async () => {
-    try {
-      const response = await fetch(`${API_BASE}/status`);
-      const status = await response.json();
-      updateMonitoringTimeStatus(status);
-    } catch (error) {
-      console.error("ステータス取得エラー:", error);
-    }
-  }, 60000); // 1分ごと
+// 監視時間内かどうかの表示を更新（サーバーへの問い合わせは不要）
+function startMonitoringTimeClock() {
+  setInterval(refreshMonitoringTimeStatus, 60000); // 1分ごと
+}
+
+// 保持している監視時間設定から、現在が監視時間内かを計算して表示
+function refreshMonitoringTimeStatus() {
+  if (monitoringStatus.monitoringStartHour === undefined) {
+    return;
+  }
+  // 監視時間は日本時間で判定する
+  const hour =
+    Number(
+      new Date().toLocaleString("en-US", {
+        timeZone: "Asia/Tokyo",
+        hour: "numeric",
+        hourCycle: "h23",
+      })
+    ) % 24;
+  const start = monitoringStatus.monitoringStartHour;
+  const end = monitoringStatus.monitoringEndHour;
+  if (!monitoringStatus.monitoringTimeRestriction) {
+    // 監視時間制限が無効の場合は常に監視時間内
+    monitoringStatus.withinMonitoringHours = true;
+  } else {
+    monitoringStatus.withinMonitoringHours =
+      end < start ? hour >= start || hour < end : hour >= start && hour < end;
+  }
+  updateMonitoringTimeStatus(monitoringStatus);
 }
 
 // カレンダーを描画